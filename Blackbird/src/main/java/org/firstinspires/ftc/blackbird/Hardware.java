@@ -9,8 +9,10 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.technototes.library.hardware.motor.CRServo;
 import com.technototes.library.hardware.motor.EncodedMotor;
 import com.technototes.library.hardware.sensor.AdafruitIMU;
+import com.technototes.library.hardware.sensor.HeadingService;
 import com.technototes.library.hardware.sensor.IGyro;
 import com.technototes.library.hardware.sensor.IMU;
+import com.technototes.library.hardware.sensor.VisionService;
 import com.technototes.library.hardware.sensor.encoder.MotorEncoder;
 import com.technototes.library.hardware.servo.Servo;
 import com.technototes.library.logger.Loggable;
@@ -33,6 +35,8 @@ public class Hardware implements Loggable {
     public CRServo testCRServo;
     public Servo testServo;
     public Limelight3A limelight;
+    // The only thing that talks to the limelight: everything else gets the target from this
+    public VisionService vision;
     public HardwareMap map;
     public EncodedMotor<DcMotorEx> turretMotor;
 
@@ -72,6 +76,8 @@ public class Hardware implements Loggable {
                 );
             }
         }
+        // Everything reads the heading through this, so the IMU only gets read once per loop
+        imu = new HeadingService(imu);
         if (Setup.Connected.DRIVEBASE) {
             fl = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FL_DRIVE_MOTOR);
             fr = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FR_DRIVE_MOTOR);
@@ -100,6 +106,7 @@ public class Hardware implements Loggable {
         }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             limelight = hwmap.get(Limelight3A.class, Setup.HardwareNames.LIMELIGHT);
+            vision = new VisionService(limelight).register();
         }
         if (Setup.Connected.TURRETSUBSYSTEM) {
             turretMotor = new EncodedMotor<>(Setup.HardwareNames.TURRET);
@@ -41,12 +41,12 @@ public class Robot implements Loggable {
         if (Setup.Connected.INTAKESUBSYSTEM) {
             this.intakeSubsystem = new IntakeSubsystem(hw);
         }
-        if (Setup.Connected.LAUNCHERSUBSYSTEM) {
-            this.launcherSubsystem = new LauncherSubsystem(hw);
-        }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             this.limelightSubsystem = new LimelightSubsystem(hw);
         }
+        if (Setup.Connected.LAUNCHERSUBSYSTEM) {
+            this.launcherSubsystem = new LauncherSubsystem(hw, limelightSubsystem);
+        }
         if (Setup.Connected.AIMINGSUBSYSTEM) {
             this.aimingSubsystem = new AimingSubsystem(hw, limelightSubsystem);
         }
@@ -58,6 +58,9 @@ public class Robot implements Loggable {
         }
         if (Setup.Connected.TURRETSUBSYSTEM) {
             this.turretSubsystem = new TurretSubsystem(hw);
+            if (follower != null) {
+                turretSubsystem.setHeadingSource(follower::getHeading);
+            }
         } else {
             this.turretSubsystem = new TurretSubsystem();
         }
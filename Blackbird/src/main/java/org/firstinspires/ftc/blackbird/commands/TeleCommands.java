@@ -2,8 +2,10 @@ package org.firstinspires.ftc.blackbird.commands;
 
 import com.pedropathing.geometry.BezierPoint;
 import com.technototes.library.command.Command;
+import com.technototes.library.command.WaitForFlywheel;
 import org.firstinspires.ftc.blackbird.Robot;
 import org.firstinspires.ftc.blackbird.commands.auto.Paths;
+import org.firstinspires.ftc.blackbird.subsystems.LauncherSubsystem;
 import org.firstinspires.ftc.blackbird.subsystems.LimelightSubsystem;
 
 public class TeleCommands {
@@ -42,6 +44,15 @@ public class TeleCommands {
         return Command.create(r.launcherSubsystem::Stop);
     }
 
+    // Wait (at most maxSeconds) until the flywheel will be at speed when the next ball gets to it
+    public static Command WaitForSpinUp(Robot r, double maxSeconds) {
+        return new WaitForFlywheel(
+            r.launcherSubsystem::readyWithin,
+            LauncherSubsystem.FEED_LEAD_TIME,
+            maxSeconds
+        );
+    }
+
     public static Command Rumble(Robot r) {
         return Command.create(r.intakeSubsystem::setRumble);
     }
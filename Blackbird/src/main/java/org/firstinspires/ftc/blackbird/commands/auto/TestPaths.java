@@ -1,10 +1,9 @@
 package org.firstinspires.ftc.blackbird.commands.auto;
 
 import com.pedropathing.follower.Follower;
-import com.pedropathing.geometry.BezierCurve;
-import com.pedropathing.geometry.BezierLine;
 import com.pedropathing.geometry.Pose;
 import com.pedropathing.paths.PathChain;
+import com.technototes.library.util.PathCache;
 
 public class TestPaths {
 
@@ -21,14 +20,14 @@ public class TestPaths {
     public TestPaths(Follower follower) {
         Path1 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(95.670, 7.725), new Pose(95.868, 35.257)))
+            .addPath(PathCache.line(new Pose(95.670, 7.725), new Pose(95.868, 35.257)))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(180))
             .build();
 
         Path2 = follower
             .pathBuilder()
             .addPath(
-                new BezierCurve(
+                PathCache.curve(
                     new Pose(95.868, 35.257),
                     new Pose(81.607, 37.040),
                     new Pose(82.399, 27.730),
@@ -41,7 +40,7 @@ public class TestPaths {
         Path3 = follower
             .pathBuilder()
             .addPath(
-                new BezierCurve(
+                PathCache.curve(
                     new Pose(90.916, 28.721),
                     new Pose(105.970, 26.542),
                     new Pose(105.970, 34.663),
@@ -53,12 +52,12 @@ public class TestPaths {
 
         Path4 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(95.670, 35.257), new Pose(62.195, 35.257)))
+            .addPath(PathCache.line(new Pose(95.670, 35.257), new Pose(62.195, 35.257)))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
         Path5 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(62.195, 35.257), new Pose(95.670, 7.725)))
+            .addPath(PathCache.line(new Pose(62.195, 35.257), new Pose(95.670, 7.725)))
             .setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(90))
             .build();
     }
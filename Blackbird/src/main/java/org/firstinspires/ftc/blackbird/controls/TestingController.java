@@ -17,6 +17,7 @@ public class TestingController {
     public CommandButton motorVelocityButton;
     public CommandButton TurretMoveToPose;
     public CommandButton TurretMoveToPose90;
+    public CommandButton TurretTrack;
 
     public TestingController(CommandGamepad g, Robot r) {
         robot = r;
@@ -30,6 +31,7 @@ public class TestingController {
         // motorVelocityButton = gamepad.ps_triangle;
         TurretMoveToPose = gamepad.ps_cross;
         TurretMoveToPose90 = gamepad.ps_square;
+        TurretTrack = gamepad.ps_triangle;
     }
 
     private void bindButtonControls() {
@@ -38,5 +40,8 @@ public class TestingController {
         // motorVelocityButton.whenPressed(TeleCommands.MotorVelocityTest(robot));
         TurretMoveToPose.whenPressed(Command.create(robot.turretSubsystem::turretGoToZero));
         TurretMoveToPose90.whenPressed(Command.create(robot.turretSubsystem::turretGoTo90));
+        // Hold to track the target
+        TurretTrack.whenPressed(Command.create(robot.turretSubsystem::startTracking));
+        TurretTrack.whenReleased(Command.create(robot.turretSubsystem::stopTracking));
     }
 }
@@ -59,17 +59,17 @@ public class DualTeleOp extends CommandOpMode {
         }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -213,7 +213,7 @@ public class DualTeleOp extends CommandOpMode {
     @Override
     public void end() {
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
@@ -23,6 +23,7 @@ import com.pedropathing.paths.*;
 import com.pedropathing.util.*;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.technototes.library.logger.DataCapture;
 import com.technototes.library.structure.BetterSelectableOpMode;
 import java.util.ArrayList;
 import java.util.List;
@@ -118,6 +119,7 @@ public class Tuning extends BetterSelectableOpMode {
         Drawing.drawDebug(follower);
     }
 
+
     /** This creates a full stop of the robot by setting the drive motors to run at 0 power. */
     public static void stopRobot() {
         follower.startTeleopDrive(true);
@@ -428,6 +430,7 @@ class ForwardVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 10;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -462,6 +465,7 @@ class ForwardVelocityTuner extends OpMode {
         follower.startTeleopDrive(true);
         follower.update();
         end = false;
+        capture = DataCapture.open("forward-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -497,6 +501,15 @@ class ForwardVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -525,6 +538,13 @@ class ForwardVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -550,6 +570,7 @@ class LateralVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 10;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -585,6 +606,7 @@ class LateralVelocityTuner extends OpMode {
         }
         follower.startTeleopDrive(true);
         follower.update();
+        capture = DataCapture.open("lateral-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -614,6 +636,15 @@ class LateralVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -637,6 +668,13 @@ class LateralVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -664,6 +702,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
 
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -693,6 +732,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(1, 0, 0, true);
+        capture = DataCapture.open("forward-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -722,10 +762,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = follower.getVelocity().dot(heading);
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -753,6 +796,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -778,6 +828,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
     private long previousTimeNano;
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -807,6 +858,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(0, 1, 0, true);
+        capture = DataCapture.open("lateral-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -836,10 +888,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = Math.abs(follower.getVelocity().dot(heading));
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -867,6 +922,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -3,7 +3,6 @@ package org.firstinspires.ftc.blackbird.opmodes.auto;
 import static org.firstinspires.ftc.blackbird.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.telemetry.PanelsTelemetry;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.command.SequentialCommandGroup;
@@ -30,7 +29,6 @@ public class RedNearFirstandSecondLever extends CommandOpMode {
     public DriverController controls;
     public Hardware hardware;
     private PanelsTelemetry panelsTelemetry;
-    private Limelight3A limelight;
 
     @Override
     public void uponInit() {
@@ -93,18 +91,17 @@ public class RedNearFirstandSecondLever extends CommandOpMode {
             OpModeState.RUN
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -140,7 +137,7 @@ public class RedNearFirstandSecondLever extends CommandOpMode {
     public void end() {
         HeadingHelper.savePose(robot.follower.getPose());
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
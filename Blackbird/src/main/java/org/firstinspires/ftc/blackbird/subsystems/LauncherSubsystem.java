@@ -6,10 +6,12 @@ import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.PIDFCoefficients;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.hardware.sensor.encoder.MotorEncoder;
+import com.technototes.library.hardware.sensor.encoder.VelocityEstimator;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
-import com.technototes.library.util.PIDFController;
+import com.technototes.library.util.FlywheelController;
 import org.firstinspires.ftc.blackbird.Hardware;
 import org.firstinspires.ftc.blackbird.Robot;
 import org.firstinspires.ftc.blackbird.Setup;
@@ -60,8 +62,22 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     public static double kMotorResistance = 12 / 9.2; // From goBilda motor spec sheet
 
     public static double VELOCITY_RANGE = 50;
-
-    private static PIDFController launchPIDController;
+    // Further than this from the target, just go full power (or coast) instead of using the PID
+    public static double BANG_BANG_RANGE = 250;
+    // Starting guesses for how quickly the flywheel spins up & coasts down (seconds): the
+    // controller refines these by watching it
+    public static double SPIN_UP_TIME = 0.5;
+    public static double COAST_TIME = 2.5;
+    // How long it takes a ball to get from the gate to the flywheel (seconds)
+    public static double FEED_LEAD_TIME = 0.1;
+
+    // Estimate the flywheel speed from the encoder position every loop (a least-squares fit over
+    // this many samples), instead of using the hub's velocity, which only updates every ~50ms.
+    // Off until the estimate has been checked against the hub's velocity on the robot.
+    public static boolean ESTIMATE_VELOCITY = false;
+    public static int VELOCITY_SAMPLES = 5;
+
+    private static FlywheelController flywheel;
     public static double lastAutoVelocity = 0;
 
     boolean hasHardware;
@@ -85,27 +101,36 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     // not tested just placeholder but should be used
     EncodedMotor<DcMotorEx> launcher1;
     EncodedMotor<DcMotorEx> launcher2;
+    MotorEncoder launcherEncoder;
     LimelightSubsystem ls;
 
     //    @Log(name = "Flywheel at Velocity")
     //    public static boolean ready;
 
-    public LauncherSubsystem(Hardware h) {
+    public LauncherSubsystem(Hardware h, LimelightSubsystem lls) {
         hasHardware = Setup.Connected.LAUNCHERSUBSYSTEM;
         // Do stuff in here
         if (hasHardware) {
             launcher1 = h.launcher1.setDirection(DcMotorSimple.Direction.REVERSE).coast();
             launcher2 = h.launcher2.setDirection(DcMotorSimple.Direction.FORWARD).coast();
-            ls = new LimelightSubsystem(h);
-            launchPIDController = new PIDFController(
+            if (ESTIMATE_VELOCITY && launcher1.getEncoder() instanceof MotorEncoder) {
+                // The encoder undoes the motor direction, so this is already positive
+                launcherEncoder = ((MotorEncoder) launcher1.getEncoder()).setVelocityEstimator(
+                    VelocityEstimator.leastSquares(VELOCITY_SAMPLES)
+                );
+            }
+            ls = lls;
+            flywheel = new FlywheelController(
                 launchPIDValues,
-                target ->
-                    (Math.signum(target) *
-                        (getFrictionConst(getMotorSpeed() != 0) +
-                            getMotor1Current() * kMotorResistance) +
-                        kVelocityConstant * target) /
-                    h.voltage()
-            );
+                kStaticFriction,
+                kDynamicFriction,
+                kVelocityConstant
+            )
+                .setVoltage(h::voltage)
+                .setResistance(kMotorResistance, this::getMotor1Current)
+                .setBangBang(BANG_BANG_RANGE)
+                .setTolerance(VELOCITY_RANGE)
+                .setTimeConstants(SPIN_UP_TIME, COAST_TIME);
             setTargetSpeed(0);
         } else {
             launcher1 = null;
@@ -114,10 +139,6 @@ public class LauncherSubsystem implements Loggable, Subsystem {
         CommandScheduler.register(this);
     }
 
-    private static double getFrictionConst(boolean inMotion) {
-        return inMotion ? kDynamicFriction : kStaticFriction;
-    }
-
     public void Launch() {
         // Spin the motors pid goes here
         if (hasHardware) {
@@ -167,13 +188,22 @@ public class LauncherSubsystem implements Loggable, Subsystem {
 
     public void setTargetSpeed(double speed) {
         targetSpeed = speed;
-        launchPIDController.setTarget(speed);
+        flywheel.setTarget(speed);
     }
 
     public double getTargetSpeed() {
         return targetSpeed;
     }
 
+    // True if the flywheel will be at the target speed within this many seconds
+    public boolean readyWithin(double seconds) {
+        return hasHardware && flywheel.readyWithin(seconds);
+    }
+
+    public boolean isAtSpeed() {
+        return hasHardware && flywheel.atTarget();
+    }
+
     private void setMotorPower(double pow) {
         double power = Math.clamp(pow, -1, 1);
         targetPower = power;
@@ -184,6 +214,9 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     }
 
     public double getMotorSpeed() {
+        if (launcherEncoder != null) {
+            return launcherEncoder.getVelocity();
+        }
         if (launcher1 != null) {
             // The motor spins backward so flip the sign on velocity
             return -launcher1.getVelocity();
@@ -207,7 +240,7 @@ public class LauncherSubsystem implements Loggable, Subsystem {
 
     public void Stop() {
         if (hasHardware) {
-            launchPIDController.setTarget(0);
+            flywheel.setTarget(0);
         }
     }
 
@@ -276,16 +309,16 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     public void periodic() {
         // autoVelocity = autoVelocity();
         currentLaunchVelocity = readVelocity();
-        if (launchPIDController.getTarget() != 0) {
-            setMotorPower(launchPIDController.update(getMotorSpeed()) + additionAmount);
-        } else {
-            setMotorPower(0);
-            launchPIDController.update(getMotorSpeed());
-            launchPIDController.reset();
-        }
-
-        err = launchPIDController.getLastError();
-        motorVelocity = getMotorSpeed();
+        // Pick up any changes from the dashboard
+        flywheel
+            .setModel(kStaticFriction, kDynamicFriction, kVelocityConstant)
+            .setBangBang(BANG_BANG_RANGE)
+            .setTolerance(VELOCITY_RANGE);
+        double pow = flywheel.update(currentLaunchVelocity);
+        setMotorPower(flywheel.getTarget() != 0 ? pow + additionAmount : 0);
+
+        err = flywheel.getError();
+        motorVelocity = currentLaunchVelocity;
         power = launcher1.getPower();
         launcher1Current = getMotor1Current();
         launcher2Current = getMotor2Current();
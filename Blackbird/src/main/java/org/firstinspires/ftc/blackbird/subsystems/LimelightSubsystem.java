@@ -3,16 +3,14 @@ package org.firstinspires.ftc.blackbird.subsystems;
 import static org.firstinspires.ftc.blackbird.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.configurables.annotations.Configurable;
-import com.qualcomm.hardware.limelightvision.LLResult;
 import com.qualcomm.hardware.limelightvision.LLResultTypes;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.hardware.sensor.VisionService;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
-import java.util.List;
 import org.firstinspires.ftc.blackbird.Hardware;
 import org.firstinspires.ftc.blackbird.Setup;
 
@@ -46,50 +44,46 @@ public class LimelightSubsystem implements Loggable, Subsystem {
     public static double EXTRA_OFFSET = -3;
     // TODO: Measure this more accurately
     public static double LIMELIGHT_ANGLE = 13;
-    public static Limelight3A limelight;
-    LLResult result;
+    VisionService vision;
 
     public LimelightSubsystem(Hardware h) {
         hasHardware = Setup.Connected.LIMELIGHTSUBSYSTEM;
         // Do stuff in here
         if (hasHardware) {
-            limelight = h.limelight;
-            limelight.start();
+            // The camera belongs to the vision service: we just look at what it sees
+            vision = h.vision;
+            vision.setTargetFilter(LimelightSubsystem::isTarget);
+            vision.setDistanceModel(LimelightSubsystem::distanceTo);
+            vision.subscribe(this::observed);
+            vision.start();
             setPipeline(0);
         } else {
-            limelight = null;
+            vision = null;
         }
     }
 
     public void setPipeline(int targetPipeline) {
-        limelight.pipelineSwitch(targetPipeline);
+        vision.setPipeline(targetPipeline);
     }
 
-    public boolean getLatestResult() {
-        result = limelight.getLatestResult();
-        if (result != null) {
-            recentItem = filterItem(result);
-            if (recentItem == null) {
-                return false;
-            }
-            //&& result.isValid()
-            // Not sure this is the right angle, because the camera is mounted sideways
-            // IIRC, you should be using getTy() instead.
-            Xangle = recentItem.getTargetXDegrees();
-            Yangle = recentItem.getTargetYDegrees() + LIMELIGHT_ANGLE;
-            Area = recentItem.getTargetArea();
-            return true;
-            //            getLatestResult returns the x-angle, the y-angle,
-            //             and the area of the apriltag on the camera
-        } else {
-            return false;
+    // Called by the vision service for each new frame
+    private void observed(VisionService.Observation o) {
+        if (o.hasTarget) {
+            Xangle = o.tx;
+            Yangle = o.ty + LIMELIGHT_ANGLE;
+            Area = o.area;
         }
     }
 
+    public boolean getLatestResult() {
+        // This doesn't fetch anything: the vision service already did, once, for this loop
+        return vision != null && vision.hasTarget();
+    }
+
     //distance = DISTANCE_FROM_LIMELIGHT_TO_APRILTAG/arctan(result.getTx())
 
     public void selectPipeline(int pipelineIndex) {
-        limelight.pipelineSwitch(pipelineIndex);
+        vision.setPipeline(pipelineIndex);
     }
 
     public double getLimelightRotation() {
@@ -107,42 +101,36 @@ public class LimelightSubsystem implements Loggable, Subsystem {
     }
 
     public void LimelightStartup() {
-        limelight.setPollRateHz(100);
-        limelight.pipelineSwitch(AprilTag_Pipeline);
-        limelight.start();
+        vision.setPollRate(100);
+        vision.setPipeline(AprilTag_Pipeline);
+        vision.start();
         startup_done = true;
     }
 
     public void LimelightTurnOff() {
-        limelight.stop();
+        vision.stop();
         startup_done = false;
     }
 
-    LLResultTypes.FiducialResult recentItem = null;
-
     // We want to ignore the tags on the obelisk
-    public LLResultTypes.FiducialResult filterItem(LLResult result) {
-        List<LLResultTypes.FiducialResult> fiducialResults = result.getFiducialResults();
-        for (LLResultTypes.FiducialResult fr : fiducialResults) {
-            if (fr.getFiducialId() == 21) {
-                continue;
-            } else if (fr.getFiducialId() == 22) {
-                continue;
-            } else if (fr.getFiducialId() == 23) {
-                continue;
-            }
-            return fr;
-        }
-        return null;
+    static boolean isTarget(LLResultTypes.FiducialResult fr) {
+        int id = fr.getFiducialId();
+        return id != 21 && id != 22 && id != 23;
+    }
+
+    // The vision service calls this once per frame, so everybody gets the same distance
+    static double distanceTo(double tx, double ty) {
+        double yAngle = ty + LIMELIGHT_ANGLE;
+        return (
+            (DISTANCE_FROM_LIMELIGHT_TO_APRILTAG_VERTICALLY / Math.tan(Math.toRadians(yAngle))) +
+            CAMERA_TO_CENTER_OF_ROBOT +
+            EXTRA_OFFSET
+        );
     }
 
     public double getDistance() {
         if (getLatestResult()) {
-            distance =
-                (DISTANCE_FROM_LIMELIGHT_TO_APRILTAG_VERTICALLY /
-                    Math.tan(Math.toRadians(Yangle))) +
-                CAMERA_TO_CENTER_OF_ROBOT +
-                EXTRA_OFFSET;
+            distance = vision.getObservation().distance;
             return distance;
         }
         return 0;
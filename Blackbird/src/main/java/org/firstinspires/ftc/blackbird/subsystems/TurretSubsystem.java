@@ -4,10 +4,14 @@ import com.bylazar.configurables.annotations.Configurable;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.PIDFCoefficients;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.hardware.sensor.VisionService;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
+import com.technototes.library.util.LoopClock;
 import com.technototes.library.util.PIDFController;
+import com.technototes.library.util.ValueHistory;
+import java.util.function.DoubleSupplier;
 import org.firstinspires.ftc.blackbird.Hardware;
 import org.firstinspires.ftc.blackbird.Robot;
 import org.firstinspires.ftc.blackbird.Setup;
@@ -35,6 +39,28 @@ public class TurretSubsystem implements Subsystem, Loggable {
     // set it to zero, which should apply the motor brake.
     public static double BRAKE_THRESHOLD = 0.005;
 
+    // Latency compensation for tracking: the limelight's tx is relative to where the turret (and
+    // the robot) pointed when the frame was captured, not where they point now. So we keep a
+    // history of the turret angle & the robot heading, look up what they were when the frame was
+    // captured, and turn tx into a bearing that doesn't depend on either. Then the target is just
+    // that bearing, relative to where the robot is pointing now.
+    public static boolean LATENCY_COMPENSATION = true;
+    // +1 if a positive turret angle turns the same way as a positive tx (clockwise)
+    public static double TURRET_DIRECTION = 1;
+    // How many loops of turret angles & headings to keep (this has to cover the camera latency)
+    public static int HISTORY_SIZE = 50;
+    // Frames older than this (seconds) are too old to track
+    public static double MAX_FRAME_AGE = 0.5;
+
+    private final ValueHistory turretHistory = new ValueHistory(HISTORY_SIZE);
+    private final ValueHistory headingHistory = new ValueHistory(HISTORY_SIZE);
+    // Robot heading, in radians (counter clockwise is positive)
+    private DoubleSupplier heading = () -> 0;
+    // The target's bearing (degrees, clockwise, relative to the field) from the latest frame
+    private double targetBearing = Double.NaN;
+    private long bearingNanos = 0;
+    private boolean tracking = false;
+
     @Log(name = "Turret")
     public String TurretSubsytemInfoToDS;
 
@@ -54,6 +80,9 @@ public class TurretSubsystem implements Subsystem, Loggable {
         if (hasHardware) {
             turretMotor = h.turretMotor;
             turretMotor.brake();
+            if (h.vision != null) {
+                h.vision.subscribe(this::observed);
+            }
         }
     }
 
@@ -81,6 +110,7 @@ public class TurretSubsystem implements Subsystem, Loggable {
     }
 
     public void setTurretAngle(double deg) {
+        tracking = false;
         if (hasHardware) {
             //            turretOffsetDegrees += robot.follower.getHeading() * (180 / Math.PI);
             turretPIDF.setTarget(degreesToPosition(deg - turretOffsetDegrees));
@@ -89,7 +119,10 @@ public class TurretSubsystem implements Subsystem, Loggable {
     }
 
     public void setTurretPosTX() {
-        if (hasHardware) {
+        double compensated = LATENCY_COMPENSATION ? getCompensatedTargetDegrees() : Double.NaN;
+        if (hasHardware && !Double.isNaN(compensated)) {
+            turretPIDF.setTarget(degreesToPosition(compensated - turretOffsetDegrees));
+        } else if (hasHardware) {
             //            turretOffsetDegrees = robot.follower.getHeading() * (180 / Math.PI);
             turretPIDF.setTarget(
                 degreesToPosition(
@@ -104,6 +137,53 @@ public class TurretSubsystem implements Subsystem, Loggable {
         }
     }
 
+    // Where the robot is pointing (radians), for turning the target bearing into a turret angle
+    public void setHeadingSource(DoubleSupplier headingRadians) {
+        heading = headingRadians;
+        headingHistory.clear();
+    }
+
+    private double headingDegrees() {
+        return TURRET_DIRECTION * -Math.toDegrees(heading.getAsDouble());
+    }
+
+    // Called by the vision service for each new frame
+    private void observed(VisionService.Observation o) {
+        if (!o.hasTarget || !turretHistory.covers(o.captureNanos)) {
+            return;
+        }
+        // Where the turret & robot pointed when the frame was captured
+        double turretThen = turretHistory.at(o.captureNanos);
+        double headingThen = headingHistory.at(o.captureNanos);
+        targetBearing = headingThen + turretThen + TURRET_DIRECTION * o.tx;
+        bearingNanos = o.captureNanos;
+    }
+
+    // The turret angle that points at the target, using the latest frame (NaN if there isn't one)
+    public double getCompensatedTargetDegrees() {
+        double age = (System.nanoTime() - bearingNanos) / 1e9;
+        if (Double.isNaN(targetBearing) || age > MAX_FRAME_AGE) {
+            return Double.NaN;
+        }
+        double angle = targetBearing - headingDegrees();
+        // Turn the short way, but stay inside the turret's range (it can't spin all the way around)
+        angle = ((angle + 180) % 360 + 360) % 360 - 180;
+        return Math.max(degreesNeg90, Math.min(degrees90, angle));
+    }
+
+    // Keep the turret pointed at the target (every loop, until stopTracking)
+    public void startTracking() {
+        tracking = true;
+    }
+
+    public void stopTracking() {
+        tracking = false;
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
     public static void setTurretPosTXWithPos(double pos) {
         if (hasHardware) {
             //            turretOffsetDegrees = robot.follower.getHeading() * (180 / Math.PI);
@@ -158,6 +238,14 @@ public class TurretSubsystem implements Subsystem, Loggable {
 
     @Override
     public void periodic() {
+        // The encoder & heading were read at the start of the loop
+        long now = LoopClock.isRunning() ? LoopClock.nanos() : System.nanoTime();
+        turretHistory.add(now, getEncoderAngleInDegrees() + turretOffsetDegrees);
+        // The heading wraps around, so it's unwrapped as it's added (the bearing is wrapped later)
+        headingHistory.addAngle(now, headingDegrees());
+        if (tracking) {
+            setTurretPosTX();
+        }
         turretPow = turretPIDF.update(getTurretPos());
         //        double degreesBaseDPower = degreesToPowerPIDF.update(positionToDegrees(getTurretPos()));
         String extra = "";
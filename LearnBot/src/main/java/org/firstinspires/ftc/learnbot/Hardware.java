@@ -8,6 +8,7 @@ import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.hardware.sensor.HeadingService;
 import com.technototes.library.hardware.sensor.IGyro;
 import com.technototes.library.hardware.sensor.IMU;
 import com.technototes.library.hardware.servo.Servo;
@@ -42,6 +43,8 @@ public class Hardware implements Loggable {
             RevHubOrientationOnRobot.LogoFacingDirection.UP,
             RevHubOrientationOnRobot.UsbFacingDirection.BACKWARD
         );
+        // Everything reads the heading through this, so the IMU only gets read once per loop
+        imu = new HeadingService(imu);
         if (Setup.Connected.DRIVEBASE) {
             fl = new EncodedMotor<>(Pedro.Config.FLMOTOR);
             fr = new EncodedMotor<>(Pedro.Config.FRMOTOR);
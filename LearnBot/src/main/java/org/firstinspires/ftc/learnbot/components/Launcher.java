@@ -9,13 +9,15 @@ import com.qualcomm.robotcore.util.ElapsedTime;
 import com.qualcomm.robotcore.util.MovingStatistics;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.command.WaitForFlywheel;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.logger.DataCapture;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.structure.ValidationOpMode;
 import com.technototes.library.subsystem.Subsystem;
 import com.technototes.library.subsystem.TargetAcquisition;
-import com.technototes.library.util.PIDFController;
+import com.technototes.library.util.FlywheelController;
 import java.util.Locale;
 import java.util.function.DoubleSupplier;
 import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
@@ -68,6 +70,21 @@ public class Launcher {
         // or maybe increase it over time to counteract that, but this is probably good enough.
         public static double MotorResistance = 12 / 9.2;
 
+        // Further than this from the target velocity, the controller just goes full power (or
+        // coasts) instead of using the PID: that's the fastest way to get back to speed.
+        public static double BangBangRange = 250;
+
+        // How close to the target velocity counts as "at speed"
+        public static double VelocityTolerance = 50;
+
+        // Starting guesses for how quickly the launcher spins up & coasts down (seconds).
+        // The controller refines these by watching it.
+        public static double SpinUpTime = 0.5;
+        public static double CoastTime = 2.5;
+
+        // How long it takes a ball to get from the feeder to the flywheel (seconds)
+        public static double FeedLeadTime = 0.1;
+
         // This is how much to add/subtract to *setMotorPower* when inc/dec velocity is invoked
         public static double PowerDelta = 0.025;
 
@@ -117,6 +134,12 @@ public class Launcher {
             return Command.create(component::decreasePower);
         }
 
+        // Wait (at most maxSeconds) until the launcher will be at speed when the next ball
+        // gets to it. Use this instead of a WaitCommand before feeding.
+        public static Command WaitForSpinUp(double maxSeconds) {
+            return new WaitForFlywheel(component::readyWithin, Config.FeedLeadTime, maxSeconds);
+        }
+
         // This is just to make all commands look the same to the 'outside' user:
         // You just call LauncherCommands.AutoVelocity() instead of needing to differentiate
         // between simple Command.create's and more complex "class" commands.
@@ -164,9 +187,9 @@ public class Launcher {
         @Log.Number(name = "AutoAim Velocity")
         public double autoVelocity;
 
-        // This the PIDF controller that's used manage the power power.
-        // The PIDF values are set in the Config class above.
-        private final PIDFController pidfController;
+        // This the flywheel controller that's used to manage the motor power.
+        // The PIDF & feed forward values are set in the Config class above.
+        private final FlywheelController flywheel;
 
         // External dependencies this component requires:
         // The two launcher motors:
@@ -209,15 +232,20 @@ public class Launcher {
             // launcher barely moving)
 
             // NOTE The FeedForward Helper opmode calculates these numbers for you automatically!
-            pidfController = new PIDFController(
+            // The FlywheelController uses that formula (plus the current * resistance part, which
+            // is the voltage the motor loses to its own resistance) as the feed forward, and it
+            // also uses it to figure out how long it will take to get to speed.
+            flywheel = new FlywheelController(
                 Config.launchPID,
-                target ->
-                    (Math.signum(target) * // signum(<0) = -1, signum(>0) = 1, signum(0) = *0*
-                        (Config.GetFrictionConstant(getActualVelocity() != 0) +
-                            getMotor1Current() * Config.MotorResistance) +
-                        Config.kVelocityConstant * target) /
-                    voltage.getAsDouble()
-            );
+                Config.kStaticFriction,
+                Config.kDynamicFriction,
+                Config.kVelocityConstant
+            )
+                .setVoltage(voltage)
+                .setResistance(Config.MotorResistance, this::getMotor1Current)
+                .setBangBang(Config.BangBangRange)
+                .setTolerance(Config.VelocityTolerance)
+                .setTimeConstants(Config.SpinUpTime, Config.CoastTime);
 
             setVelocityTarget(0);
             CommandScheduler.register(this);
@@ -233,12 +261,22 @@ public class Launcher {
 
         // Explicitly set the target velocity for the motors
         public void setVelocityTarget(double speed) {
-            pidfController.setTarget(speed);
+            flywheel.setTarget(speed);
         }
 
         // Returns the current target velocity (which may be set explicity, or automatically)
         public double getVelocityTarget() {
-            return pidfController.getTarget();
+            return flywheel.getTarget();
+        }
+
+        // True if the launcher will be at the target velocity within this many seconds
+        public boolean readyWithin(double seconds) {
+            return hasLaunch1() && flywheel.readyWithin(seconds);
+        }
+
+        // True if the launcher is at the target velocity right now
+        public boolean isAtSpeed() {
+            return hasLaunch1() && flywheel.atTarget();
         }
 
         // Set the velocity target based on the TargetAcquisition interface
@@ -313,7 +351,16 @@ public class Launcher {
             autoVelocity = calculateVelocityTarget();
             targetVelocity = getVelocityTarget();
             motorVelocity = getActualVelocity();
-            double power = pidfController.update(motorVelocity);
+            // Pick up any changes from the dashboard
+            flywheel
+                .setModel(
+                    Config.kStaticFriction,
+                    Config.kDynamicFriction,
+                    Config.kVelocityConstant
+                )
+                .setBangBang(Config.BangBangRange)
+                .setTolerance(Config.VelocityTolerance);
+            double power = flywheel.update(motorVelocity);
             setPower(power + Math.copySign(additionalAmount, power));
         }
 
@@ -393,6 +440,7 @@ public class Launcher {
         Launcher.Component lc = null;
         State state = State.MeasureStaticFriction;
         String extra = "";
+        DataCapture capture = null;
 
         @Override
         public void init() {
@@ -400,6 +448,46 @@ public class Launcher {
             lc = new Launcher.Component(this::getVoltage);
             state = State.MeasureStaticFriction;
             lc.setPower(0);
+            // The velocity & testing phases are captured to a CSV for graphing later
+            capture = DataCapture.open(
+                "launcher-ff",
+                "state",
+                "power",
+                "target",
+                "velocity",
+                "current",
+                "voltage"
+            );
+            if (capture.getFailure() != null) {
+                extra = "Data capture failed: " + capture.getFailure().getMessage();
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (capture != null) {
+                capture.close();
+            }
+            super.stop();
+        }
+
+        private void capture(
+            double power,
+            double target,
+            double velocity,
+            double current,
+            double voltage
+        ) {
+            if (capture.begin()) {
+                capture
+                    .put(state.ordinal())
+                    .put(power)
+                    .put(target)
+                    .put(velocity)
+                    .put(current)
+                    .put(voltage)
+                    .commit();
+            }
         }
 
         double staticFriction = 0.001;
@@ -549,6 +637,7 @@ public class Launcher {
                 velocityConstant = (vol - dynamicFriction - amps * Config.MotorResistance) / vel;
                 velocityConstantStats.add(velocityConstant);
             }
+            capture(1, 0, vel, amps, vol);
             addData("kStaticFriction!", staticFriction);
             addData("kDynamicFriction!", dynamicFriction);
             addData("Current kV", velocityConstant);
@@ -596,11 +685,14 @@ public class Launcher {
                 error.add(targetVelocity - vel);
             }
             lc.periodic();
+            double amps = lc.getMotor1Current();
+            double vol = getVoltage();
+            capture(lc.targetPower, targetVelocity, lc.getActualVelocity(), amps, vol);
             addData("kStaticFriction", staticFriction);
             addData("kDynamicFriction", dynamicFriction);
             addData("kVelocityConstant", velocityConstant);
-            addData("Current", lc.getMotor1Current());
-            addData("Voltage", getVoltage());
+            addData("Current", amps);
+            addData("Voltage", vol);
             addLine(
                 String.format(
                     Locale.ENGLISH,
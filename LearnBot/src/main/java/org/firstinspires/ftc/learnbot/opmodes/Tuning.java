@@ -22,6 +22,7 @@ import com.pedropathing.paths.*;
 import com.pedropathing.util.*;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.technototes.library.logger.DataCapture;
 import com.technototes.library.structure.BetterSelectableOpMode;
 import java.util.ArrayList;
 import java.util.List;
@@ -115,6 +116,7 @@ public class Tuning extends BetterSelectableOpMode {
         Drawing.drawDebug(follower);
     }
 
+
     /** This creates a full stop of the robot by setting the drive motors to run at 0 power. */
     public static void stopRobot() {
         follower.startTeleopDrive(true);
@@ -425,6 +427,7 @@ class ForwardVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 10;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -459,6 +462,7 @@ class ForwardVelocityTuner extends OpMode {
         follower.startTeleopDrive(true);
         follower.update();
         end = false;
+        capture = DataCapture.open("forward-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -494,6 +498,15 @@ class ForwardVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -522,6 +535,13 @@ class ForwardVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -547,6 +567,7 @@ class LateralVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 10;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -582,6 +603,7 @@ class LateralVelocityTuner extends OpMode {
         }
         follower.startTeleopDrive(true);
         follower.update();
+        capture = DataCapture.open("lateral-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -611,6 +633,15 @@ class LateralVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -634,6 +665,13 @@ class LateralVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -661,6 +699,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
 
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -690,6 +729,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(1, 0, 0, true);
+        capture = DataCapture.open("forward-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -719,10 +759,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = follower.getVelocity().dot(heading);
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -750,6 +793,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -775,6 +825,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
     private long previousTimeNano;
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -804,6 +855,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(0, 1, 0, true);
+        capture = DataCapture.open("lateral-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -833,10 +885,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = Math.abs(follower.getVelocity().dot(heading));
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -864,6 +919,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
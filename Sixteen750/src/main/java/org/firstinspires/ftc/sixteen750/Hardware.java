@@ -7,21 +7,31 @@ import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
 import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.technototes.library.hardware.HardwareDevice;
 import com.technototes.library.hardware.motor.CRServo;
+import com.technototes.library.hardware.motor.CurrentMonitor;
 import com.technototes.library.hardware.motor.EncodedMotor;
 import com.technototes.library.hardware.motor.MotorPlus;
 import com.technototes.library.hardware.sensor.AdafruitIMU;
+import com.technototes.library.hardware.sensor.HeadingService;
 import com.technototes.library.hardware.sensor.IGyro;
 import com.technototes.library.hardware.sensor.IMU;
+import com.technototes.library.hardware.sensor.VisionService;
 import com.technototes.library.hardware.sensor.encoder.MotorEncoder;
 import com.technototes.library.hardware.servo.Servo;
 import com.technototes.library.logger.Loggable;
+import com.technototes.library.util.InitExecutor;
 import java.util.List;
 import org.firstinspires.ftc.robotcore.external.navigation.VoltageUnit;
 
 @Configurable
 public class Hardware implements Loggable {
 
+    // Only look devices up in the hardware map when they're first used
+    public static boolean LAZY_HARDWARE = true;
+    // How many of the slow init steps (IMU, Limelight, follower) run at once (1: one at a time)
+    public static int INIT_THREADS = 3;
+
     public List<LynxModule> hubs;
 
     public IGyro imu;
@@ -38,24 +48,43 @@ public class Hardware implements Loggable {
     public CRServo testCRServo;
     public Servo testServo;
     public Limelight3A limelight;
+    // The only thing that talks to the limelight: everything else gets the target from this
+    public VisionService vision;
     public CRServo gobbleServo;
     public CRServo gulpServo;
     public HardwareMap map;
+    // Reading a motor's current is a separate transaction from the bulk read, so the subsystems
+    // get their currents from this, which only reads a couple of motors each loop
+    public CurrentMonitor currents;
+    // Runs the slow parts of init in parallel: Robot waits for it once it's done its own part
+    public InitExecutor init;
 
     /* Put other hardware here! */
 
     public Hardware(HardwareMap hwmap) {
         map = hwmap;
         hubs = hwmap.getAll(LynxModule.class);
-        if (Setup.Connected.EXTERNAL_IMU) {
-            imu = new AdafruitIMU(Setup.HardwareNames.EXTERNAL_IMU, AdafruitIMU.Orientation.Pitch);
-        } else {
-            imu = new IMU(
-                Setup.HardwareNames.IMU,
-                RevHubOrientationOnRobot.LogoFacingDirection.LEFT,
-                RevHubOrientationOnRobot.UsbFacingDirection.UP
-            );
-        }
+        currents = new CurrentMonitor(2).register();
+        HardwareDevice.setLazyLookup(LAZY_HARDWARE);
+        init = new InitExecutor(INIT_THREADS);
+        // Initializing the IMU takes a while (it's I2C), so it's done in the background
+        init.submit("imu", () -> {
+            IGyro gyro;
+            if (Setup.Connected.EXTERNAL_IMU) {
+                gyro = new AdafruitIMU(
+                    Setup.HardwareNames.EXTERNAL_IMU,
+                    AdafruitIMU.Orientation.Pitch
+                );
+            } else {
+                gyro = new IMU(
+                    Setup.HardwareNames.IMU,
+                    RevHubOrientationOnRobot.LogoFacingDirection.LEFT,
+                    RevHubOrientationOnRobot.UsbFacingDirection.UP
+                );
+            }
+            // Everything reads the heading through this, so the IMU only gets read once per loop
+            imu = new HeadingService(gyro);
+        });
         if (Setup.Connected.DRIVEBASE) {
             fl = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FL_DRIVE_MOTOR);
             fr = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FR_DRIVE_MOTOR);
@@ -93,6 +122,11 @@ public class Hardware implements Loggable {
         }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             limelight = hwmap.get(Limelight3A.class, Setup.HardwareNames.LIMELIGHT);
+            vision = new VisionService(limelight).register();
+            // Starting the camera is a network round trip, so it's also done in the background
+            init.submit("limelight", () ->
+                vision.setPipeline(Setup.HardwareNames.AprilTag_Pipeline).start()
+            );
         }
     }
 
@@ -3,6 +3,7 @@ package org.firstinspires.ftc.sixteen750;
 import com.pedropathing.follower.Follower;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.util.Alliance;
+import org.firstinspires.ftc.sixteen750.helpers.SotmCompensator;
 import org.firstinspires.ftc.sixteen750.helpers.StartingPosition;
 import org.firstinspires.ftc.sixteen750.subsystems.AimingSubsystem;
 import org.firstinspires.ftc.sixteen750.subsystems.BrakeSubsystem;
@@ -26,6 +27,7 @@ public class Robot implements Loggable {
     public AimingSubsystem aimingSubsystem;
     public LimelightSubsystem limelightSubsystem;
     public TestSubsystem testSubsystem;
+    public SotmCompensator sotm;
     public Follower follower;
     private Hardware hardware;
 
@@ -34,6 +36,11 @@ public class Robot implements Loggable {
         this.alliance = team;
         this.hardware = hw;
         this.initialVoltage = hw.voltage();
+        // Building the follower looks up & configures all the drive hardware, so it's done in
+        // the background while the subsystems are set up
+        if (Setup.Connected.DRIVEBASE) {
+            hw.init.submit("follower", () -> follower = AutoConstants.createFollower(hw.map));
+        }
 
         if (Setup.Connected.SAFETYSUBSYSTEM) {
             this.safetySubsystem = new SafetySubsystem(hw);
@@ -41,23 +48,25 @@ public class Robot implements Loggable {
         if (Setup.Connected.INTAKESUBSYSTEM) {
             this.intakeSubsystem = new IntakeSubsystem(hw);
         }
+        if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
+            this.limelightSubsystem = new LimelightSubsystem(hw);
+        }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
-            this.launcherSubsystem = new LauncherSubsystem(hw);
+            this.launcherSubsystem = new LauncherSubsystem(hw, limelightSubsystem);
         }
         if (Setup.Connected.BRAKESUBSYSTEM) {
             this.brakeSubsystem = new BrakeSubsystem(hw);
         }
-        if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            this.limelightSubsystem = new LimelightSubsystem(hw);
-        }
         if (Setup.Connected.AIMINGSUBSYSTEM) {
             this.aimingSubsystem = new AimingSubsystem(hw, limelightSubsystem);
         }
         if (Setup.Connected.TESTSUBSYSTEM) {
             this.testSubsystem = new TestSubsystem(hw);
         }
-        if (Setup.Connected.DRIVEBASE) {
-            follower = AutoConstants.createFollower(hw.map);
+        // The follower, the IMU, etc. have to be ready before anything else uses them
+        hw.init.await();
+        if (Setup.Connected.DRIVEBASE && Setup.Connected.LIMELIGHTSUBSYSTEM) {
+            this.sotm = new SotmCompensator(follower, limelightSubsystem);
         }
     }
 
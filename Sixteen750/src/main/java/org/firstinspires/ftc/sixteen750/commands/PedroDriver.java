@@ -16,6 +16,7 @@ import com.technototes.library.util.PIDFController;
 import java.util.function.DoubleSupplier;
 import org.firstinspires.ftc.sixteen750.Setup;
 import org.firstinspires.ftc.sixteen750.Setup.OtherSettings;
+import org.firstinspires.ftc.sixteen750.helpers.SotmCompensator;
 import org.firstinspires.ftc.sixteen750.subsystems.LimelightSubsystem;
 
 /* Recall, the Pedro Path coordinate system:
@@ -325,7 +326,8 @@ public class PedroDriver implements Command, Loggable {
                     if (limelightSubsystem.getRawDistance() < 0) {
                         return rotation;
                     }
-                    return vizPid.update(LimelightSubsystem.Xangle * SIGN);
+                    // If we're moving, aim where the shoot-on-the-move solver says to
+                    return vizPid.update(SotmCompensator.getAimAngle() * SIGN);
                 } else {
                     return rotation;
                 } //                        (VISION_TURN_SCALE * -LimelightSubsystem.Xangle) /
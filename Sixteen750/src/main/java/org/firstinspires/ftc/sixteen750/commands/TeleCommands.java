@@ -4,9 +4,11 @@ import com.pedropathing.geometry.BezierPoint;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.SequentialCommandGroup;
 import com.technototes.library.command.WaitCommand;
+import com.technototes.library.command.WaitForFlywheel;
 import org.firstinspires.ftc.sixteen750.Robot;
 import org.firstinspires.ftc.sixteen750.commands.LLRelocCommand;
 import org.firstinspires.ftc.sixteen750.commands.auto.Paths;
+import org.firstinspires.ftc.sixteen750.subsystems.LauncherSubsystem;
 import org.firstinspires.ftc.sixteen750.subsystems.LimelightSubsystem;
 
 public class TeleCommands {
@@ -49,6 +51,15 @@ public class TeleCommands {
         return Command.create(r.launcherSubsystem::Stop);
     }
 
+    // Wait (at most maxSeconds) until the flywheel will be at speed when the next ball gets to it
+    public static Command WaitForSpinUp(Robot r, double maxSeconds) {
+        return new WaitForFlywheel(
+            r.launcherSubsystem::readyWithin,
+            LauncherSubsystem.FEED_LEAD_TIME,
+            maxSeconds
+        );
+    }
+
     public static Command IdleLaunch(Robot r) {
         return Command.create(r.launcherSubsystem::Idle);
     }
@@ -168,7 +179,7 @@ public class TeleCommands {
     public static SequentialCommandGroup OutreachLaunch(Robot r) {
         return new SequentialCommandGroup(
             Command.create(r.launcherSubsystem::Launch),
-            new WaitCommand(0.8),
+            WaitForSpinUp(r, 0.8),
             Command.create(r.intakeSubsystem::Intake),
             Command.create(r.aimingSubsystem::GoBall),
             new WaitCommand(.8),
@@ -181,7 +192,7 @@ public class TeleCommands {
     public static SequentialCommandGroup OutreachLaunchFar(Robot r) {
         return new SequentialCommandGroup(
             Command.create(r.launcherSubsystem::Launch),
-            new WaitCommand(1.4),
+            WaitForSpinUp(r, 1.4),
             Command.create(r.intakeSubsystem::Hold),
             Command.create(r.aimingSubsystem::GoBall),
             new WaitCommand(2.5),
@@ -0,0 +1,406 @@
+package org.firstinspires.ftc.sixteen750.commands.auto;
+
+import com.bylazar.configurables.annotations.Configurable;
+import com.pedropathing.follower.Follower;
+import com.pedropathing.paths.PathChain;
+import com.technototes.library.util.Alliance;
+import com.technototes.library.util.MirroredPaths;
+import com.technototes.library.util.PathCache;
+
+// The paths for the Near18Partner (P), Near18Safe (S) and Far15Partner (F) autos, for either
+// alliance. They're written with the blue poses, and mirrored for red (with red's own pose, where
+// it's been tuned to something different). Each path is only built the first time it's used, so an
+// auto only builds its own paths, for its own alliance.
+@Configurable
+public class AlliancePaths extends MirroredPaths {
+
+    public static double power085 = 0.85;
+    public static double power095 = 0.95;
+
+    // These are for readability only: They aren't necessary...
+    private final Poses.StartPoses sp = new Poses.StartPoses();
+    private final Poses.BNear18PartnerPoses p = new Poses.BNear18PartnerPoses();
+    private final Poses.RNear18PartnerPoses rp = new Poses.RNear18PartnerPoses();
+    private final Poses.BNear18SafePoses p1 = new Poses.BNear18SafePoses();
+    private final Poses.RNear18SafePoses rp1 = new Poses.RNear18SafePoses();
+    private final Poses.BFar15PartnerPoses p2 = new Poses.BFar15PartnerPoses();
+    private final Poses.RFar15PartnerPoses rp2 = new Poses.RFar15PartnerPoses();
+
+    public AlliancePaths(Follower follower, Alliance alliance) {
+        super(follower, alliance);
+        follower.setMaxPowerScaling(1);
+    }
+
+    public PathChain PStartToLaunch() {
+        return get("PStartToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(sp.BStart), pose(p.BLaunch)))
+                .setConstantHeadingInterpolation(heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToInt1() {
+        return get("PLaunchToInt1", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p.BLaunch),
+                        pose(p.BInt1CtrlPoint1, rp.RInt1CtrlPoint1),
+                        pose(p.BInt1CtrlPoint2, rp.RInt1CtrlPoint2),
+                        pose(p.BInt1, rp.RInt1)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p.BInt1Head))
+                .build()
+        );
+    }
+
+    public PathChain PInt1ToLaunch() {
+        return get("PInt1ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p.BInt1, rp.RInt1),
+                        pose(p.BInt1ToLaunchCtrlPoint, rp.RInt1ToLaunchCtrlPoint),
+                        pose(p.BLaunch)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToGateInt1() {
+        return get("PLaunchToGateInt1", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BLaunch), pose(p.BGateCycleCtrlPoint), pose(p.BGateInt1))
+                )
+                .setLinearHeadingInterpolation(heading(p.BLaunchHead), heading(p.BGateIntHead))
+                .build()
+        );
+    }
+
+    public PathChain PGateInt1ToLaunch() {
+        return get("PGateInt1ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BGateInt1), pose(p.BGateCycleCtrlPoint), pose(p.BLaunch))
+                )
+                .setLinearHeadingInterpolation(heading(p.BGateIntHead), heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToGateInt2() {
+        return get("PLaunchToGateInt2", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BLaunch), pose(p.BGateCycleCtrlPoint), pose(p.BGateInt2))
+                )
+                .setLinearHeadingInterpolation(heading(p.BLaunchHead), heading(p.BGateIntHead))
+                .build()
+        );
+    }
+
+    public PathChain PGateInt2ToLaunch() {
+        return get("PGateInt2ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BGateInt2), pose(p.BGateCycleCtrlPoint), pose(p.BLaunch))
+                )
+                .setLinearHeadingInterpolation(heading(p.BGateIntHead), heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToGateInt3() {
+        return get("PLaunchToGateInt3", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BLaunch), pose(p.BGateCycleCtrlPoint), pose(p.BGateInt3))
+                )
+                .setLinearHeadingInterpolation(heading(p.BLaunchHead), heading(p.BGateIntHead))
+                .build()
+        );
+    }
+
+    public PathChain PGateInt3ToLaunch() {
+        return get("PGateInt3ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p.BGateInt3), pose(p.BGateCycleCtrlPoint), pose(p.BLaunch))
+                )
+                .setLinearHeadingInterpolation(heading(p.BGateIntHead), heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToInt2() {
+        return get("PLaunchToInt2", () ->
+            builder()
+                .addPath(PathCache.curve(pose(p.BLaunch), pose(p.BInt2CtrlPoint), pose(p.BInt2)))
+                .setConstantHeadingInterpolation(heading(p.BInt2Head))
+                .build()
+        );
+    }
+
+    public PathChain PInt2ToLaunch() {
+        return get("PInt2ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p.BInt2), pose(p.BLaunch)))
+                .setConstantHeadingInterpolation(heading(p.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain PLaunchToEnd() {
+        return get("PLaunchToEnd", () ->
+            builder()
+                .addPath(PathCache.line(pose(p.BLaunch), pose(p.BEnd)))
+                .setConstantHeadingInterpolation(heading(p.BEndHead))
+                .build()
+        );
+    }
+
+    public PathChain SStartToLaunch() {
+        return get("SStartToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(sp.BStart), pose(p1.BLaunch)))
+                .setConstantHeadingInterpolation(heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToInt1() {
+        return get("SLaunchToInt1", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BLaunch),
+                        pose(p1.BInt1CtrlPoint1, rp1.RInt1CtrlPoint1),
+                        pose(p1.BInt1CtrlPoint2, rp1.RInt1CtrlPoint2),
+                        pose(p1.BInt1, rp1.RInt1)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p1.BInt1Head))
+                .build()
+        );
+    }
+
+    public PathChain SInt1ToLaunch() {
+        return get("SInt1ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BInt1, rp1.RInt1),
+                        pose(p1.BInt1ToLaunchCtrlPoint),
+                        pose(p1.BLaunch)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToGateInt1() {
+        return get("SLaunchToGateInt1", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BLaunch),
+                        pose(p1.BGateCycleCtrlPoint),
+                        pose(p1.BGateInt1, rp1.RGateInt)
+                    )
+                )
+                .setLinearHeadingInterpolation(heading(p1.BLaunchHead), heading(p1.BGateIntHead))
+                .build()
+        );
+    }
+
+    public PathChain SGateInt1ToLaunch() {
+        return get("SGateInt1ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BGateInt1, rp1.RGateInt),
+                        pose(p1.BGateCycleCtrlPoint),
+                        pose(p1.BLaunch)
+                    )
+                )
+                .setLinearHeadingInterpolation(heading(p1.BGateIntHead), heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToInt2() {
+        return get("SLaunchToInt2", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BLaunch),
+                        pose(p1.BInt2CtrlPoint1),
+                        pose(p1.BInt2CtrlPoint2),
+                        pose(p1.BInt2)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p1.BInt2Head))
+                .build()
+        );
+    }
+
+    public PathChain SInt2ToLaunch() {
+        return get("SInt2ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p1.BInt2), pose(p1.BLaunch)))
+                .setLinearHeadingInterpolation(heading(p1.BInt2Head), heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToGateInt2() {
+        return get("SLaunchToGateInt2", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BLaunch),
+                        pose(p1.BGateCycleCtrlPoint),
+                        pose(p1.BGateInt2, rp1.RGateInt2)
+                    )
+                )
+                .setLinearHeadingInterpolation(heading(p1.BLaunchHead), heading(p1.BGateIntHead))
+                .build()
+        );
+    }
+
+    public PathChain SGateInt2ToLaunch() {
+        return get("SGateInt2ToLaunch", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p1.BGateInt2, rp1.RGateInt2),
+                        pose(p1.BGateCycleCtrlPoint),
+                        pose(p1.BLaunch)
+                    )
+                )
+                .setLinearHeadingInterpolation(heading(p1.BGateIntHead), heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToInt3() {
+        return get("SLaunchToInt3", () ->
+            builder()
+                .addPath(PathCache.curve(pose(p1.BLaunch), pose(p1.BInt3CtrlPoint), pose(p1.BInt3)))
+                .setConstantHeadingInterpolation(heading(p1.BInt3Head))
+                .build()
+        );
+    }
+
+    public PathChain SInt3ToLaunch() {
+        return get("SInt3ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p1.BInt3), pose(p1.BLaunch)))
+                .setConstantHeadingInterpolation(heading(p1.BLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain SLaunchToEnd() {
+        return get("SLaunchToEnd", () ->
+            builder()
+                .addPath(PathCache.line(pose(p1.BLaunch), pose(p1.BEnd)))
+                .setConstantHeadingInterpolation(heading(p1.BEndHead))
+                .build()
+        );
+    }
+
+    public PathChain FStartToLaunch() {
+        return get("FStartToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(sp.BFStart), pose(p2.BFLaunch)))
+                .setConstantHeadingInterpolation(heading(p2.BFLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain FInt1ToLaunch() {
+        return get("FInt1ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p2.BFInt1), pose(p2.BFLaunch)))
+                .setConstantHeadingInterpolation(heading(p2.BFLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain FInt2ToLaunch() {
+        return get("FInt2ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p2.BFInt2), pose(p2.BFLaunch)))
+                .setLinearHeadingInterpolation(heading(p2.BFInt2Head), heading(p2.BFLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain FInt3ToLaunch() {
+        return get("FInt3ToLaunch", () ->
+            builder()
+                .addPath(PathCache.line(pose(p2.BFInt3, rp2.RFInt3), pose(p2.BFLaunch)))
+                .setConstantHeadingInterpolation(heading(p2.BFLaunchHead))
+                .build()
+        );
+    }
+
+    public PathChain FLaunchToInt1() {
+        return get("FLaunchToInt1", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(pose(p2.BFLaunch), pose(p2.BFInt1CtrlPoint), pose(p2.BFInt1))
+                )
+                .setConstantHeadingInterpolation(heading(p2.BFInt1Head))
+                .build()
+        );
+    }
+
+    public PathChain FLaunchToInt2() {
+        return get("FLaunchToInt2", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p2.BFLaunch),
+                        pose(p2.BFInt2CtrlPoint1),
+                        pose(p2.BFInt2CtrlPoint2),
+                        pose(p2.BFInt2)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p2.BFInt2Head))
+                .build()
+        );
+    }
+
+    public PathChain FLaunchToInt3() {
+        return get("FLaunchToInt3", () ->
+            builder()
+                .addPath(
+                    PathCache.curve(
+                        pose(p2.BFLaunch),
+                        pose(p2.BFInt3CtrlPoint1),
+                        pose(p2.BFInt3CtrlPoint2),
+                        pose(p2.BFInt1)
+                    )
+                )
+                .setConstantHeadingInterpolation(heading(p2.BFInt3Head))
+                .build()
+        );
+    }
+
+    public PathChain FLaunchToEnd() {
+        return get("FLaunchToEnd", () ->
+            builder()
+                .addPath(PathCache.line(pose(p2.BFLaunch), pose(p2.BFEnd)))
+                .setConstantHeadingInterpolation(heading(p2.BFEndHead))
+                .build()
+        );
+    }
+}
@@ -1,9 +1,9 @@
 package org.firstinspires.ftc.sixteen750.commands.auto;
 
 import com.pedropathing.follower.Follower;
-import com.pedropathing.geometry.BezierLine;
 import com.pedropathing.geometry.Pose;
 import com.pedropathing.paths.PathChain;
+import com.technototes.library.util.PathCache;
 
 public class LinePaths {
 
@@ -72,170 +72,170 @@ public class LinePaths {
     public LinePaths(Follower follower) {
         Start_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(start, launch))
+            .addPath(PathCache.line(start, launch))
             //.setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(125))
             .setConstantHeadingInterpolation(Math.toRadians(125))
             .build();
 
         Launch_to_Intake1 = follower
             .pathBuilder()
-            .addPath(new BezierLine(launch, intake1))
+            .addPath(PathCache.line(launch, intake1))
             //.setLinearHeadingInterpolation(Math.toRadians(125), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
 
         Intake1_to_Intake1end = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake1, intake1end))
+            .addPath(PathCache.line(intake1, intake1end))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
 
         Intake1end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake1end, launch))
+            .addPath(PathCache.line(intake1end, launch))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(125))
             .setConstantHeadingInterpolation(Math.toRadians(125))
             .build();
         Launch_to_Intake2 = follower
             .pathBuilder()
-            .addPath(new BezierLine(launch, intake2))
+            .addPath(PathCache.line(launch, intake2))
             // .setLinearHeadingInterpolation(Math.toRadians(125), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
         Intake2_to_Intake2end = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake2, intake2end))
+            .addPath(PathCache.line(intake2, intake2end))
             // .setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
         Intake2end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake2end, launch))
+            .addPath(PathCache.line(intake2end, launch))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(125))
             .setConstantHeadingInterpolation(Math.toRadians(125))
             .build();
         Launch_to_Intake3 = follower
             .pathBuilder()
-            .addPath(new BezierLine(launch, intake3))
+            .addPath(PathCache.line(launch, intake3))
             //.setLinearHeadingInterpolation(Math.toRadians(125), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
         Intake3_to_Intake3end = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake3, intake3end))
+            .addPath(PathCache.line(intake3, intake3end))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(180))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .build();
         Intake3end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake3end, launch))
+            .addPath(PathCache.line(intake3end, launch))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(125))
             .setConstantHeadingInterpolation(Math.toRadians(125))
             .build();
         Launch_to_Move = follower
             .pathBuilder()
-            .addPath(new BezierLine(launch, move))
+            .addPath(PathCache.line(launch, move))
             //.setLinearHeadingInterpolation(Math.toRadians(125), Math.toRadians(125))
             .setConstantHeadingInterpolation(Math.toRadians(125))
             .build();
         Forward48 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(56.000, 8.000), new Pose(56.000, 56.000)))
+            .addPath(PathCache.line(new Pose(56.000, 8.000), new Pose(56.000, 56.000)))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(90))
             .setVelocityConstraint(0.5)
             .build();
         Backward48 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(56.000, 56.000), new Pose(56.000, 8.000)))
+            .addPath(PathCache.line(new Pose(56.000, 56.000), new Pose(56.000, 8.000)))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(90))
             .build();
 
         SideLeft48 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(56.000, 8.000), new Pose(8, 8.000)))
+            .addPath(PathCache.line(new Pose(56.000, 8.000), new Pose(8, 8.000)))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(90))
             .build();
 
         SideRight48 = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(8, 8.000), new Pose(56.000, 8.000)))
+            .addPath(PathCache.line(new Pose(8, 8.000), new Pose(56.000, 8.000)))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(90))
             .build();
         //red auto paths
 
         RStart_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rstart, Rlaunch))
+            .addPath(PathCache.line(Rstart, Rlaunch))
             //.setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(45))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
 
         RLaunch_to_Intake1 = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlaunch, Rintake1))
+            .addPath(PathCache.line(Rlaunch, Rintake1))
             //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake1_to_Intake1end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake1, Rintake1end))
+            .addPath(PathCache.line(Rintake1, Rintake1end))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake1end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake1end, Rlaunch))
+            .addPath(PathCache.line(Rintake1end, Rlaunch))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(45))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
 
         RLaunch_to_Intake2 = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlaunch, Rintake2))
+            .addPath(PathCache.line(Rlaunch, Rintake2))
             //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake2_to_Intake2end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake2, Rintake2end))
+            .addPath(PathCache.line(Rintake2, Rintake2end))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake2end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake2end, Rlaunch))
+            .addPath(PathCache.line(Rintake2end, Rlaunch))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(45))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
 
         RLaunch_to_Intake3 = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlaunch, Rintake3))
+            .addPath(PathCache.line(Rlaunch, Rintake3))
             //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake3_to_Intake3end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake3, Rintake3end))
+            .addPath(PathCache.line(Rintake3, Rintake3end))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(0))
             .setConstantHeadingInterpolation(Math.toRadians(0))
             .build();
 
         RIntake3end_to_Launch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake3, Rlaunch))
+            .addPath(PathCache.line(Rintake3, Rlaunch))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(45))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
         RLaunch_to_Move = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlaunch, Rmove))
+            .addPath(PathCache.line(Rlaunch, Rmove))
             //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(45))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
@@ -2,8 +2,6 @@ package org.firstinspires.ftc.sixteen750.commands.auto;
 
 import com.bylazar.configurables.annotations.Configurable;
 import com.pedropathing.follower.Follower;
-import com.pedropathing.geometry.BezierCurve;
-import com.pedropathing.geometry.BezierLine;
 import com.pedropathing.geometry.Pose;
 import com.pedropathing.paths.HeadingInterpolator;
 import com.pedropathing.paths.PathChain;
@@ -11,6 +9,7 @@ import com.technototes.library.command.Command;
 import com.technototes.library.command.ParallelCommandGroup;
 import com.technototes.library.command.SequentialCommandGroup;
 import com.technototes.library.command.WaitCommand;
+import com.technototes.library.util.PathCache;
 import org.firstinspires.ftc.sixteen750.Robot;
 import org.firstinspires.ftc.sixteen750.commands.AltAutoOrient;
 import org.firstinspires.ftc.sixteen750.commands.AltAutoOrientFar;
@@ -28,7 +27,7 @@ public class Paths {
                 TeleCommands.GateUp(r),
                 TeleCommands.AutoLaunch1(r)
             ),
-            new WaitCommand(3),
+            TeleCommands.WaitForSpinUp(r, 3),
             TeleCommands.GateDown(r),
             new WaitCommand(0.1),
             TeleCommands.GateUp(r),
@@ -398,7 +397,7 @@ public class Paths {
         launch =
             follower
                 .pathBuilder()
-                .addPath(new BezierLine(Start, Launch))
+                .addPath(PathCache.line(Start, Launch))
                 .setConstantHeadingInterpolation(Math.toRadians(launchHeading0))
                 //.setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(135))
                 .build();
@@ -406,7 +405,7 @@ public class Paths {
         launchtointake1 =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(Launch, new Pose(73.411, 86.685), Intake1end))
+                .addPath(PathCache.curve(Launch, new Pose(73.411, 86.685), Intake1end))
                 .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(135), Math.toRadians(180))
                 .build();
@@ -417,7 +416,7 @@ public class Paths {
                 .addPath(
                     //changing all return-to-launch coordinate points except for the very first one cause its
                     //not touching the white line when shooting (x increases by 10, y decreases by 10)
-                    new BezierLine(Intake1end, Launch)
+                    PathCache.line(Intake1end, Launch)
                 )
                 .setConstantHeadingInterpolation(Math.toRadians(launchHeading1))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(135))
@@ -426,7 +425,7 @@ public class Paths {
         launchtointake2 =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(Launch, new Pose(80, 61), Intake2end))
+                .addPath(PathCache.curve(Launch, new Pose(80, 61), Intake2end))
                 .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(135), Math.toRadians(180))
                 .build();
@@ -434,7 +433,7 @@ public class Paths {
         intake2tolaunch =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(Intake2end, new Pose(62, 76), Launch))
+                .addPath(PathCache.curve(Intake2end, new Pose(62, 76), Launch))
                 .setConstantHeadingInterpolation(Math.toRadians(launchHeading2))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(135))
                 .build();
@@ -442,21 +441,21 @@ public class Paths {
         launchtointake3 =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(Launch, new Pose(46.407, 96.652), Intake3end))
+                .addPath(PathCache.curve(Launch, new Pose(46.407, 96.652), Intake3end))
                 .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(135))
                 .build();
 
         launchtopark = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(51.407, 101.595), new Pose(29.192, 49.617)))
+            .addPath(PathCache.line(new Pose(51.407, 101.595), new Pose(29.192, 49.617)))
             .setLinearHeadingInterpolation(Math.toRadians(135), Math.toRadians(180))
             .build();
 
         intake3tolaunch =
             follower
                 .pathBuilder()
-                .addPath(new BezierLine(Intake3end, Launch))
+                .addPath(PathCache.line(Intake3end, Launch))
                 .setConstantHeadingInterpolation(Math.toRadians(launchHeading3))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(135))
                 .build();
@@ -464,7 +463,7 @@ public class Paths {
         Rstarttolaunch =
             follower
                 .pathBuilder()
-                .addPath(new BezierLine(RStart, RLaunch))
+                .addPath(PathCache.line(RStart, RLaunch))
                 .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading1))
                 //.setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(45))
                 .build();
@@ -472,7 +471,7 @@ public class Paths {
         Rlaunchtointake1 =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(RLaunch, new Pose(71, 86.685), RIntake1))
+                .addPath(PathCache.curve(RLaunch, new Pose(71, 86.685), RIntake1))
                 .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(0))
                 .build();
@@ -483,7 +482,7 @@ public class Paths {
                 .addPath(
                     //changing all return-to-launch coordinate points except for the very first one cause its
                     //not touching the white line when shooting (x increases by 10, y decreases by 10)
-                    new BezierLine(RIntake1, RLaunch)
+                    PathCache.line(RIntake1, RLaunch)
                 )
                 .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading2))
                 //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(45))
@@ -492,115 +491,115 @@ public class Paths {
         Rlaunchtointake2 =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(RLaunch, new Pose(64, 61), RIntake2end))
+                .addPath(PathCache.curve(RLaunch, new Pose(64, 61), RIntake2end))
                 .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(RintakeHeading))
                 .build();
         Rintake2tolaunch =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(RIntake2end, new Pose(82, 76), RLaunch))
+                .addPath(PathCache.curve(RIntake2end, new Pose(82, 76), RLaunch))
                 .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading3))
                 //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(RlaunchHeading3))
                 .build();
         Rlaunchtointake3 =
             follower
                 .pathBuilder()
-                .addPath(new BezierLine(RLaunch, RIntake3end))
+                .addPath(PathCache.line(RLaunch, RIntake3end))
                 .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(135))
                 .build();
         Rlaunchtopark = follower
             .pathBuilder()
-            .addPath(new BezierLine(new Pose(93, 101.595), new Pose(115, 49.617)))
+            .addPath(PathCache.line(new Pose(93, 101.595), new Pose(115, 49.617)))
             .setLinearHeadingInterpolation(Math.toRadians(45), Math.toRadians(0))
             .build();
 
         Rintake3tolaunch =
             follower
                 .pathBuilder()
-                .addPath(new BezierLine(RIntake3end, RLaunch))
+                .addPath(PathCache.line(RIntake3end, RLaunch))
                 .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading4))
                 //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(45))
                 .build();
 
         StarttoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Start, Launch))
+            .addPath(PathCache.line(Start, Launch))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading0))
             .build();
 
         LaunchtoIntake1 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Launch, Intake1ControlPoint, Intake1))
+            .addPath(PathCache.curve(Launch, Intake1ControlPoint, Intake1))
             .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
             .build();
 
         Intake1toIntake1end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Intake1, Intake1end))
+            .addPath(PathCache.line(Intake1, Intake1end))
             .setTangentHeadingInterpolation()
             .build();
         Intake1endtoLever =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(Intake1end, LeverControlPoint, Lever))
+                .addPath(PathCache.curve(Intake1end, LeverControlPoint, Lever))
                 .setConstantHeadingInterpolation(Math.toRadians(180))
                 //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(90))
                 .build();
         LevertoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Lever, Launch))
+            .addPath(PathCache.line(Lever, Launch))
             //.setLinearHeadingInterpolation(Math.toRadians(intakeHeading),Math.toRadians(launchHeading1))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading0))
             .build();
         Intake1endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Intake1end, Launch))
+            .addPath(PathCache.line(Intake1end, Launch))
             //.setLinearHeadingInterpolation(Math.toRadians(180), Math.toRadians(launchHeading2))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading1))
             .build();
 
         LaunchtoIntake2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Launch, Intake2ControlPoint, Intake2))
+            .addPath(PathCache.curve(Launch, Intake2ControlPoint, Intake2))
             .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
             .build();
 
         Intake2toIntake2end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Intake2, Intake2end))
+            .addPath(PathCache.line(Intake2, Intake2end))
             .setTangentHeadingInterpolation()
             .build();
 
         Intake2endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Intake2end, Intake2endControlPoint, Launch))
+            .addPath(PathCache.curve(Intake2end, Intake2endControlPoint, Launch))
             //.setLinearHeadingInterpolation(Math.toRadians(intakeHeading), Math.toRadians(launchHeading3))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading2))
             .build();
 
         LaunchtoIntake3 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Launch, Intake3ControlPoint, Intake3))
+            .addPath(PathCache.curve(Launch, Intake3ControlPoint, Intake3))
             .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
             .build();
 
         Intake3toIntake3end = follower
             .pathBuilder()
-            .addPath(new BezierLine(Intake3, Intake3end))
+            .addPath(PathCache.line(Intake3, Intake3end))
             .setTangentHeadingInterpolation()
             .build();
 
         Intake3endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Intake3end, Intake3endControlPoint, Launch))
+            .addPath(PathCache.curve(Intake3end, Intake3endControlPoint, Launch))
             //.setLinearHeadingInterpolation(Math.toRadians(intakeHeading), Math.toRadians(launchHeading4))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading3))
             .build();
         LaunchtoEnd = follower
             .pathBuilder()
-            .addPath(new BezierLine(Launch, End))
+            .addPath(PathCache.line(Launch, End))
             .setLinearHeadingInterpolation(
                 Math.toRadians(launchHeading3),
                 Math.toRadians(intakeHeading)
@@ -608,7 +607,7 @@ public class Paths {
             .build();
         FarStarttoFarLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(FarStart, FarLaunch))
+            .addPath(PathCache.line(FarStart, FarLaunch))
             .setLinearHeadingInterpolation(
                 Math.toRadians(tunnelIntakeHeading),
                 Math.toRadians(farlaunchHeading1)
@@ -616,36 +615,36 @@ public class Paths {
             .build();
         FarLaunchtoIntakeCorner = follower
             .pathBuilder()
-            .addPath(new BezierCurve(FarLaunch, IntakeCornerControlPoint, IntakeCorner))
+            .addPath(PathCache.curve(FarLaunch, IntakeCornerControlPoint, IntakeCorner))
             .setLinearHeadingInterpolation(farlaunchHeading1, cornerIntakeHeading)
             .build();
 
         IntakeCornertoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(IntakeCorner, FarLaunch))
+            .addPath(PathCache.line(IntakeCorner, FarLaunch))
             .setLinearHeadingInterpolation(cornerIntakeHeading, farlaunchHeading1)
             .build();
 
         LaunchtoIntakeTunnel = follower
             .pathBuilder()
-            .addPath(new BezierLine(FarLaunch, IntakeTunnel))
+            .addPath(PathCache.line(FarLaunch, IntakeTunnel))
             .setLinearHeadingInterpolation(farlaunchHeading1, tunnelIntakeHeading)
             .build();
 
         IntakeTunneltoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(IntakeTunnel, FarLaunch))
+            .addPath(PathCache.line(IntakeTunnel, FarLaunch))
             .setLinearHeadingInterpolation(tunnelIntakeHeading, farlaunchHeading1)
             .build();
         RStarttoLaunchH = follower
             .pathBuilder()
-            .addPath(new BezierLine(RStart, RLaunch))
+            .addPath(PathCache.line(RStart, RLaunch))
             .setHeadingInterpolation(HeadingInterpolator.facingPoint(RGoal)) //            .setHeadingInterpolation(HeadingInterpolator.facingPoint(0, RADIUS))
             .build();
 
         RLaunchtoIntake1H = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch, RIntake1ControlPoint, RIntake1))
+            .addPath(PathCache.curve(RLaunch, RIntake1ControlPoint, RIntake1))
             .setLinearHeadingInterpolation(
                 Math.toRadians(RlaunchHeading1),
                 Math.toRadians(RintakeHeading)
@@ -654,106 +653,106 @@ public class Paths {
 
         RIntake1toIntake1endH = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake1, RIntake1end))
+            .addPath(PathCache.line(RIntake1, RIntake1end))
             .setTangentHeadingInterpolation()
             .build();
         RIntake1endtoLeverH = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake1end, Rlever))
+            .addPath(PathCache.line(RIntake1end, Rlever))
             .setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(90))
             .build();
 
         RLevertoLaunchH = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlever, RLaunch))
+            .addPath(PathCache.line(Rlever, RLaunch))
             .setHeadingInterpolation(HeadingInterpolator.facingPoint(RGoal))
             .build();
 
         RStarttoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(RStart, RLaunch))
+            .addPath(PathCache.line(RStart, RLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading1))
             .build();
 
         RLaunchtoIntake1 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch, RIntake1ControlPoint, RIntake1))
+            .addPath(PathCache.curve(RLaunch, RIntake1ControlPoint, RIntake1))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .build();
 
         RLaunch2toIntake1 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch2, RIntake1ControlPoint, RIntake1))
+            .addPath(PathCache.curve(RLaunch2, RIntake1ControlPoint, RIntake1))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .build();
 
         RIntake1toIntake1end = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake1, RIntake1end))
+            .addPath(PathCache.line(RIntake1, RIntake1end))
             .setTangentHeadingInterpolation()
             .build();
         RIntake1endtoLever =
             follower
                 .pathBuilder()
-                .addPath(new BezierCurve(RIntake1end, RleverControlPoint, Rlever))
+                .addPath(PathCache.curve(RIntake1end, RleverControlPoint, Rlever))
                 .setConstantHeadingInterpolation(Math.toRadians(0))
                 //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(90))
                 .build();
 
         RLevertoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rlever, RLaunch))
+            .addPath(PathCache.line(Rlever, RLaunch))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(RlaunchHeading1))
             .build();
         RIntake1endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake1end, RLaunch2))
+            .addPath(PathCache.line(RIntake1end, RLaunch2))
             .setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(RlaunchHeading2))
             .build();
 
         RLaunchtoIntake2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch, RIntake2ControlPoint, RIntake2))
+            .addPath(PathCache.curve(RLaunch, RIntake2ControlPoint, RIntake2))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .build();
 
         RIntake2toIntake2end = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake2, RIntake2end))
+            .addPath(PathCache.line(RIntake2, RIntake2end))
             .setTangentHeadingInterpolation()
             .build();
         RLaunchtoIntakeGate = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch, RIntakeGateControlPoint, RIntakeGate))
+            .addPath(PathCache.curve(RLaunch, RIntakeGateControlPoint, RIntakeGate))
             .setConstantHeadingInterpolation(Math.toRadians(30))
             .build();
         RLaunchtoIntakeGateInOne = follower
             .pathBuilder()
             .addPath(
-                new BezierCurve(RLaunch, new Pose(136, 56), new Pose(144, 76), RIntakeGateDown)
+                PathCache.curve(RLaunch, new Pose(136, 56), new Pose(144, 76), RIntakeGateDown)
             )
             .setConstantHeadingInterpolation(Math.toRadians(30))
             .build();
         RIntakeGatetoIntakeGateDown = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntakeGate, RIntakeGateDown))
+            .addPath(PathCache.line(RIntakeGate, RIntakeGateDown))
             .setConstantHeadingInterpolation(Math.toRadians(65))
             .build();
         RIntakeGateDowntoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntakeGateDown, RIntakeGateDownControlPoint, RLaunch))
+            .addPath(PathCache.curve(RIntakeGateDown, RIntakeGateDownControlPoint, RLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
         RIntakeGateDowntoLaunch2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntakeGateDown, RIntakeGateDownControlPoint, RLaunch))
+            .addPath(PathCache.curve(RIntakeGateDown, RIntakeGateDownControlPoint, RLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(45))
             .build();
 
         LaunchtoIntakeGateInOne = follower
             .pathBuilder()
             .addPath(
-                new BezierCurve(
+                PathCache.curve(
                     Launch,
                     IntakeGateDownControlPoint1,
                     IntakeGateDownControlPoint2,
@@ -764,87 +763,87 @@ public class Paths {
             .build();
         IntakeGateDowntoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(IntakeGateDown, IntakeGateDownControlPoint, Launch))
+            .addPath(PathCache.curve(IntakeGateDown, IntakeGateDownControlPoint, Launch))
             .setConstantHeadingInterpolation(Math.toRadians(135))
             .build();
 
         RIntake2endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntake2end, RIntake2endControlPoint, RLaunch))
+            .addPath(PathCache.curve(RIntake2end, RIntake2endControlPoint, RLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading3))
             .build();
         RLever2toLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Rlever2, RLever2controlpoint, RLaunch))
+            .addPath(PathCache.curve(Rlever2, RLever2controlpoint, RLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading1))
             .build();
         Lever2toLaunch = follower
             .pathBuilder()
-            .addPath(new BezierLine(Lever2, Launch))
+            .addPath(PathCache.line(Lever2, Launch))
             .setConstantHeadingInterpolation(Math.toRadians(launchHeading1))
             .build();
 
         RIntake2endtoLever2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntake2end, RleverControlPoint2, Rlever2))
+            .addPath(PathCache.curve(RIntake2end, RleverControlPoint2, Rlever2))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .build();
         Intake2endtoLever2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(Intake2end, LeverControlPoint2, Lever2))
+            .addPath(PathCache.curve(Intake2end, LeverControlPoint2, Lever2))
             .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
             .build();
 
         RLaunchtoIntake3 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RLaunch, RIntake3ControlPoint, RIntake3))
+            .addPath(PathCache.curve(RLaunch, RIntake3ControlPoint, RIntake3))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .build();
 
         RIntake3toIntake3end = follower
             .pathBuilder()
-            .addPath(new BezierLine(RIntake3, RIntake3end))
+            .addPath(PathCache.line(RIntake3, RIntake3end))
             .setTangentHeadingInterpolation()
             .build();
 
         RIntake3endtoLaunch = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntake3end, RIntake3endControlPoint, RLaunchend))
+            .addPath(PathCache.curve(RIntake3end, RIntake3endControlPoint, RLaunchend))
             .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading4))
             .build();
         RIntake3endtoLaunch2 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RIntake3end, RIntake3endControlPoint, RLaunch2))
+            .addPath(PathCache.curve(RIntake3end, RIntake3endControlPoint, RLaunch2))
             .setConstantHeadingInterpolation(Math.toRadians(RlaunchHeading4))
             .build();
         RLaunchtoEnd = follower
             .pathBuilder()
-            .addPath(new BezierLine(RLaunch, REnd))
+            .addPath(PathCache.line(RLaunch, REnd))
             .setLinearHeadingInterpolation(Math.toRadians(RlaunchHeading4), Math.toRadians(0))
             .build();
         RLaunch2toEnd = follower
             .pathBuilder()
-            .addPath(new BezierLine(RLaunch2, REnd))
+            .addPath(PathCache.line(RLaunch2, REnd))
             .setLinearHeadingInterpolation(Math.toRadians(RlaunchHeading4), Math.toRadians(0))
             .build();
 
         RStartFartolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(RfarStart, RfarLaunch))
+            .addPath(PathCache.line(RfarStart, RfarLaunch))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(RfarlaunchHeading))
             .setVelocityConstraint(0.3)
             .build();
 
         Rlaunchfartointake4 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RfarLaunch, Rintake4ControlPoint, Rintake4))
+            .addPath(PathCache.curve(RfarLaunch, Rintake4ControlPoint, Rintake4))
             .setConstantHeadingInterpolation(Math.toRadians(RintakeHeading))
             .setVelocityConstraint(0.3)
             .build();
 
         Rintake4tolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(Rintake4, RfarLaunch2))
+            .addPath(PathCache.line(Rintake4, RfarLaunch2))
             .setConstantHeadingInterpolation(Math.toRadians(RfarlaunchHeading2))
             //.setLinearHeadingInterpolation(Math.toRadians(0), Math.toRadians(RfarlaunchHeading))
             .setVelocityConstraint(0.3)
@@ -852,7 +851,7 @@ public class Paths {
 
         RlaunchfartointakeCorner = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RfarLaunch2, RintakeCornerControlPoint, RintakeCorner))
+            .addPath(PathCache.curve(RfarLaunch2, RintakeCornerControlPoint, RintakeCorner))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -864,7 +863,7 @@ public class Paths {
 
         RintakeCornertolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(RintakeCorner, RfarLaunch3))
+            .addPath(PathCache.line(RintakeCorner, RfarLaunch3))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(RcornerIntakeHeading2),
@@ -875,7 +874,7 @@ public class Paths {
         RlaunchfartointakeCornerNew = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierCurve(RfarLaunch3, RintakeCornerControlPoint, RintakeNewCorner))
+            .addPath(PathCache.curve(RfarLaunch3, RintakeCornerControlPoint, RintakeNewCorner))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -888,7 +887,7 @@ public class Paths {
         RintakeCornerNewtolaunchfar = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierLine(RintakeNewCorner, RfarLaunch4))
+            .addPath(PathCache.line(RintakeNewCorner, RfarLaunch4))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(RNewCornerIntakeHeading),
@@ -897,7 +896,7 @@ public class Paths {
             .build();
         RlaunchfartointakeHorizontal = follower
             .pathBuilder()
-            .addPath(new BezierLine(RfarLaunch3, RintakeHorizontal))
+            .addPath(PathCache.line(RfarLaunch3, RintakeHorizontal))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -910,7 +909,7 @@ public class Paths {
         RintakeHorizontaltolaunchfar = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierLine(RintakeHorizontal, RfarLaunch4))
+            .addPath(PathCache.line(RintakeHorizontal, RfarLaunch4))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(RSweepIntakeHeading),
@@ -921,7 +920,7 @@ public class Paths {
         RlaunchfartointakeVertical = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierCurve(RfarLaunch3, RintakeVerticalControlPoint, RintakeVertical))
+            .addPath(PathCache.curve(RfarLaunch3, RintakeVerticalControlPoint, RintakeVertical))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -934,7 +933,7 @@ public class Paths {
         RintakeVerticaltolaunchfar = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierLine(RintakeVertical, RfarLaunch4))
+            .addPath(PathCache.line(RintakeVertical, RfarLaunch4))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(RNewCornerIntakeHeading),
@@ -944,21 +943,21 @@ public class Paths {
 
         Rlaunchfartopark = follower
             .pathBuilder()
-            .addPath(new BezierLine(RfarLaunch4, RfarPark))
+            .addPath(PathCache.line(RfarLaunch4, RfarPark))
             .setLinearHeadingInterpolation(Math.toRadians(RfarlaunchHeading), Math.toRadians(0))
             .setVelocityConstraint(0.3)
             .build();
 
         StartFartolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(farStart, farLaunch))
+            .addPath(PathCache.line(farStart, farLaunch))
             .setLinearHeadingInterpolation(Math.toRadians(90), Math.toRadians(farlaunchHeading1))
             .setVelocityConstraint(0.3)
             .build();
 
         launchfartointake4 = follower
             .pathBuilder()
-            .addPath(new BezierCurve(farLaunch, intake4ControlPoint, intake4))
+            .addPath(PathCache.curve(farLaunch, intake4ControlPoint, intake4))
             .setConstantHeadingInterpolation(Math.toRadians(intakeHeading))
             //.setLinearHeadingInterpolation(Math.toRadians(115), Math.toRadians(180))
             .setVelocityConstraint(0.3)
@@ -966,7 +965,7 @@ public class Paths {
 
         intake4tolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(intake4, farLaunch2))
+            .addPath(PathCache.line(intake4, farLaunch2))
             .setLinearHeadingInterpolation(
                 Math.toRadians(intakeHeading),
                 Math.toRadians(farlaunchHeading2)
@@ -976,14 +975,14 @@ public class Paths {
 
         //        launchfartointake5 = follower
         //                .pathBuilder()
-        //                .addPath(new BezierLine(new Pose(59.000, 12.000), new Pose(10.75, 8.061)))
+        //                .addPath(PathCache.line(new Pose(59.000, 12.000), new Pose(10.75, 8.061)))
         //                .setLinearHeadingInterpolation(Math.toRadians(115), Math.toRadians(180))
         //                .setVelocityConstraint(0.3)
         //                .build();
 
         launchfartointakeHorizontal = follower
             .pathBuilder()
-            .addPath(new BezierLine(farLaunch2, intakeHorizontal))
+            .addPath(PathCache.line(farLaunch2, intakeHorizontal))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -996,7 +995,7 @@ public class Paths {
         intakeHorizontaltolaunchfar = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierLine(intakeHorizontal, farLaunch3))
+            .addPath(PathCache.line(intakeHorizontal, farLaunch3))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(HorizontalIntakeHeading),
@@ -1007,7 +1006,7 @@ public class Paths {
         launchfartointakeVertical = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierCurve(farLaunch3, intakeVerticalControlPoint, intakeVertical))
+            .addPath(PathCache.curve(farLaunch3, intakeVerticalControlPoint, intakeVertical))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(RlaunchHeading1),
             //                Math.toRadians(RcornerIntakeHeading)
@@ -1020,7 +1019,7 @@ public class Paths {
         intakeVerticaltolaunchfar = follower
             //new way to intake corner balls
             .pathBuilder()
-            .addPath(new BezierLine(intakeVertical, farLaunch4))
+            .addPath(PathCache.line(intakeVertical, farLaunch4))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(NewCornerIntakeHeading),
@@ -1029,7 +1028,7 @@ public class Paths {
             .build();
         launchfartointakeCorner = follower
             .pathBuilder()
-            .addPath(new BezierCurve(farLaunch, intakeCornerControlPoint, intakeCorner))
+            .addPath(PathCache.curve(farLaunch, intakeCornerControlPoint, intakeCorner))
             //            .setLinearHeadingInterpolation(
             //                Math.toRadians(farlaunchHeading),
             //                Math.toRadians(cornerIntakeHeading)
@@ -1039,7 +1038,7 @@ public class Paths {
 
         intakeCornertolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(intakeCorner, farLaunch))
+            .addPath(PathCache.line(intakeCorner, farLaunch))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(cornerIntakeHeading2),
@@ -1049,7 +1048,7 @@ public class Paths {
 
         launchfartogateintake = follower
             .pathBuilder()
-            .addPath(new BezierCurve(farLaunch, gateIntakeControlPoint, gateIntake))
+            .addPath(PathCache.curve(farLaunch, gateIntakeControlPoint, gateIntake))
             .setLinearHeadingInterpolation(
                 Math.toRadians(farlaunchHeading3),
                 Math.toRadians(tunnelIntakeHeading)
@@ -1058,7 +1057,7 @@ public class Paths {
 
         gateintaketolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(gateIntake, farLaunch))
+            .addPath(PathCache.line(gateIntake, farLaunch))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(tunnelIntakeHeading),
@@ -1068,25 +1067,25 @@ public class Paths {
 
         launchfartopark = follower
             .pathBuilder()
-            .addPath(new BezierLine(farLaunch, farPark))
+            .addPath(PathCache.line(farLaunch, farPark))
             .setConstantHeadingInterpolation(Math.toRadians(180))
             .setVelocityConstraint(0.3)
             .build();
         parktolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(farPark, farLaunch))
+            .addPath(PathCache.line(farPark, farLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(farlaunchHeading4))
             .setVelocityConstraint(0.5)
             .build();
         Rparktolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(RfarPark, RfarLaunch))
+            .addPath(PathCache.line(RfarPark, RfarLaunch))
             .setConstantHeadingInterpolation(Math.toRadians(RfarlaunchHeading4))
             .setVelocityConstraint(0.5)
             .build();
         Rlaunchfartogateintake = follower
             .pathBuilder()
-            .addPath(new BezierCurve(RfarLaunch, RgateIntakeControlPoint, RgateIntake))
+            .addPath(PathCache.curve(RfarLaunch, RgateIntakeControlPoint, RgateIntake))
             .setLinearHeadingInterpolation(
                 Math.toRadians(RfarlaunchHeading),
                 Math.toRadians(RtunnelIntakeHeading)
@@ -1095,7 +1094,7 @@ public class Paths {
 
         Rgateintaketolaunchfar = follower
             .pathBuilder()
-            .addPath(new BezierLine(RgateIntake, RfarLaunch))
+            .addPath(PathCache.line(RgateIntake, RfarLaunch))
             .setVelocityConstraint(0.3)
             .setLinearHeadingInterpolation(
                 Math.toRadians(RtunnelIntakeHeading),
@@ -1104,7 +1103,7 @@ public class Paths {
             .build();
         StartToTestPose = follower
             .pathBuilder()
-            .addPath(new BezierLine(Start, testPose))
+            .addPath(PathCache.line(Start, testPose))
             .setVelocityConstraint(0.3)
             .setConstantHeadingInterpolation(Math.toRadians(testPose.getHeading()))
             .build();
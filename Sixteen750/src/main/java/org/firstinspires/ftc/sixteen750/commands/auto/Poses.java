@@ -32,68 +32,31 @@ public class Poses {
         }
     }
 
+    // The red poses are mirrored from the blue ones (see AlliancePaths). These are just the
+    // ones that red has tuned to something other than the mirrored blue pose.
     @Configurable
     public static class RNear18PartnerPoses {
 
-        public static Pose RLaunch = new Pose(88, 82);
-        public static double RLaunchHead = Math.toRadians(49);
         public static Pose RInt1 = new Pose(135, 64, Math.toRadians(348));
         public static Pose RInt1CtrlPoint1 = new Pose(88, 60);
         public static Pose RInt1CtrlPoint2 = new Pose(88, 66);
         public static Pose RInt1ToLaunchCtrlPoint = new Pose(120, 58);
-        public static Pose RGateInt = new Pose(134.4, 65.1);
-        public static Pose RGateInt2 = new Pose(134.4, 66.9);
-        public static Pose RGateInt3 = new Pose(134.4, 67.2);
-        public static double RGateIntHead = Math.toRadians(18);
-        public static Pose RGateCycleCtrlPoint = new Pose(96, 64);
-        public static Pose RInt2 = new Pose(125.7, 90);
-        public static Pose RInt2CtrlPoint = new Pose(90, 90);
-        public static double RInt2Head = Math.toRadians(0);
-        public static Pose REnd = new Pose(120, 90);
-        public static double REndHead = Math.toRadians(0);
     }
 
     @Configurable
     public static class RNear18SafePoses {
 
-        public static Pose RLaunch = new Pose(88, 82);
-        public static double RLaunchHead = Math.toRadians(49);
         public static Pose RInt1 = new Pose(135, 64.4, Math.toRadians(354));
         public static Pose RInt1CtrlPoint1 = new Pose(82.5, 64);
         public static Pose RInt1CtrlPoint2 = new Pose(102, 66);
-        public static Pose RInt1ToLaunchCtrlPoint = new Pose(96, 42);
         public static Pose RGateInt = new Pose(134.4, 66.5);
-        public static Pose RInt2 = new Pose(135, 42);
-        public static double RInt2Head = Math.toRadians(0);
-        public static Pose RInt2CtrlPoint1 = new Pose(92, 42); // use this 3 times for the tangential path
-        public static Pose RInt2CtrlPoint2 = new Pose(96, 42);
         public static Pose RGateInt2 = new Pose(134.4, 68.5);
-        public static double RGateIntHead = Math.toRadians(18);
-        public static Pose RGateCycleCtrlPoint = new Pose(96, 64);
-        public static Pose RInt3 = new Pose(125.7, 90);
-        public static Pose RInt3CtrlPoint = new Pose(90, 90);
-        public static double RInt3Head = Math.toRadians(0);
-        public static Pose REnd = new Pose(120, 90);
-        public static double REndHead = Math.toRadians(0);
     }
 
     @Configurable
     public static class RFar15PartnerPoses {
 
-        public static Pose RFLaunch = new Pose(82, 16);
-        public static double RFLaunchHead = Math.toRadians(62);
-        public static Pose RFInt1 = new Pose(132, 35, Math.toRadians(0));
-        public static Pose RFInt1CtrlPoint = new Pose(75, 38);
-        public static Pose RFInt2 = new Pose(132, 6); //sussy bezier go brrrr
-        public static Pose RFInt2CtrlPoint1 = new Pose(170, 15);
-        public static Pose RFInt2CtrlPoint2 = new Pose(108, 18);
-        public static double RFInt2Head = Math.toRadians(355);
         public static Pose RFInt3 = new Pose(131.5, 42); // might work?
-        public static Pose RFInt3CtrlPoint1 = new Pose(120, 10);
-        public static Pose RFInt3CtrlPoint2 = new Pose(132, 4);
-        public static double RFInt3Head = Math.toRadians(60);
-        public static Pose RFEnd = new Pose(128, 12);
-        public static double RFEndHead = Math.toRadians(0);
     }
 
     @Configurable
@@ -2,19 +2,38 @@ package org.firstinspires.ftc.sixteen750.helpers;
 
 import com.bylazar.configurables.annotations.Configurable;
 import com.pedropathing.follower.Follower;
-import com.pedropathing.math.Vector;
+import com.pedropathing.geometry.Pose;
+import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
+import com.technototes.library.subsystem.Subsystem;
+import org.firstinspires.ftc.sixteen750.subsystems.AimingSubsystem;
 import org.firstinspires.ftc.sixteen750.subsystems.LauncherSubsystem;
 import org.firstinspires.ftc.sixteen750.subsystems.LimelightSubsystem;
 
+// Shoot-on-the-move: the ball keeps the robot's velocity after it leaves the launcher, so if
+// we're moving we have to aim at a "virtual" target: the real one, minus how far the robot's
+// velocity will carry the ball during its flight. But the flight time depends on the distance to
+// the virtual target, so we iterate: distance -> flight time -> virtual target -> distance...
+// until the flight time stops changing (it usually takes 2 or 3 passes).
 @Configurable
-public class SotmCompensator implements Loggable {
+public class SotmCompensator implements Loggable, Subsystem {
 
-    public static double FlightTime = .5; // time ball is in air might need to make scale with RawDistance
+    public static boolean ENABLED = true;
     public static double MinSpeed = 5; // min speed in in/s at which sotm applies
-    public static double DistanceCorrectionScale = 1; // use this to scale how aggressive sotm velocity correction is
-    public static double AngleCorrectionScale = 1; // use this to scale how aggressive sotm angle compensation is
+    public static double VelocityScale = 1; // use this to scale how aggressive sotm is
+    public static int MaxIterations = 6;
+    public static double Tolerance = 0.001; // seconds of flight time change to call it converged
+    public static double StaleTime = 0.1; // seconds before a solution is too old to use
+
+    // Measured flight times (seconds) at each distance (inches), shooting at the launcher speed
+    // the regression picks for that distance (so this is really flight time per launcher speed)
+    public static double[] FlightDistances = { 24, 48, 72, 96, 120, 144 };
+    public static double[] FlightTimes = { 0.38, 0.44, 0.5, 0.57, 0.66, 0.75 };
+    // The measurements are resampled into a table with an entry every TableStep inches, so a
+    // lookup is just an index & a lerp (call rebuildTable if you change the measurements)
+    public static double TableStep = 2;
+    public static double TableMaxDistance = 200;
 
     @Log.Number(name = "SOTM Distance")
     public static double CorrectedDistance = 0;
@@ -22,53 +41,180 @@ public class SotmCompensator implements Loggable {
     @Log.Number(name = "SOTM Angle")
     public static double CorrectedAngle = 0;
 
+    @Log.Number(name = "SOTM Velocity")
+    public static double CorrectedVelocity = 0;
+
+    @Log.Number(name = "SOTM Hood")
+    public static double CorrectedHood = 0;
+
     @Log.Number(name = "SOTM Speed ")
     public static double speed = 0;
 
-    public static double vRadial = 0;
-    public static double vTangential = 0;
+    public static double FlightTime = 0;
+    public static int Iterations = 0;
+    public static double SolveMicros = 0;
+
+    private static boolean valid = false;
+    private static long solvedNanos = 0;
+
+    private static double[] flightTable;
+    private static double tableStep;
+
+    Follower follower;
+    LimelightSubsystem ls;
+
+    public SotmCompensator(Follower fol, LimelightSubsystem lls) {
+        follower = fol;
+        ls = lls;
+        valid = false;
+        rebuildTable();
+        CommandScheduler.register(this);
+    }
+
+    public static void rebuildTable() {
+        tableStep = Math.max(TableStep, 0.1);
+        int size = (int) Math.ceil(TableMaxDistance / tableStep) + 1;
+        flightTable = new double[size];
+        for (int i = 0; i < size; i++) {
+            flightTable[i] = interpolateMeasured(i * tableStep);
+        }
+    }
+
+    private static double interpolateMeasured(double dist) {
+        int n = Math.min(FlightDistances.length, FlightTimes.length);
+        if (n == 0) {
+            return 0.5;
+        }
+        if (dist <= FlightDistances[0]) {
+            return FlightTimes[0];
+        }
+        for (int i = 1; i < n; i++) {
+            if (dist <= FlightDistances[i]) {
+                double t =
+                    (dist - FlightDistances[i - 1]) / (FlightDistances[i] - FlightDistances[i - 1]);
+                return FlightTimes[i - 1] + (FlightTimes[i] - FlightTimes[i - 1]) * t;
+            }
+        }
+        // Past the last measurement: keep going with the slope of the last two
+        if (n == 1) {
+            return FlightTimes[0];
+        }
+        double slope =
+            (FlightTimes[n - 1] - FlightTimes[n - 2]) /
+            (FlightDistances[n - 1] - FlightDistances[n - 2]);
+        return FlightTimes[n - 1] + slope * (dist - FlightDistances[n - 1]);
+    }
+
+    // How long the ball is in the air when shot at a target this far away
+    public static double flightTime(double dist) {
+        if (flightTable == null) {
+            rebuildTable();
+        }
+        double idx = Math.max(dist, 0) / tableStep;
+        int i = (int) idx;
+        if (i >= flightTable.length - 1) {
+            return flightTable[flightTable.length - 1];
+        }
+        double frac = idx - i;
+        return flightTable[i] + (flightTable[i + 1] - flightTable[i]) * frac;
+    }
+
+    // True if there's a recent solution (we can see the target, and it's enabled)
+    public static boolean isValid() {
+        return valid && System.nanoTime() - solvedNanos < StaleTime * 1e9;
+    }
+
+    // The angle to turn to: the corrected one if we have it, otherwise what the limelight sees
+    public static double getAimAngle() {
+        return isValid() ? CorrectedAngle : LimelightSubsystem.Xangle;
+    }
 
     public void update(Follower follower, double rawDistIn, double rawTxDeg) {
+        long start = System.nanoTime();
         if (rawDistIn <= 0) {
             // if dist is tweaking out we want sotm to stop
             CorrectedDistance = rawDistIn;
-            CorrectedAngle = LimelightSubsystem.Xangle;
+            CorrectedAngle = rawTxDeg;
             speed = 0;
-            vRadial = 0;
-            vTangential = 0;
+            valid = false;
             return;
         }
 
-        Vector vel = follower.getVelocity();
-        double velMag = vel.getMagnitude();
-        speed = velMag;
-        if (velMag < MinSpeed) {
+        // follower.getVelocity() makes a new Vector every time, but the localizer keeps its
+        // (field relative) velocity as a Pose, so read x & y straight from that
+        Pose vel = follower.getPoseTracker().getLocalizer().getVelocity();
+        double vx_field = vel.getX() * VelocityScale;
+        double vy_field = vel.getY() * VelocityScale;
+        speed = Math.hypot(vel.getX(), vel.getY());
+        if (speed < MinSpeed) {
             // if robot is barely moving no need to use sotm
-            CorrectedDistance = rawDistIn;
-            CorrectedAngle = LimelightSubsystem.Xangle;
-            vRadial = 0;
-            vTangential = 0;
+            setSolution(rawDistIn, rawTxDeg, flightTime(rawDistIn), 0, start);
+            return;
         }
 
-        double robotHeading = follower.getPose().getHeading(); // maths that ai did for me i took time to understand it tho ik all the underlying principles just like fahhhhhhhhh so much math
-        double vx_field = vel.getXComponent();
-        double vy_field = vel.getYComponent();
+        // Everything is in the robot's frame: x is forward, y is to the left (the limelight's tx
+        // is positive to the right)
+        double robotHeading = follower.getPose().getHeading();
         double cosH = Math.cos(robotHeading);
         double sinH = Math.sin(robotHeading);
-        double vForwardRobot = vx_field * cosH + vy_field * sinH;
-        double vRightRobot = -vx_field * sinH + vy_field * cosH;
-        double txRad = Math.toRadians(LimelightSubsystem.Xangle);
-
-        vRadial = vForwardRobot * Math.cos(txRad) + vRightRobot * Math.sin(txRad);
-        vTangential = -vForwardRobot * Math.sin(txRad) + vRightRobot * Math.cos(txRad);
-
-        double t = FlightTime;
-        double distCorrection = -vRadial * t * DistanceCorrectionScale;
-        CorrectedDistance = rawDistIn + distCorrection;
-        if (CorrectedDistance < 1.0) CorrectedDistance = 1.0;
-        double drift = vTangential * t;
-        double angleCorrection =
-            Math.toDegrees(Math.atan2(drift, rawDistIn)) * AngleCorrectionScale;
-        CorrectedAngle = rawTxDeg + angleCorrection;
+        double vForward = vx_field * cosH + vy_field * sinH;
+        double vLeft = -vx_field * sinH + vy_field * cosH;
+        double txRad = Math.toRadians(rawTxDeg);
+        double targetX = rawDistIn * Math.cos(txRad);
+        double targetY = -rawDistIn * Math.sin(txRad);
+
+        double t = flightTime(rawDistIn);
+        double virtualX = targetX;
+        double virtualY = targetY;
+        double dist = rawDistIn;
+        int i = 0;
+        while (i < MaxIterations) {
+            i++;
+            virtualX = targetX - vForward * t;
+            virtualY = targetY - vLeft * t;
+            dist = Math.hypot(virtualX, virtualY);
+            double next = flightTime(dist);
+            boolean converged = Math.abs(next - t) < Tolerance;
+            t = next;
+            if (converged) {
+                break;
+            }
+        }
+        setSolution(
+            Math.max(dist, 1.0),
+            -Math.toDegrees(Math.atan2(virtualY, virtualX)),
+            t,
+            i,
+            start
+        );
+    }
+
+    private static void setSolution(
+        double dist,
+        double angle,
+        double time,
+        int iterations,
+        long start
+    ) {
+        CorrectedDistance = dist;
+        CorrectedAngle = angle;
+        CorrectedVelocity = LauncherSubsystem.regressionVelocity(dist);
+        CorrectedHood = AimingSubsystem.hoodForDistance(dist);
+        FlightTime = time;
+        Iterations = iterations;
+        valid = true;
+        solvedNanos = System.nanoTime();
+        SolveMicros = (solvedNanos - start) / 1e3;
+    }
+
+    @Override
+    public void periodic() {
+        if (!ENABLED || follower == null || ls == null) {
+            valid = false;
+            return;
+        }
+        // getRawDistance reads the limelight, which also updates Xangle
+        double dist = ls.getRawDistance();
+        update(follower, dist, LimelightSubsystem.Xangle);
     }
 }
@@ -46,16 +46,16 @@ public class SingleTeleOp extends CommandOpMode {
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
 
         telemetry.addData(">", "Robot Ready.  Press Play.");
@@ -93,7 +93,7 @@ public class SingleTeleOp extends CommandOpMode {
                 status.getPipelineType()
             );
 
-            LLResult result = limelight.getLatestResult();
+            LLResult result = hardware.vision.getLatestResult();
 
             if (result != null) {
                 long staleness = result.getStaleness();
@@ -195,7 +195,7 @@ public class SingleTeleOp extends CommandOpMode {
     @Override
     public void end() {
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
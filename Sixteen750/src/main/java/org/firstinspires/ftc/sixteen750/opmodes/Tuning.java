@@ -27,6 +27,7 @@ import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
 import com.qualcomm.robotcore.hardware.AnalogInput;
 import com.qualcomm.robotcore.util.ElapsedTime;
+import com.technototes.library.logger.DataCapture;
 import com.technototes.library.structure.BetterSelectableOpMode;
 import java.util.ArrayList;
 import java.util.List;
@@ -129,6 +130,7 @@ public class Tuning extends BetterSelectableOpMode {
         drawCurrent();
     }
 
+
     /** This creates a full stop of the robot by setting the drive motors to run at 0 power. */
     public static void stopRobot() {
         follower.startTeleopDrive(true);
@@ -458,6 +460,7 @@ class ForwardVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 20;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -493,6 +496,7 @@ class ForwardVelocityTuner extends OpMode {
         follower.startTeleopDrive(true);
         follower.update();
         end = false;
+        capture = DataCapture.open("forward-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -523,6 +527,15 @@ class ForwardVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -551,6 +564,13 @@ class ForwardVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -576,6 +596,7 @@ class LateralVelocityTuner extends OpMode {
     public static double RECORD_NUMBER = 20;
 
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -612,6 +633,7 @@ class LateralVelocityTuner extends OpMode {
         }
         follower.startTeleopDrive(true);
         follower.update();
+        capture = DataCapture.open("lateral-velocity", "x", "y", "heading", "velocity");
     }
 
     /**
@@ -641,6 +663,15 @@ class LateralVelocityTuner extends OpMode {
                 );
                 velocities.add(currentVelocity);
                 velocities.remove(0);
+                if (capture.begin()) {
+                    Pose pose = follower.getPose();
+                    capture
+                        .put(pose.getX())
+                        .put(pose.getY())
+                        .put(pose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
             }
         } else {
             stopRobot();
@@ -664,6 +695,13 @@ class LateralVelocityTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -691,6 +729,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
 
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -720,6 +759,7 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(1, 0, 0, true);
+        capture = DataCapture.open("forward-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -749,10 +789,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = follower.getVelocity().dot(heading);
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -780,6 +823,13 @@ class ForwardZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -805,6 +855,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
     private long previousTimeNano;
     private boolean stopping;
     private boolean end;
+    private DataCapture capture;
 
     @Override
     public void init() {
@@ -834,6 +885,7 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
         follower.startTeleopDrive(false);
         follower.update();
         follower.setTeleOpDrive(0, 1, 0, true);
+        capture = DataCapture.open("lateral-zero-power", "velocity", "acceleration");
     }
 
     /**
@@ -863,10 +915,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
                 }
             } else {
                 double currentVelocity = Math.abs(follower.getVelocity().dot(heading));
-                accelerations.add(
+                double acceleration =
                     (currentVelocity - previousVelocity) /
-                        ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9))
-                );
+                    ((System.nanoTime() - previousTimeNano) / Math.pow(10.0, 9));
+                accelerations.add(acceleration);
+                if (capture.begin()) {
+                    capture.put(currentVelocity).put(acceleration).commit();
+                }
                 previousVelocity = currentVelocity;
                 previousTimeNano = System.nanoTime();
                 if (currentVelocity < follower.getConstraints().getVelocityConstraint()) {
@@ -894,6 +949,13 @@ class LateralZeroPowerAccelerationTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
@@ -961,6 +1023,7 @@ class PredictiveBrakingTuner extends OpMode {
 
     private final List<double[]> velocityToBrakingDistance = new ArrayList<>();
     private final List<BrakeRecord> brakeData = new ArrayList<>();
+    private DataCapture capture;
 
     @Override
     public void init() {}
@@ -984,6 +1047,16 @@ class PredictiveBrakingTuner extends OpMode {
         timer.reset();
         follower.update();
         follower.startTeleOpDrive(true);
+        capture = DataCapture.open(
+            "predictive-braking",
+            "test",
+            "power",
+            "ms",
+            "x",
+            "y",
+            "heading",
+            "velocity"
+        );
     }
 
     @SuppressLint("DefaultLocale")
@@ -1035,6 +1108,17 @@ class PredictiveBrakingTuner extends OpMode {
                 double currentVelocity = follower.getVelocity().getMagnitude();
 
                 brakeData.add(new BrakeRecord(t, currentPose, currentVelocity));
+                if (capture.begin()) {
+                    capture
+                        .put(iteration)
+                        .put(TEST_POWERS[iteration])
+                        .put(t)
+                        .put(currentPose.getX())
+                        .put(currentPose.getY())
+                        .put(currentPose.getHeading())
+                        .put(currentVelocity)
+                        .commit();
+                }
 
                 if (follower.getVelocity().dot(new Vector(direction, follower.getHeading())) <= 0) {
                     state = State.RECORD;
@@ -1090,6 +1174,13 @@ class PredictiveBrakingTuner extends OpMode {
             }
         }
     }
+
+    @Override
+    public void stop() {
+        if (capture != null) {
+            capture.close();
+        }
+    }
 }
 
 /**
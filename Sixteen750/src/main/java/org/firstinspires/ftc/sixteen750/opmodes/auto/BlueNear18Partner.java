@@ -3,7 +3,6 @@ package org.firstinspires.ftc.sixteen750.opmodes.auto;
 import static org.firstinspires.ftc.sixteen750.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.telemetry.PanelsTelemetry;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
@@ -19,8 +18,8 @@ import org.firstinspires.ftc.sixteen750.commands.AltAutoVelocity;
 import org.firstinspires.ftc.sixteen750.commands.PedroDriver;
 import org.firstinspires.ftc.sixteen750.commands.PedroPathCommand;
 import org.firstinspires.ftc.sixteen750.commands.TeleCommands;
+import org.firstinspires.ftc.sixteen750.commands.auto.AlliancePaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.AutoCommands;
-import org.firstinspires.ftc.sixteen750.commands.auto.BPaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.Poses;
 import org.firstinspires.ftc.sixteen750.commands.auto.WaitForArtifacts;
 import org.firstinspires.ftc.sixteen750.controls.DriverController;
@@ -36,37 +35,36 @@ public class BlueNear18Partner extends CommandOpMode {
     public Hardware hardware;
     public PedroDriver pedroDriver;
     private PanelsTelemetry panelsTelemetry;
-    private Limelight3A limelight;
 
-    private static Command BlueGateCycle1(Robot r) {
+    private static Command BlueGateCycle1(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, BPaths.PBLaunchToBGateInt1)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt1())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, BPaths.PBGateInt1ToBLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt1ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
 
-    private static Command BlueGateCycle2(Robot r) {
+    private static Command BlueGateCycle2(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, BPaths.PBLaunchToBGateInt2)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt2())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, BPaths.PBGateInt2ToBLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt2ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
 
-    private static Command BlueGateCycle3(Robot r) {
+    private static Command BlueGateCycle3(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, BPaths.PBLaunchToBGateInt3)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt3())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, BPaths.PBGateInt3ToBLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt3ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
@@ -77,7 +75,7 @@ public class BlueNear18Partner extends CommandOpMode {
     public void uponInit() {
         hardware = new Hardware(hardwareMap);
         robot = new Robot(hardware, Alliance.BLUE, StartingPosition.Net);
-        BPaths p = new BPaths(robot.follower);
+        AlliancePaths p = new AlliancePaths(robot.follower, Alliance.BLUE);
         TeleCommands t = new TeleCommands();
         AutoCommands a = new AutoCommands();
         panelsTelemetry = PanelsTelemetry.INSTANCE;
@@ -85,24 +83,24 @@ public class BlueNear18Partner extends CommandOpMode {
         CommandScheduler.scheduleForState(
             new AltAutoVelocity(robot).alongWith(
                 new SequentialCommandGroup(
-                    new PedroPathCommand(robot.follower, p.PBStartToBLaunch)
+                    new PedroPathCommand(robot.follower, p.PStartToLaunch())
                         .alongWith(a.AutoStartRoutine(robot))
                         .withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.PBLaunchToBInt1, p.power095)
+                    new PedroPathCommand(robot.follower, p.PLaunchToInt1(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.PBInt1ToBLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.PInt1ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    BlueGateCycle1(robot),
-                    BlueGateCycle2(robot),
-                    new PedroPathCommand(robot.follower, p.PBLaunchToBInt2, p.power095)
+                    BlueGateCycle1(robot, p),
+                    BlueGateCycle2(robot, p),
+                    new PedroPathCommand(robot.follower, p.PLaunchToInt2(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.PBInt2ToBLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.PInt2ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    BlueGateCycle3(robot),
-                    new PedroPathCommand(robot.follower, p.PBLaunchToBEnd)
+                    BlueGateCycle3(robot, p),
+                    new PedroPathCommand(robot.follower, p.PLaunchToEnd())
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
                     CommandScheduler::terminateOpMode
@@ -111,18 +109,17 @@ public class BlueNear18Partner extends CommandOpMode {
             OpModeState.RUN
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -158,7 +155,7 @@ public class BlueNear18Partner extends CommandOpMode {
     public void end() {
         HeadingHelper.savePose(robot.follower.getPose());
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
@@ -3,7 +3,6 @@ package org.firstinspires.ftc.sixteen750.opmodes.auto;
 import static org.firstinspires.ftc.sixteen750.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.telemetry.PanelsTelemetry;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.command.SequentialCommandGroup;
@@ -18,9 +17,9 @@ import org.firstinspires.ftc.sixteen750.commands.AltAutoVelocity;
 import org.firstinspires.ftc.sixteen750.commands.PedroDriver;
 import org.firstinspires.ftc.sixteen750.commands.PedroPathCommand;
 import org.firstinspires.ftc.sixteen750.commands.TeleCommands;
+import org.firstinspires.ftc.sixteen750.commands.auto.AlliancePaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.AutoCommands;
 import org.firstinspires.ftc.sixteen750.commands.auto.Poses;
-import org.firstinspires.ftc.sixteen750.commands.auto.RPaths;
 import org.firstinspires.ftc.sixteen750.commands.driving.DrivingCommands;
 import org.firstinspires.ftc.sixteen750.controls.DriverController;
 import org.firstinspires.ftc.sixteen750.helpers.StartingPosition;
@@ -34,13 +33,12 @@ public class RedFar15Partner extends CommandOpMode {
     public Hardware hardware;
     public PedroDriver pedroDriver;
     private PanelsTelemetry panelsTelemetry;
-    private Limelight3A limelight;
 
     @Override
     public void uponInit() {
         hardware = new Hardware(hardwareMap);
         robot = new Robot(hardware, Alliance.RED, StartingPosition.Net);
-        RPaths p = new RPaths(robot.follower);
+        AlliancePaths p = new AlliancePaths(robot.follower, Alliance.RED);
         TeleCommands t = new TeleCommands();
         AutoCommands a = new AutoCommands();
         robot.follower.setStartingPose(Poses.StartPoses.getRFStart());
@@ -49,22 +47,22 @@ public class RedFar15Partner extends CommandOpMode {
                 new SequentialCommandGroup(
                     t.GateUp(robot),
                     t.HoodUp(robot),
-                    new PedroPathCommand(robot.follower, p.RFStartToRFLaunch),
+                    new PedroPathCommand(robot.follower, p.FStartToLaunch()),
                     new WaitCommand(0.7),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.RFLaunchToRFInt1),
-                    new PedroPathCommand(robot.follower, p.RFInt1ToRFLaunch),
+                    new PedroPathCommand(robot.follower, p.FLaunchToInt1()),
+                    new PedroPathCommand(robot.follower, p.FInt1ToLaunch()),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.RFLaunchToRFInt2),
-                    new PedroPathCommand(robot.follower, p.RFInt2ToRFLaunch),
+                    new PedroPathCommand(robot.follower, p.FLaunchToInt2()),
+                    new PedroPathCommand(robot.follower, p.FInt2ToLaunch()),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.RFLaunchToRFInt3),
-                    new PedroPathCommand(robot.follower, p.RFInt3ToRFLaunch),
+                    new PedroPathCommand(robot.follower, p.FLaunchToInt3()),
+                    new PedroPathCommand(robot.follower, p.FInt3ToLaunch()),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.RFLaunchToRFInt3),
-                    new PedroPathCommand(robot.follower, p.RFInt3ToRFLaunch),
+                    new PedroPathCommand(robot.follower, p.FLaunchToInt3()),
+                    new PedroPathCommand(robot.follower, p.FInt3ToLaunch()),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.RFLaunchToRFEnd),
+                    new PedroPathCommand(robot.follower, p.FLaunchToEnd()),
                     t.StopLaunch(robot),
                     t.IntakeStop(robot),
                     CommandScheduler::terminateOpMode
@@ -73,18 +71,17 @@ public class RedFar15Partner extends CommandOpMode {
             OpModeState.RUN
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -100,7 +97,7 @@ public class RedFar15Partner extends CommandOpMode {
     public void end() {
         HeadingHelper.savePose(robot.follower.getPose());
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
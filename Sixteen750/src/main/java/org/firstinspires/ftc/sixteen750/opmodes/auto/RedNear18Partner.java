@@ -3,7 +3,6 @@ package org.firstinspires.ftc.sixteen750.opmodes.auto;
 import static org.firstinspires.ftc.sixteen750.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.telemetry.PanelsTelemetry;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
@@ -18,9 +17,9 @@ import org.firstinspires.ftc.sixteen750.commands.AltAutoVelocity;
 import org.firstinspires.ftc.sixteen750.commands.PedroDriver;
 import org.firstinspires.ftc.sixteen750.commands.PedroPathCommand;
 import org.firstinspires.ftc.sixteen750.commands.TeleCommands;
+import org.firstinspires.ftc.sixteen750.commands.auto.AlliancePaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.AutoCommands;
 import org.firstinspires.ftc.sixteen750.commands.auto.Poses;
-import org.firstinspires.ftc.sixteen750.commands.auto.RPaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.WaitForArtifacts;
 import org.firstinspires.ftc.sixteen750.controls.DriverController;
 import org.firstinspires.ftc.sixteen750.helpers.StartingPosition;
@@ -35,37 +34,36 @@ public class RedNear18Partner extends CommandOpMode {
     public Hardware hardware;
     public PedroDriver pedroDriver;
     private PanelsTelemetry panelsTelemetry;
-    private Limelight3A limelight;
 
-    private static Command RedGateCycle(Robot r) {
+    private static Command RedGateCycle(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, RPaths.PRLaunchToRGateInt1)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt1())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, RPaths.PRGateInt1ToRLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt1ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
 
-    private static Command RedGateCycle2(Robot r) {
+    private static Command RedGateCycle2(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, RPaths.PRLaunchToRGateInt2)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt2())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, RPaths.PRGateInt2ToRLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt2ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
 
-    private static Command RedGateCycle3(Robot r) {
+    private static Command RedGateCycle3(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
-            new PedroPathCommand(r.follower, RPaths.PRLaunchToRGateInt3)
+            new PedroPathCommand(r.follower, p.PLaunchToGateInt3())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, RPaths.PRGateInt3ToRLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.PGateInt3ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
@@ -76,7 +74,7 @@ public class RedNear18Partner extends CommandOpMode {
     public void uponInit() {
         hardware = new Hardware(hardwareMap);
         robot = new Robot(hardware, Alliance.RED, StartingPosition.Net);
-        RPaths p = new RPaths(robot.follower);
+        AlliancePaths p = new AlliancePaths(robot.follower, Alliance.RED);
         TeleCommands t = new TeleCommands();
         AutoCommands a = new AutoCommands();
         panelsTelemetry = PanelsTelemetry.INSTANCE;
@@ -85,22 +83,22 @@ public class RedNear18Partner extends CommandOpMode {
             new AltAutoVelocity(robot).alongWith(
                 new SequentialCommandGroup(
                     a.AutoStartRoutine(robot),
-                    new PedroPathCommand(robot.follower, p.PRStartToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.PStartToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.PRLaunchToRInt1, p.power095)
+                    new PedroPathCommand(robot.follower, p.PLaunchToInt1(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.PRInt1ToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.PInt1ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    RedGateCycle(robot),
-                    RedGateCycle2(robot),
-                    new PedroPathCommand(robot.follower, p.PRLaunchToRInt2, p.power095)
+                    RedGateCycle(robot, p),
+                    RedGateCycle2(robot, p),
+                    new PedroPathCommand(robot.follower, p.PLaunchToInt2(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.PRInt2ToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.PInt2ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    RedGateCycle3(robot),
-                    new PedroPathCommand(robot.follower, p.PRLaunchToREnd)
+                    RedGateCycle3(robot, p),
+                    new PedroPathCommand(robot.follower, p.PLaunchToEnd())
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
                     CommandScheduler::terminateOpMode
@@ -109,18 +107,17 @@ public class RedNear18Partner extends CommandOpMode {
             OpModeState.RUN
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -156,7 +153,7 @@ public class RedNear18Partner extends CommandOpMode {
     public void end() {
         HeadingHelper.savePose(robot.follower.getPose());
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
@@ -3,7 +3,6 @@ package org.firstinspires.ftc.sixteen750.opmodes.auto;
 import static org.firstinspires.ftc.sixteen750.Setup.HardwareNames.AprilTag_Pipeline;
 
 import com.bylazar.telemetry.PanelsTelemetry;
-import com.qualcomm.hardware.limelightvision.Limelight3A;
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
@@ -18,9 +17,9 @@ import org.firstinspires.ftc.sixteen750.commands.AltAutoVelocity;
 import org.firstinspires.ftc.sixteen750.commands.PedroDriver;
 import org.firstinspires.ftc.sixteen750.commands.PedroPathCommand;
 import org.firstinspires.ftc.sixteen750.commands.TeleCommands;
+import org.firstinspires.ftc.sixteen750.commands.auto.AlliancePaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.AutoCommands;
 import org.firstinspires.ftc.sixteen750.commands.auto.Poses;
-import org.firstinspires.ftc.sixteen750.commands.auto.RPaths;
 import org.firstinspires.ftc.sixteen750.commands.auto.WaitForArtifacts;
 import org.firstinspires.ftc.sixteen750.controls.DriverController;
 import org.firstinspires.ftc.sixteen750.helpers.StartingPosition;
@@ -35,28 +34,27 @@ public class RedNear18Safe extends CommandOpMode {
     public Hardware hardware;
     public PedroDriver pedroDriver;
     private PanelsTelemetry panelsTelemetry;
-    private Limelight3A limelight;
 
-    static Command RedGateCycle(Robot r) {
+    static Command RedGateCycle(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
             TeleCommands.Intake(r),
-            new PedroPathCommand(r.follower, RPaths.SRLaunchToRGateInt1)
+            new PedroPathCommand(r.follower, p.SLaunchToGateInt1())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, RPaths.SRGateInt1ToRLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.SGateInt1ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
 
-    private static Command RedGateCycle2(Robot r) {
+    private static Command RedGateCycle2(Robot r, AlliancePaths p) {
         return new SequentialCommandGroup(
             TeleCommands.Intake(r),
-            new PedroPathCommand(r.follower, RPaths.SRLaunchToRGateInt2)
+            new PedroPathCommand(r.follower, p.SLaunchToGateInt2())
                 .alongWith(AutoCommands.PostLaunchRoutine(r))
                 .withTimeout(2.5),
             new WaitForArtifacts(r.intakeSubsystem).withTimeout(1.25),
-            new PedroPathCommand(r.follower, RPaths.SRGateInt2ToRLaunch).withTimeout(2.5),
+            new PedroPathCommand(r.follower, p.SGateInt2ToLaunch()).withTimeout(2.5),
             AutoCommands.AutoLaunching3Balls(r)
         );
     }
@@ -67,7 +65,7 @@ public class RedNear18Safe extends CommandOpMode {
     public void uponInit() {
         hardware = new Hardware(hardwareMap);
         robot = new Robot(hardware, Alliance.RED, StartingPosition.Net);
-        RPaths p = new RPaths(robot.follower);
+        AlliancePaths p = new AlliancePaths(robot.follower, Alliance.RED);
         TeleCommands t = new TeleCommands();
         AutoCommands a = new AutoCommands();
         panelsTelemetry = PanelsTelemetry.INSTANCE;
@@ -76,26 +74,26 @@ public class RedNear18Safe extends CommandOpMode {
             new AltAutoVelocity(robot).alongWith(
                 new SequentialCommandGroup(
                     a.AutoStartRoutine(robot),
-                    new PedroPathCommand(robot.follower, p.SRStartToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.SStartToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.SRLaunchToRInt1, p.power095)
+                    new PedroPathCommand(robot.follower, p.SLaunchToInt1(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.SRInt1ToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.SInt1ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    RedGateCycle(robot),
-                    new PedroPathCommand(robot.follower, p.SRLaunchToRInt2, p.power095)
+                    RedGateCycle(robot, p),
+                    new PedroPathCommand(robot.follower, p.SLaunchToInt2(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.SRInt2ToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.SInt2ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    RedGateCycle2(robot),
-                    new PedroPathCommand(robot.follower, p.SRLaunchToRInt3, p.power095)
+                    RedGateCycle2(robot, p),
+                    new PedroPathCommand(robot.follower, p.SLaunchToInt3(), p.power095)
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
-                    new PedroPathCommand(robot.follower, p.SRInt3ToRLaunch).withTimeout(2.5),
+                    new PedroPathCommand(robot.follower, p.SInt3ToLaunch()).withTimeout(2.5),
                     a.AutoLaunching3Balls(robot),
-                    new PedroPathCommand(robot.follower, p.SRLaunchToREnd)
+                    new PedroPathCommand(robot.follower, p.SLaunchToEnd())
                         .alongWith(a.PostLaunchRoutine(robot))
                         .withTimeout(2.5),
                     CommandScheduler::terminateOpMode
@@ -104,18 +102,17 @@ public class RedNear18Safe extends CommandOpMode {
             OpModeState.RUN
         );
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight = hardware.limelight;
-            limelight.setPollRateHz(100);
+            hardware.vision.setPollRate(100);
 
             telemetry.setMsTransmissionInterval(11);
 
-            limelight.pipelineSwitch(AprilTag_Pipeline);
+            hardware.vision.setPipeline(AprilTag_Pipeline);
             CommandScheduler.register(robot.limelightSubsystem);
 
             /*
              * Starts polling for data.  If you neglect to call start(), getLatestResult() will return null.
              */
-            limelight.start();
+            hardware.vision.start();
         }
         if (Setup.Connected.LAUNCHERSUBSYSTEM) {
             CommandScheduler.register(robot.launcherSubsystem);
@@ -151,7 +148,7 @@ public class RedNear18Safe extends CommandOpMode {
     public void end() {
         HeadingHelper.savePose(robot.follower.getPose());
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
-            limelight.stop();
+            hardware.vision.stop();
         }
     }
 }
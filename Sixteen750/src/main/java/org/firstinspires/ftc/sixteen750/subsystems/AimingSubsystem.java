@@ -8,6 +8,7 @@ import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
 import org.firstinspires.ftc.sixteen750.Hardware;
 import org.firstinspires.ftc.sixteen750.Setup;
+import org.firstinspires.ftc.sixteen750.helpers.SotmCompensator;
 
 @Configurable
 public class AimingSubsystem implements Loggable, Subsystem {
@@ -106,8 +107,29 @@ public class AimingSubsystem implements Loggable, Subsystem {
         }
     }
 
+    // The distance to shoot for: the shoot-on-the-move one if we have it
+    private double shotDistance() {
+        if (SotmCompensator.isValid()) {
+            return SotmCompensator.CorrectedDistance;
+        }
+        return ls.getPredictedDistance();
+    }
+
+    // The hood position (before the bang-bang adjustment) for a target this far away, or -1 if
+    // it's out of range
+    public static double hoodForDistance(double x) {
+        if (x > -1 && x <= HOOD_DOWN_THRESHOLD) {
+            return HoodPosDown;
+        } else if (x > HOOD_DOWN_THRESHOLD && x <= HOOD_MIDDLE_THRESHOLD) {
+            return HoodPosMiddle;
+        } else if (x > HOOD_MIDDLE_THRESHOLD && x <= DAMN_THAT_IS_A_BIG_NUMBER) {
+            return HoodPosUp;
+        }
+        return -1;
+    }
+
     public double BangBangBounds() {
-        double x = ls.getPredictedDistance();
+        double x = shotDistance();
         if (x > -1 && x <= 90) {
             BangBangLowerBound = 200;
         } else {
@@ -122,17 +144,13 @@ public class AimingSubsystem implements Loggable, Subsystem {
         if (
             LauncherSubsystem.err < BangBangLowerBound && LauncherSubsystem.err > BangBangUpperBound
         ) {
-            if (
-                ls.getPredictedDistance() <= HOOD_MIDDLE_THRESHOLD && ls.getPredictedDistance() > -1
-            ) {
+            double x = shotDistance();
+            if (x <= HOOD_MIDDLE_THRESHOLD && x > -1) {
                 // we dont want the hood having a stroke when the lancher starts spinning up cause error is really high so limit to to only when its within shot drop range
                 BangBangAdjust = LauncherSubsystem.err * -BangBangRegConstant;
-            } else if (
-                ls.getPredictedDistance() > HOOD_MIDDLE_THRESHOLD &&
-                ls.getPredictedDistance() <= DAMN_THAT_IS_A_BIG_NUMBER
-            ) {
+            } else if (x > HOOD_MIDDLE_THRESHOLD && x <= DAMN_THAT_IS_A_BIG_NUMBER) {
                 BangBangAdjust = LauncherSubsystem.err * -BangBangFarConstant;
-            } else if (ls.getPredictedDistance() == -1) {
+            } else if (x == -1) {
                 BangBangAdjust = 0;
             }
         }
@@ -140,17 +158,11 @@ public class AimingSubsystem implements Loggable, Subsystem {
     }
 
     public double AutoHoodPos() {
-        double x = ls.getPredictedDistance();
-        if (x > -1 && x <= HOOD_DOWN_THRESHOLD) {
-            LastHoodPos = HoodPosDown + BangBangAdjust;
-        } else {
-            if (x > HOOD_DOWN_THRESHOLD && x <= HOOD_MIDDLE_THRESHOLD) {
-                LastHoodPos = HoodPosMiddle + BangBangAdjust;
-            } else {
-                if (x > HOOD_MIDDLE_THRESHOLD && x <= DAMN_THAT_IS_A_BIG_NUMBER) {
-                    LastHoodPos = HoodPosUp + BangBangAdjust;
-                }
-            }
+        double hood = SotmCompensator.isValid()
+            ? SotmCompensator.CorrectedHood
+            : hoodForDistance(ls.getPredictedDistance());
+        if (hood >= 0) {
+            LastHoodPos = hood + BangBangAdjust;
         }
         return LastHoodPos;
     }
@@ -6,11 +6,11 @@ import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.Gamepad;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.hardware.motor.CRServo;
+import com.technototes.library.hardware.motor.CurrentMonitor;
 import com.technototes.library.hardware.motor.MotorPlus;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
-import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
 import org.firstinspires.ftc.sixteen750.Hardware;
 import org.firstinspires.ftc.sixteen750.Setup;
 
@@ -31,8 +31,10 @@ public class IntakeSubsystem implements Loggable, Subsystem {
     @Log.Number(name = "TransferSpeed")
     public static double TransferSpeed = 0;
 
-    public static double TRANSFER_ONE_THRESHOLD = 0.9;
-    public static double TRANSFER_TWO_THRESHOLD = 1.7;
+    // These used to be compared against half the transfer current (the average divided by 8, but
+    // only 4 samples were ever filled in), so they're double what they were
+    public static double TRANSFER_ONE_THRESHOLD = 1.8;
+    public static double TRANSFER_TWO_THRESHOLD = 3.4;
     public static double INTAKE_THRESHOLD = 3;
     public static double ONE_THRESHOLD = 1.65;
     public static double TWO_THRESHOLD = 3;
@@ -45,10 +47,12 @@ public class IntakeSubsystem implements Loggable, Subsystem {
     public static double GATE_INTAKE_HEADING_BLUE = 155;
     public static double GATE_INTAKE_HEADING_RED = 25;
 
+    // How quickly the filtered currents follow the actual current (seconds)
+    public static double CURRENT_TIME_CONSTANT = 0.05;
+
     boolean hasHardware;
-    int currentIndex = 0;
-    double[] pastIntakeValuesArray;
-    double[] pastTransferValuesArray;
+    CurrentMonitor.Channel intakeChannel;
+    CurrentMonitor.Channel transferChannel;
     public static double SIGN = 1;
 
     @Log.Number(name = "artifacts")
@@ -84,8 +88,12 @@ public class IntakeSubsystem implements Loggable, Subsystem {
             transfer = h.intake2;
             gobbleServo = h.gobbleServo;
             gulpServo = h.gulpServo;
-            intakecurrent = getIntakeCurrent();
-            transfercurrent = getTransferCurrent();
+            intakeChannel = h.currents.add(intake).setTimeConstant(CURRENT_TIME_CONSTANT);
+            transferChannel = h.currents.add(transfer).setTimeConstant(CURRENT_TIME_CONSTANT);
+            // The monitor hasn't sampled anything yet: periodic fills these in once it has (this
+            // just clears out whatever the last opmode left in them)
+            intakecurrent = 0;
+            transfercurrent = 0;
             CommandScheduler.register(this);
             gamepad = null;
             intake.setDirection(DcMotorSimple.Direction.REVERSE);
@@ -93,9 +101,6 @@ public class IntakeSubsystem implements Loggable, Subsystem {
         } else {
             intake = null;
         }
-        // Create the array to hold past current values
-        pastIntakeValuesArray = new double[4];
-        pastTransferValuesArray = new double[8];
     }
 
     public void Intake() {
@@ -169,11 +174,11 @@ public class IntakeSubsystem implements Loggable, Subsystem {
     }
 
     public double getIntakeCurrent() {
-        return intake.getAmperage(CurrentUnit.AMPS);
+        return intakeChannel.getRawCurrent();
     }
 
     public double getTransferCurrent() {
-        return transfer.getAmperage(CurrentUnit.AMPS);
+        return transferChannel.getRawCurrent();
     }
 
     /* public void detectBall(double averageCurrent) {
@@ -243,21 +248,11 @@ public class IntakeSubsystem implements Loggable, Subsystem {
     }
 
     public double getAverageIntakeCurrent() {
-        // Calculate the average of the values in the array
-        double valuesTotal = 0;
-        for (int i = 0; i < pastIntakeValuesArray.length; i++) {
-            valuesTotal += pastIntakeValuesArray[i];
-        }
-        return valuesTotal / 4;
+        return intakeChannel.getCurrent();
     }
 
     public double getAverageTransferCurrent() {
-        // Calculate the average of the values in the array
-        double valuesTotal = 0;
-        for (int i = 0; i < pastTransferValuesArray.length; i++) {
-            valuesTotal += pastTransferValuesArray[i];
-        }
-        return valuesTotal / 8;
+        return transferChannel.getCurrent();
     }
 
     public double getIntakeSpeed() {
@@ -280,10 +275,7 @@ public class IntakeSubsystem implements Loggable, Subsystem {
 
     @Override
     public void periodic() {
-        // Add an item to the array and update the index for the next update to the 'circular' array
-        pastIntakeValuesArray[currentIndex] = getIntakeCurrent();
-        pastTransferValuesArray[currentIndex] = getTransferCurrent();
-        currentIndex = (currentIndex + 1) % pastIntakeValuesArray.length;
+        // The currents are sampled (and filtered) by the CurrentMonitor
         // detectBall(getAverageIntakeCurrent());
         SmartIntake(getAverageIntakeCurrent(), getAverageTransferCurrent());
         SmartTransferVelocity();
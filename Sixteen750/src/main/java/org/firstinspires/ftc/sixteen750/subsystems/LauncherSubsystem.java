@@ -8,18 +8,21 @@ import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.command.SequentialCommandGroup;
 import com.technototes.library.command.WaitCommand;
+import com.technototes.library.hardware.motor.CurrentMonitor;
 import com.technototes.library.hardware.motor.EncodedMotor;
+import com.technototes.library.hardware.motor.HubVelocityController;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
+import com.technototes.library.util.FlywheelController;
 import com.technototes.library.util.PIDFController;
-import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
 import org.firstinspires.ftc.sixteen750.Hardware;
 import org.firstinspires.ftc.sixteen750.Robot;
 import org.firstinspires.ftc.sixteen750.Setup;
 import org.firstinspires.ftc.sixteen750.commands.AltAutoOrient;
 import org.firstinspires.ftc.sixteen750.commands.TeleCommands;
 import org.firstinspires.ftc.sixteen750.controls.DriverController;
+import org.firstinspires.ftc.sixteen750.helpers.SotmCompensator;
 
 @Configurable
 public class LauncherSubsystem implements Loggable, Subsystem {
@@ -74,6 +77,26 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     public static double IdlePowerNear = 0.55; // idle power
     public static double IdlePowerFar = 0.85; // idle power
 
+    // The flywheel model, from LearnBot's launcher FeedFwdHelper (these are Blackbird's numbers:
+    // it's the same motor, so they're close until we measure our own). The PID above still runs
+    // the launcher: the model is only used to predict when it will be at speed.
+    public static double kStaticFriction = 0.183;
+    public static double kDynamicFriction = 0.168;
+    public static double kVelocityConstant = 0.0043;
+    public static double VELOCITY_RANGE = 50;
+    // Starting guesses for how quickly the flywheel spins up & coasts down (seconds): the
+    // model refines these by watching it
+    public static double SPIN_UP_TIME = 0.5;
+    public static double COAST_TIME = 2.5;
+    // How long it takes a ball to get from the gate to the flywheel (seconds)
+    public static double FEED_LEAD_TIME = 0.1;
+    private static FlywheelController flywheel;
+
+    // Run the velocity loop on the hub instead of with launcherPID: launcherPI & the feed forward
+    // are converted to the hub's units, and the feed forward is re-sent as the battery sags
+    public static boolean HUB_VELOCITY_LOOP = false;
+    private HubVelocityController hubLoop;
+
     boolean hasHardware;
     public Robot robot;
     public PIDFCoefficients launcherPIDF = new PIDFCoefficients(0, 0.0, 0.0, 0);
@@ -98,12 +121,14 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     // not tested just placeholder but should be used
     EncodedMotor<DcMotorEx> launcher1;
     EncodedMotor<DcMotorEx> launcher2;
+    CurrentMonitor.Channel launcher1Channel;
+    CurrentMonitor.Channel launcher2Channel;
     LimelightSubsystem ls;
 
     //    @Log(name = "Flywheel at Velocity")
     //    public static boolean ready;
 
-    public LauncherSubsystem(Hardware h) {
+    public LauncherSubsystem(Hardware h, LimelightSubsystem lls) {
         hasHardware = Setup.Connected.LAUNCHERSUBSYSTEM;
         // Do stuff in here
         if (hasHardware) {
@@ -115,8 +140,10 @@ public class LauncherSubsystem implements Loggable, Subsystem {
             launcher2.coast();
             launcher1.setPIDFCoefficients(launcherPIDF);
             launcher2.setPIDFCoefficients(launcherPIDF);
+            launcher1Channel = h.currents.add(launcher1);
+            launcher2Channel = h.currents.add(launcher2);
             //ready = false;
-            ls = new LimelightSubsystem(h);
+            ls = lls;
             double ADDITION = PEAK_VOLTAGE - h.voltage();
             if (ADDITION == 0) {
                 SPIN_VOLT_COMP = SPIN_VOLT_COMP + 0.001;
@@ -139,6 +166,22 @@ public class LauncherSubsystem implements Loggable, Subsystem {
 
             //            top.setPIDFCoefficients(launcherP);
             setTargetSpeed(0);
+            hubLoop = new HubVelocityController(launcher1, launcher2)
+                .setGains(launcherPI)
+                .setFeedForward((target, volts) ->
+                    SPIN_F_SCALE * target + SPIN_VOLT_COMP * Math.min(PEAK_VOLTAGE, volts)
+                )
+                .setVoltage(h::voltage)
+                .setTolerance(VELOCITY_RANGE);
+            flywheel = new FlywheelController(
+                launcherPI,
+                kStaticFriction,
+                kDynamicFriction,
+                kVelocityConstant
+            )
+                .setVoltage(h::voltage)
+                .setTolerance(VELOCITY_RANGE)
+                .setTimeConstants(SPIN_UP_TIME, COAST_TIME);
         } else {
             launcher1 = null;
             launcher2 = null;
@@ -218,6 +261,15 @@ public class LauncherSubsystem implements Loggable, Subsystem {
         return targetSpeed;
     }
 
+    // True if the flywheel will be at the target speed within this many seconds (never when idling)
+    public boolean readyWithin(double seconds) {
+        return flywheel != null && flywheel.readyWithin(seconds);
+    }
+
+    public boolean isAtSpeed() {
+        return flywheel != null && flywheel.atTarget();
+    }
+
     private void setMotorPower(double pow) {
         double power = Math.clamp(pow, -1, 1);
         targetPower = power;
@@ -235,15 +287,15 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     }
 
     public double getMotor1Current() {
-        if (launcher1 != null) {
-            return launcher1.getAmperage(CurrentUnit.AMPS);
+        if (launcher1Channel != null) {
+            return launcher1Channel.getCurrent();
         }
         return -1;
     }
 
     public double getMotor2Current() {
-        if (launcher2 != null) {
-            return launcher2.getAmperage(CurrentUnit.AMPS);
+        if (launcher2Channel != null) {
+            return launcher2Channel.getCurrent();
         }
         return -1;
     }
@@ -305,23 +357,34 @@ public class LauncherSubsystem implements Loggable, Subsystem {
         }
     }
 
+    // The launch velocity for a target this far away (inches)
+    public static double regressionVelocity(double x) {
+        if (x < 100) {
+            return REGRESSION_A * x + REGRESSION_B;
+        }
+        return REGRESSION_C * x + REGRESSION_D;
+    }
+
     public double SotmAutoVelocity() {
-        // x = RawDistance in inches
-        double y = ls.getRawDistance();
-        double x = ls.getPredictedDistance() * 1;
-        if (y < 100 && y > 0) {
-            lastAutoVelocity = REGRESSION_A * x + REGRESSION_B;
-        } else if (y > 0) {
-            launcherPI.p = 0.004;
-            launcherPI.i = 0.0002;
-            lastAutoVelocity = REGRESSION_C * x + REGRESSION_D;
-        } else if (lastAutoVelocity == 0) {
-            lastAutoVelocity = 1500;
+        if (SotmCompensator.isValid()) {
+            lastAutoVelocity = SotmCompensator.CorrectedVelocity;
+            return lastAutoVelocity;
         }
-        return lastAutoVelocity;
+        return distanceVelocity();
     }
 
     public double autoVelocity() {
+        if (SotmCompensator.isValid()) {
+            // The shoot-on-the-move solver has already picked the velocity for where we're going
+            // to be when the ball gets there
+            lastAutoVelocity = SotmCompensator.CorrectedVelocity;
+            return lastAutoVelocity;
+        }
+        return distanceVelocity();
+    }
+
+    // The velocity for what the limelight sees right now (no shoot-on-the-move correction)
+    private double distanceVelocity() {
         // x = RawDistance in inches
         double y = ls.getRawDistance();
         double x = ls.getRawDistance();
@@ -389,8 +452,18 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     public void periodic() {
         autoVelocity = autoVelocity();
         currentLaunchVelocity = readVelocity();
+        if (!HUB_VELOCITY_LOOP || launcherPID.getTarget() == Math.PI) {
+            // Take the launcher back from the hub (this does nothing if it doesn't have it)
+            hubLoop.setTarget(0);
+        }
 
-        if (launcherPID.getTarget() == Math.PI && ls.getRawDistance() <= 100) {
+        if (HUB_VELOCITY_LOOP && launcherPID.getTarget() != Math.PI) {
+            // The hub runs the loop: this only sends it new targets & keeps an eye on it
+            hubLoop.setTarget(launcherPID.getTarget());
+            hubLoop.periodic();
+            targetPower = Double.NaN;
+            launcherPID.reset();
+        } else if (launcherPID.getTarget() == Math.PI && ls.getRawDistance() <= 100) {
             setMotorPower(IdlePowerNear);
             launcherPID.update(getMotorSpeed());
             launcherPID.reset();
@@ -406,6 +479,14 @@ public class LauncherSubsystem implements Loggable, Subsystem {
             launcherPID.reset();
         }
 
+        // Idle isn't a speed, so there's nothing to be ready for
+        double target = launcherPID.getTarget();
+        flywheel
+            .setModel(kStaticFriction, kDynamicFriction, kVelocityConstant)
+            .setTolerance(VELOCITY_RANGE)
+            .setTarget(target == Math.PI ? 0 : target);
+        flywheel.observe(currentLaunchVelocity, targetPower);
+
         err = launcherPID.getLastError();
         motorVelocity = getMotorSpeed();
         power = launcher1.getPower();
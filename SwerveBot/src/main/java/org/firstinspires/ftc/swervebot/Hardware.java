@@ -11,8 +11,10 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.technototes.library.hardware.motor.CRServo;
 import com.technototes.library.hardware.motor.EncodedMotor;
 import com.technototes.library.hardware.sensor.AdafruitIMU;
+import com.technototes.library.hardware.sensor.HeadingService;
 import com.technototes.library.hardware.sensor.IGyro;
 import com.technototes.library.hardware.sensor.IMU;
+import com.technototes.library.hardware.sensor.VisionService;
 import com.technototes.library.hardware.sensor.encoder.MotorEncoder;
 import com.technototes.library.hardware.servo.Servo;
 import com.technototes.library.logger.Loggable;
@@ -38,6 +40,8 @@ public class Hardware implements Loggable {
     public CRServo testCRServo, frswervo, flswervo, rlswervo, rrswervo;
     public Servo testServo;
     public Limelight3A limelight;
+    // The only thing that talks to the limelight: everything else gets the target from this
+    public VisionService vision;
     public AbsoluteAnalogEncoder frswervoenc, flswervoenc, rlswervoenc, rrswervoenc;
     public HardwareMap map;
 
@@ -55,6 +59,8 @@ public class Hardware implements Loggable {
                 RevHubOrientationOnRobot.UsbFacingDirection.FORWARD
             );
         }
+        // Everything reads the heading through this, so the IMU only gets read once per loop
+        imu = new HeadingService(imu);
         if (Setup.Connected.DRIVEBASE) {
             fl = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FL_DRIVE_MOTOR);
             fr = new EncodedMotor<DcMotorEx>(Setup.HardwareNames.FR_DRIVE_MOTOR);
@@ -74,6 +80,7 @@ public class Hardware implements Loggable {
         }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             limelight = hwmap.get(Limelight3A.class, Setup.HardwareNames.LIMELIGHT);
+            vision = new VisionService(limelight).register();
         }
         if (Setup.Connected.SWERVESUBSYSTEM){
             frswervedrive = this.map.get(DcMotorEx.class, Setup.HardwareNames.FR_SWERVEDRIVE);
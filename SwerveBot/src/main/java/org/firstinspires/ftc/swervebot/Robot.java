@@ -32,12 +32,12 @@ public class Robot implements Loggable {
         if (Setup.Connected.INTAKESUBSYSTEM) {
             this.intakeSubsystem = new IntakeSubsystem(hw);
         }
-        if (Setup.Connected.LAUNCHERSUBSYSTEM) {
-            this.launcherSubsystem = new LauncherSubsystem(hw);
-        }
         if (Setup.Connected.LIMELIGHTSUBSYSTEM) {
             this.limelightSubsystem = new LimelightSubsystem(hw);
         }
+        if (Setup.Connected.LAUNCHERSUBSYSTEM) {
+            this.launcherSubsystem = new LauncherSubsystem(hw, limelightSubsystem);
+        }
         if (Setup.Connected.DRIVEBASE) {
             follower = AutoConstants.createFollower(hw.map);
         }
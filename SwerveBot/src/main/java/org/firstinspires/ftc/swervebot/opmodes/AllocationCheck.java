@@ -0,0 +1,129 @@
+package org.firstinspires.ftc.swervebot.opmodes;
+
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.technototes.library.command.Command;
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.command.WaitCommand;
+import com.technototes.library.logger.LogFiles;
+import com.technototes.library.structure.CommandOpMode;
+import com.technototes.library.subsystem.Subsystem;
+import com.technototes.library.util.AllocationBudget;
+import com.technototes.library.util.PIDFController;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the loop's hot paths thousands of times each and reports how many bytes each one
+ * allocates per call (see AllocationBudget). Anything over its budget is flagged, so once a path
+ * is allocation-free (or as good as it's going to get), we'll notice if it gets worse.
+ *
+ * Nothing here touches the robot's hardware, so the numbers are the same from run to run: the
+ * scheduler runs a few stub mechanisms (a PID loop against a simulated position), each with a
+ * default command, plus a couple of scheduled commands, which is roughly what a real opmode has.
+ *
+ * The scheduler & the logger can't be allocation-free yet (the logger goes through the SDK's
+ * telemetry), so their budgets are baselines: the first run records what they allocate in
+ * BaselineFile (in the TechnoLib log directory), and later runs fail if they allocate more than
+ * that. Delete the file (or set RecordBaseline) to record new baselines.
+ */
+@TeleOp(name = "Allocation Check")
+public class AllocationCheck extends CommandOpMode {
+
+    // Bytes per call that each path is allowed to allocate. Zero means "this should be
+    // allocation-free".
+    public static double GamepadBudget = 0;
+    public static double PidBudget = 0;
+    public static String BaselineFile = "allocation-baseline.csv";
+    // How much more than its baseline a path may allocate (0.1 is 10% more)
+    public static double BaselineSlack = 0.1;
+    public static boolean RecordBaseline = false;
+    public static int StubMechanisms = 3;
+
+    // A mechanism with a stubbed device: the "motor" moves the "encoder" in proportion to its power
+    static class StubMechanism implements Subsystem {
+
+        final PIDFController pid = new PIDFController(new PIDFCoefficients(0.05, 0.001, 0.002, 0));
+        double position = 0;
+        double target = 0;
+
+        void setTarget(double t) {
+            target = t;
+            pid.setTarget(t);
+        }
+
+        @Override
+        public void periodic() {
+            position += pid.update(position) * 0.5;
+        }
+    }
+
+    List<AllocationBudget.Result> results = new ArrayList<>();
+    List<String> failures = new ArrayList<>();
+
+    @Override
+    public void uponInit() {
+        StubMechanism first = null;
+        for (int i = 0; i < StubMechanisms; i++) {
+            StubMechanism m = new StubMechanism();
+            CommandScheduler.register(m);
+            // Bounce between two targets, like a default "hold position" command that gets
+            // re-run every time it finishes
+            CommandScheduler.scheduleDefault(
+                Command.create(() -> m.setTarget(m.target == 0 ? 100 : 0), m),
+                m
+            );
+            if (first == null) {
+                first = m;
+            }
+        }
+        if (first != null) {
+            StubMechanism m = first;
+            // A triggered command, and a group with a wait in it
+            CommandScheduler.schedule(Command.create(() -> m.setTarget(m.target + 1)), () -> true);
+            CommandScheduler.schedule(
+                Command.create(() -> m.setTarget(50)).andThen(new WaitCommand(0.05)),
+                () -> true
+            );
+        }
+    }
+
+    @Override
+    public void uponStart() {
+        // The default commands only run after Start, so this is where the scheduler is measured
+        PIDFController pid = new PIDFController(new PIDFCoefficients(0.1, 0.01, 0.001, 0));
+        pid.setTarget(100);
+        File baseline = new File(LogFiles.getDirectory(), BaselineFile);
+        if (RecordBaseline) {
+            baseline.delete();
+        }
+        AllocationBudget.Suite suite = new AllocationBudget.Suite()
+            .setBaselineFile(baseline, BaselineSlack)
+            .addBaseline("CommandScheduler.run", CommandScheduler::run)
+            .addBaseline("Logger.runUpdate", getLogger()::runUpdate)
+            .add("GamepadBase.periodic", GamepadBudget, driverGamepad::periodic)
+            .add("PIDFController.update", PidBudget, () -> pid.update(50))
+            .setIterations(500, 5000);
+        if (!AllocationBudget.isSupported()) {
+            telemetry.addLine("This runtime can't count allocations");
+        }
+        results.addAll(suite.run());
+        try {
+            suite.assertAll();
+        } catch (AssertionError e) {
+            failures.add(e.getMessage());
+        }
+    }
+
+    @Override
+    public void runLoop() {
+        telemetry.addLine(failures.isEmpty() ? "PASSED" : "FAILED");
+        for (String f : failures) {
+            telemetry.addLine(f);
+        }
+        for (AllocationBudget.Result r : results) {
+            telemetry.addLine(r.toString());
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.firstinspires.ftc.swervebot.Robot;
 import org.firstinspires.ftc.swervebot.Setup;
 import org.firstinspires.ftc.swervebot.controls.DriverController;
 import org.firstinspires.ftc.swervebot.helpers.StartingPosition;
+import org.firstinspires.ftc.swervebot.swerveutil.CoaxialSwerveDrive;
 
 
 @TeleOp(name = "SwerveTeleOp")
@@ -30,6 +31,13 @@ public class SwerveTeleOp extends CommandOpMode {
             controls = new DriverController(driverGamepad, robot);
 
         }
+        // Warm up the drive math while we sit in init, so the first loops after Start aren't slow
+        setWarmUp(true);
+        // The swerve subsystem is registered, so it's warmed up on its own. The follower's
+        // drivetrain isn't, so it's added here.
+        if (robot.follower != null && robot.follower.drivetrain instanceof CoaxialSwerveDrive) {
+            getWarmUp().add((CoaxialSwerveDrive) robot.follower.drivetrain);
+        }
     }
 
     @Override
@@ -94,7 +94,7 @@ public class LauncherSubsystem implements Loggable, Subsystem {
     //    @Log(name = "Flywheel at Velocity")
     //    public static boolean ready;
 
-    public LauncherSubsystem(Hardware h) {
+    public LauncherSubsystem(Hardware h, LimelightSubsystem lls) {
         hasHardware = Setup.Connected.LAUNCHERSUBSYSTEM;
         // Do stuff in here
         if (hasHardware) {
@@ -107,7 +107,7 @@ public class LauncherSubsystem implements Loggable, Subsystem {
             launcher1.setPIDFCoefficients(launcherPIDF);
             launcher2.setPIDFCoefficients(launcherPIDF);
             //ready = false;
-            ls = new LimelightSubsystem(h);
+            ls = lls;
             double ADDITION = (PEAK_VOLTAGE - h.voltage());
             if (ADDITION == 0) {
                 SPIN_VOLT_COMP = SPIN_VOLT_COMP + 0.001;
@@ -9,6 +9,7 @@ import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.VoltageSensor;
+import com.technototes.library.general.Warmable;
 import com.technototes.library.util.MathUtils;
 import com.technototes.library.util.PIDFController;
 
@@ -20,8 +21,11 @@ import com.technototes.library.util.PIDFController;
  * - A steering servo (rotates the module to point in any direction)
  *
  * The "coaxial" design means the drive and steering mechanisms share the same axis.
+ *
+ * It's Warmable: calculateDrive doesn't run until the follower starts driving, so add it to the
+ * opmode's warm-up (it isn't registered with the scheduler, so it won't be found on its own).
  */
-public class CoaxialSwerveDrive extends Drivetrain {
+public class CoaxialSwerveDrive extends Drivetrain implements Warmable {
 
     // Hardware components
     private DcMotorEx[] driveMotors; // 4 motors for driving each wheel
@@ -52,6 +56,14 @@ public class CoaxialSwerveDrive extends Drivetrain {
     // Voltage tracking
     private double currentVoltage = 12.0;
 
+    // Warm-up swaps these in, so it doesn't disturb the real steering state
+    private final PIDFController[] warmUpControllers = new PIDFController[4];
+    private final double[] warmUpTargetAngles = new double[4];
+    private final double[] warmUpCurrentAngles = new double[4];
+    private final Vector warmUpCorrective = new Vector(0, 0);
+    private final Vector warmUpHeading = new Vector(0.1, 0);
+    private final Vector warmUpPath = new Vector(0.5, Math.PI / 4);
+
     public CoaxialSwerveDrive(HardwareMap hardwareMap, CoaxialSwerveConstants constants) {
         this.constants = constants;
         this.maxPowerScaling = 1.0;
@@ -80,6 +92,8 @@ public class CoaxialSwerveDrive extends Drivetrain {
         for (int i = 0; i < 4; i++) {
             steeringControllers[i] = new PIDFController(constants.steeringPIDF);
             steeringControllers[i].setInputBounds(-Math.PI, Math.PI);
+            warmUpControllers[i] = new PIDFController(constants.steeringPIDF);
+            warmUpControllers[i].setInputBounds(-Math.PI, Math.PI);
         }
 
         // Get hardware from the hardware map
@@ -304,6 +318,31 @@ public class CoaxialSwerveDrive extends Drivetrain {
         };
     }
 
+    /**
+     * Runs calculateDrive against the scratch steering state, without the voltage read (it isn't
+     * part of the bulk read). The encoders are still read, since that's part of what's being
+     * warmed up.
+     */
+    @Override
+    public void warmUp() {
+        PIDFController[] controllers = steeringControllers;
+        double[] targets = targetAngles;
+        double[] current = currentAngles;
+        boolean compensate = voltageCompensation;
+        steeringControllers = warmUpControllers;
+        targetAngles = warmUpTargetAngles;
+        currentAngles = warmUpCurrentAngles;
+        voltageCompensation = false;
+        try {
+            calculateDrive(warmUpCorrective, warmUpHeading, warmUpPath, Math.random() * Math.PI);
+        } finally {
+            steeringControllers = controllers;
+            targetAngles = targets;
+            currentAngles = current;
+            voltageCompensation = compensate;
+        }
+    }
+
     /**
      * Runs the drivetrain hardware with the calculated powers.
      *
@@ -7,6 +7,7 @@ import com.qualcomm.robotcore.hardware.PIDFCoefficients;
 import com.technototes.library.command.Command;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.command.ParallelCommandGroup;
+import com.technototes.library.general.Warmable;
 import com.technototes.library.hardware.motor.CRServo;
 import com.technototes.library.hardware.sensor.IGyro;
 import com.technototes.library.logger.Log;
@@ -20,7 +21,7 @@ import org.firstinspires.ftc.swervebot.Hardware;
 import org.firstinspires.ftc.swervebot.Setup;
 
 @Configurable
-public class SimpleCoaxSwerveDriveSubsystem implements Loggable, Subsystem {
+public class SimpleCoaxSwerveDriveSubsystem implements Loggable, Subsystem, Warmable {
 
     //fr,fl,rl,rr
     DcMotorEx[] drive = new DcMotorEx[4];
@@ -30,6 +31,9 @@ public class SimpleCoaxSwerveDriveSubsystem implements Loggable, Subsystem {
     AbsoluteAnalogEncoder[] swervoencs = new AbsoluteAnalogEncoder[4];
     public static PIDFCoefficients swervoPID = new PIDFCoefficients(0.2, 0, 0, 0);
     PIDFController[] swervoPIDF = new PIDFController[4];
+    // Warm-up swaps these in, so it doesn't disturb the real steering state
+    PIDFController[] warmUpPIDF = new PIDFController[4];
+    double[] savedWheelPowers = new double[4];
 
     boolean hasHardware;
     double[] swervopower = new double[4];
@@ -90,6 +94,8 @@ public class SimpleCoaxSwerveDriveSubsystem implements Loggable, Subsystem {
             for (int i = 0; i < 4; i++) {
                 swervoPIDF[i] = new PIDFController(swervoPID);
                 swervoPIDF[i].setInputBounds(-Math.PI, Math.PI);
+                warmUpPIDF[i] = new PIDFController(swervoPID);
+                warmUpPIDF[i].setInputBounds(-Math.PI, Math.PI);
                 drive[i].setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
                 drive[i].setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
             }
@@ -192,53 +198,70 @@ public class SimpleCoaxSwerveDriveSubsystem implements Loggable, Subsystem {
     public void updateValues(double x, double y, double r) {
         if (hasHardware) {
             robotHeading = -imu.getHeadingInRadians();
-            forwardInput = x * Math.cos(robotHeading) + y * Math.sin(robotHeading);
-            strafeInput = -x * Math.sin(robotHeading) + y * Math.cos(robotHeading);
-            rotationInput = r;
-            A = strafeInput - rotationInput * (driveLength / R);
-            B = strafeInput + rotationInput * (driveLength / R);
-            C = forwardInput - rotationInput * (trackWidth / R);
-            D = forwardInput + rotationInput * (trackWidth / R);
-            unfilteredWheelPowers[0] = Math.sqrt((B * B) + (C * C));
-            unfilteredWheelPowers[1] = Math.sqrt((B * B) + (D * D));
-            unfilteredWheelPowers[2] = Math.sqrt((A * A) + (D * D));
-            unfilteredWheelPowers[3] = Math.sqrt((A * A) + (C * C));
-            maxPower = Arrays.stream(unfilteredWheelPowers).max();
-            if (maxPower.getAsDouble() > 1) {
-                for (int i = 0; i < 4; i++) {
-                    wheelPowers[i] = unfilteredWheelPowers[i] / maxPower.getAsDouble();
-                }
-            }
-            wheelAngles[0] = C == 0 && B == 0
-                ? 0
-                : MathUtils.normalizeDeltaRadians(Math.atan2(C, B));
-            wheelAngles[1] = D == 0 && B == 0
-                ? 0
-                : MathUtils.normalizeDeltaRadians(Math.atan2(D, B));
-            wheelAngles[2] = D == 0 && A == 0
-                ? 0
-                : MathUtils.normalizeDeltaRadians(Math.atan2(D, A));
-            wheelAngles[3] = C == 0 && A == 0
-                ? 0
-                : MathUtils.normalizeDeltaRadians(Math.atan2(C, A));
-            for (int i = 0; i < 4; i++) {
-                swervopos[i] = swervoencs[i].getCurrentPosition();
-                angleDifferences[i] = MathUtils.normalizeDeltaRadians(
-                    wheelAngles[i] - swervopos[i]
-                );
-                if (Math.abs(angleDifferences[i]) > Math.PI / 2) {
-                    wheelAngles[i] += Math.PI;
-                    wheelPowers[i] *= -1;
+            steer(x, y, r);
+        }
+    }
 
-                    // Normalize the angle [-pi, pi]
-                    wheelAngles[i] = MathUtils.normalizeDeltaRadians(wheelAngles[i]);
-                }
-            }
+    // Runs the steering math against made up sticks, with scratch controllers swapped in (the
+    // swervo writes are suppressed during warm-up)
+    @Override
+    public void warmUp() {
+        if (!hasHardware) {
+            return;
+        }
+        PIDFController[] pidf = swervoPIDF;
+        double heading = robotHeading;
+        System.arraycopy(wheelPowers, 0, savedWheelPowers, 0, 4);
+        swervoPIDF = warmUpPIDF;
+        // Skip the IMU: it's an I2C read, and the heading is made up anyway
+        robotHeading = Math.random() * Math.PI;
+        try {
+            steer(Math.random(), Math.random(), Math.random() - 0.5);
+        } finally {
+            swervoPIDF = pidf;
+            robotHeading = heading;
+            System.arraycopy(savedWheelPowers, 0, wheelPowers, 0, 4);
+        }
+    }
+
+    // The module math for robotHeading, and drives the swervos to the module angles
+    private void steer(double x, double y, double r) {
+        forwardInput = x * Math.cos(robotHeading) + y * Math.sin(robotHeading);
+        strafeInput = -x * Math.sin(robotHeading) + y * Math.cos(robotHeading);
+        rotationInput = r;
+        A = strafeInput - rotationInput * (driveLength / R);
+        B = strafeInput + rotationInput * (driveLength / R);
+        C = forwardInput - rotationInput * (trackWidth / R);
+        D = forwardInput + rotationInput * (trackWidth / R);
+        unfilteredWheelPowers[0] = Math.sqrt((B * B) + (C * C));
+        unfilteredWheelPowers[1] = Math.sqrt((B * B) + (D * D));
+        unfilteredWheelPowers[2] = Math.sqrt((A * A) + (D * D));
+        unfilteredWheelPowers[3] = Math.sqrt((A * A) + (C * C));
+        maxPower = Arrays.stream(unfilteredWheelPowers).max();
+        if (maxPower.getAsDouble() > 1) {
             for (int i = 0; i < 4; i++) {
-                swervoPIDF[i].setTarget(wheelAngles[i]);
-                setSwervoPow(swervo[i], swervoPIDF[i].update(swervopos[i]));
+                wheelPowers[i] = unfilteredWheelPowers[i] / maxPower.getAsDouble();
             }
         }
+        wheelAngles[0] = C == 0 && B == 0 ? 0 : MathUtils.normalizeDeltaRadians(Math.atan2(C, B));
+        wheelAngles[1] = D == 0 && B == 0 ? 0 : MathUtils.normalizeDeltaRadians(Math.atan2(D, B));
+        wheelAngles[2] = D == 0 && A == 0 ? 0 : MathUtils.normalizeDeltaRadians(Math.atan2(D, A));
+        wheelAngles[3] = C == 0 && A == 0 ? 0 : MathUtils.normalizeDeltaRadians(Math.atan2(C, A));
+        for (int i = 0; i < 4; i++) {
+            swervopos[i] = swervoencs[i].getCurrentPosition();
+            angleDifferences[i] = MathUtils.normalizeDeltaRadians(wheelAngles[i] - swervopos[i]);
+            if (Math.abs(angleDifferences[i]) > Math.PI / 2) {
+                wheelAngles[i] += Math.PI;
+                wheelPowers[i] *= -1;
+
+                // Normalize the angle [-pi, pi]
+                wheelAngles[i] = MathUtils.normalizeDeltaRadians(wheelAngles[i]);
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            swervoPIDF[i].setTarget(wheelAngles[i]);
+            setSwervoPow(swervo[i], swervoPIDF[i].update(swervopos[i]));
+        }
     }
 
     private double DeadZoneScale(double d) {
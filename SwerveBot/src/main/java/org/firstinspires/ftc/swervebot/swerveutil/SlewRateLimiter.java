@@ -1,5 +1,7 @@
 package org.firstinspires.ftc.swervebot.swerveutil;
 
+import com.technototes.library.util.LoopClock;
+
 /**
  * Slew Rate Limiter - Limits the rate of change of a value
  *
@@ -10,6 +12,9 @@ package org.firstinspires.ftc.swervebot.swerveutil;
  * - Limiting drive motor acceleration
  * - Smoothing steering servo movements
  * - Preventing sudden direction changes
+ *
+ * When the opmode's LoopClock is running, the per-loop timestamp is used, so all four
+ * modules' limiters see exactly the same dt each loop.
  */
 public class SlewRateLimiter {
 
@@ -37,7 +42,11 @@ public class SlewRateLimiter {
     public SlewRateLimiter(double maxRateOfChange, double initialValue) {
         this.maxRateOfChange = maxRateOfChange;
         this.previousValue = initialValue;
-        this.lastUpdateTime = System.nanoTime();
+        this.lastUpdateTime = now();
+    }
+
+    private static long now() {
+        return LoopClock.isRunning() ? LoopClock.nanos() : System.nanoTime();
     }
 
     /**
@@ -48,10 +57,20 @@ public class SlewRateLimiter {
      */
     public double calculate(double input) {
         // Calculate time since last update (in seconds)
-        long currentTime = System.nanoTime();
+        long currentTime = now();
         double deltaTime = (currentTime - lastUpdateTime) / 1_000_000_000.0;
         lastUpdateTime = currentTime;
+        return calculate(input, deltaTime);
+    }
 
+    /**
+     * Calculate the next output value for an explicit time step
+     *
+     * @param input desired target value
+     * @param deltaTime the time step, in seconds
+     * @return limited output value that doesn't exceed max rate of change
+     */
+    public double calculate(double input, double deltaTime) {
         // Calculate maximum allowed change for this time step
         double maxChange = maxRateOfChange * deltaTime;
 
@@ -75,7 +94,7 @@ public class SlewRateLimiter {
      */
     public void reset(double value) {
         previousValue = value;
-        lastUpdateTime = System.nanoTime();
+        lastUpdateTime = now();
     }
 
     /**
@@ -299,6 +299,9 @@ public interface Command extends Runnable, Supplier<Command.CommandState> {
      * @return This command
      */
     default Command setState(CommandState s) {
+        if (CommandTracer.isEnabled()) {
+            CommandTracer.stateChanged(this, getState(), s);
+        }
         stateMap.put(this, s);
         return this;
     }
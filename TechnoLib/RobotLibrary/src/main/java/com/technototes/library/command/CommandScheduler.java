@@ -2,10 +2,16 @@ package com.technototes.library.command;
 
 import androidx.annotation.Nullable;
 import com.technototes.library.general.Periodic;
+import com.technototes.library.general.Phased;
+import com.technototes.library.general.Warmable;
 import com.technototes.library.structure.CommandOpMode;
 import com.technototes.library.subsystem.Subsystem;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
@@ -28,9 +34,84 @@ public final class CommandScheduler {
     private static final Map<Subsystem, Command> defaultMap = new HashMap<>();
 
     private static final Set<Periodic> registered = new LinkedHashSet<>();
+    // Volatile, because it's read from other threads (like the loop watchdog)
+    private static volatile Object currentContext = null;
+    private static final Set<Periodic> criticalRegistered = new LinkedHashSet<>();
+    private static final Map<Periodic, BestEffort> bestEffortRegistered = new LinkedHashMap<>();
+    private static final Set<Phased> phased = new LinkedHashSet<>();
+    private static final Set<Phased> phasedView = Collections.unmodifiableSet(phased);
+    private static int phasedVersion = 0;
 
     private static CommandOpMode opMode;
 
+    /**
+     * The priority classes for periodic work. When a loop budget is set, CRITICAL work runs
+     * first, NORMAL work always runs, and BEST_EFFORT work (telemetry, diagnostics, etc...) gets
+     * pushed to the next loop if the current loop is already in danger of running long.
+     */
+    public enum Priority {
+        /**
+         * Control code that must run every loop, before anything else (drive, flywheel PID, etc...)
+         */
+        CRITICAL,
+        /**
+         * The default: runs every loop, after the critical stuff
+         */
+        NORMAL,
+        /**
+         * Stuff that can slip a loop without anyone noticing (telemetry, diagnostics, logging)
+         */
+        BEST_EFFORT,
+    }
+
+    /**
+     * A wrapper for a chunk of best-effort work. It tracks how many loops in a row it has been
+     * deferred so that it can't be starved forever by a robot that's constantly over budget.
+     */
+    public static final class BestEffort {
+
+        private final Runnable work;
+        private int consecutiveDeferrals = 0;
+
+        /**
+         * Create a best-effort chunk of work
+         *
+         * @param work The thing to do (when there's time)
+         */
+        public BestEffort(Runnable work) {
+            this.work = work;
+        }
+
+        /**
+         * Run the work, unless the loop budget is at risk, in which case it's deferred
+         *
+         * @return True if the work was run, false if it was deferred
+         */
+        public boolean run() {
+            if (isBudgetAtRisk() && consecutiveDeferrals < maxConsecutiveDeferrals) {
+                consecutiveDeferrals++;
+                deferralCount++;
+                deferredThisLoop++;
+                return false;
+            }
+            consecutiveDeferrals = 0;
+            work.run();
+            return true;
+        }
+    }
+
+    // Loop budget stuff: A budget of zero (or less) means "no budget" (the original behavior)
+    private static long loopBudgetNanos = 0;
+    private static double budgetRiskFraction = 0.8;
+    private static int maxConsecutiveDeferrals = 5;
+    private static long loopStartNanos = 0;
+    private static boolean loopStarted = false;
+    private static long loopCount = 0;
+    private static long overrunCount = 0;
+    private static long deferralCount = 0;
+    private static long deferredLoopCount = 0;
+    private static int deferredThisLoop = 0;
+
     /**
      * Set the scheduler's opmode
      *
@@ -64,7 +145,139 @@ public final class CommandScheduler {
         requirementMap.clear();
         defaultMap.clear();
         registered.clear();
+        criticalRegistered.clear();
+        bestEffortRegistered.clear();
+        phased.clear();
+        phasedVersion++;
+        currentContext = null;
         Command.clear();
+        loopBudgetNanos = 0;
+        budgetRiskFraction = 0.8;
+        maxConsecutiveDeferrals = 5;
+        loopStarted = false;
+        resetLoopStatistics();
+    }
+
+    /**
+     * Set the per-loop time budget. Once set, best-effort periodics (and the telemetry update
+     * in CommandOpMode) are deferred to the next loop when the current loop is at risk of
+     * running over. Set it to zero to turn it off (which is the default).
+     *
+     * @param milliseconds The loop budget, in milliseconds
+     */
+    public static void setLoopBudget(double milliseconds) {
+        loopBudgetNanos = milliseconds > 0 ? (long) (milliseconds * 1e6) : 0;
+    }
+
+    /**
+     * Get the per-loop time budget
+     *
+     * @return The loop budget in milliseconds (zero if there isn't one)
+     */
+    public static double getLoopBudget() {
+        return loopBudgetNanos / 1e6;
+    }
+
+    /**
+     * Set how much of the budget may be used before best-effort work starts getting deferred.
+     * The default is 0.8 (i.e. once 80% of the budget is gone, defer telemetry &amp; friends)
+     *
+     * @param fraction The fraction of the budget (0 to 1)
+     */
+    public static void setBudgetRiskFraction(double fraction) {
+        budgetRiskFraction = Math.max(0, Math.min(1, fraction));
+    }
+
+    /**
+     * Set how many loops in a row a best-effort item may be deferred before it's run anyway.
+     * Without this, a robot that is always over budget would never update telemetry.
+     *
+     * @param loops The maximum number of consecutive deferrals (default is 5)
+     */
+    public static void setMaxConsecutiveDeferrals(int loops) {
+        maxConsecutiveDeferrals = Math.max(0, loops);
+    }
+
+    /**
+     * Mark the start of a loop. CommandOpMode calls this at the top of each loop. If nobody calls
+     * it, the loop is assumed to start when {@link #run()} is invoked.
+     */
+    public static void markLoopStart() {
+        finishLoop();
+        loopStartNanos = System.nanoTime();
+        loopStarted = true;
+    }
+
+    /**
+     * How long the current loop has been running
+     *
+     * @return The elapsed time of the current loop, in milliseconds
+     */
+    public static double getLoopElapsed() {
+        return (System.nanoTime() - loopStartNanos) / 1e6;
+    }
+
+    /**
+     * Is the current loop in danger of overrunning the loop budget?
+     *
+     * @return True if there's a budget, and enough of it has been used to start deferring work
+     */
+    public static boolean isBudgetAtRisk() {
+        return loopBudgetNanos > 0 && System.nanoTime() - loopStartNanos > loopBudgetNanos * budgetRiskFraction;
+    }
+
+    /**
+     * @return The number of loops counted since the scheduler was reset
+     */
+    public static long getLoopCount() {
+        return loopCount;
+    }
+
+    /**
+     * @return The number of loops that went over the loop budget
+     */
+    public static long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * @return The total number of times any best-effort item was deferred
+     */
+    public static long getDeferralCount() {
+        return deferralCount;
+    }
+
+    /**
+     * @return The number of loops during which at least one best-effort item was deferred
+     */
+    public static long getDeferredLoopCount() {
+        return deferredLoopCount;
+    }
+
+    /**
+     * Reset the loop/overrun/deferral counters
+     */
+    public static void resetLoopStatistics() {
+        loopCount = 0;
+        overrunCount = 0;
+        deferralCount = 0;
+        deferredLoopCount = 0;
+        deferredThisLoop = 0;
+    }
+
+    // Tally up the statistics for the loop that just completed
+    private static void finishLoop() {
+        if (!loopStarted) {
+            return;
+        }
+        loopCount++;
+        if (loopBudgetNanos > 0 && System.nanoTime() - loopStartNanos > loopBudgetNanos) {
+            overrunCount++;
+        }
+        if (deferredThisLoop > 0) {
+            deferredLoopCount++;
+        }
+        deferredThisLoop = 0;
     }
 
     /**
@@ -245,7 +458,95 @@ public final class CommandScheduler {
      * @param p The Periodic function to run
      */
     public static void register(Periodic p) {
-        registered.add(p);
+        if (!criticalRegistered.contains(p) && !bestEffortRegistered.containsKey(p)) {
+            registered.add(p);
+        }
+        if (p instanceof Phased) {
+            registerPhased((Phased) p);
+        }
+    }
+
+    /**
+     * Register an object to have its inputs read &amp; outputs written in separate phases of the
+     * loop. Periodics (and Subsystems) that implement {@link Phased} are registered automatically
+     * when they're registered as a Periodic.
+     *
+     * @param p The Phased object
+     */
+    public static void registerPhased(Phased p) {
+        if (phased.add(p)) {
+            phasedVersion++;
+        }
+    }
+
+    /**
+     * Get the registered Phased objects (CommandOpMode uses this to run the read &amp; write phases)
+     *
+     * @return The (unmodifiable) set of Phased objects
+     */
+    public static Set<Phased> getPhased() {
+        return phasedView;
+    }
+
+    /**
+     * This changes every time the set of Phased objects changes, so callers can cache things
+     *
+     * @return The current version of the Phased set
+     */
+    public static int getPhasedVersion() {
+        return phasedVersion;
+    }
+
+    /**
+     * Register a periodic function to be run once each schedule loop, with a specific priority.
+     * Only best-effort periodics may be deferred, and only when a loop budget has been set.
+     *
+     * @param p        The Periodic function to run
+     * @param priority The priority class for the periodic
+     */
+    public static void register(Periodic p, Priority priority) {
+        registered.remove(p);
+        criticalRegistered.remove(p);
+        bestEffortRegistered.remove(p);
+        switch (priority) {
+            case CRITICAL:
+                criticalRegistered.add(p);
+                break;
+            case BEST_EFFORT:
+                // Traced like the other periodics, but only when it actually runs (not deferred)
+                bestEffortRegistered.put(p, new BestEffort(() -> runPeriodic(p, CommandTracer.isEnabled())));
+                break;
+            default:
+                registered.add(p);
+                break;
+        }
+        if (p instanceof Phased) {
+            registerPhased((Phased) p);
+        }
+    }
+
+    /**
+     * Get everything that's been registered or scheduled (periodics, subsystems, default commands,
+     * and commands) that can be warmed up. Each one is only listed once.
+     *
+     * @return The Warmable objects
+     */
+    public static List<Warmable> getWarmables() {
+        Set<Object> all = new LinkedHashSet<>();
+        all.addAll(criticalRegistered);
+        all.addAll(registered);
+        all.addAll(bestEffortRegistered.keySet());
+        all.addAll(requirementMap.keySet());
+        all.addAll(defaultMap.keySet());
+        all.addAll(defaultMap.values());
+        all.addAll(commandMap.keySet());
+        List<Warmable> warmables = new ArrayList<>();
+        for (Object o : all) {
+            if (o instanceof Warmable) {
+                warmables.add((Warmable) o);
+            }
+        }
+        return warmables;
     }
 
     /**
@@ -298,6 +599,9 @@ public final class CommandScheduler {
      * It it the core logic of actually scheduling &amp; running the commands.
      */
     public static void run() {
+        if (!loopStarted) {
+            loopStartNanos = System.nanoTime();
+        }
         // For each newly scheduled command,
         // cancel any existing command that is using the new command's subsystem requirements
         commandMap.forEach((c1, b) -> {
@@ -311,11 +615,59 @@ public final class CommandScheduler {
                 }
             }
         });
+        boolean tracing = CommandTracer.isEnabled();
+        if (tracing) {
+            CommandTracer.loopBegin();
+        }
         commandMap.forEach((c1, b) -> {
             if (b.getAsBoolean() || c1.isRunning()) {
-                c1.run();
+                currentContext = c1;
+                // Not using the 'tracing' local, so this lambda doesn't capture anything
+                if (CommandTracer.isEnabled()) {
+                    CommandTracer.runBegin(c1);
+                    c1.run();
+                    CommandTracer.runEnd(c1);
+                } else {
+                    c1.run();
+                }
             }
         });
-        registered.forEach(Periodic::periodic);
+        runPeriodics(criticalRegistered, tracing);
+        runPeriodics(registered, tracing);
+        bestEffortRegistered.forEach((p, b) -> {
+            currentContext = p;
+            b.run();
+        });
+        currentContext = null;
+        if (tracing) {
+            CommandTracer.loopEnd();
+        }
+    }
+
+    private static void runPeriodics(Set<Periodic> periodics, boolean tracing) {
+        for (Periodic p : periodics) {
+            currentContext = p;
+            runPeriodic(p, tracing);
+        }
+    }
+
+    private static void runPeriodic(Periodic p, boolean tracing) {
+        if (tracing) {
+            CommandTracer.periodicBegin(p);
+            p.periodic();
+            CommandTracer.periodicEnd(p);
+        } else {
+            p.periodic();
+        }
+    }
+
+    /**
+     * Get the command or periodic (usually a subsystem) the scheduler is running right now. This
+     * is used to figure out who's responsible for things like hardware reads, or a stuck loop.
+     *
+     * @return The Command or Periodic being run, or null if the scheduler isn't running anything
+     */
+    public static Object getCurrentContext() {
+        return currentContext;
     }
 }
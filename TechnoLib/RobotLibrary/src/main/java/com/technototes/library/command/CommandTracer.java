@@ -0,0 +1,263 @@
+package com.technototes.library.command;
+
+import com.technototes.library.general.Periodic;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * An opt-in timeline tracer for commands. When it's enabled, the scheduler and the commands record
+ * timestamped events into a preallocated ring buffer (so tracing doesn't allocate during the
+ * loop). When the opmode's done, the events can be written out in the Chrome trace-event format:
+ * load the file into chrome://tracing or https://ui.perfetto.dev to see a flame chart of every
+ * loop, and a timeline of how long each command was running.
+ * <p>
+ * The trace has three tracks:
+ * <ul>
+ *     <li>"scheduler": each CommandScheduler.run, with each command's run() and each periodic
+ *     nested inside it</li>
+ *     <li>"commands": one bar per command, from when it starts to when it finishes (or is
+ *     cancelled)</li>
+ *     <li>instant markers for commands being interrupted</li>
+ * </ul>
+ * If the ring buffer wraps around, the oldest events are lost.
+ */
+public final class CommandTracer {
+
+    /**
+     * The default number of events the ring buffer holds
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final byte LOOP_BEGIN = 0;
+    private static final byte LOOP_END = 1;
+    private static final byte RUN_BEGIN = 2;
+    private static final byte RUN_END = 3;
+    private static final byte PERIODIC_BEGIN = 4;
+    private static final byte PERIODIC_END = 5;
+    private static final byte COMMAND_BEGIN = 6;
+    private static final byte COMMAND_END = 7;
+    private static final byte COMMAND_INTERRUPTED = 8;
+
+    private static boolean enabled = false;
+    private static byte[] types = new byte[0];
+    private static long[] times = new long[0];
+    private static Object[] subjects = new Object[0];
+    private static int next = 0;
+    private static long recorded = 0;
+    private static long startNanos = 0;
+
+    private CommandTracer() {}
+
+    /**
+     * Start tracing, with the default capacity
+     */
+    public static void enable() {
+        enable(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Start tracing (this clears anything that had been recorded)
+     *
+     * @param capacity The number of events to keep
+     */
+    public static void enable(int capacity) {
+        if (types.length != capacity) {
+            types = new byte[capacity];
+            times = new long[capacity];
+            subjects = new Object[capacity];
+        }
+        clear();
+        enabled = capacity > 0;
+    }
+
+    /**
+     * Stop tracing (the events that have been recorded are kept until the next enable or clear)
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * @return True if events are being recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Throw away everything that's been recorded
+     */
+    public static void clear() {
+        Arrays.fill(subjects, null);
+        next = 0;
+        recorded = 0;
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return The number of events recorded since the last clear (including any that were lost
+     * when the ring buffer wrapped around)
+     */
+    public static long getRecordedCount() {
+        return recorded;
+    }
+
+    private static void record(byte type, Object subject) {
+        int i = next;
+        types[i] = type;
+        times[i] = System.nanoTime();
+        subjects[i] = subject;
+        next = (i + 1 == types.length) ? 0 : i + 1;
+        recorded++;
+    }
+
+    static void loopBegin() {
+        record(LOOP_BEGIN, null);
+    }
+
+    static void loopEnd() {
+        record(LOOP_END, null);
+    }
+
+    static void runBegin(Command c) {
+        record(RUN_BEGIN, c);
+    }
+
+    static void runEnd(Command c) {
+        record(RUN_END, c);
+    }
+
+    static void periodicBegin(Periodic p) {
+        record(PERIODIC_BEGIN, p);
+    }
+
+    static void periodicEnd(Periodic p) {
+        record(PERIODIC_END, p);
+    }
+
+    /**
+     * Called by {@link Command#setState}: you shouldn't need to call this!
+     *
+     * @param c    The command
+     * @param from The state it was in
+     * @param to   The state it's going to
+     */
+    static void stateChanged(Command c, Command.CommandState from, Command.CommandState to) {
+        if (to == Command.CommandState.STARTED) {
+            record(COMMAND_BEGIN, c);
+        } else if (to == Command.CommandState.RESET && from != Command.CommandState.RESET) {
+            record(COMMAND_END, c);
+        } else if (to == Command.CommandState.INTERRUPTED) {
+            record(COMMAND_INTERRUPTED, c);
+        }
+    }
+
+    /**
+     * Write the trace to a file, in the Chrome trace-event (JSON) format
+     *
+     * @param file The file to write
+     * @throws IOException If the file can't be written
+     */
+    public static void write(File file) throws IOException {
+        try (
+            Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+        ) {
+            write(w);
+        }
+    }
+
+    /**
+     * Write the trace, in the Chrome trace-event (JSON) format
+     *
+     * @param w Where to write it
+     * @throws IOException If it can't be written
+     */
+    public static void write(Writer w) throws IOException {
+        int count = (int) Math.min(recorded, types.length);
+        int first = recorded > types.length ? next : 0;
+        w.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+        w.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"scheduler\"}}");
+        for (int n = 0; n < count; n++) {
+            int i = (first + n) % types.length;
+            Object subject = subjects[i];
+            String ts = String.format(Locale.ENGLISH, "%.3f", (times[i] - startNanos) / 1e3);
+            String name = subject == null ? "CommandScheduler.run" : nameOf(subject);
+            w.write(",\n{\"name\":");
+            w.write(quote(name));
+            w.write(",\"ts\":");
+            w.write(ts);
+            w.write(",\"pid\":1,\"tid\":1");
+            switch (types[i]) {
+                case LOOP_BEGIN:
+                case RUN_BEGIN:
+                case PERIODIC_BEGIN:
+                    w.write(",\"ph\":\"B\",\"cat\":\"" + category(types[i]) + "\"}");
+                    break;
+                case LOOP_END:
+                case RUN_END:
+                case PERIODIC_END:
+                    w.write(",\"ph\":\"E\",\"cat\":\"" + category(types[i]) + "\"}");
+                    break;
+                case COMMAND_BEGIN:
+                    w.write(",\"ph\":\"b\",\"cat\":\"commands\",\"id\":" + System.identityHashCode(subject) + "}");
+                    break;
+                case COMMAND_END:
+                    w.write(",\"ph\":\"e\",\"cat\":\"commands\",\"id\":" + System.identityHashCode(subject) + "}");
+                    break;
+                case COMMAND_INTERRUPTED:
+                default:
+                    w.write(",\"ph\":\"i\",\"s\":\"t\",\"cat\":\"interrupted\"}");
+                    break;
+            }
+        }
+        w.write("\n]}\n");
+    }
+
+    private static String category(byte type) {
+        switch (type) {
+            case LOOP_BEGIN:
+            case LOOP_END:
+                return "loop";
+            case RUN_BEGIN:
+            case RUN_END:
+                return "run";
+            default:
+                return "periodic";
+        }
+    }
+
+    private static String nameOf(Object o) {
+        Class<?> c = o.getClass();
+        String name = c.getName();
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda > 0) {
+            // A lambda: the best we can do is say which class it's in
+            return name.substring(name.lastIndexOf('.') + 1, lambda) + " (lambda)";
+        }
+        String simple = c.getSimpleName();
+        // Anonymous classes don't have a simple name: the full name at least says where it came from
+        return simple.isEmpty() ? name : simple;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                sb.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                sb.append(String.format("\\u%04x", (int) ch));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
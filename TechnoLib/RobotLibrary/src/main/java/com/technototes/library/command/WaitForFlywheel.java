@@ -0,0 +1,90 @@
+package com.technototes.library.command;
+
+import com.technototes.library.util.FlywheelController;
+import java.util.function.DoublePredicate;
+
+/**
+ * A command that waits for a flywheel to be at speed, instead of waiting a fixed amount of time
+ * and hoping. It finishes as soon as the flywheel says it will be within tolerance by the time the
+ * ball gets to it (the lead time), or when the timeout runs out, so a flywheel that never quite
+ * makes it doesn't stall the whole autonomous.
+ * <pre>
+ * new SequentialCommandGroup(
+ *     Command.create(launcher::spinUp),
+ *     new WaitForFlywheel(launcher::readyWithin, 0.1, 3),
+ *     Command.create(gate::open)
+ * )
+ * </pre>
+ */
+public class WaitForFlywheel implements Command {
+
+    private final DoublePredicate readyWithin;
+    private final double leadSeconds;
+    private final double timeoutSeconds;
+
+    /**
+     * Wait for the flywheel to be at speed (with a timeout)
+     *
+     * @param readyWithin    Returns true if the flywheel will be at speed within the given seconds
+     * @param leadSeconds    How long it takes the ball to get to the flywheel once it's fed
+     * @param timeoutSeconds The longest to wait
+     */
+    public WaitForFlywheel(DoublePredicate readyWithin, double leadSeconds, double timeoutSeconds) {
+        this.readyWithin = readyWithin;
+        this.leadSeconds = leadSeconds;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Wait for the flywheel to be at speed (with no timeout)
+     *
+     * @param readyWithin Returns true if the flywheel will be at speed within the given seconds
+     * @param leadSeconds How long it takes the ball to get to the flywheel once it's fed
+     */
+    public WaitForFlywheel(DoublePredicate readyWithin, double leadSeconds) {
+        this(readyWithin, leadSeconds, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Wait for the flywheel to be at speed (with a timeout)
+     *
+     * @param flywheel       The flywheel's controller
+     * @param leadSeconds    How long it takes the ball to get to the flywheel once it's fed
+     * @param timeoutSeconds The longest to wait
+     */
+    public WaitForFlywheel(FlywheelController flywheel, double leadSeconds, double timeoutSeconds) {
+        this(flywheel::readyWithin, leadSeconds, timeoutSeconds);
+    }
+
+    /**
+     * Wait for the flywheel to be at speed (with no timeout)
+     *
+     * @param flywheel    The flywheel's controller
+     * @param leadSeconds How long it takes the ball to get to the flywheel once it's fed
+     */
+    public WaitForFlywheel(FlywheelController flywheel, double leadSeconds) {
+        this(flywheel::readyWithin, leadSeconds);
+    }
+
+    /**
+     * @return The lead time, in seconds
+     */
+    public double getLeadSeconds() {
+        return leadSeconds;
+    }
+
+    /**
+     * @return The timeout, in seconds
+     */
+    public double getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    @Override
+    public void execute() {}
+
+    @Override
+    public boolean isFinished() {
+        return readyWithin.test(leadSeconds) || getRuntime().seconds() >= timeoutSeconds;
+    }
+}
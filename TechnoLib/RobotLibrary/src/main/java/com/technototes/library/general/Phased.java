@@ -0,0 +1,40 @@
+package com.technototes.library.general;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+
+/**
+ * An interface for things that want their hardware access split out of {@link Periodic#periodic()}
+ * <p>
+ * When a Phased object is registered with the CommandScheduler, CommandOpMode runs each loop in
+ * three phases:
+ * <ol>
+ *     <li>Read: readInputs() is called on everything, to fetch sensor values into fields</li>
+ *     <li>Compute: commands &amp; periodics run, using only the values read in the read phase</li>
+ *     <li>Write: writeOutputs() is called on everything, to send any changed values to hardware</li>
+ * </ol>
+ * Objects that report the same hub are read/written together, and different hubs are handled on
+ * separate threads, so the Control Hub and Expansion Hub transactions happen concurrently.
+ */
+public interface Phased {
+    /**
+     * Read all the hardware inputs for this object, and stash them for the compute phase.
+     * This may be called from a thread other than the opmode thread!
+     */
+    void readInputs();
+
+    /**
+     * Write any changed outputs to the hardware.
+     * This may be called from a thread other than the opmode thread!
+     */
+    void writeOutputs();
+
+    /**
+     * The hub this object's hardware is attached to. Everything on the same hub is handled on
+     * the same thread. If this returns null, the I/O is done on the opmode thread.
+     *
+     * @return The LynxModule the hardware is on (or null)
+     */
+    default LynxModule getHub() {
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.technototes.library.general;
+
+/**
+ * An interface for subsystems, periodics &amp; commands that can exercise their compute paths
+ * before the opmode starts (see {@link com.technototes.library.structure.WarmUp}). If warm-up is
+ * turned on, CommandOpMode calls warmUp() over and over during init, with hardware writes
+ * suppressed, so the code is already compiled by the time the first real loop runs.
+ * <p>
+ * warmUp() should run the same math the loop runs, against made up (but realistic) inputs, and it
+ * must not change anything that matters after Start: use a scratch controller, or save &amp; restore
+ * any state it touches. Reads are fine, but slow ones (I2C, the camera) will slow init down.
+ */
+@FunctionalInterface
+public interface Warmable {
+    /**
+     * Run the compute paths once, against simulated inputs
+     */
+    void warmUp();
+}
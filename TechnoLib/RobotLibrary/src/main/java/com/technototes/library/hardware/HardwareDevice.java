@@ -1,10 +1,17 @@
 package com.technototes.library.hardware;
 
 import android.util.Log;
+import com.qualcomm.hardware.lynx.LynxModule;
 import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.util.LoopClock;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Class for hardware devices
@@ -24,11 +31,377 @@ public abstract class HardwareDevice<T extends com.qualcomm.robotcore.hardware.H
 
     public static void initMap(HardwareMap h) {
         hardwareMap = h;
+        devices.clear();
+        // Accounting is opt-in per opmode
+        accounting = false;
+        transactionBudget = 0;
+        totalLoopBulkReads = totalLoopDirectReads = totalLoopWrites = 0;
+        budgetWarnings = 0;
+        lastBudgetWarning = null;
+        // So is lazy lookup
+        lazyLookup = false;
+        // In case an opmode died in the middle of a warm-up
+        writesSuppressed = false;
+        // Devices only cache per loop while a CommandOpMode is ticking the clock, which this
+        // opmode isn't doing (yet)
+        LoopClock.reset();
     }
 
-    public static Set<HardwareDevice<?>> devices = null;
+    /**
+     * All the devices that have been created (since the last initMap). Devices are only added
+     * during init (sometimes from an init thread), but the set is iterated every loop, and by the
+     * watchdog's thread, so it's copy-on-write: iterating never needs a lock.
+     */
+    public static Set<HardwareDevice<?>> devices = new CopyOnWriteArraySet<>();
+
+    /**
+     * The kinds of hardware transactions that are counted (when accounting is turned on)
+     */
+    public enum Transaction {
+        /**
+         * A read that's satisfied by the hub's bulk data cache (encoders, digital/analog inputs)
+         */
+        BULK_READ,
+        /**
+         * A read that has to talk to the hub (current, power, direction, I2C sensors, etc...)
+         */
+        DIRECT_READ,
+        /**
+         * A write (which always talks to the hub)
+         */
+        WRITE,
+    }
+
+    private static boolean lazyLookup = false;
+
+    /**
+     * Turn lazy lookup on (or off) for the devices created after this. A lazy device doesn't get
+     * looked up in the hardware map until it's first used, so devices that a particular opmode
+     * never touches don't cost anything at init. It's reset by initMap, so it's opt-in per opmode.
+     *
+     * @param lazy True to look devices up when they're first used
+     */
+    public static void setLazyLookup(boolean lazy) {
+        lazyLookup = lazy;
+    }
+
+    /**
+     * @return True if devices are being looked up when they're first used
+     */
+    public static boolean isLazyLookup() {
+        return lazyLookup;
+    }
+
+    /**
+     * Get a table of how long it took to look up each device (in the hardware map), one line per
+     * device: "name: milliseconds", or "name: (not used)" for a lazy device that hasn't been used
+     *
+     * @return The table
+     */
+    public static String getLookupTable() {
+        StringBuilder sb = new StringBuilder();
+        for (HardwareDevice<?> d : devices) {
+            if (!d.resolved) {
+                sb.append(String.format(Locale.ENGLISH, "%s: (not used)\n", d.name));
+            } else if (d.lookupNanos > 0) {
+                sb.append(String.format(Locale.ENGLISH, "%s: %.1fms\n", d.name, d.lookupNanos / 1e6));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static volatile boolean writesSuppressed = false;
+
+    /**
+     * Suppress (or stop suppressing) writes to every device. While writes are suppressed, the
+     * setters that talk to the hub (power, velocity, position, run mode, direction...) return
+     * without doing anything at all, not even remembering the value, so the code that calls them
+     * can be run without moving anything. This is what the warm-up (see
+     * {@link com.technototes.library.structure.WarmUp}) uses: it's not meant for anything else.
+     * {@link #stopAll()} still works while writes are suppressed.
+     *
+     * @param suppress True to ignore writes
+     */
+    public static void setWritesSuppressed(boolean suppress) {
+        writesSuppressed = suppress;
+    }
+
+    /**
+     * @return True if writes are being ignored
+     */
+    public static boolean areWritesSuppressed() {
+        return writesSuppressed;
+    }
+
+    private static boolean accounting = false;
+    private static int transactionBudget = 0;
+    private static int loopBulkReads, loopDirectReads, loopWrites;
+    private static int totalLoopBulkReads, totalLoopDirectReads, totalLoopWrites;
+    private static long budgetWarnings = 0;
+    private static String lastBudgetWarning = null;
+
+    /**
+     * Turn on (or off) per-device transaction accounting. When it's on, every read &amp; write
+     * through a TechnoLib device is counted, classified as bulk-cached or direct, and attributed
+     * to the command or subsystem that was running at the time (see
+     * {@link CommandScheduler#getCurrentContext()}).
+     *
+     * @param enable True to count transactions
+     */
+    public static void setAccounting(boolean enable) {
+        accounting = enable;
+    }
+
+    /**
+     * @return True if transactions are being counted
+     */
+    public static boolean isAccounting() {
+        return accounting;
+    }
+
+    /**
+     * Set the per-loop budget for hub transactions (direct reads + writes). When a loop goes over
+     * it, a warning is logged. Zero (the default) means "no budget".
+     *
+     * @param transactions The number of direct transactions allowed per loop
+     */
+    public static void setTransactionBudget(int transactions) {
+        transactionBudget = Math.max(transactions, 0);
+    }
+
+    /**
+     * Finish counting a loop: this is called by CommandOpMode when it clears the bulk cache. The
+     * counts for the loop that just finished are available from {@link #getLastLoopTable()}.
+     */
+    public static void endLoop() {
+        if (!accounting) {
+            return;
+        }
+        totalLoopBulkReads = totalLoopDirectReads = totalLoopWrites = 0;
+        for (HardwareDevice<?> d : devices) {
+            d.lastBulkReads = (int) d.bulkReads.sumThenReset();
+            d.lastDirectReads = (int) d.directReads.sumThenReset();
+            d.lastWrites = (int) d.writes.sumThenReset();
+            totalLoopBulkReads += d.lastBulkReads;
+            totalLoopDirectReads += d.lastDirectReads;
+            totalLoopWrites += d.lastWrites;
+        }
+        int direct = totalLoopDirectReads + totalLoopWrites;
+        if (transactionBudget > 0 && direct > transactionBudget) {
+            budgetWarnings++;
+            lastBudgetWarning = String.format(
+                Locale.ENGLISH,
+                "Hub transactions over budget: %d direct reads + %d writes > %d",
+                totalLoopDirectReads,
+                totalLoopWrites,
+                transactionBudget
+            );
+            Log.w("TechnoLib", lastBudgetWarning);
+        }
+    }
+
+    /**
+     * @return The number of loops that went over the transaction budget
+     */
+    public static long getBudgetWarningCount() {
+        return budgetWarnings;
+    }
+
+    /**
+     * @return The most recent budget warning (or null if there haven't been any)
+     */
+    public static String getLastBudgetWarning() {
+        return lastBudgetWarning;
+    }
+
+    /**
+     * Get a table of the transactions in the most recent loop: one line per device that did
+     * anything, then a total line. Each line is "name: bulk reads/direct reads/writes"
+     *
+     * @return The table (one line per device)
+     */
+    public static String getLastLoopTable() {
+        StringBuilder sb = new StringBuilder();
+        for (HardwareDevice<?> d : devices) {
+            if (d.lastBulkReads + d.lastDirectReads + d.lastWrites > 0) {
+                sb.append(
+                    String.format(
+                        Locale.ENGLISH,
+                        "%s: %d/%d/%d\n",
+                        d.name,
+                        d.lastBulkReads,
+                        d.lastDirectReads,
+                        d.lastWrites
+                    )
+                );
+            }
+        }
+        sb.append(
+            String.format(
+                Locale.ENGLISH,
+                "total (bulk/direct/write): %d/%d/%d",
+                totalLoopBulkReads,
+                totalLoopDirectReads,
+                totalLoopWrites
+            )
+        );
+        return sb.toString();
+    }
 
-    private T device;
+    /**
+     * Get a table of who's responsible for the transactions since accounting was turned on:
+     * one line per device &amp; command/subsystem pair, "device &lt;- who: bulk/direct/writes"
+     *
+     * @return The table
+     */
+    public static String getAttributionTable() {
+        StringBuilder sb = new StringBuilder();
+        for (HardwareDevice<?> d : devices) {
+            for (Map.Entry<Object, LongAdder[]> e : d.attribution.entrySet()) {
+                LongAdder[] c = e.getValue();
+                Object who = e.getKey();
+                sb.append(
+                    String.format(
+                        Locale.ENGLISH,
+                        "%s <- %s: %d/%d/%d\n",
+                        d.name,
+                        who == NO_CONTEXT ? "(opmode)" : who.getClass().getSimpleName(),
+                        c[0].sum(),
+                        c[1].sum(),
+                        c[2].sum()
+                    )
+                );
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stop every device that can move (set motor &amp; CR servo power to zero). This is for
+     * emergencies, like the loop watchdog finding the opmode thread stuck, so it talks straight to
+     * the devices, and can be called from any thread.
+     */
+    public static void stopAll() {
+        for (HardwareDevice<?> d : devices) {
+            try {
+                d.emergencyStop();
+            } catch (RuntimeException e) {
+                Log.e("TechnoLib", "Unable to stop " + d.name, e);
+            }
+        }
+    }
+
+    /**
+     * Stop the device, for {@link #stopAll()}. Devices that move should override this to set their
+     * power to zero (without counting the transaction, or anything else that isn't thread safe).
+     */
+    protected void emergencyStop() {}
+
+    // Used as the attribution key for transactions made outside the scheduler
+    private static final Object NO_CONTEXT = new Object();
+
+    private volatile T device;
+    // Set once the device has been looked up (devices made from a device start out resolved)
+    private volatile boolean resolved;
+    private HardwareMap map;
+    private long lookupNanos = 0;
+
+    // Phased devices are read & written from a thread per hub, so the counts have to be thread safe
+    private final LongAdder bulkReads = new LongAdder();
+    private final LongAdder directReads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private int lastBulkReads, lastDirectReads, lastWrites;
+    private final Map<Object, LongAdder[]> attribution = new ConcurrentHashMap<>();
+    // The hub a motor is on (for classifying its encoder reads), looked up the first time it's needed
+    private LynxModule hub;
+    private boolean hubLookedUp = false;
+
+    /**
+     * Count a transaction with the hardware (if accounting is turned on). Subclasses should call
+     * this whenever they read from or write to the device.
+     *
+     * @param t The kind of transaction
+     */
+    protected void count(Transaction t) {
+        if (!accounting) {
+            return;
+        }
+        switch (t) {
+            case BULK_READ:
+                bulkReads.increment();
+                break;
+            case DIRECT_READ:
+                directReads.increment();
+                break;
+            default:
+                writes.increment();
+                break;
+        }
+        Object who = CommandScheduler.getCurrentContext();
+        if (who == null) {
+            who = NO_CONTEXT;
+        }
+        LongAdder[] counts = attribution.get(who);
+        if (counts == null) {
+            counts = attribution.computeIfAbsent(who, k ->
+                new LongAdder[] { new LongAdder(), new LongAdder(), new LongAdder() }
+            );
+        }
+        counts[t.ordinal()].increment();
+    }
+
+    /**
+     * Count a read of a motor's encoder (position or velocity). It's only a bulk read if the hub
+     * the motor is on is bulk caching: with caching off, every encoder read is a transaction.
+     *
+     * @param motor The motor
+     */
+    protected void countEncoderRead(com.qualcomm.robotcore.hardware.DcMotor motor) {
+        if (!accounting) {
+            return;
+        }
+        if (!hubLookedUp) {
+            hub = findHub(motor.getController());
+            hubLookedUp = true;
+        }
+        boolean cached = hub != null && hub.getBulkCachingMode() != LynxModule.BulkCachingMode.OFF;
+        count(cached ? Transaction.BULK_READ : Transaction.DIRECT_READ);
+    }
+
+    // A Lynx controller's connection info is its module's, so that's how the hub is found
+    private static LynxModule findHub(com.qualcomm.robotcore.hardware.HardwareDevice controller) {
+        if (controller == null || hardwareMap == null) {
+            return null;
+        }
+        String info = controller.getConnectionInfo();
+        for (LynxModule m : hardwareMap.getAll(LynxModule.class)) {
+            if (m.getConnectionInfo() != null && m.getConnectionInfo().equals(info)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of bulk-cached reads of this device in the most recent loop
+     */
+    public int getLastBulkReads() {
+        return lastBulkReads;
+    }
+
+    /**
+     * @return The number of direct reads of this device in the most recent loop
+     */
+    public int getLastDirectReads() {
+        return lastDirectReads;
+    }
+
+    /**
+     * @return The number of writes to this device in the most recent loop
+     */
+    public int getLastWrites() {
+        return lastWrites;
+    }
 
     /**
      * The name of the hardware used for logging & hardware creation
@@ -46,25 +419,52 @@ public abstract class HardwareDevice<T extends com.qualcomm.robotcore.hardware.H
      */
     public HardwareDevice(T device, String deviceName) {
         this.device = device;
+        resolved = true;
         name = deviceName;
-        names.put(deviceName, this);
+        register(this);
     }
 
     /**
-     * Make a hardware device with the string to get from hardwaremap
+     * Make a hardware device with the string to get from hardwaremap. If lazy lookup is on (see
+     * {@link #setLazyLookup(boolean)}) it isn't looked up until it's used.
      *
      * @param deviceName The device name
      */
-    @SuppressWarnings("unchecked cast")
     protected HardwareDevice(String deviceName) {
-        device = hardwareMap.tryGet(
+        name = deviceName;
+        map = hardwareMap;
+        register(this);
+        if (!lazyLookup) {
+            resolve();
+        }
+    }
+
+    // Devices can be made on an init thread (see InitExecutor) at the same time as others are being
+    // made on the opmode thread
+    private static void register(HardwareDevice<?> d) {
+        // (devices is thread safe by itself, but names isn't)
+        synchronized (devices) {
+            names.put(d.name, d);
+            devices.add(d);
+        }
+    }
+
+    // Look the device up in the hardware map (once: it can be called from any thread)
+    @SuppressWarnings("unchecked cast")
+    private synchronized void resolve() {
+        if (resolved) {
+            return;
+        }
+        long start = System.nanoTime();
+        device = map.tryGet(
             (Class<T>) com.qualcomm.robotcore.hardware.HardwareDevice.class /*T.class*/,
-            deviceName
+            name
         );
-        name = deviceName;
-        names.put(name, this);
+        lookupNanos = System.nanoTime() - start;
+        map = null;
+        resolved = true;
         /* if (device == null) {
-            Log.e("DEVICE FAILURE", deviceName);
+            Log.e("DEVICE FAILURE", name);
         } */
     }
 
@@ -75,11 +475,22 @@ public abstract class HardwareDevice<T extends com.qualcomm.robotcore.hardware.H
      */
     protected T getRawDevice() {
         // TODO: Assert that we've got a device, yeah?
+        if (!resolved) {
+            resolve();
+        }
         return device;
     }
 
     protected boolean realHardware() {
-        return device != null;
+        return getRawDevice() != null;
+    }
+
+    /**
+     * @return True if the device has been looked up in the hardware map (false for a lazy device
+     * that hasn't been used yet)
+     */
+    public boolean isResolved() {
+        return resolved;
     }
 
     /**
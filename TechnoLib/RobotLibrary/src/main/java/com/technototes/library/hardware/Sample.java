@@ -0,0 +1,83 @@
+package com.technototes.library.hardware;
+
+/**
+ * A sensor reading, with the time it was actually measured, and a sequence number. A bare double
+ * doesn't say when it was read, so anything that differentiates it (a PID's D term, a velocity
+ * estimate) has to use the time it was *asked for*, and the loop's jitter shows up as noise. A
+ * reading from a bulk read, or a background thread, could be several milliseconds older than that.
+ * <p>
+ * It's a mutable holder, so the same one can be refilled every loop without allocating anything:
+ * <pre>
+ * private final Sample position = new Sample();
+ * ...
+ * encoder.getSample(position);
+ * double power = pid.update(position);
+ * </pre>
+ * The sequence number goes up every time the source actually takes a new reading, so a reading
+ * that's been seen before (the sensor hasn't been re-read since) can be spotted. Sources that
+ * can't tell just bump it on every call.
+ */
+public final class Sample {
+
+    /**
+     * The value
+     */
+    public double value;
+    /**
+     * When it was measured (in System.nanoTime() units)
+     */
+    public long nanos;
+    /**
+     * The source's count of readings (0 means this has never been filled in)
+     */
+    public long sequence;
+
+    /**
+     * Fill in the sample
+     *
+     * @param value    The value
+     * @param nanos    When it was measured (in System.nanoTime() units)
+     * @param sequence The source's reading count
+     * @return this (for chaining)
+     */
+    public Sample set(double value, long nanos, long sequence) {
+        this.value = value;
+        this.nanos = nanos;
+        this.sequence = sequence;
+        return this;
+    }
+
+    /**
+     * Copy another sample into this one
+     *
+     * @param other The sample to copy
+     * @return this (for chaining)
+     */
+    public Sample set(Sample other) {
+        return set(other.value, other.nanos, other.sequence);
+    }
+
+    /**
+     * @return True if the sample has been filled in
+     */
+    public boolean isValid() {
+        return sequence != 0;
+    }
+
+    /**
+     * Get the time between an earlier sample and this one
+     *
+     * @param earlier The earlier sample
+     * @return The time between them, in seconds
+     */
+    public double secondsSince(Sample earlier) {
+        return (nanos - earlier.nanos) / 1e9;
+    }
+
+    /**
+     * @return How old the sample is, in seconds
+     */
+    public double getAge() {
+        return (System.nanoTime() - nanos) / 1e9;
+    }
+}
@@ -23,4 +23,16 @@ public interface Sensored extends DoubleSupplier {
     default double getAsDouble() {
         return getSensorValue();
     }
+
+    /**
+     * Get the sensor value, with the time it was measured (see {@link Sample}). Sensors that know
+     * when they were actually read should override this: by default, the time is now, and the
+     * sequence number goes up on every call.
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    default Sample getSample(Sample into) {
+        return into.set(getSensorValue(), System.nanoTime(), into.sequence + 1);
+    }
 }
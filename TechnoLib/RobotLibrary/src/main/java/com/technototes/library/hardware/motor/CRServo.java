@@ -96,11 +96,15 @@ public class CRServo extends HardwareDevice<com.qualcomm.robotcore.hardware.CRSe
      * Set the motor to go in a particular direction
      */
     public CRServo setDirection(DcMotorSimple.Direction dir) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         if (this.dir != dir) {
             this.dir = dir;
             com.qualcomm.robotcore.hardware.CRServo device = getRawDevice();
             if (device != null) {
                 device.setDirection(dir);
+                count(Transaction.WRITE);
             }
         }
         return this;
@@ -115,6 +119,7 @@ public class CRServo extends HardwareDevice<com.qualcomm.robotcore.hardware.CRSe
         com.qualcomm.robotcore.hardware.CRServo device = getRawDevice();
         if (device != null) {
             power = device.getPower();
+            count(Transaction.DIRECT_READ);
         }
         return power;
     }
@@ -125,10 +130,14 @@ public class CRServo extends HardwareDevice<com.qualcomm.robotcore.hardware.CRSe
      * @param pow The power value (-1 -> 1)
      */
     public void setPower(double pow) {
+        if (areWritesSuppressed()) {
+            return;
+        }
         power = Range.clip(pow, min, max);
         com.qualcomm.robotcore.hardware.CRServo device = getRawDevice();
         if (device != null) {
             device.setPower(power);
+            count(Transaction.WRITE);
         }
     }
 
@@ -140,4 +149,12 @@ public class CRServo extends HardwareDevice<com.qualcomm.robotcore.hardware.CRSe
     public Double get() {
         return getPower();
     }
+
+    @Override
+    protected void emergencyStop() {
+        com.qualcomm.robotcore.hardware.CRServo device = getRawDevice();
+        if (device != null) {
+            device.setPower(0);
+        }
+    }
 }
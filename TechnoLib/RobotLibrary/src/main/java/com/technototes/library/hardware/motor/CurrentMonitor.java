@@ -0,0 +1,245 @@
+package com.technototes.library.hardware.motor;
+
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.general.Phased;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+/**
+ * Keeps track of motor currents without reading every motor's current every loop. The current
+ * isn't part of the hub's bulk read, so each getAmperage call is its own transaction (a millisecond
+ * or two), and with a handful of motors being watched for stalls or "the intake is full," that
+ * adds up quickly.
+ * <p>
+ * The monitor reads a fixed number of motors each loop (round-robin), and keeps a filtered current
+ * for each one, so the cost per loop is the same no matter how many motors are being watched. The
+ * consumers just ask the monitor for the current, and never touch the hardware.
+ * <p>
+ * It's {@link Phased}, so once it's registered (see {@link #register()}), CommandOpMode samples it
+ * in the read phase, before any of the periodics or commands run.
+ * <pre>
+ * CurrentMonitor currents = new CurrentMonitor(2).register();
+ * CurrentMonitor.Channel intakeCurrent = currents.add(intake).setStallThreshold(6, 0.25);
+ * ...
+ * if (intakeCurrent.isStalled()) ...
+ * </pre>
+ */
+public class CurrentMonitor implements Phased {
+
+    /**
+     * The default filter time constant, in seconds
+     */
+    public static final double DEFAULT_TIME_CONSTANT = 0.1;
+
+    private final List<Channel> channels = new ArrayList<>();
+    private final List<Channel> channelsView = Collections.unmodifiableList(channels);
+    private int readsPerLoop;
+    private int next = 0;
+
+    /**
+     * Make a monitor that reads one motor per loop
+     */
+    public CurrentMonitor() {
+        this(1);
+    }
+
+    /**
+     * Make a monitor
+     *
+     * @param reads The number of motors to read each loop
+     */
+    public CurrentMonitor(int reads) {
+        readsPerLoop = Math.max(reads, 1);
+    }
+
+    /**
+     * Register the monitor with the CommandScheduler, so it's sampled every loop
+     *
+     * @return this (for chaining)
+     */
+    public CurrentMonitor register() {
+        CommandScheduler.registerPhased(this);
+        return this;
+    }
+
+    /**
+     * Set the number of motors to read each loop
+     *
+     * @param reads The number of reads
+     * @return this (for chaining)
+     */
+    public CurrentMonitor setReadsPerLoop(int reads) {
+        readsPerLoop = Math.max(reads, 1);
+        return this;
+    }
+
+    /**
+     * Watch something's current
+     *
+     * @param name The name (for telemetry)
+     * @param amps Reads the current, in amps
+     * @return The channel for it
+     */
+    public Channel add(String name, DoubleSupplier amps) {
+        Channel c = new Channel(name, amps);
+        channels.add(c);
+        return c;
+    }
+
+    /**
+     * Watch a motor's current
+     *
+     * @param m The motor
+     * @return The channel for it
+     */
+    public Channel add(Motor<?> m) {
+        return add(m.getName(), () -> m.getAmperage(CurrentUnit.AMPS));
+    }
+
+    /**
+     * Watch a motor's current
+     *
+     * @param m The motor
+     * @return The channel for it
+     */
+    public Channel add(MotorPlus<?> m) {
+        return add(m.getName(), () -> m.getAmperage(CurrentUnit.AMPS));
+    }
+
+    /**
+     * @return All of the channels (in the order they were added)
+     */
+    public List<Channel> getChannels() {
+        return channelsView;
+    }
+
+    /**
+     * Read the next few channels. CommandOpMode calls this (through readInputs) once per loop.
+     */
+    public void sample() {
+        int count = Math.min(readsPerLoop, channels.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (next >= channels.size()) {
+                next = 0;
+            }
+            channels.get(next++).read(now);
+        }
+    }
+
+    @Override
+    public void readInputs() {
+        sample();
+    }
+
+    @Override
+    public void writeOutputs() {}
+
+    /**
+     * One watched current
+     */
+    public static class Channel {
+
+        private final String name;
+        private final DoubleSupplier reader;
+        private double timeConstant = DEFAULT_TIME_CONSTANT;
+        private double stallAmps = Double.POSITIVE_INFINITY;
+        private long stallNanos = 0;
+        private double raw = 0;
+        private double filtered = 0;
+        private long sampleNanos = 0;
+        private long overSinceNanos = -1;
+        private boolean hasSample = false;
+
+        Channel(String name, DoubleSupplier reader) {
+            this.name = name;
+            this.reader = reader;
+        }
+
+        /**
+         * Set the time constant of the filter. The filter is time based (rather than "per sample")
+         * since how often each channel gets sampled depends on how many channels there are.
+         *
+         * @param seconds The time constant (zero for no filtering)
+         * @return this (for chaining)
+         */
+        public Channel setTimeConstant(double seconds) {
+            timeConstant = Math.max(seconds, 0);
+            return this;
+        }
+
+        /**
+         * Set the stall threshold: the motor is considered stalled once the filtered current has
+         * been over the threshold for long enough
+         *
+         * @param amps    The current threshold
+         * @param seconds How long it has to be over the threshold
+         * @return this (for chaining)
+         */
+        public Channel setStallThreshold(double amps, double seconds) {
+            stallAmps = amps;
+            stallNanos = (long) (seconds * 1e9);
+            return this;
+        }
+
+        void read(long now) {
+            raw = reader.getAsDouble();
+            if (!hasSample || timeConstant == 0) {
+                filtered = raw;
+            } else {
+                double dt = (now - sampleNanos) / 1e9;
+                filtered += (raw - filtered) * (1 - Math.exp(-dt / timeConstant));
+            }
+            sampleNanos = now;
+            hasSample = true;
+            if (filtered <= stallAmps) {
+                overSinceNanos = -1;
+            } else if (overSinceNanos < 0) {
+                overSinceNanos = now;
+            }
+        }
+
+        /**
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The filtered current, in amps
+         */
+        public double getCurrent() {
+            return filtered;
+        }
+
+        /**
+         * @return The most recently read (unfiltered) current, in amps
+         */
+        public double getRawCurrent() {
+            return raw;
+        }
+
+        /**
+         * @return How long ago the current was read, in seconds
+         */
+        public double getSampleAge() {
+            return hasSample ? (System.nanoTime() - sampleNanos) / 1e9 : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * @return True if the filtered current has been over the stall threshold for long enough
+         */
+        public boolean isStalled() {
+            return overSinceNanos >= 0 && sampleNanos - overSinceNanos >= stallNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2fA", name, filtered);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.technototes.library.hardware.motor;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
+import com.qualcomm.robotcore.hardware.MotorControlAlgorithm;
 import com.qualcomm.robotcore.hardware.PIDFCoefficients;
 import com.technototes.library.hardware.Sensored;
 import com.technototes.library.hardware.sensor.encoder.Encoder;
 import com.technototes.library.hardware.sensor.encoder.MotorEncoder;
+import com.technototes.library.util.LoopClock;
 
 /**
  * Class for encoded motors
@@ -23,7 +25,16 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
     public double positionThreshold = 50;
 
     private Encoder encoder;
+    // True if the default encoder hasn't been made yet (because the motor is looked up lazily)
+    private boolean defaultEncoder = false;
     private DcMotor.RunMode runMode;
+    // The last velocity target & velocity PIDF sent to the hub, so they're only sent when they
+    // change (NaN means "send the next one")
+    private double velocityTarget = Double.NaN;
+    private final double[] velocityPIDF = { Double.NaN, Double.NaN, Double.NaN, Double.NaN };
+    // The velocity is only read once per loop (see LoopClock)
+    private long velocityLoop = -1;
+    private double velocity;
 
     /**
      * Make encoded motor
@@ -66,9 +77,18 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      */
     public EncodedMotor(String deviceName) {
         super(deviceName);
+        if (isResolved()) {
+            makeDefaultEncoder();
+        } else {
+            // Making the encoder would look the motor up, so wait until it's needed
+            defaultEncoder = true;
+        }
+    }
+
+    private void makeDefaultEncoder() {
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
-            encoder = new MotorEncoder((DcMotorEx) device, deviceName);
+            encoder = new MotorEncoder((DcMotorEx) device, name);
         }
     }
 
@@ -80,6 +100,7 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      */
     public EncodedMotor<T> setEncoder(Encoder enc) {
         encoder = enc;
+        defaultEncoder = false;
         return this;
     }
 
@@ -93,13 +114,31 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      * @return The motor (for chaining)
      */
     public EncodedMotor<T> setPIDFCoefficients(double p, double i, double d, double f) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
-        if (device instanceof DcMotorEx) {
+        if (device instanceof DcMotorEx && !sameVelocityPIDF(p, i, d, f)) {
             ((DcMotorEx) device).setVelocityPIDFCoefficients(p, i, d, f);
+            count(Transaction.WRITE);
+            rememberVelocityPIDF(p, i, d, f);
         }
         return this;
     }
 
+    private boolean sameVelocityPIDF(double p, double i, double d, double f) {
+        return (
+            velocityPIDF[0] == p && velocityPIDF[1] == i && velocityPIDF[2] == d && velocityPIDF[3] == f
+        );
+    }
+
+    private void rememberVelocityPIDF(double p, double i, double d, double f) {
+        velocityPIDF[0] = p;
+        velocityPIDF[1] = i;
+        velocityPIDF[2] = d;
+        velocityPIDF[3] = f;
+    }
+
     /**
      * Configure the PIDF constants for the motor
      *
@@ -111,34 +150,69 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
     }
 
     /**
-     * Configure the PIDF constants for the motor
+     * Configure the PIDF constants (and the control algorithm) the motor uses in a particular mode
      *
+     * @param m The RunMode the coefficients are for
      * @param c The PIDF coefficients to set
      * @return The motor (for chaining)
      */
     public EncodedMotor<T> setPIDFCoefficients(DcMotor.RunMode m, PIDFCoefficients c) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
+        // The velocity PIDF that's remembered is the one setVelocityPIDFCoefficients sends, which
+        // always uses the PIDF algorithm
+        boolean velocity = m == DcMotor.RunMode.RUN_USING_ENCODER;
+        boolean pidf = c.algorithm == MotorControlAlgorithm.PIDF;
+        if (velocity && pidf && sameVelocityPIDF(c.p, c.i, c.d, c.f)) {
+            return this;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
             ((DcMotorEx) device).setPIDFCoefficients(m, c);
+            count(Transaction.WRITE);
+            if (velocity) {
+                rememberVelocityPIDF(
+                    pidf ? c.p : Double.NaN,
+                    pidf ? c.i : Double.NaN,
+                    pidf ? c.d : Double.NaN,
+                    pidf ? c.f : Double.NaN
+                );
+            }
         }
         return this;
     }
 
     /**
-     * Set the runmode for the motor
+     * Set the runmode for the motor. The mode is only sent to the hub if it's changed (except for
+     * STOP_AND_RESET_ENCODER, which is always sent)
      *
      * @param m The RunMode to set
      * @return The motor (for chaining)
      */
     public EncodedMotor<T> setRunMode(DcMotor.RunMode m) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
+        if (m == runMode && m != DcMotor.RunMode.STOP_AND_RESET_ENCODER) {
+            return this;
+        }
+        velocityTarget = Double.NaN;
         T device = getRawDevice();
         if (device instanceof DcMotor) {
             ((DcMotor) device).setMode(m);
+            count(Transaction.WRITE);
         }
         runMode = m;
         return this;
     }
 
+    private void forgetSentState() {
+        runMode = null;
+        velocityTarget = Double.NaN;
+        rememberVelocityPIDF(Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+    }
+
     /**
      * Set the motor to go *backward*
      */
@@ -173,7 +247,7 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      */
     @Override
     public double getSensorValue() {
-        return encoder.getSensorValue();
+        return getEncoder().getSensorValue();
     }
 
     //
@@ -238,6 +312,10 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      * @return The encoder
      */
     public Encoder getEncoder() {
+        if (defaultEncoder) {
+            defaultEncoder = false;
+            makeDefaultEncoder();
+        }
         return encoder;
     }
 
@@ -247,7 +325,7 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
      * @return This
      */
     public EncodedMotor<T> tare() {
-        encoder.zeroEncoder();
+        getEncoder().zeroEncoder();
         return this;
     }
 
@@ -257,30 +335,67 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
     }
 
     /**
-     * Set velocity of motor in tps
+     * Set velocity of motor in tps. This puts the motor in RUN_USING_ENCODER mode (so the hub's
+     * velocity PIDF is running it), and the target is only sent to the hub if it's changed.
      *
      * @param tps the speed in encoder ticks per second
      */
     public void setVelocity(double tps) {
+        if (areWritesSuppressed()) {
+            return;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
             setRunMode(DcMotor.RunMode.RUN_USING_ENCODER);
-            ((DcMotorEx) device).setVelocity(tps);
+            if (tps != velocityTarget) {
+                ((DcMotorEx) device).setVelocity(tps);
+                count(Transaction.WRITE);
+                velocityTarget = tps;
+            }
         } else if (device instanceof DcMotor) {
             setRunMode(DcMotor.RunMode.RUN_USING_ENCODER);
             device.setPower(tps);
+            count(Transaction.WRITE);
         }
     }
 
+    /**
+     * Set the power for the motor. (In RUN_USING_ENCODER mode, the hub treats this as a fraction
+     * of the motor's top speed, which replaces any velocity target)
+     *
+     * @param pow The power value (-1 -> 1)
+     */
+    @Override
+    public void setPower(double pow) {
+        if (areWritesSuppressed()) {
+            return;
+        }
+        velocityTarget = Double.NaN;
+        super.setPower(pow);
+    }
+
+    /**
+     * @return The last velocity target sent to the hub (NaN if the motor isn't running on one)
+     */
+    public double getVelocityTarget() {
+        return velocityTarget;
+    }
+
     /**
      * Get the power for the motor (Velocity, I guess?)
+     * When in a CommandOpMode, the velocity is read once per loop.
      *
      * @return the power for the motor
      */
     public double getVelocity() {
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
-            return ((DcMotorEx) device).getVelocity();
+            if (!LoopClock.isRunning() || velocityLoop != LoopClock.getLoopNumber()) {
+                countEncoderRead((DcMotorEx) device);
+                velocity = ((DcMotorEx) device).getVelocity();
+                velocityLoop = LoopClock.getLoopNumber();
+            }
+            return velocity;
         }
         return getPower();
     }
@@ -301,7 +416,10 @@ public class EncodedMotor<T extends DcMotorSimple> extends Motor<T> implements S
     }
 
     // Ah, Java, you're such a hideous language...
+    // Whatever's done to the raw motor bypasses the run mode, velocity target, & velocity PIDF
+    // this remembers, so they're forgotten (the next ones set will be sent)
     public <U extends DcMotorSimple> U getRawMotor(Class<U> type) {
+        forgetSentState();
         T device = getRawDevice();
         return (device != null && type.isInstance(device)) ? type.cast(device) : null;
     }
@@ -0,0 +1,369 @@
+package com.technototes.library.hardware.motor;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.general.Periodic;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Runs a velocity loop (a flywheel, usually) on the hub's firmware instead of on the robot
+ * controller. A host-side PID only gets to correct once per loop, and our loops take anywhere from
+ * 10 to 30ms, so its bandwidth is limited by the slowest loop. The hub's RUN_USING_ENCODER loop
+ * runs at its own (much steadier) rate.
+ * <p>
+ * The gains are given in the same units as a host-side PIDFController on velocity (power per
+ * encoder tick/second), and converted to the hub's units (32767 is full power). The hub's F is just
+ * a multiplier on the target, so the feed-forward is recomputed from the motor model whenever the
+ * target changes or the battery voltage moves far enough. Targets &amp; coefficients are only sent
+ * when they change (see EncodedMotor.setVelocity), so a steady loop costs no writes at all.
+ * <p>
+ * The host side is just a supervisor: every loop it reads the velocity (from the bulk read), and
+ * <ul>
+ *     <li>re-tunes the hub's F as the battery sags,</li>
+ *     <li>slowly trims F if the wheel sits off target once it's settled (the hub's I is weak),</li>
+ *     <li>and shuts the motor off if the wheel goes the wrong way (a reversed encoder makes the
+ *     hub's loop run away).</li>
+ * </ul>
+ * Any other motors on the same wheel are followers: they're driven with the feed-forward power
+ * (their encoder ports are frequently used for odometry, so they can't run their own loops).
+ * <pre>
+ * launcher = new HubVelocityController(launcher1, launcher2)
+ *     .setGains(launchPID)
+ *     .setModel(kStaticFriction, kVelocityConstant)
+ *     .setVoltage(hw::voltage)
+ *     .register();
+ * ...
+ * launcher.setTarget(1800);
+ * </pre>
+ */
+public class HubVelocityController implements Periodic {
+
+    /**
+     * Full power, in the hub's PIDF units
+     */
+    public static final double HUB_FULL_SCALE = 32767;
+
+    // F (and the followers' power) are only re-sent when they change by more than this fraction
+    private static final double RESEND_RATIO = 0.01;
+
+    private final EncodedMotor<?> leader;
+    private final EncodedMotor<?>[] followers;
+    private PIDFCoefficients gains = new PIDFCoefficients(0, 0, 0, 0);
+    private DoubleBinaryOperator feedForward = (t, v) -> 0;
+    private DoubleSupplier voltage = () -> 12.0;
+    private double hubPeriod = 0.05;
+    private double voltageThreshold = 0.2;
+    private double tolerance = 50;
+    private double settleSeconds = 0.5;
+    private double trimRate = 0.05;
+    private double maxTrim = 0.25;
+
+    private double target = 0;
+    private double velocity = 0;
+    private double sentVolts = 0;
+    private double trim = 1;
+    private double followerPower = Double.NaN;
+    private long targetNanos = 0;
+    private long lastNanos = 0;
+    private long wrongWayNanos = -1;
+    private PIDFCoefficients hubGains = new PIDFCoefficients(0, 0, 0, 0);
+    private int gainWrites = 0;
+    private String fault = null;
+
+    /**
+     * Make a hub velocity controller
+     *
+     * @param leader    The motor with the encoder (the hub runs the loop on this one)
+     * @param followers Any other motors on the same wheel
+     */
+    public HubVelocityController(EncodedMotor<?> leader, EncodedMotor<?>... followers) {
+        this.leader = leader;
+        this.followers = followers;
+    }
+
+    /**
+     * Register the controller with the CommandScheduler, so it supervises every loop
+     *
+     * @return this (for chaining)
+     */
+    public HubVelocityController register() {
+        CommandScheduler.register(this);
+        return this;
+    }
+
+    /**
+     * Set the PID gains, in host units (power per tick/second). The F is ignored: the feed-forward
+     * comes from the model. The coefficients are kept (not copied), so changing them later changes
+     * the gains the hub is sent.
+     *
+     * @param coeff The gains
+     * @return this (for chaining)
+     */
+    public HubVelocityController setGains(PIDFCoefficients coeff) {
+        gains = coeff;
+        sentVolts = 0;
+        return this;
+    }
+
+    /**
+     * Set the feed-forward to the usual motor model: volts = kS * signum(v) + kV * v
+     *
+     * @param kStatic   The friction (volts)
+     * @param kVelocity The velocity constant (volts per tick/second)
+     * @return this (for chaining)
+     */
+    public HubVelocityController setModel(double kStatic, double kVelocity) {
+        return setFeedForward((t, v) -> (Math.signum(t) * kStatic + kVelocity * t) / v);
+    }
+
+    /**
+     * Set the feed-forward
+     *
+     * @param ff Takes the target &amp; the battery voltage, and returns the motor power
+     * @return this (for chaining)
+     */
+    public HubVelocityController setFeedForward(DoubleBinaryOperator ff) {
+        feedForward = ff;
+        return this;
+    }
+
+    /**
+     * Set where the battery voltage comes from
+     *
+     * @param volts The voltage supplier
+     * @return this (for chaining)
+     */
+    public HubVelocityController setVoltage(DoubleSupplier volts) {
+        voltage = volts;
+        return this;
+    }
+
+    /**
+     * Set how far the voltage has to move before the feed-forward is re-sent to the hub
+     *
+     * @param volts The change in voltage
+     * @return this (for chaining)
+     */
+    public HubVelocityController setVoltageThreshold(double volts) {
+        voltageThreshold = volts;
+        return this;
+    }
+
+    /**
+     * Set the period of the hub's velocity loop. The hub's I &amp; D are per cycle rather than per
+     * second, so this is what converts them. Check it by tuning on the hub.
+     *
+     * @param seconds The period
+     * @return this (for chaining)
+     */
+    public HubVelocityController setHubPeriod(double seconds) {
+        hubPeriod = Math.max(seconds, 0.001);
+        sentVolts = 0;
+        return this;
+    }
+
+    /**
+     * Set how close to the target counts as "at speed"
+     *
+     * @param range The tolerance (ticks/second)
+     * @return this (for chaining)
+     */
+    public HubVelocityController setTolerance(double range) {
+        tolerance = Math.abs(range);
+        return this;
+    }
+
+    /**
+     * Configure the feed-forward trim: once the wheel has had time to settle after a target
+     * change, F is nudged (by rate * the relative error, per second) until the wheel is at the
+     * target
+     *
+     * @param settle How long to wait after a target change (seconds)
+     * @param rate   How quickly to trim
+     * @param max    The most F can be trimmed (0.25 is +/- 25%)
+     * @return this (for chaining)
+     */
+    public HubVelocityController setTrim(double settle, double rate, double max) {
+        settleSeconds = settle;
+        trimRate = rate;
+        maxTrim = Math.abs(max);
+        return this;
+    }
+
+    /**
+     * Set the target velocity. Zero lets the wheel coast.
+     *
+     * @param tps The target (ticks/second)
+     */
+    public void setTarget(double tps) {
+        if (tps == target) {
+            return;
+        }
+        target = tps;
+        targetNanos = System.nanoTime();
+        wrongWayNanos = -1;
+        if (fault == null) {
+            write();
+        }
+    }
+
+    /**
+     * @return The target velocity
+     */
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The most recently measured velocity
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @return The target minus the most recently measured velocity
+     */
+    public double getError() {
+        return target - velocity;
+    }
+
+    /**
+     * @return True if the wheel is within tolerance of a (non-zero) target
+     */
+    public boolean atTarget() {
+        return target != 0 && Math.abs(target - velocity) <= tolerance;
+    }
+
+    /**
+     * @return The coefficients most recently sent to the hub
+     */
+    public PIDFCoefficients getHubCoefficients() {
+        return hubGains;
+    }
+
+    /**
+     * @return The current feed-forward trim (1 is no trim)
+     */
+    public double getTrim() {
+        return trim;
+    }
+
+    /**
+     * @return The number of times the coefficients have been sent to the hub
+     */
+    public int getGainWrites() {
+        return gainWrites;
+    }
+
+    /**
+     * @return Why the supervisor shut the motor off (or null if it hasn't)
+     */
+    public String getFault() {
+        return fault;
+    }
+
+    /**
+     * Clear a fault, so the controller will run the motor again
+     */
+    public void clearFault() {
+        fault = null;
+        wrongWayNanos = -1;
+        sentVolts = 0;
+        write();
+    }
+
+    private double volts() {
+        double v = voltage.getAsDouble();
+        return v > 0 ? v : 12.0;
+    }
+
+    // Send the target (and the coefficients, if they've changed enough) to the hub
+    private void write() {
+        if (target == 0) {
+            stop();
+            return;
+        }
+        double v = volts();
+        double ffPower = feedForward.applyAsDouble(target, v);
+        sendGains(v, ffPower);
+        leader.setVelocity(target);
+        if (
+            Double.isNaN(followerPower) ||
+            Math.abs(ffPower - followerPower) > Math.abs(followerPower) * RESEND_RATIO
+        ) {
+            followerPower = ffPower;
+            for (EncodedMotor<?> f : followers) {
+                f.setRunMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+                f.setPower(ffPower);
+            }
+        }
+    }
+
+    private void stop() {
+        // Zero power with the hub's loop running would hold the wheel at zero (braking it)
+        leader.setRunMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+        leader.setPower(0);
+        for (EncodedMotor<?> f : followers) {
+            f.setPower(0);
+        }
+        followerPower = 0;
+    }
+
+    private void sendGains(double v, double ffPower) {
+        // The gains are read every time, so edits to them (from the dashboard) get sent too
+        double p = gains.p * HUB_FULL_SCALE;
+        double i = gains.i * HUB_FULL_SCALE * hubPeriod;
+        double d = gains.d * HUB_FULL_SCALE / hubPeriod;
+        double f = HUB_FULL_SCALE * trim * ffPower / target;
+        boolean changed =
+            sentVolts == 0 ||
+            p != hubGains.p ||
+            i != hubGains.i ||
+            d != hubGains.d ||
+            Math.abs(f - hubGains.f) > Math.abs(hubGains.f) * RESEND_RATIO ||
+            Math.abs(v - sentVolts) >= voltageThreshold;
+        if (!changed) {
+            return;
+        }
+        hubGains = new PIDFCoefficients(p, i, d, f);
+        leader.setPIDFCoefficients(DcMotor.RunMode.RUN_USING_ENCODER, hubGains);
+        sentVolts = v;
+        gainWrites++;
+    }
+
+    @Override
+    public void periodic() {
+        long now = System.nanoTime();
+        double dt = lastNanos == 0 ? 0 : (now - lastNanos) / 1e9;
+        lastNanos = now;
+        velocity = leader.getVelocity();
+        if (target == 0 || fault != null) {
+            return;
+        }
+        double settled = (now - targetNanos) / 1e9;
+        if (settled < settleSeconds) {
+            return;
+        }
+        // Going the wrong way (faster than the tolerance) means the loop is running away
+        if (velocity * Math.signum(target) < -tolerance) {
+            if (wrongWayNanos < 0) {
+                wrongWayNanos = now;
+            } else if ((now - wrongWayNanos) / 1e9 >= settleSeconds) {
+                fault = "going the wrong way: is the encoder reversed?";
+                stop();
+                return;
+            }
+        } else {
+            wrongWayNanos = -1;
+        }
+        if (Math.abs(target - velocity) > tolerance) {
+            double relative = (target - velocity) / target;
+            trim = Math.max(1 - maxTrim, Math.min(1 + maxTrim, trim + trimRate * relative * dt));
+        }
+        // This only writes if the voltage or the trim has moved enough
+        write();
+    }
+}
@@ -91,6 +91,7 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
         T device = getRawDevice();
         if (device != null) {
             dir = device.getDirection();
+            count(Transaction.DIRECT_READ);
         }
         return dir;
     }
@@ -99,9 +100,13 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * Set the motor to go *backward*
      */
     public Motor<T> setBackward() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(DcMotorSimple.Direction.REVERSE);
+            count(Transaction.WRITE);
         }
         dir = DcMotorSimple.Direction.REVERSE;
         return this;
@@ -111,9 +116,13 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * Set the motor to go *forward*
      */
     public Motor<T> setForward() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(DcMotorSimple.Direction.FORWARD);
+            count(Transaction.WRITE);
         }
         dir = DcMotorSimple.Direction.FORWARD;
         return this;
@@ -123,10 +132,14 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * Set the motor to go in a particular direction
      */
     public Motor<T> setDirection(DcMotorSimple.Direction dir) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         this.dir = dir;
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(dir);
+            count(Transaction.WRITE);
         }
         return this;
     }
@@ -151,6 +164,7 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
         T device = getRawDevice();
         if (device != null) {
             power = device.getPower();
+            count(Transaction.DIRECT_READ);
         }
         return power;
     }
@@ -172,10 +186,14 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * @param pow The power value (-1 -> 1)
      */
     public void setPower(double pow) {
+        if (areWritesSuppressed()) {
+            return;
+        }
         power = Range.clip(pow, min, max);
         T device = getRawDevice();
         if (device != null) {
             device.setPower(power);
+            count(Transaction.WRITE);
         }
     }
 
@@ -185,9 +203,13 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * @return The Motor device (for chaining)
      */
     public Motor<T> brake() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotor) {
             ((DcMotor) device).setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+            count(Transaction.WRITE);
         }
         zeroBehavior = DcMotor.ZeroPowerBehavior.BRAKE;
         return this;
@@ -199,9 +221,13 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
      * @return The Motor device (for chaining)
      */
     public Motor<T> coast() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotor) {
             ((DcMotor) device).setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
+            count(Transaction.WRITE);
         }
         zeroBehavior = DcMotor.ZeroPowerBehavior.FLOAT;
         return this;
@@ -225,8 +251,17 @@ public class Motor<T extends DcMotorSimple> extends HardwareDevice<T> implements
     public double getAmperage(CurrentUnit cu) {
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
+            count(Transaction.DIRECT_READ);
             return ((DcMotorEx) device).getCurrent(cu);
         }
         return 0;
     }
+
+    @Override
+    protected void emergencyStop() {
+        T device = getRawDevice();
+        if (device != null) {
+            device.setPower(0);
+        }
+    }
 }
@@ -115,6 +115,7 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
         T device = getRawDevice();
         if (device != null) {
             dir = device.getDirection();
+            count(Transaction.DIRECT_READ);
         }
         return dir;
     }
@@ -123,9 +124,13 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * Set the motor to go *backward*
      */
     public MotorPlus<T> setBackward() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(DcMotorSimple.Direction.REVERSE);
+            count(Transaction.WRITE);
         }
         dir = DcMotorSimple.Direction.REVERSE;
         return this;
@@ -135,9 +140,13 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * Set the motor to go *forward*
      */
     public MotorPlus<T> setForward() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(DcMotorSimple.Direction.FORWARD);
+            count(Transaction.WRITE);
         }
         dir = DcMotorSimple.Direction.FORWARD;
         return this;
@@ -147,10 +156,14 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * Set the motor to go in a particular direction
      */
     public MotorPlus<T> setDirection(DcMotorSimple.Direction dir) {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         this.dir = dir;
         T device = getRawDevice();
         if (device != null) {
             device.setDirection(dir);
+            count(Transaction.WRITE);
         }
         return this;
     }
@@ -163,6 +176,7 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
     public double getSpeed() {
         T device = getRawDevice();
         if (device != null) {
+            count(Transaction.DIRECT_READ);
             return (RPM * (9.3 - ((DcMotorEx) device).getCurrent(CurrentUnit.AMPS))) / 9;
         }
         return 0;
@@ -177,6 +191,7 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
         T device = getRawDevice();
         if (device != null) {
             power = device.getPower();
+            count(Transaction.DIRECT_READ);
         }
         return power;
     }
@@ -198,10 +213,14 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * @param pow The power value (-1 -> 1)
      */
     public void setPower(double pow) {
+        if (areWritesSuppressed()) {
+            return;
+        }
         power = Range.clip(pow, min, max);
         T device = getRawDevice();
         if (device != null) {
             device.setPower(power);
+            count(Transaction.WRITE);
         }
     }
 
@@ -211,9 +230,13 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * @return The Motor device (for chaining)
      */
     public MotorPlus<T> brake() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotor) {
             ((DcMotor) device).setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+            count(Transaction.WRITE);
         }
         zeroBehavior = DcMotor.ZeroPowerBehavior.BRAKE;
         return this;
@@ -225,9 +248,13 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
      * @return The Motor device (for chaining)
      */
     public MotorPlus<T> coast() {
+        if (areWritesSuppressed()) {
+            return this;
+        }
         T device = getRawDevice();
         if (device instanceof DcMotor) {
             ((DcMotor) device).setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);
+            count(Transaction.WRITE);
         }
         zeroBehavior = DcMotor.ZeroPowerBehavior.FLOAT;
         return this;
@@ -251,8 +278,17 @@ public class MotorPlus<T extends DcMotorSimple> extends HardwareDevice<T> implem
     public double getAmperage(CurrentUnit cu) {
         T device = getRawDevice();
         if (device instanceof DcMotorEx) {
+            count(Transaction.DIRECT_READ);
             return ((DcMotorEx) device).getCurrent(cu);
         }
         return 0;
     }
+
+    @Override
+    protected void emergencyStop() {
+        T device = getRawDevice();
+        if (device != null) {
+            device.setPower(0);
+        }
+    }
 }
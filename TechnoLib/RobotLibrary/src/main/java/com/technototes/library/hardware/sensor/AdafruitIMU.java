@@ -58,6 +58,7 @@ public class AdafruitIMU extends Sensor<AdafruitBNO055IMU> implements IGyro, Dou
 
     public double getVelocity(AngleUnit u) {
         AngularVelocity av = this.getRawDevice().getAngularVelocity(u);
+        count(Transaction.DIRECT_READ);
         switch (imuDirection) {
             case Yaw:
                 return av.yRotationRate;
@@ -78,6 +79,7 @@ public class AdafruitIMU extends Sensor<AdafruitBNO055IMU> implements IGyro, Dou
     private double getRawValue(AngleUnit u) {
         org.firstinspires.ftc.robotcore.external.navigation.Orientation ypr =
             this.getRawDevice().getAngularOrientation();
+        count(Transaction.DIRECT_READ);
         switch (imuDirection) {
             case Yaw:
                 return u.fromUnit(AngleUnit.RADIANS, ypr.secondAngle);
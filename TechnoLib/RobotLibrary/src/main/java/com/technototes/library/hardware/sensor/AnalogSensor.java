@@ -34,6 +34,7 @@ public class AnalogSensor extends Sensor<AnalogInput> {
     public double getSensorValue() {
         AnalogInput device = getRawDevice();
         if (device != null) {
+            // The max voltage is configuration (it's not read from the hub), so it isn't counted
             val = device.getMaxVoltage();
         }
         return val;
@@ -0,0 +1,287 @@
+package com.technototes.library.hardware.sensor;
+
+import android.util.Log;
+import com.technototes.library.util.ColorTable;
+import com.technototes.library.util.LoopClock;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Classifies whatever's in front of a color sensor (see {@link ColorTable}), the way
+ * {@link HeadingService} reads a gyro: the sensor is read once, and every call returns that
+ * cached classification. Reading a color sensor is an I2C transaction that takes a couple of
+ * milliseconds, so in BACKGROUND mode a thread reads it, and the loop never waits for it.
+ * <pre>
+ * ColorTable&lt;Artifact&gt; table = new ColorTable&lt;&gt;(Artifact.class, Artifact.NONE).load(file).build();
+ * intakeColor = new ColorClassifier&lt;&gt;(new ColorDistanceSensor("color"), table, Mode.BACKGROUND)
+ *     .setReadPeriod(10)
+ *     .start();
+ * ...
+ * if (intakeColor.is(Artifact.PURPLE, 0.8)) { ... }
+ * </pre>
+ * CommandOpMode stops any background threads that are still running when the opmode ends (see
+ * {@link #stopAll()}).
+ *
+ * @param <E> The classes (an enum)
+ */
+public class ColorClassifier<E extends Enum<E>> {
+
+    /**
+     * How the cached classification gets refreshed
+     */
+    public enum Mode {
+        /**
+         * The sensor is read (at most) once per loop, by whoever asks first
+         */
+        PER_LOOP,
+        /**
+         * The sensor is read by a background thread
+         */
+        BACKGROUND,
+    }
+
+    // The classifiers with a background thread running, so they can be stopped when the opmode ends
+    private static final Set<ColorClassifier<?>> started = new LinkedHashSet<>();
+
+    private final IColorSensor sensor;
+    private final ColorTable<E> table;
+    private final Mode mode;
+    private long readPeriodNanos = 0;
+    private Thread thread;
+    private volatile boolean running = false;
+
+    // The sample: guarded by 'this', since the background thread writes it
+    private int argb;
+    private int cell;
+    private long sampleNanos;
+    private boolean hasSample = false;
+    private long sampleLoop = -1;
+    private long readCount = 0;
+
+    /**
+     * Classify a sensor's readings, reading it (at most) once per loop
+     *
+     * @param sensor The color sensor
+     * @param table  The (built) table to classify with
+     */
+    public ColorClassifier(IColorSensor sensor, ColorTable<E> table) {
+        this(sensor, table, Mode.PER_LOOP);
+    }
+
+    /**
+     * Classify a sensor's readings
+     *
+     * @param sensor The color sensor
+     * @param table  The (built) table to classify with
+     * @param mode   How to refresh the cached classification. If it's BACKGROUND, call
+     *               {@link #start()} to start the background thread.
+     */
+    public ColorClassifier(IColorSensor sensor, ColorTable<E> table, Mode mode) {
+        this.sensor = sensor;
+        this.table = table;
+        this.mode = mode;
+    }
+
+    /**
+     * Set the minimum time between reads of the sensor. In PER_LOOP mode, loops that start sooner
+     * than this after the last read use the cached classification. In BACKGROUND mode, this is how
+     * often the thread reads the sensor.
+     *
+     * @param milliseconds The time between reads (zero means "every loop" in PER_LOOP mode, and
+     *                     "as fast as possible" in BACKGROUND mode)
+     * @return this (for chaining)
+     */
+    public ColorClassifier<E> setReadPeriod(double milliseconds) {
+        readPeriodNanos = milliseconds > 0 ? (long) (milliseconds * 1e6) : 0;
+        return this;
+    }
+
+    /**
+     * @return The color sensor being read
+     */
+    public IColorSensor getSensor() {
+        return sensor;
+    }
+
+    /**
+     * @return The table
+     */
+    public ColorTable<E> getTable() {
+        return table;
+    }
+
+    /**
+     * Start the background thread (this does nothing in PER_LOOP mode)
+     *
+     * @return this (for chaining)
+     */
+    public ColorClassifier<E> start() {
+        if (mode != Mode.BACKGROUND || running) {
+            return this;
+        }
+        running = true;
+        thread = new Thread(this::poll, "TechnoLib color classifier");
+        thread.setDaemon(true);
+        thread.start();
+        synchronized (started) {
+            started.add(this);
+        }
+        return this;
+    }
+
+    /**
+     * Stop the background thread (if it's running)
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        synchronized (started) {
+            started.remove(this);
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop every classifier's background thread. CommandOpMode calls this when the opmode ends, so
+     * a thread can't keep reading the sensor (from a device that's gone) into the next opmode.
+     */
+    public static void stopAll() {
+        ColorClassifier<?>[] all;
+        synchronized (started) {
+            all = started.toArray(new ColorClassifier<?>[0]);
+        }
+        for (ColorClassifier<?> c : all) {
+            c.stop();
+        }
+    }
+
+    /**
+     * Read the sensor now, regardless of the mode or when it was last read
+     */
+    public void refresh() {
+        int color = sensor.argb();
+        int c = ColorTable.cell(color);
+        long now = System.nanoTime();
+        synchronized (this) {
+            argb = color;
+            cell = c;
+            sampleNanos = now;
+            hasSample = true;
+            readCount++;
+        }
+    }
+
+    private void poll() {
+        while (running) {
+            long start = System.nanoTime();
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // A flaky read shouldn't kill the thread: the loop keeps the previous sample
+                Log.w("TechnoLib", "Color sensor read failed", e);
+            }
+            long wait = readPeriodNanos - (System.nanoTime() - start);
+            // Always yield a little, so a zero period doesn't hog the bus
+            LockSupport.parkNanos(Math.max(wait, 1_000_000));
+        }
+    }
+
+    // Make sure the sample is fresh enough (PER_LOOP mode)
+    private void update() {
+        if (mode == Mode.BACKGROUND) {
+            if (!hasSample()) {
+                // The thread hasn't been started (or hasn't finished a read): don't return garbage
+                refresh();
+            }
+            return;
+        }
+        if (!LoopClock.isRunning()) {
+            refresh();
+            return;
+        }
+        long loop = LoopClock.getLoopNumber();
+        if (loop == sampleLoop) {
+            return;
+        }
+        if (!hasSample() || readPeriodNanos == 0 || LoopClock.nanos() - getSampleNanos() >= readPeriodNanos) {
+            refresh();
+        }
+        sampleLoop = loop;
+    }
+
+    private synchronized boolean hasSample() {
+        return hasSample;
+    }
+
+    private synchronized int getCell() {
+        return cell;
+    }
+
+    /**
+     * @return The class of whatever's in front of the sensor
+     */
+    public E getClassification() {
+        update();
+        return table.classOf(getCell());
+    }
+
+    /**
+     * @return How confident the table is about the classification (0 to 1)
+     */
+    public double getConfidence() {
+        update();
+        return table.confidenceOf(getCell());
+    }
+
+    /**
+     * Check for a class
+     *
+     * @param c             The class
+     * @param minConfidence The least confidence that counts
+     * @return True if the classification is c, with at least minConfidence
+     */
+    public boolean is(E c, double minConfidence) {
+        update();
+        int current = getCell();
+        return table.classOf(current) == c && table.confidenceOf(current) >= minConfidence;
+    }
+
+    /**
+     * @return The most recent reading of the sensor (for recording samples)
+     */
+    public int getArgb() {
+        update();
+        synchronized (this) {
+            return argb;
+        }
+    }
+
+    /**
+     * @return The number of times the sensor has been read
+     */
+    public synchronized long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * @return The time the cached sample was read (in System.nanoTime() units)
+     */
+    public synchronized long getSampleNanos() {
+        return sampleNanos;
+    }
+
+    /**
+     * @return How old the cached sample is, in seconds
+     */
+    public synchronized double getSampleAge() {
+        return hasSample ? (System.nanoTime() - sampleNanos) / 1e9 : Double.POSITIVE_INFINITY;
+    }
+}
@@ -9,6 +9,9 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
     private double dist;
     private double light;
     private int color;
+    private String logLine;
+    private int logColor;
+    private double logDist, logLight;
 
     public ColorDistanceSensor(String name) {
         super(name);
@@ -17,11 +20,18 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
 
     @Override
     public String LogLine() {
+        // Telemetry asks for this every time it's rendered: only format it when something's changed
+        if (logLine != null && color == logColor && dist == logDist && light == logLight) {
+            return logLine;
+        }
+        logColor = color;
+        logDist = dist;
+        logLight = light;
         int alpha = (color >> 24) & 0xFF;
         if (alpha != 0 && alpha != 0xFF) {
-            return logData(
+            logLine = logData(
                 String.format(
-                    "d:%f1.2%s A(%d)R(%d)G(%d)B(%d) [%f1.3]",
+                    "d:%.2f%s A(%d)R(%d)G(%d)B(%d) [%.3f]",
                     dist,
                     distanceUnit,
                     alpha,
@@ -32,9 +42,9 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
                 )
             );
         } else {
-            return logData(
+            logLine = logData(
                 String.format(
-                    "d:%f1.2%s R(%d)G(%d)B(%d) [%f1.3]",
+                    "d:%.2f%s R(%d)G(%d)B(%d) [%.3f]",
                     dist,
                     distanceUnit,
                     (color >> 16) & 0xFF,
@@ -44,6 +54,7 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
                 )
             );
         }
+        return logLine;
     }
 
     public ColorDistanceSensor(ColorRangeSensor device, String nm) {
@@ -56,6 +67,7 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
         double val = dist;
         if (device != null) {
             val = device.getDistance(unit);
+            count(Transaction.DIRECT_READ);
             dist = distanceUnit.fromUnit(unit, val);
         }
         return val;
@@ -64,6 +76,7 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
     @Override
     public ColorDistanceSensor onUnit(DistanceUnit unit) {
         distanceUnit = unit;
+        logLine = null;
         return this;
     }
 
@@ -77,6 +90,7 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
         ColorRangeSensor device = getRawDevice();
         if (device != null) {
             color = device.argb();
+            count(Transaction.DIRECT_READ);
         }
         return color;
     }
@@ -85,6 +99,7 @@ public class ColorDistanceSensor extends Sensor<ColorRangeSensor> implements IDi
         ColorRangeSensor device = getRawDevice();
         if (device != null) {
             light = device.getRawLightDetected();
+            count(Transaction.DIRECT_READ);
         }
         return light;
     }
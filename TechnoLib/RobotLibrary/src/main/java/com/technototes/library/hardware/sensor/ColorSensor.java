@@ -41,6 +41,7 @@ public class ColorSensor extends Sensor<com.qualcomm.robotcore.hardware.ColorSen
         com.qualcomm.robotcore.hardware.ColorSensor device = getRawDevice();
         if (device != null) {
             val = device.argb();
+            count(Transaction.DIRECT_READ);
         }
         return val;
     }
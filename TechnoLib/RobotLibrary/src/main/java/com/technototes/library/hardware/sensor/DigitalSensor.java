@@ -40,6 +40,7 @@ public class DigitalSensor extends Sensor<DigitalChannel> {
         DigitalChannel device = getRawDevice();
         if (device != null) {
             val = device.getState();
+            count(Transaction.BULK_READ);
         }
         return val;
     }
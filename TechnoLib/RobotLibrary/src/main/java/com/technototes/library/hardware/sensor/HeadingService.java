@@ -0,0 +1,338 @@
+package com.technototes.library.hardware.sensor;
+
+import com.technototes.library.hardware.Sample;
+import com.technototes.library.util.LoopClock;
+import java.util.concurrent.locks.LockSupport;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+/**
+ * A heading "service" that wraps a gyro (an IMU, an AdafruitIMU, whatever) so that it's read once,
+ * instead of every time somebody asks. Reading the heading from the IMU is an I2C transaction that
+ * takes several milliseconds, and between the drivebase, the field-centric driving code, and the
+ * vision code, the heading can get read 3 or 4 times a loop. This is the only place gyro reads are
+ * cached: the gyros themselves read the device every time they're asked.
+ * <p>
+ * The service reads the heading (and the angular velocity, if anyone needs it), keeps them with the
+ * time they were read, and every IGyro call returns that cached sample. It's an IGyro itself, so it
+ * can be dropped in wherever the gyro was being used:
+ * <pre>
+ * imu = new HeadingService(new IMU("imu", logo, usb));
+ * </pre>
+ * There are two ways for the sample to get refreshed:
+ * <ul>
+ *     <li>{@link Mode#PER_LOOP} (the default): the first read in each loop (according to the
+ *     {@link LoopClock}) reads the gyro, and the rest of the reads in the loop get the same
+ *     values. Outside of a CommandOpMode loop, every read reads the gyro.</li>
+ *     <li>{@link Mode#BACKGROUND}: a background thread reads the gyro at a fixed rate (ideally the
+ *     IMU's own update rate), so the loop never waits for it at all.</li>
+ * </ul>
+ * With extrapolation turned on, the heading is the last sample plus the angular velocity times
+ * the time since it was read. That lets the gyro be read less often (see
+ * {@link #setReadPeriod(double)}) while still giving a reasonable, low latency estimate in between.
+ */
+public class HeadingService implements IGyro {
+
+    /**
+     * How the cached sample gets refreshed
+     */
+    public enum Mode {
+        /**
+         * The gyro is read (at most) once per loop, by whoever asks first
+         */
+        PER_LOOP,
+        /**
+         * The gyro is read by a background thread
+         */
+        BACKGROUND,
+    }
+
+    private final IGyro gyro;
+    private final Mode mode;
+    private AngleUnit units;
+    private boolean extrapolate = false;
+    private long readPeriodNanos = 0;
+    private Thread thread;
+    private volatile boolean running = false;
+
+    // The sample: guarded by 'this', since the background thread writes it
+    private double sampleRadians;
+    private double sampleVelocity;
+    private long sampleNanos;
+    private boolean hasSample = false;
+    private long sampleLoop = -1;
+    private long velocityLoop = -1;
+    private long readCount = 0;
+    // The offset, so "zeroing" the heading doesn't require a read of the gyro
+    private double radianOffset = 0;
+
+    /**
+     * Wrap a gyro, reading it (at most) once per loop
+     *
+     * @param gyro The gyro to read
+     */
+    public HeadingService(IGyro gyro) {
+        this(gyro, Mode.PER_LOOP);
+    }
+
+    /**
+     * Wrap a gyro
+     *
+     * @param gyro The gyro to read
+     * @param mode How to refresh the cached sample. If it's BACKGROUND, call {@link #start()} to
+     *             start the background thread.
+     */
+    public HeadingService(IGyro gyro, Mode mode) {
+        this.gyro = gyro;
+        this.mode = mode;
+        units = gyro.getUnits();
+    }
+
+    /**
+     * Turn extrapolation on or off. When it's on, the heading is the last sample, plus the angular
+     * velocity times the time since the sample was read.
+     *
+     * @param enable True to extrapolate
+     * @return this (for chaining)
+     */
+    public HeadingService setExtrapolation(boolean enable) {
+        extrapolate = enable;
+        return this;
+    }
+
+    /**
+     * Set the minimum time between reads of the gyro. In PER_LOOP mode, loops that start sooner
+     * than this after the last read just use (or extrapolate from) the cached sample. In
+     * BACKGROUND mode, this is how often the thread reads the gyro.
+     *
+     * @param milliseconds The time between reads (zero means "every loop" in PER_LOOP mode, and
+     *                     "as fast as possible" in BACKGROUND mode)
+     * @return this (for chaining)
+     */
+    public HeadingService setReadPeriod(double milliseconds) {
+        readPeriodNanos = milliseconds > 0 ? (long) (milliseconds * 1e6) : 0;
+        return this;
+    }
+
+    /**
+     * @return The gyro being read
+     */
+    public IGyro getGyro() {
+        return gyro;
+    }
+
+    /**
+     * @return The mode the service is in
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Start the background thread (this does nothing in PER_LOOP mode)
+     *
+     * @return this (for chaining)
+     */
+    public HeadingService start() {
+        if (mode != Mode.BACKGROUND || running) {
+            return this;
+        }
+        running = true;
+        thread = new Thread(this::poll, "TechnoLib heading service");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Stop the background thread (if it's running)
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read the gyro (heading &amp; angular velocity) now, regardless of the mode or when it was last
+     * read
+     */
+    public void refresh() {
+        read(true);
+    }
+
+    private void read(boolean withVelocity) {
+        double heading = gyro.getHeading(AngleUnit.RADIANS);
+        double velocity = withVelocity ? gyro.getVelocity(AngleUnit.RADIANS) : 0;
+        long now = System.nanoTime();
+        synchronized (this) {
+            sampleRadians = heading;
+            sampleNanos = now;
+            hasSample = true;
+            readCount++;
+            if (withVelocity) {
+                sampleVelocity = velocity;
+                velocityLoop = LoopClock.getLoopNumber();
+            }
+        }
+    }
+
+    /**
+     * @return The number of times the gyro has been read
+     */
+    public synchronized long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * @return The time the cached sample was read (in System.nanoTime() units)
+     */
+    public synchronized long getSampleNanos() {
+        return sampleNanos;
+    }
+
+    /**
+     * @return How old the cached sample is, in seconds
+     */
+    public synchronized double getSampleAge() {
+        return hasSample ? (System.nanoTime() - sampleNanos) / 1e9 : Double.POSITIVE_INFINITY;
+    }
+
+    private void poll() {
+        while (running) {
+            long start = System.nanoTime();
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // A flaky read shouldn't kill the thread: the loop keeps the previous sample
+                e.printStackTrace();
+            }
+            long wait = readPeriodNanos - (System.nanoTime() - start);
+            // Always yield a little, so a zero period doesn't hog the bus
+            LockSupport.parkNanos(Math.max(wait, 1_000_000));
+        }
+    }
+
+    // Make sure the sample is fresh enough (PER_LOOP mode)
+    private void update() {
+        if (mode == Mode.BACKGROUND) {
+            if (!hasSample()) {
+                // The thread hasn't been started (or hasn't finished a read): don't return garbage
+                refresh();
+            }
+            return;
+        }
+        if (!LoopClock.isRunning()) {
+            // Not in a CommandOpMode loop, so there's no "once per loop" to cache for
+            read(extrapolate);
+            return;
+        }
+        long loop = LoopClock.getLoopNumber();
+        if (loop == sampleLoop) {
+            return;
+        }
+        if (!hasSample() || readPeriodNanos == 0 || LoopClock.nanos() - getSampleNanos() >= readPeriodNanos) {
+            // The velocity is a second I2C read: only bother with it if we're extrapolating
+            read(extrapolate);
+        }
+        sampleLoop = loop;
+    }
+
+    private synchronized boolean hasSample() {
+        return hasSample;
+    }
+
+    // The (un-offset) heading estimate, in radians
+    private synchronized double estimate() {
+        if (!extrapolate) {
+            return sampleRadians;
+        }
+        // Extrapolate to the start of the loop, so every read in a loop gets the same answer
+        long now = LoopClock.isRunning() ? LoopClock.nanos() : System.nanoTime();
+        return AngleUnit.normalizeRadians(
+            sampleRadians + sampleVelocity * (Math.max(now - sampleNanos, 0) / 1e9)
+        );
+    }
+
+    @Override
+    public void setUnits(AngleUnit u) {
+        units = u;
+    }
+
+    @Override
+    public AngleUnit getUnits() {
+        return units;
+    }
+
+    /**
+     * Get the heading (from the cached sample)
+     *
+     * @param u The units
+     * @return The heading
+     */
+    @Override
+    public double getHeading(AngleUnit u) {
+        update();
+        return u.fromUnit(AngleUnit.RADIANS, AngleUnit.normalizeRadians(estimate() - radianOffset));
+    }
+
+    /**
+     * Get the heading, with the time of the cached sample (or, when extrapolating, the time it was
+     * extrapolated to), and the number of gyro reads as the sequence
+     *
+     * @param into The sample to fill in
+     * @param u    The units
+     * @return The sample
+     */
+    @Override
+    public Sample getHeadingSample(Sample into, AngleUnit u) {
+        update();
+        synchronized (this) {
+            long nanos = !extrapolate ? sampleNanos : LoopClock.isRunning() ? LoopClock.nanos() : System.nanoTime();
+            double radians = AngleUnit.normalizeRadians(estimate() - radianOffset);
+            return into.set(u.fromUnit(AngleUnit.RADIANS, radians), nanos, readCount);
+        }
+    }
+
+    /**
+     * Set the current heading. This only changes the offset: it doesn't touch the gyro.
+     *
+     * @param newHeading The new heading
+     * @param u          The units of the new heading
+     */
+    @Override
+    public void setHeading(double newHeading, AngleUnit u) {
+        update();
+        radianOffset = estimate() - AngleUnit.RADIANS.fromUnit(u, newHeading);
+    }
+
+    /**
+     * Get the angular velocity (from the cached sample)
+     *
+     * @param u The units
+     * @return The angular velocity (per second)
+     */
+    @Override
+    public double getVelocity(AngleUnit u) {
+        update();
+        if (mode == Mode.PER_LOOP && (!LoopClock.isRunning() || velocityLoop != LoopClock.getLoopNumber())) {
+            // Nobody needed the velocity yet this loop (it's only read along with the heading
+            // when extrapolating)
+            double velocity = gyro.getVelocity(AngleUnit.RADIANS);
+            synchronized (this) {
+                sampleVelocity = velocity;
+                velocityLoop = LoopClock.getLoopNumber();
+            }
+            return u.fromUnit(AngleUnit.RADIANS, velocity);
+        }
+        synchronized (this) {
+            return u.fromUnit(AngleUnit.RADIANS, sampleVelocity);
+        }
+    }
+}
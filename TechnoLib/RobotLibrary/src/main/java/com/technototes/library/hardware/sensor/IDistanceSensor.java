@@ -1,5 +1,6 @@
 package com.technototes.library.hardware.sensor;
 
+import com.technototes.library.hardware.Sample;
 import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 
 public interface IDistanceSensor {
@@ -9,6 +10,18 @@ public interface IDistanceSensor {
 
     double getDistance(DistanceUnit unit);
 
+    /**
+     * Get the distance, with the time it was measured (see {@link Sample}). The time is now, and
+     * the sequence number goes up on every call, unless the sensor overrides this.
+     *
+     * @param into The sample to fill in
+     * @param unit The units
+     * @return The sample
+     */
+    default Sample getDistanceSample(Sample into, DistanceUnit unit) {
+        return into.set(getDistance(unit), System.nanoTime(), into.sequence + 1);
+    }
+
     IDistanceSensor onUnit(DistanceUnit distanceUnit);
 
     DistanceUnit getUnit();
@@ -1,5 +1,6 @@
 package com.technototes.library.hardware.sensor;
 
+import com.technototes.library.hardware.Sample;
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 
 /**
@@ -34,6 +35,19 @@ public interface IGyro {
      */
     double getVelocity(AngleUnit u);
 
+    /**
+     * Get the heading, with the time it was measured (see {@link Sample}). Gyros that know when
+     * they were actually read should override this: by default, the time is now, and the sequence
+     * number goes up on every call.
+     *
+     * @param into The sample to fill in
+     * @param u    The units
+     * @return The sample
+     */
+    default Sample getHeadingSample(Sample into, AngleUnit u) {
+        return into.set(getHeading(u), System.nanoTime(), into.sequence + 1);
+    }
+
     default void degrees() {
         setUnits(AngleUnit.DEGREES);
     }
@@ -156,9 +156,10 @@ public class IMU extends Sensor<com.qualcomm.robotcore.hardware.IMU> implements
     }
 
     /**
-     * Get gyro heading
+     * Get gyro heading (this reads the IMU every time: wrap it in a HeadingService to read it once
+     * per loop)
      *
-     * @return The gyro heading (in preferred units, from -180/pi to +180/pi
+     * @return The gyro heading (in radians, from -pi to +pi)
      */
     private double gyroHeadingInRadians() {
         return getAngularOrientation(AngleUnit.RADIANS).firstAngle;
@@ -285,12 +286,20 @@ public class IMU extends Sensor<com.qualcomm.robotcore.hardware.IMU> implements
      */
     public AngularVelocity readVelocity(AngleUnit units) {
         angularVelocity = getRawDevice().getRobotAngularVelocity(units);
+        count(Transaction.DIRECT_READ);
         return angularVelocity;
     }
 
+    /**
+     * Gets the yaw rate (this reads the IMU every time: wrap it in a HeadingService to read it once
+     * per loop)
+     *
+     * @param units The units to return
+     * @return The yaw rate (per second)
+     */
+    @Override
     public double getVelocity(AngleUnit units) {
-        // TODO: Make sure this works properly
-        return (double) readVelocity(this.units).zRotationRate;
+        return readVelocity(units).zRotationRate;
     }
 
     /**
@@ -300,6 +309,7 @@ public class IMU extends Sensor<com.qualcomm.robotcore.hardware.IMU> implements
      */
     public Orientation getAngularOrientation(AngleUnit units) {
         orientation = getRawDevice().getRobotOrientation(AxesReference.INTRINSIC, axesOrder, units);
+        count(Transaction.DIRECT_READ);
         if ((axesSigns.bVal & AxesSigns.NPP.bVal) == AxesSigns.NPP.bVal) {
             orientation.firstAngle = -orientation.firstAngle;
         }
@@ -1,6 +1,7 @@
 package com.technototes.library.hardware.sensor;
 
 import com.qualcomm.robotcore.hardware.DistanceSensor;
+import com.technototes.library.hardware.Sample;
 import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 
 /**
@@ -14,6 +15,7 @@ public class Rev2MDistanceSensor extends Sensor<DistanceSensor> implements IDist
 
     private DistanceUnit distanceUnit;
     private double dist;
+    private long reads = 0;
 
     /**
      * Create a range sensor
@@ -49,10 +51,27 @@ public class Rev2MDistanceSensor extends Sensor<DistanceSensor> implements IDist
         DistanceSensor device = getRawDevice();
         if (device != null) {
             dist = device.getDistance(distanceUnit);
+            count(Transaction.DIRECT_READ);
         }
         return dist;
     }
 
+    /**
+     * Get the distance, with the time it was measured: the read is an I2C transaction that takes a
+     * few milliseconds, so that's the middle of it
+     *
+     * @param into The sample to fill in
+     * @param unit The unit
+     * @return The sample
+     */
+    @Override
+    public Sample getDistanceSample(Sample into, DistanceUnit unit) {
+        long start = System.nanoTime();
+        double d = getDistance(unit);
+        long end = System.nanoTime();
+        return into.set(d, start + (end - start) / 2, ++reads);
+    }
+
     /**
      * Get the current distance unit
      *
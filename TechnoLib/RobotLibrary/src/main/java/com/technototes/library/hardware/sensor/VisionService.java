@@ -0,0 +1,423 @@
+package com.technototes.library.hardware.sensor;
+
+import com.qualcomm.hardware.limelightvision.LLResult;
+import com.qualcomm.hardware.limelightvision.LLResultTypes;
+import com.qualcomm.hardware.limelightvision.Limelight3A;
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.general.Phased;
+import com.technototes.library.subsystem.TargetAcquisition;
+import com.technototes.library.util.LoopClock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A vision "service" that owns the Limelight. Every getLatestResult call on the camera is a
+ * network fetch, and with the launcher, the aiming code, the driver &amp; the turret each asking
+ * for the target (and some of them creating their own copy of the subsystem, which starts the
+ * camera &amp; switches its pipeline all over again), the same frame gets fetched several times a
+ * loop.
+ * <p>
+ * The service fetches the latest result once per loop, and when it's a new frame, turns it into an
+ * immutable {@link Observation} (with a frame id &amp; the time the frame was captured) and hands
+ * it to all of the subscribers. Anybody else can just ask for the most recent observation, which
+ * never touches the camera. Pipeline switches only go to the camera when the pipeline actually
+ * changes, and starting it twice doesn't restart it.
+ * <p>
+ * It's {@link Phased}, so once it's registered (see {@link #register()}), CommandOpMode fetches
+ * the result in the read phase, before any of the periodics or commands run.
+ * <pre>
+ * vision = new VisionService(limelight).register();
+ * vision.setTargetFilter(f -&gt; f.getFiducialId() &lt; 21 || f.getFiducialId() &gt; 23);
+ * vision.subscribe(o -&gt; { if (o.hasTarget) turret.track(o.tx); });
+ * </pre>
+ */
+public class VisionService implements Phased, TargetAcquisition {
+
+    /**
+     * Turns the target's angles into a distance (in inches), using the camera's mounting
+     */
+    @FunctionalInterface
+    public interface DistanceModel {
+        /**
+         * @param tx The horizontal angle to the target (degrees, as the camera reports it)
+         * @param ty The vertical angle to the target (degrees, as the camera reports it)
+         * @return The distance to the target (inches)
+         */
+        double distance(double tx, double ty);
+    }
+
+    /**
+     * What the camera saw in one frame. These are never modified, so they can be handed to any
+     * number of consumers (or kept around).
+     */
+    public static final class Observation {
+
+        /**
+         * The observation before the first frame arrives
+         */
+        public static final Observation NONE = new Observation(0, 0, -1, false, -1, 0, 0, 0, -1);
+
+        /**
+         * The frame number (counted by the service, starting at 1)
+         */
+        public final long frameId;
+        /**
+         * When the frame was captured (in System.nanoTime() units)
+         */
+        public final long captureNanos;
+        /**
+         * The pipeline that produced the frame
+         */
+        public final int pipeline;
+        /**
+         * True if there's a target in the frame (the rest of the fields are only meaningful if so)
+         */
+        public final boolean hasTarget;
+        /**
+         * The fiducial (AprilTag) id of the target, or -1 if it's not a fiducial
+         */
+        public final int fiducialId;
+        /**
+         * The horizontal angle to the target (degrees, positive is to the camera's right)
+         */
+        public final double tx;
+        /**
+         * The vertical angle to the target (degrees, positive is up)
+         */
+        public final double ty;
+        /**
+         * The target's area (percent of the image)
+         */
+        public final double area;
+        /**
+         * The distance to the target (inches), or -1 if there's no distance model or target
+         */
+        public final double distance;
+
+        Observation(
+            long frameId,
+            long captureNanos,
+            int pipeline,
+            boolean hasTarget,
+            int fiducialId,
+            double tx,
+            double ty,
+            double area,
+            double distance
+        ) {
+            this.frameId = frameId;
+            this.captureNanos = captureNanos;
+            this.pipeline = pipeline;
+            this.hasTarget = hasTarget;
+            this.fiducialId = fiducialId;
+            this.tx = tx;
+            this.ty = ty;
+            this.area = area;
+            this.distance = distance;
+        }
+
+        /**
+         * @return How long ago the frame was captured (in seconds)
+         */
+        public double getAge() {
+            return frameId == 0 ? Double.POSITIVE_INFINITY : (System.nanoTime() - captureNanos) / 1e9;
+        }
+
+        @Override
+        public String toString() {
+            return hasTarget
+                ? String.format("#%d: tag %d tx %.2f ty %.2f d %.1f", frameId, fiducialId, tx, ty, distance)
+                : String.format("#%d: no target", frameId);
+        }
+    }
+
+    private final Limelight3A camera;
+    private final List<Consumer<Observation>> subscribers = new ArrayList<>();
+    private Predicate<LLResultTypes.FiducialResult> filter = null;
+    private DistanceModel distanceModel = null;
+    private Observation latest = Observation.NONE;
+    private LLResult latestResult = null;
+    private double maxAgeSeconds = 0.25;
+    private int pipeline = -1;
+    private boolean running = false;
+    private long lastResultNanos = 0;
+    private long lastUpdateLoop = -1;
+    private long frameCount = 0;
+    private long fetchCount = 0;
+
+    /**
+     * Make the service for a Limelight (there should only be one for each camera)
+     *
+     * @param camera The Limelight
+     */
+    public VisionService(Limelight3A camera) {
+        this.camera = camera;
+    }
+
+    /**
+     * Register the service with the CommandScheduler, so it fetches the result every loop
+     *
+     * @return this (for chaining)
+     */
+    public VisionService register() {
+        CommandScheduler.registerPhased(this);
+        return this;
+    }
+
+    /**
+     * @return The Limelight
+     */
+    public Limelight3A getCamera() {
+        return camera;
+    }
+
+    /**
+     * Start the camera (if it's not already started)
+     *
+     * @return this (for chaining)
+     */
+    public synchronized VisionService start() {
+        if (!running) {
+            camera.start();
+            running = true;
+        }
+        return this;
+    }
+
+    /**
+     * Stop the camera (if it's running)
+     *
+     * @return this (for chaining)
+     */
+    public synchronized VisionService stop() {
+        if (running) {
+            camera.stop();
+            running = false;
+        }
+        return this;
+    }
+
+    /**
+     * @return True if the camera has been started
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Set how often the camera is polled for results
+     *
+     * @param hz The poll rate
+     * @return this (for chaining)
+     */
+    public VisionService setPollRate(int hz) {
+        camera.setPollRateHz(hz);
+        return this;
+    }
+
+    /**
+     * Switch the camera's pipeline. This only goes to the camera if it's a different pipeline than
+     * the last one requested.
+     *
+     * @param index The pipeline
+     * @return this (for chaining)
+     */
+    public synchronized VisionService setPipeline(int index) {
+        if (index != pipeline) {
+            camera.pipelineSwitch(index);
+            pipeline = index;
+        }
+        return this;
+    }
+
+    /**
+     * @return The most recently requested pipeline (or -1 if none has been)
+     */
+    public int getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Set which fiducials count as targets. The first one in the frame that passes the filter is
+     * the target. Without a filter, the camera's primary target is used.
+     *
+     * @param filter Returns true for the fiducials that are targets (or null for no filter)
+     * @return this (for chaining)
+     */
+    public VisionService setTargetFilter(Predicate<LLResultTypes.FiducialResult> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Set the model that turns the target's angles into a distance. It's evaluated once per frame,
+     * so all the consumers get the same distance.
+     *
+     * @param model The distance model (or null for no distance)
+     * @return this (for chaining)
+     */
+    public VisionService setDistanceModel(DistanceModel model) {
+        distanceModel = model;
+        return this;
+    }
+
+    /**
+     * Set how old an observation can get before the TargetAcquisition methods stop using it
+     *
+     * @param seconds The maximum age
+     * @return this (for chaining)
+     */
+    public VisionService setMaxAge(double seconds) {
+        maxAgeSeconds = seconds;
+        return this;
+    }
+
+    /**
+     * Get told about every new frame. Subscribers are called (in the order they subscribed) from
+     * the read phase of the loop.
+     *
+     * @param subscriber The subscriber
+     * @return this (for chaining)
+     */
+    public VisionService subscribe(Consumer<Observation> subscriber) {
+        subscribers.add(subscriber);
+        return this;
+    }
+
+    /**
+     * Stop getting told about new frames
+     *
+     * @param subscriber The subscriber
+     */
+    public void unsubscribe(Consumer<Observation> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Fetch the latest result from the camera (at most once per loop), and if it's a new frame,
+     * publish it to the subscribers. CommandOpMode calls this (through readInputs) every loop.
+     */
+    public void update() {
+        if (LoopClock.isRunning()) {
+            if (lastUpdateLoop == LoopClock.getLoopNumber()) {
+                return;
+            }
+            lastUpdateLoop = LoopClock.getLoopNumber();
+        }
+        LLResult result = camera.getLatestResult();
+        fetchCount++;
+        if (result == null) {
+            return;
+        }
+        latestResult = result;
+        long stamp = result.getControlHubTimeStampNanos();
+        if (stamp == lastResultNanos) {
+            // The same frame as last time
+            return;
+        }
+        lastResultNanos = stamp;
+        frameCount++;
+        long capture = stamp - (long) ((result.getCaptureLatency() + result.getTargetingLatency()) * 1e6);
+        latest = observe(result, capture);
+        for (int i = 0; i < subscribers.size(); i++) {
+            subscribers.get(i).accept(latest);
+        }
+    }
+
+    private Observation observe(LLResult result, long capture) {
+        int index = result.getPipelineIndex();
+        if (result.isValid()) {
+            List<LLResultTypes.FiducialResult> fiducials = result.getFiducialResults();
+            if (fiducials != null && !fiducials.isEmpty()) {
+                for (int i = 0; i < fiducials.size(); i++) {
+                    LLResultTypes.FiducialResult f = fiducials.get(i);
+                    if (filter == null || filter.test(f)) {
+                        return target(
+                            capture,
+                            index,
+                            f.getFiducialId(),
+                            f.getTargetXDegrees(),
+                            f.getTargetYDegrees(),
+                            f.getTargetArea()
+                        );
+                    }
+                }
+            } else if (filter == null) {
+                // Not a fiducial pipeline: use the primary target
+                return target(capture, index, -1, result.getTx(), result.getTy(), result.getTa());
+            }
+        }
+        return new Observation(frameCount, capture, index, false, -1, 0, 0, 0, -1);
+    }
+
+    private Observation target(long capture, int index, int id, double tx, double ty, double area) {
+        double distance = distanceModel == null ? -1 : distanceModel.distance(tx, ty);
+        return new Observation(frameCount, capture, index, true, id, tx, ty, area, distance);
+    }
+
+    /**
+     * Get the most recent observation. This never fetches anything from the camera.
+     *
+     * @return The most recent observation ({@link Observation#NONE} before the first frame)
+     */
+    public Observation getObservation() {
+        return latest;
+    }
+
+    /**
+     * Get the camera's most recently fetched result, for things that need more than the target
+     * (the other tags, the bot pose, the latencies). This never fetches anything from the camera.
+     *
+     * @return The result (or null if nothing has been fetched yet)
+     */
+    public LLResult getLatestResult() {
+        return latestResult;
+    }
+
+    /**
+     * @return True if the most recent observation has a target, and isn't too old
+     */
+    public boolean hasTarget() {
+        return latest.hasTarget && latest.getAge() <= maxAgeSeconds;
+    }
+
+    /**
+     * @return The number of frames that have been published
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return The number of times the camera's result has been fetched
+     */
+    public long getFetchCount() {
+        return fetchCount;
+    }
+
+    @Override
+    public void readInputs() {
+        update();
+    }
+
+    @Override
+    public void writeOutputs() {}
+
+    @Override
+    public double getDistance() {
+        return hasTarget() ? latest.distance : -1;
+    }
+
+    @Override
+    public double getHorizontalPosition() {
+        // The camera's tx is positive to the right (clockwise), which is negative here
+        return hasTarget() ? -latest.tx : Double.NaN;
+    }
+
+    @Override
+    public double getVerticalPosition() {
+        return hasTarget() ? latest.ty : Double.NaN;
+    }
+}
@@ -44,6 +44,7 @@ public class ExternalEncoder extends Sensor<AnalogInput> implements Encoder {
         AnalogInput device = getRawDevice();
         if (device != null) {
             zero = device.getVoltage();
+            count(Transaction.BULK_READ);
         }
     }
 
@@ -62,6 +63,7 @@ public class ExternalEncoder extends Sensor<AnalogInput> implements Encoder {
         AnalogInput device = getRawDevice();
         if (device != null) {
             val = device.getVoltage();
+            count(Transaction.BULK_READ);
         }
         return dir * (val - zero);
     }
@@ -3,12 +3,19 @@ package com.technototes.library.hardware.sensor.encoder;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.util.ElapsedTime;
+import com.technototes.library.hardware.Sample;
 import com.technototes.library.hardware.motor.EncodedMotor;
 import com.technototes.library.hardware.sensor.Sensor;
+import com.technototes.library.util.LoopClock;
 
 /**
  * Wraps a motor instance to provide corrected velocity counts and allow reversing independently of the corresponding
  * slot's motor direction
+ * <p>
+ * The position &amp; velocity are read together, as a "snapshot", once per loop (according to the
+ * {@link LoopClock}), so everything that reads the encoder during a loop sees the same values. Outside of a
+ * CommandOpMode loop, every read takes a new snapshot. A {@link VelocityEstimator} can be attached to estimate the
+ * velocity from the snapshot positions, instead of using the hub's velocity.
  */
 public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
 
@@ -21,12 +28,14 @@ public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
     private double rawVel;
     private double corVel;
 
+    private long snapshotLoop = -1;
+    private long snapshotNanos;
+    private long snapshotCount = 0;
+    private VelocityEstimator estimator;
+
+    // The velocity is reported as a 16 bit value, so add whichever multiple of 2^16 gets it closest to the estimate
     private static double inverseOverflow(double input, double estimate) {
-        double real = input;
-        while (Math.abs(estimate - real) > CPS_STEP / 2.0) {
-            real += Math.signum(estimate - real) * CPS_STEP;
-        }
-        return real;
+        return input + CPS_STEP * Math.round((estimate - input) / CPS_STEP);
     }
 
     @Override
@@ -37,6 +46,12 @@ public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
     @Override
     public void zeroEncoder() {
         offset = motor.getCurrentPosition();
+        countEncoderRead(motor);
+        lastPosition = 0;
+        snapshotLoop = -1;
+        if (estimator != null) {
+            estimator.reset();
+        }
     }
 
     public enum Direction {
@@ -106,6 +121,7 @@ public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
      */
     public void setDirection(Direction direction) {
         this.direction = direction;
+        snapshotLoop = -1;
     }
 
     @Override
@@ -118,10 +134,25 @@ public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
         return this;
     }
 
-    public int getCurrentPosition() {
+    /**
+     * Read the position &amp; velocity, unless they've already been read during this loop
+     *
+     * @return this (for chaining)
+     */
+    public MotorEncoder snapshot() {
+        if (LoopClock.isRunning() && snapshotLoop == LoopClock.getLoopNumber()) {
+            return this;
+        }
         int multiplier = getMultiplier();
         rawPos = motor.getCurrentPosition();
+        rawVel = motor.getVelocity();
+        countEncoderRead(motor);
+        countEncoderRead(motor);
+        snapshotNanos = System.nanoTime();
+        snapshotCount++;
+        snapshotLoop = LoopClock.getLoopNumber();
         curPos = (rawPos - offset) * multiplier;
+        curVel = rawVel * multiplier;
         if (curPos != lastPosition) {
             double currentTime = clock.seconds();
             double dt = currentTime - lastUpdateTime;
@@ -129,23 +160,91 @@ public class MotorEncoder extends Sensor<DcMotorEx> implements VelocityEncoder {
             lastPosition = curPos;
             lastUpdateTime = currentTime;
         }
+        corVel = inverseOverflow(curVel, velocityEstimate);
+        if (estimator != null) {
+            estimator.update(curPos, snapshotNanos);
+        }
+        return this;
+    }
+
+    /**
+     * @return The time the current snapshot was taken (in System.nanoTime() units)
+     */
+    public long getSnapshotNanos() {
+        return snapshotNanos;
+    }
+
+    /**
+     * Get the position, with the time of the snapshot it came from (and the number of snapshots
+     * taken as the sequence)
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    @Override
+    public Sample getSample(Sample into) {
+        snapshot();
+        return into.set(curPos, snapshotNanos, snapshotCount);
+    }
+
+    /**
+     * Get the (estimated) velocity, with the time of the snapshot it came from
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    @Override
+    public Sample getVelocitySample(Sample into) {
+        return into.set(getEstimatedVelocity(), snapshotNanos, snapshotCount);
+    }
+
+    /**
+     * Estimate the velocity from the snapshot positions (instead of using the hub's velocity). Once this is set,
+     * getVelocity returns the estimate.
+     *
+     * @param e The estimator (or null to go back to the hub's velocity)
+     * @return this (for chaining)
+     */
+    public MotorEncoder setVelocityEstimator(VelocityEstimator e) {
+        estimator = e;
+        if (e != null) {
+            e.reset();
+        }
+        return this;
+    }
+
+    /**
+     * @return The velocity estimator (or null if there isn't one)
+     */
+    public VelocityEstimator getVelocityEstimator() {
+        return estimator;
+    }
+
+    public int getCurrentPosition() {
+        snapshot();
         return curPos;
     }
 
     public double getRawVelocity() {
-        int multiplier = getMultiplier();
-        rawVel = motor.getVelocity();
-        curVel = rawVel * multiplier;
+        snapshot();
         return curVel;
     }
 
     public double getCorrectedVelocity() {
-        corVel = inverseOverflow(getRawVelocity(), velocityEstimate);
+        snapshot();
         return corVel;
     }
 
+    /**
+     * @return The estimated velocity (or the corrected hub velocity, if there's no estimator)
+     */
+    public double getEstimatedVelocity() {
+        snapshot();
+        return estimator != null ? estimator.getVelocity() : corVel;
+    }
+
     @Override
     public double getVelocity() {
-        return getCorrectedVelocity();
+        return getEstimatedVelocity();
     }
 }
@@ -1,44 +1,82 @@
 package com.technototes.library.hardware.sensor.encoder;
 
 import com.qualcomm.hardware.digitalchickenlabs.OctoQuad;
+import com.technototes.library.hardware.Sample;
 
+/**
+ * An encoder on one channel of an OctoQuad. The channels are all read at once by the
+ * {@link OctoquadHub} for the OctoQuad, so several encoders on the same device don't each make
+ * their own I2C transaction.
+ */
 public class OctoquadEncoder implements VelocityEncoder {
 
     protected OctoQuad octoQuad;
+    protected OctoquadHub hub;
     protected int portNumber;
     protected double zero;
 
-    public OctoquadEncoder(OctoQuad o, int port) {
-        octoQuad = o;
+    public OctoquadEncoder(OctoquadHub h, int port) {
+        hub = h;
+        octoQuad = h.getDevice();
         portNumber = port;
         zero = 0;
     }
 
+    public OctoquadEncoder(OctoQuad o, int port) {
+        this(OctoquadHub.of(o), port);
+    }
+
     @Override
     public void setDirection(boolean reversed) {
         octoQuad.setSingleEncoderDirection(
             portNumber,
             reversed ? OctoQuad.EncoderDirection.REVERSE : OctoQuad.EncoderDirection.FORWARD
         );
+        // The cached data has the old direction
+        hub.clearCache();
     }
 
     @Override
     public void zeroEncoder() {
-        zero = octoQuad.readSinglePosition_Caching(portNumber);
+        zero = hub.getPosition(portNumber);
     }
 
     @Override
     public double getPosition() {
-        return octoQuad.readSinglePosition_Caching(portNumber) - zero;
+        return hub.getPosition(portNumber) - zero;
     }
 
     @Override
     public double getVelocity() {
-        return octoQuad.readSingleVelocity_Caching(portNumber);
+        return hub.getVelocity(portNumber);
     }
 
     @Override
     public double getSensorValue() {
         return getPosition();
     }
+
+    /**
+     * Get the position, with the time the OctoQuad was read
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    @Override
+    public Sample getSample(Sample into) {
+        double position = getPosition();
+        return into.set(position, hub.getDataNanos(), hub.getDataSequence());
+    }
+
+    /**
+     * Get the velocity, with the time the OctoQuad was read
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    @Override
+    public Sample getVelocitySample(Sample into) {
+        double velocity = getVelocity();
+        return into.set(velocity, hub.getDataNanos(), hub.getDataSequence());
+    }
 }
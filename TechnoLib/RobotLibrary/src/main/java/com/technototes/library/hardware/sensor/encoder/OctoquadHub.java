@@ -0,0 +1,164 @@
+package com.technototes.library.hardware.sensor.encoder;
+
+import com.qualcomm.hardware.digitalchickenlabs.OctoQuad;
+import com.technototes.library.util.LoopClock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk reads for an OctoQuad. Reading a single channel is an I2C transaction, so a robot with
+ * odometry pods and a turret all on one OctoQuad would make several of them per loop. The hub
+ * reads all eight channels (positions &amp; velocities) in one transaction, and every
+ * {@link OctoquadEncoder} on the same OctoQuad shares that data.
+ * <p>
+ * It works just like the Lynx hubs' MANUAL bulk caching: the first read after the cache is
+ * cleared reads everything, and the rest use the cached data. CommandOpMode clears the cache of
+ * every hub each loop, right along with the Lynx hubs. The data is only cached while a
+ * CommandOpMode loop is running (see {@link LoopClock#isRunning()}), and only for the loop it was
+ * read in: anywhere else (a plain OpMode, even one that runs after a CommandOpMode), every read
+ * reads the OctoQuad, since nothing would be clearing the cache.
+ */
+public class OctoquadHub {
+
+    private static final List<OctoquadHub> hubs = new ArrayList<>();
+
+    /**
+     * Get the hub for an OctoQuad (there's one per device, shared by all of its encoders)
+     *
+     * @param device The OctoQuad
+     * @return The hub
+     */
+    public static synchronized OctoquadHub of(OctoQuad device) {
+        for (OctoquadHub h : hubs) {
+            if (h.device == device) {
+                return h;
+            }
+        }
+        OctoquadHub h = new OctoquadHub(device);
+        hubs.add(h);
+        return h;
+    }
+
+    /**
+     * Clear the cached data of every hub. CommandOpMode calls this every loop.
+     */
+    public static synchronized void clearAllCaches() {
+        for (int i = 0; i < hubs.size(); i++) {
+            hubs.get(i).clearCache();
+        }
+    }
+
+    /**
+     * Forget all the hubs. CommandOpMode calls this before init, since the devices from the
+     * previous opmode are gone.
+     */
+    public static synchronized void reset() {
+        hubs.clear();
+    }
+
+    private final OctoQuad device;
+    private final OctoQuad.EncoderDataBlock data = new OctoQuad.EncoderDataBlock();
+    private final OctoQuad.EncoderDataBlock scratch = new OctoQuad.EncoderDataBlock();
+    private boolean cached = false;
+    private long cachedLoop = -1;
+    private long readCount = 0;
+    private long invalidCount = 0;
+    private long dataNanos = 0;
+    private long dataSequence = 0;
+
+    private OctoquadHub(OctoQuad device) {
+        this.device = device;
+    }
+
+    /**
+     * @return The OctoQuad
+     */
+    public OctoQuad getDevice() {
+        return device;
+    }
+
+    /**
+     * Throw away the cached data, so the next read reads the OctoQuad
+     */
+    public void clearCache() {
+        cached = false;
+    }
+
+    /**
+     * Read the OctoQuad, unless it's already been read since the cache was cleared
+     *
+     * @return this (for chaining)
+     */
+    public OctoquadHub refresh() {
+        if (cached && LoopClock.isRunning() && cachedLoop == LoopClock.getLoopNumber()) {
+            return this;
+        }
+        long start = System.nanoTime();
+        device.readAllEncoderData(scratch);
+        long end = System.nanoTime();
+        readCount++;
+        cached = true;
+        cachedLoop = LoopClock.getLoopNumber();
+        if (!scratch.isDataValid()) {
+            // A bad CRC: keep the previous data for this loop (rather than reading it over and over)
+            invalidCount++;
+            return this;
+        }
+        System.arraycopy(scratch.positions, 0, data.positions, 0, data.positions.length);
+        System.arraycopy(scratch.velocities, 0, data.velocities, 0, data.velocities.length);
+        // The read is an I2C transaction that takes a while: the middle of it is when it was measured
+        dataNanos = start + (end - start) / 2;
+        dataSequence++;
+        return this;
+    }
+
+    /**
+     * @return When the most recent (valid) data was read (in System.nanoTime() units)
+     */
+    public long getDataNanos() {
+        return dataNanos;
+    }
+
+    /**
+     * @return The number of (valid) reads, which is the sequence number for samples of the data
+     */
+    public long getDataSequence() {
+        return dataSequence;
+    }
+
+    /**
+     * Get the position of a channel
+     *
+     * @param port The channel (0-7)
+     * @return The position (in ticks)
+     */
+    public int getPosition(int port) {
+        refresh();
+        return data.positions[port];
+    }
+
+    /**
+     * Get the velocity of a channel
+     *
+     * @param port The channel (0-7)
+     * @return The velocity (in ticks per velocity sample interval: see the OctoQuad docs)
+     */
+    public int getVelocity(int port) {
+        refresh();
+        return data.velocities[port];
+    }
+
+    /**
+     * @return The number of times all the channels have been read
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * @return The number of reads that failed their CRC check
+     */
+    public long getInvalidReadCount() {
+        return invalidCount;
+    }
+}
@@ -1,5 +1,18 @@
 package com.technototes.library.hardware.sensor.encoder;
 
+import com.technototes.library.hardware.Sample;
+
 public interface VelocityEncoder extends Encoder {
     double getVelocity();
+
+    /**
+     * Get the velocity, with the time it was measured (see {@link Sample}). The time is now, and
+     * the sequence number goes up on every call, unless the encoder overrides this.
+     *
+     * @param into The sample to fill in
+     * @return The sample
+     */
+    default Sample getVelocitySample(Sample into) {
+        return into.set(getVelocity(), System.nanoTime(), into.sequence + 1);
+    }
 }
@@ -0,0 +1,256 @@
+package com.technototes.library.hardware.sensor.encoder;
+
+import com.technototes.library.hardware.Sample;
+
+/**
+ * Estimates velocity from a series of timestamped encoder positions. The hub's own velocity is
+ * calculated over a fixed window (and only changes every 50ms or so), so for a flywheel or a
+ * turret, estimating it from the position every loop can be both smoother and quicker to respond.
+ * <p>
+ * There are three estimators:
+ * <ul>
+ *     <li>{@link #finiteDifference(int)}: the change in position over the last N samples. Simple,
+ *     but noisy when N is small.</li>
+ *     <li>{@link #leastSquares(int)}: the slope of a least-squares line through the last N
+ *     samples. Less noisy than the finite difference for the same window.</li>
+ *     <li>{@link #kalman(double, double)}: a constant-velocity Kalman filter, which weighs the
+ *     model's prediction against each new position, based on how noisy each one is.</li>
+ * </ul>
+ * None of them allocate anything after they're constructed.
+ */
+public interface VelocityEstimator {
+    /**
+     * Add a sample, and update the estimate
+     *
+     * @param position The position (in ticks)
+     * @param nanos    The time the position was read (in System.nanoTime() units)
+     * @return The velocity estimate (in ticks per second)
+     */
+    double update(double position, long nanos);
+
+    /**
+     * Add a sample (a position, and the time it was measured), and update the estimate
+     *
+     * @param position The position sample (in ticks)
+     * @return The velocity estimate (in ticks per second)
+     */
+    default double update(Sample position) {
+        return update(position.value, position.nanos);
+    }
+
+    /**
+     * @return The most recent velocity estimate (in ticks per second)
+     */
+    double getVelocity();
+
+    /**
+     * Forget all the samples (do this if the encoder is zeroed)
+     */
+    void reset();
+
+    /**
+     * Make an estimator that takes the change in position over the last N samples
+     *
+     * @param samples The number of samples to difference over (at least 1)
+     * @return The estimator
+     */
+    static VelocityEstimator finiteDifference(int samples) {
+        return new FiniteDifference(samples);
+    }
+
+    /**
+     * Make an estimator that fits a line to the last N samples
+     *
+     * @param samples The number of samples in the fit (at least 2)
+     * @return The estimator
+     */
+    static VelocityEstimator leastSquares(int samples) {
+        return new LeastSquares(samples);
+    }
+
+    /**
+     * Make a constant-velocity Kalman filter
+     *
+     * @param accelerationNoise How much the velocity is expected to change, as the standard
+     *                          deviation of the acceleration (in ticks/s^2)
+     * @param positionNoise     How noisy the position is (standard deviation, in ticks)
+     * @return The estimator
+     */
+    static VelocityEstimator kalman(double accelerationNoise, double positionNoise) {
+        return new Kalman(accelerationNoise, positionNoise);
+    }
+
+    /**
+     * A fixed-size ring of samples, for the windowed estimators
+     */
+    abstract class Windowed implements VelocityEstimator {
+
+        protected final double[] positions;
+        protected final long[] times;
+        protected int count = 0;
+        protected int next = 0;
+        protected double velocity = 0;
+
+        protected Windowed(int size) {
+            positions = new double[size];
+            times = new long[size];
+        }
+
+        // The i'th most recent sample (0 is the newest)
+        protected int index(int i) {
+            int n = next - 1 - i;
+            return n < 0 ? n + positions.length : n;
+        }
+
+        @Override
+        public double update(double position, long nanos) {
+            if (count > 0 && times[index(0)] == nanos) {
+                // Same sample as last time (the snapshot wasn't refreshed)
+                return velocity;
+            }
+            positions[next] = position;
+            times[next] = nanos;
+            next = (next + 1) % positions.length;
+            if (count < positions.length) {
+                count++;
+            }
+            if (count > 1) {
+                velocity = estimate();
+            }
+            return velocity;
+        }
+
+        protected abstract double estimate();
+
+        @Override
+        public double getVelocity() {
+            return velocity;
+        }
+
+        @Override
+        public void reset() {
+            count = 0;
+            next = 0;
+            velocity = 0;
+        }
+    }
+
+    /**
+     * The change in position over the last N samples
+     */
+    final class FiniteDifference extends Windowed {
+
+        public FiniteDifference(int samples) {
+            super(Math.max(samples, 1) + 1);
+        }
+
+        @Override
+        protected double estimate() {
+            int newest = index(0);
+            int oldest = index(count - 1);
+            double dt = (times[newest] - times[oldest]) / 1e9;
+            return dt > 0 ? (positions[newest] - positions[oldest]) / dt : velocity;
+        }
+    }
+
+    /**
+     * The slope of the least-squares line through the last N samples
+     */
+    final class LeastSquares extends Windowed {
+
+        public LeastSquares(int samples) {
+            super(Math.max(samples, 2));
+        }
+
+        @Override
+        protected double estimate() {
+            // Times are relative to the newest sample, to keep the numbers small
+            long t0 = times[index(0)];
+            double sumT = 0, sumP = 0;
+            for (int i = 0; i < count; i++) {
+                int n = index(i);
+                sumT += (times[n] - t0) / 1e9;
+                sumP += positions[n];
+            }
+            double meanT = sumT / count;
+            double meanP = sumP / count;
+            double num = 0, den = 0;
+            for (int i = 0; i < count; i++) {
+                int n = index(i);
+                double dt = (times[n] - t0) / 1e9 - meanT;
+                num += dt * (positions[n] - meanP);
+                den += dt * dt;
+            }
+            return den > 0 ? num / den : velocity;
+        }
+    }
+
+    /**
+     * A two-state (position &amp; velocity) Kalman filter, with a constant velocity model and
+     * position measurements
+     */
+    final class Kalman implements VelocityEstimator {
+
+        private final double q;
+        private final double r;
+        private double p;
+        private double v;
+        // The covariance matrix: [[p00, p01], [p01, p11]]
+        private double p00, p01, p11;
+        private long lastNanos;
+        private boolean initialized = false;
+
+        public Kalman(double accelerationNoise, double positionNoise) {
+            q = accelerationNoise * accelerationNoise;
+            r = positionNoise * positionNoise;
+        }
+
+        @Override
+        public double update(double position, long nanos) {
+            if (!initialized) {
+                p = position;
+                v = 0;
+                p00 = r;
+                p01 = 0;
+                // We have no idea how fast it's going: start with a big velocity variance
+                p11 = 1e8;
+                lastNanos = nanos;
+                initialized = true;
+                return v;
+            }
+            double dt = (nanos - lastNanos) / 1e9;
+            if (dt <= 0) {
+                return v;
+            }
+            lastNanos = nanos;
+            // Predict: x = F x, P = F P F' + Q (with white-noise acceleration)
+            p += v * dt;
+            double dt2 = dt * dt;
+            double n00 = p00 + 2 * dt * p01 + dt2 * p11 + q * dt2 * dt / 3;
+            double n01 = p01 + dt * p11 + q * dt2 / 2;
+            double n11 = p11 + q * dt;
+            // Update with the measured position
+            double s = n00 + r;
+            double k0 = n00 / s;
+            double k1 = n01 / s;
+            double innovation = position - p;
+            p += k0 * innovation;
+            v += k1 * innovation;
+            p00 = (1 - k0) * n00;
+            p01 = (1 - k0) * n01;
+            p11 = n11 - k1 * n01;
+            return v;
+        }
+
+        @Override
+        public double getVelocity() {
+            return v;
+        }
+
+        @Override
+        public void reset() {
+            initialized = false;
+            v = 0;
+        }
+    }
+}
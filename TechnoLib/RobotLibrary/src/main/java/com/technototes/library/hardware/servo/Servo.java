@@ -87,8 +87,12 @@ public class Servo
      * @param position The position to set the servo to
      */
     public void setPosition(double position) {
+        if (areWritesSuppressed()) {
+            return;
+        }
         this.pos = Range.clip(!inverted ? position : 1 - position, 0, 1);
         getRawDevice().setPosition(this.pos);
+        count(Transaction.WRITE);
     }
 
     public void incrementPosition(double incAmount) {
@@ -2,6 +2,7 @@ package com.technototes.library.hardware.servo;
 
 import com.qualcomm.robotcore.util.ElapsedTime;
 import com.qualcomm.robotcore.util.Range;
+import com.technototes.library.util.LoopClock;
 
 // TODO: Make this use a normal Servo on not a technototes servo
 public class ServoProfiler {
@@ -11,6 +12,10 @@ public class ServoProfiler {
     private final ElapsedTime deltaTime;
     private double delta;
     private double proportion;
+    private boolean useLoopClock;
+    // NaN until there's a loop clock timestamp to measure from
+    private double lastUpdateSeconds = Double.NaN;
+    private long lastUpdateNanos;
 
     public static class Constraints {
 
@@ -41,6 +46,7 @@ public class ServoProfiler {
         setTargetTolerance(0.01);
         deltaTime = new ElapsedTime();
         delta = 0;
+        lastUpdateNanos = System.nanoTime();
     }
 
     public ServoProfiler setConstraints(double vel, double accel, double prop) {
@@ -62,9 +68,23 @@ public class ServoProfiler {
     public ServoProfiler setTargetPosition(double target) {
         targetPosition = target;
         deltaTime.reset();
+        lastUpdateSeconds = loopClockSeconds();
+        lastUpdateNanos = System.nanoTime();
         return this;
     }
 
+    // Use the LoopClock's dt (when it's running) instead of a private ElapsedTime
+    public ServoProfiler setUseLoopClock(boolean use) {
+        useLoopClock = use;
+        lastUpdateSeconds = loopClockSeconds();
+        return this;
+    }
+
+    // The loop clock's time, or NaN if it's not running (it's stale from the last opmode)
+    private static double loopClockSeconds() {
+        return LoopClock.isRunning() ? LoopClock.seconds() : Double.NaN;
+    }
+
     public ServoProfiler translateTargetPosition(double translation) {
         return setTargetPosition(Range.clip(0, targetPosition + translation, 1));
     }
@@ -76,13 +96,38 @@ public class ServoProfiler {
 
     // fun method to update servo
     public ServoProfiler update() {
+        // if at the target dont do anything
+        if (isAtTarget()) return this;
+        double deltaSec;
+        if (useLoopClock && LoopClock.isRunning() && !Double.isNaN(lastUpdateSeconds)) {
+            deltaSec = LoopClock.seconds() - lastUpdateSeconds;
+            lastUpdateSeconds = LoopClock.seconds();
+        } else {
+            // The first update with the loop clock starts measuring from now
+            lastUpdateSeconds = loopClockSeconds();
+            // get the change in time, then reset the timer instantly
+            deltaSec = deltaTime.seconds();
+            deltaTime.reset();
+        }
+        return update(deltaSec);
+    }
+
+    // update the servo as of a timestamp (System.nanoTime() units): the time of the sample the loop
+    // is acting on (see Sample), or LoopClock.nanos(), so dt is the time between those rather than
+    // between the calls
+    public ServoProfiler updateAt(long nanos) {
+        if (isAtTarget()) return this;
+        double deltaSec = Math.max(nanos - lastUpdateNanos, 0) / 1e9;
+        lastUpdateNanos = Math.max(nanos, lastUpdateNanos);
+        return update(deltaSec);
+    }
+
+    // update the servo for a time step of deltaSec seconds
+    public ServoProfiler update(double deltaSec) {
         // if at the target dont do anything
         if (isAtTarget()) return this;
         // set the past delta pos
         double pastDelta = delta;
-        // get the change in time, then reset the timer instantly
-        double deltaSec = deltaTime.seconds();
-        deltaTime.reset();
 
         // generate the new change in servo pos.
         // range.clip makes the change fit the max constraints
@@ -0,0 +1,361 @@
+package com.technototes.library.logger;
+
+import android.util.Log;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Capture rows of numbers to a CSV file, without slowing down the loop. This is for tuning op
+ * modes, where you want to record 100 samples a second for a few minutes and look at them in a
+ * spreadsheet afterwards.
+ * <p>
+ * The loop (the only "producer") copies each row into a preallocated ring buffer of doubles, and
+ * a background thread (the only "consumer") writes the rows to the file in batches. There are no
+ * locks, and adding a row doesn't allocate anything. The writer formats each row into a
+ * preallocated char array (six decimal places, or scientific notation for huge or tiny values), so it
+ * doesn't make garbage either. If the writer falls so far behind that the ring fills up, new rows
+ * are dropped (and counted) rather than making the loop wait.
+ * <p>
+ * Usage:
+ * <pre>
+ * DataCapture capture = DataCapture.open("flywheel", "power", "velocity", "current");
+ * ...
+ * // in the loop:
+ * if (capture.begin()) {
+ *     capture.put(power).put(velocity).put(current).commit();
+ * }
+ * ...
+ * // when the opmode stops:
+ * capture.close();
+ * </pre>
+ * The first column of the file is always the time (in seconds) since the capture started.
+ */
+public class DataCapture implements AutoCloseable {
+
+    /**
+     * The default number of rows the ring buffer can hold
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // How long the writer thread sleeps when there's nothing to write
+    private static final long IDLE_NANOS = 10_000_000;
+    // More characters than a formatted value can take ("-999999999999.999999" is 20)
+    private static final int MAX_VALUE_CHARS = 32;
+    private static final char[] INFINITY = "Infinity".toCharArray();
+
+    private final int columns;
+    private final int stride;
+    private final int capacity;
+    private final double[] ring;
+    // The producer writes head, the consumer writes tail. Each side only ever reads the other's.
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final File file;
+    private final Writer writer;
+    private final Thread thread;
+    private final long startNanos;
+    private volatile boolean closing = false;
+    private volatile IOException failure = null;
+    private long dropped = 0;
+    private int slot = -1;
+    private int column = 0;
+
+    /**
+     * Start capturing to a new file in the log directory (see {@link LogFiles}). If the file can't
+     * be created, this logs why, and returns a capture that drops every row (so the caller doesn't
+     * have to check: {@link #getFailure()} has the error).
+     *
+     * @param prefix The start of the file name
+     * @param names  The names of the columns (not including the time, which is always first)
+     * @return The capture
+     */
+    public static DataCapture open(String prefix, String... names) {
+        try {
+            return new DataCapture(prefix, names);
+        } catch (IOException e) {
+            Log.w("TechnoLib", "Unable to start capturing " + prefix, e);
+            return new DataCapture(e, names.length);
+        }
+    }
+
+    // A capture that couldn't be started: it's already closed, so every row is dropped
+    private DataCapture(IOException e, int columns) {
+        file = null;
+        capacity = 0;
+        this.columns = columns;
+        stride = columns + 1;
+        ring = new double[0];
+        writer = null;
+        thread = null;
+        startNanos = System.nanoTime();
+        closing = true;
+        failure = e;
+    }
+
+    /**
+     * Start capturing to a new file in the log directory (see {@link LogFiles})
+     *
+     * @param prefix The start of the file name
+     * @param names  The names of the columns (not including the time, which is always first)
+     * @throws IOException If the file can't be created
+     */
+    public DataCapture(String prefix, String... names) throws IOException {
+        this(LogFiles.newFile(prefix, "csv"), DEFAULT_CAPACITY, names);
+    }
+
+    /**
+     * Start capturing to a file
+     *
+     * @param file     The file to write
+     * @param capacity The number of rows the ring buffer can hold
+     * @param names    The names of the columns (not including the time, which is always first)
+     * @throws IOException If the file can't be created
+     */
+    public DataCapture(File file, int capacity, String... names) throws IOException {
+        this.file = file;
+        this.capacity = capacity;
+        columns = names.length;
+        stride = columns + 1;
+        ring = new double[capacity * stride];
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        writer.write("time");
+        for (String n : names) {
+            writer.write(',');
+            writer.write(n);
+        }
+        writer.write('\n');
+        startNanos = System.nanoTime();
+        thread = new Thread(this::drain, "TechnoLib capture " + file.getName());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Start a new row. The time column is filled in automatically.
+     *
+     * @return False if the ring buffer is full (the row will be dropped: don't bother putting
+     * anything in it)
+     */
+    public boolean begin() {
+        long h = head.get();
+        if (closing || h - tail.get() >= capacity) {
+            dropped++;
+            slot = -1;
+            return false;
+        }
+        slot = (int) (h % capacity) * stride;
+        ring[slot] = (System.nanoTime() - startNanos) / 1e9;
+        column = 1;
+        return true;
+    }
+
+    /**
+     * Put the next value in the current row. Values past the last column are ignored.
+     *
+     * @param value The value
+     * @return This (for chaining)
+     */
+    public DataCapture put(double value) {
+        if (slot >= 0 && column < stride) {
+            ring[slot + column++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Put a boolean (as 1 or 0) in the current row
+     *
+     * @param value The value
+     * @return This (for chaining)
+     */
+    public DataCapture put(boolean value) {
+        return put(value ? 1.0 : 0.0);
+    }
+
+    /**
+     * Finish the current row, and hand it to the writer thread. Any columns that weren't put are
+     * left empty.
+     */
+    public void commit() {
+        if (slot < 0) {
+            return;
+        }
+        while (column < stride) {
+            ring[slot + column++] = Double.NaN;
+        }
+        slot = -1;
+        // lazySet is a "release" store: the consumer sees the row before it sees the new head
+        head.lazySet(head.get() + 1);
+    }
+
+    private void drain() {
+        char[] row = new char[stride * MAX_VALUE_CHARS + 1];
+        try {
+            while (true) {
+                long t = tail.get();
+                long h = head.get();
+                if (t == h) {
+                    if (closing) {
+                        // A row committed just before close() may not have been in h: look again
+                        if (head.get() == t) {
+                            break;
+                        }
+                        continue;
+                    }
+                    writer.flush();
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                for (; t < h; t++) {
+                    int base = (int) (t % capacity) * stride;
+                    int len = 0;
+                    for (int c = 0; c < stride; c++) {
+                        if (c > 0) {
+                            row[len++] = ',';
+                        }
+                        len = format(ring[base + c], row, len);
+                    }
+                    row[len++] = '\n';
+                    writer.write(row, 0, len);
+                }
+                tail.lazySet(h);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    // Format a value into buf at pos, and return the position after it. NaN is left empty.
+    static int format(double d, char[] buf, int pos) {
+        if (Double.isNaN(d)) {
+            return pos;
+        }
+        boolean negative = d < 0;
+        d = Math.abs(d);
+        if (Double.isInfinite(d)) {
+            if (negative) {
+                buf[pos++] = '-';
+            }
+            System.arraycopy(INFINITY, 0, buf, pos, INFINITY.length);
+            return pos + INFINITY.length;
+        }
+        int exponent = 0;
+        if (d >= 1e12 || (d >= 1e-300 && d < 1e-3)) {
+            // (Anything smaller than 1e-300 is written as 0)
+            exponent = (int) Math.floor(Math.log10(d));
+            d /= Math.pow(10, exponent);
+            if (d < 1) {
+                // log10 came out a hair high
+                d *= 10;
+                exponent--;
+            }
+        }
+        long scaled = Math.round(d * 1e6);
+        if (exponent != 0 && scaled >= 10_000_000) {
+            // Rounding carried into another digit (9.9999999 -> 10.000000)
+            scaled /= 10;
+            exponent++;
+        }
+        if (negative && scaled != 0) {
+            buf[pos++] = '-';
+        }
+        pos = formatLong(scaled / 1_000_000, buf, pos);
+        int fraction = (int) (scaled % 1_000_000);
+        if (fraction != 0) {
+            buf[pos++] = '.';
+            int digits = 6;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                buf[pos + i] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            pos += digits;
+        }
+        if (exponent != 0) {
+            buf[pos++] = 'E';
+            if (exponent < 0) {
+                buf[pos++] = '-';
+            }
+            pos = formatLong(Math.abs(exponent), buf, pos);
+        }
+        return pos;
+    }
+
+    // Format a non-negative number into buf at pos, and return the position after it
+    private static int formatLong(long n, char[] buf, int pos) {
+        int digits = 1;
+        for (long rest = n / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            buf[pos + i] = (char) ('0' + n % 10);
+            n /= 10;
+        }
+        return pos + digits;
+    }
+
+    /**
+     * Stop capturing: write everything that's been committed, and close the file. This waits for
+     * the writer thread to finish.
+     */
+    @Override
+    public void close() {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The file being written
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The number of rows that were dropped because the ring buffer was full
+     */
+    public long getDroppedRows() {
+        return dropped;
+    }
+
+    /**
+     * @return The number of rows waiting to be written
+     */
+    public int getBacklog() {
+        return (int) (head.get() - tail.get());
+    }
+
+    /**
+     * @return The error that stopped the writer thread (or null if nothing has gone wrong)
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,175 @@
+package com.technototes.library.logger;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a file written by the {@link FlightRecorder} and turns it into a CSV. This is meant to be
+ * run on a computer, after pulling the file off the robot:
+ * <pre>
+ * adb pull /sdcard/FIRST/technolib/flight-20250101-123456.tfl
+ * java FlightLogReader.java flight-20250101-123456.tfl [output.csv]
+ * </pre>
+ * It only uses the standard library, so it doesn't need anything else from TechnoLib.
+ */
+public class FlightLogReader {
+
+    // These match FlightRecorder, but are copied so this file can be run on its own
+    private static final int MAGIC = 0x54464c31;
+    private static final int VERSION = 1;
+    private static final byte TYPE_BOOLEAN = 1;
+
+    private final String[] names;
+    private final boolean[] isBoolean;
+    private final long startMillis;
+    private final ByteBuffer data;
+    private final long dataEnd;
+
+    /**
+     * Read (and check) the header of a flight recorder file
+     *
+     * @param file The file
+     * @throws IOException If the file can't be read, or isn't a flight recorder file
+     */
+    public FlightLogReader(File file) throws IOException {
+        data = ByteBuffer.wrap(readAll(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.getInt() != MAGIC) {
+            throw new IOException(file + " isn't a flight recorder file");
+        }
+        int version = data.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported flight recorder version " + version);
+        }
+        dataEnd = data.getLong();
+        startMillis = data.getLong();
+        data.getInt(); // rows per block: each block says how many rows it has
+        int columns = data.getInt();
+        names = new String[columns];
+        isBoolean = new boolean[columns];
+        for (int i = 0; i < columns; i++) {
+            isBoolean[i] = data.get() == TYPE_BOOLEAN;
+            byte[] name = new byte[data.getShort()];
+            data.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Not Files.readAllBytes: that's API 26, and this is also built into the robot controller app
+    private static byte[] readAll(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            in.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return The names of the recorded columns (not including the timestamp &amp; loop number)
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * @return The wall clock time the recording started (ms since the epoch)
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Write all the rows to a CSV file. The first two columns are the time (in seconds since the
+     * recording started) and the loop number.
+     *
+     * @param out Where to write the CSV
+     * @return The number of rows written
+     */
+    public int writeCsv(PrintWriter out) {
+        out.print("time,loop");
+        for (String n : names) {
+            out.print(',');
+            out.print(quote(n));
+        }
+        out.println();
+        int total = 0;
+        Object[] columns = new Object[names.length];
+        while (data.position() + 4 <= dataEnd) {
+            int rows = data.getInt();
+            long[] times = new long[rows];
+            int[] loops = new int[rows];
+            for (int r = 0; r < rows; r++) {
+                times[r] = data.getLong();
+            }
+            for (int r = 0; r < rows; r++) {
+                loops[r] = data.getInt();
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (isBoolean[i]) {
+                    byte[] col = new byte[rows];
+                    data.get(col);
+                    columns[i] = col;
+                } else {
+                    double[] col = new double[rows];
+                    for (int r = 0; r < rows; r++) {
+                        col[r] = data.getDouble();
+                    }
+                    columns[i] = col;
+                }
+            }
+            for (int r = 0; r < rows; r++) {
+                out.print(times[r] / 1e9);
+                out.print(',');
+                out.print(loops[r]);
+                for (int i = 0; i < names.length; i++) {
+                    out.print(',');
+                    Object col = columns[i];
+                    if (isBoolean[i]) {
+                        out.print(((byte[]) col)[r] != 0);
+                    } else {
+                        double d = ((double[]) col)[r];
+                        if (!Double.isNaN(d)) {
+                            out.print(d);
+                        }
+                    }
+                }
+                out.println();
+            }
+            total += rows;
+        }
+        out.flush();
+        return total;
+    }
+
+    private static String quote(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Convert a flight recorder file to CSV
+     *
+     * @param args The input file, and (optionally) the output file
+     * @throws IOException If something can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: FlightLogReader <file.tfl> [output.csv]");
+            return;
+        }
+        File in = new File(args[0]);
+        File outFile = new File(args.length > 1 ? args[1] : args[0].replaceAll("\\.tfl$", "") + ".csv");
+        FlightLogReader reader = new FlightLogReader(in);
+        try (PrintWriter out = new PrintWriter(outFile, "UTF-8")) {
+            int rows = reader.writeCsv(out);
+            System.out.println("Wrote " + rows + " rows to " + outFile);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.technototes.library.logger;
+
+import android.util.Log;
+import com.technototes.library.logger.entry.BooleanEntry;
+import com.technototes.library.logger.entry.Entry;
+import com.technototes.library.util.LoopClock;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A "flight data recorder" for the robot: every loop, it records the value of every logged entry
+ * (everything with an @Log annotation) along with the loop timestamp, into a binary file on the
+ * robot controller. Telemetry only shows you what's on the screen right now; this lets you go back
+ * and look at what actually happened during a match.
+ * <p>
+ * The file is memory mapped, and the rows are buffered into blocks of primitive arrays, so
+ * recording a loop doesn't allocate anything (as long as the logged values are primitive fields:
+ * methods that return boxed values still box). Because the header keeps track of how much data has
+ * been written, the file is readable even if the app dies in the middle of a match. The file is
+ * mapped at its maximum size, and cut back to what was actually written when it's closed.
+ * <p>
+ * Only numbers &amp; booleans are recorded: entries whose value is something else (a String, or
+ * any other object) when the recorder is created are left out of the file entirely.
+ * <p>
+ * Use {@link FlightLogReader} on a computer to turn the file into a CSV.
+ * <p>
+ * The file format (all little endian):
+ * <pre>
+ * int    magic ('TFL1')
+ * int    format version
+ * long   end of the valid data (updated after each block is written)
+ * long   wall clock start time (ms since the epoch)
+ * int    rows per block
+ * int    column count (not counting the timestamp &amp; loop number)
+ * columns: byte type (0 = double, 1 = boolean), short name length, UTF-8 name bytes
+ * blocks: int row count, long[rows] timestamps (ns since the start), int[rows] loop numbers,
+ *         then each column: double[rows] or byte[rows]
+ * </pre>
+ */
+public class FlightRecorder {
+
+    /**
+     * The magic number at the start of the file
+     */
+    public static final int MAGIC = 0x54464c31;
+    /**
+     * The version of the file format
+     */
+    public static final int VERSION = 1;
+    /**
+     * The column type for numbers
+     */
+    public static final byte TYPE_DOUBLE = 0;
+    /**
+     * The column type for booleans
+     */
+    public static final byte TYPE_BOOLEAN = 1;
+    /**
+     * The default maximum size of the file (in bytes)
+     */
+    public static final int DEFAULT_CAPACITY = 32 * 1024 * 1024;
+    /**
+     * The default number of rows in a block
+     */
+    public static final int DEFAULT_BLOCK_ROWS = 50;
+
+    // Where the "end of valid data" pointer lives in the header
+    private static final int DATA_END_OFFSET = 8;
+
+    private final Entry<?>[] entries;
+    private final boolean[] isBoolean;
+    private final int blockRows;
+    private final long[] times;
+    private final int[] loops;
+    private final double[][] values;
+    private final int blockBytes;
+    private final File file;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer buffer;
+    private final long startNanos;
+    private int row = 0;
+    private boolean full = false;
+    private boolean closed = false;
+    private long droppedRows = 0;
+
+    /**
+     * Create a recorder for all the entries in the logger, in a new file in the log directory
+     *
+     * @param logger The logger
+     * @throws IOException If the file can't be created
+     */
+    public FlightRecorder(Logger logger) throws IOException {
+        this(logger, LogFiles.newFile("flight", "tfl"), DEFAULT_CAPACITY, DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Create a recorder for all the entries in the logger
+     *
+     * @param logger    The logger
+     * @param file      The file to write
+     * @param capacity  The maximum size of the file, in bytes (recording stops when it's full)
+     * @param blockRows The number of rows to buffer before writing them out
+     * @throws IOException If the file can't be created
+     */
+    public FlightRecorder(Logger logger, File file, int capacity, int blockRows) throws IOException {
+        this.entries = recordable(logger.getAllEntries());
+        this.blockRows = blockRows;
+        this.file = file;
+        isBoolean = new boolean[entries.length];
+        values = new double[entries.length][blockRows];
+        times = new long[blockRows];
+        loops = new int[blockRows];
+        int rowBytes = 8 + 4;
+        for (int i = 0; i < entries.length; i++) {
+            isBoolean[i] = entries[i] instanceof BooleanEntry;
+            rowBytes += isBoolean[i] ? 1 : 8;
+        }
+        blockBytes = 4 + rowBytes * blockRows;
+
+        raf = new RandomAccessFile(file, "rw");
+        buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader();
+        startNanos = System.nanoTime();
+    }
+
+    // Strings don't have a numeric value, so they'd just be a column of NaN
+    private static Entry<?>[] recordable(Entry<?>[] all) {
+        List<Entry<?>> keep = new ArrayList<>();
+        for (Entry<?> e : all) {
+            if (e.isNumeric()) {
+                keep.add(e);
+            }
+        }
+        return keep.toArray(new Entry<?>[0]);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(0);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putInt(blockRows);
+        buffer.putInt(entries.length);
+        for (int i = 0; i < entries.length; i++) {
+            String name = entries[i].getName();
+            if (name == null || name.trim().isEmpty()) {
+                name = "column" + i;
+            }
+            byte[] bytes = name.trim().getBytes(StandardCharsets.UTF_8);
+            buffer.put(isBoolean[i] ? TYPE_BOOLEAN : TYPE_DOUBLE);
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.putLong(DATA_END_OFFSET, buffer.position());
+    }
+
+    /**
+     * Record the current value of every entry. CommandOpMode calls this once per loop, if the
+     * recorder is enabled.
+     */
+    public void record() {
+        if (closed) {
+            return;
+        }
+        if (full) {
+            droppedRows++;
+            return;
+        }
+        long now = LoopClock.isRunning() ? LoopClock.nanos() : System.nanoTime();
+        times[row] = now - startNanos;
+        loops[row] = (int) LoopClock.getLoopNumber();
+        for (int i = 0; i < entries.length; i++) {
+            values[i][row] = entries[i].getAsDouble();
+        }
+        if (++row == blockRows) {
+            flush();
+        }
+    }
+
+    /**
+     * Write the buffered rows out to the file (even if the block isn't full)
+     */
+    public void flush() {
+        if (row == 0 || closed) {
+            return;
+        }
+        if (buffer.remaining() < blockBytes) {
+            full = true;
+            droppedRows += row;
+            row = 0;
+            return;
+        }
+        buffer.putInt(row);
+        for (int r = 0; r < row; r++) {
+            buffer.putLong(times[r]);
+        }
+        for (int r = 0; r < row; r++) {
+            buffer.putInt(loops[r]);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            double[] col = values[i];
+            if (isBoolean[i]) {
+                for (int r = 0; r < row; r++) {
+                    buffer.put(col[r] != 0 ? (byte) 1 : (byte) 0);
+                }
+            } else {
+                for (int r = 0; r < row; r++) {
+                    buffer.putDouble(col[r]);
+                }
+            }
+        }
+        // Only move the end pointer once the whole block is there
+        buffer.putLong(DATA_END_OFFSET, buffer.position());
+        row = 0;
+    }
+
+    /**
+     * Flush whatever's left, and close the file (truncated to the data that was written)
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        buffer.force();
+        try {
+            // Otherwise every run leaves a file the full capacity in size
+            raf.setLength(buffer.getLong(DATA_END_OFFSET));
+        } catch (IOException e) {
+            Log.w("TechnoLib", "Couldn't truncate " + file, e);
+        }
+        try {
+            raf.close();
+        } catch (IOException e) {
+            Log.w("TechnoLib", "Couldn't close " + file, e);
+        }
+    }
+
+    /**
+     * @return The file being written
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return True if the file filled up (so recording has stopped)
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return The number of rows that weren't recorded because the file was full
+     */
+    public long getDroppedRows() {
+        return droppedRows;
+    }
+
+    /**
+     * @return The number of columns being recorded (not counting the timestamp &amp; loop number)
+     */
+    public int getColumnCount() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.technototes.library.logger;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Where the on-robot log files (flight recordings, captures, traces, etc...) go. They're all
+ * written to the same directory on the robot controller, and named with a prefix and a timestamp,
+ * so they're easy to find (and pull off with adb) after a match.
+ */
+public final class LogFiles {
+
+    /**
+     * The default directory for log files (next to the rest of the FIRST files)
+     */
+    public static final String DEFAULT_DIRECTORY = "/sdcard/FIRST/technolib";
+
+    private static File directory = new File(DEFAULT_DIRECTORY);
+
+    private LogFiles() {}
+
+    /**
+     * Change the directory log files are written to
+     *
+     * @param dir The directory
+     */
+    public static void setDirectory(File dir) {
+        directory = dir;
+    }
+
+    /**
+     * @return The directory log files are written to
+     */
+    public static File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Make a new file in the log directory, named like "prefix-20250101-123456.ext". The directory
+     * is created if it doesn't exist yet.
+     *
+     * @param prefix    The start of the file name
+     * @param extension The file extension (without the dot)
+     * @return The file (which hasn't been created yet)
+     */
+    public static File newFile(String prefix, String extension) {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ENGLISH).format(new Date());
+        File f = new File(directory, prefix + "-" + stamp + "." + extension);
+        for (int i = 1; f.exists(); i++) {
+            f = new File(directory, prefix + "-" + stamp + "-" + i + "." + extension);
+        }
+        return f;
+    }
+}
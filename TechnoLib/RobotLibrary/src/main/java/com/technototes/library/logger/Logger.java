@@ -157,6 +157,19 @@ public class Logger {
         } catch (Exception ignored) {}
     }
 
+    /**
+     * Get every entry (init and run) exactly once, in a stable order. This is what the
+     * {@link FlightRecorder} builds its schema from.
+     *
+     * @return All the entries
+     */
+    public Entry<?>[] getAllEntries() {
+        Set<Entry<?>> all = new LinkedHashSet<>();
+        all.addAll(Arrays.asList(runEntries));
+        all.addAll(Arrays.asList(initEntries));
+        return all.toArray(new Entry<?>[0]);
+    }
+
     /**
      * Update the logged run items in temeletry
      */
@@ -183,18 +196,43 @@ public class Logger {
     }
 
     private void set(Annotation[] a, Field m, Object root) {
-        set(a, () -> {
+        Entry<?> e = set(a, () -> {
             try {
                 return m.get(root);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+            } catch (IllegalAccessException ex) {
+                ex.printStackTrace();
             }
             return null;
         });
+        if (e != null) {
+            setPrimitive(e, m, root);
+        }
+    }
+
+    // Primitive fields can be read without boxing, which the FlightRecorder cares about
+    private static void setPrimitive(Entry<?> e, Field f, Object root) {
+        Class<?> type = f.getType();
+        if (type == boolean.class) {
+            e.setPrimitive(() -> {
+                try {
+                    return f.getBoolean(root) ? 1.0 : 0.0;
+                } catch (IllegalAccessException ex) {
+                    return Double.NaN;
+                }
+            });
+        } else if (type.isPrimitive() && type != char.class) {
+            e.setPrimitive(() -> {
+                try {
+                    return f.getDouble(root);
+                } catch (IllegalAccessException ex) {
+                    return Double.NaN;
+                }
+            });
+        }
     }
 
     @SuppressWarnings({ "unchecked" })
-    private void set(Annotation[] a, Supplier<?> m) {
+    private Entry<?> set(Annotation[] a, Supplier<?> m) {
         boolean init = false,
             run = true;
         Entry<?> e = null;
@@ -227,6 +265,7 @@ public class Logger {
                 unindexedRunEntries.add(e);
             }
         }
+        return e;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.technototes.library.logger.entry;
 
+import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -26,6 +27,10 @@ public abstract class Entry<T> implements Supplier<T> {
      * The name of the Entry
      */
     protected String name;
+    /**
+     * An optional function that reads the value without boxing it (for primitive fields)
+     */
+    protected DoubleSupplier primitive;
 
     /**
      * Create an entry with name, value, index
@@ -56,6 +61,52 @@ public abstract class Entry<T> implements Supplier<T> {
         return supplier.get();
     }
 
+    /**
+     * Set a function to read the value as a primitive double, so that the value can be recorded
+     * without allocating anything
+     *
+     * @param p The function
+     * @return Self (for chaining)
+     */
+    public Entry<T> setPrimitive(DoubleSupplier p) {
+        primitive = p;
+        return this;
+    }
+
+    /**
+     * Check if the value is a number (or a boolean), so it means something as a double. A value
+     * that's null right now is assumed to be a number.
+     *
+     * @return False if the value is something else (like a String)
+     */
+    public boolean isNumeric() {
+        if (primitive != null) {
+            return true;
+        }
+        Object o = get();
+        return o == null || o instanceof Number || o instanceof Boolean;
+    }
+
+    /**
+     * Get the value as a double: Numbers are converted, booleans are 1 or 0, and anything else
+     * (like an actual String) is NaN. If a primitive function was set, it's used, so this doesn't
+     * allocate.
+     *
+     * @return The value as a double
+     */
+    public double getAsDouble() {
+        if (primitive != null) {
+            return primitive.getAsDouble();
+        }
+        Object o = get();
+        if (o instanceof Number) {
+            return ((Number) o).doubleValue();
+        } else if (o instanceof Boolean) {
+            return ((Boolean) o) ? 1.0 : 0.0;
+        }
+        return Double.NaN;
+    }
+
     /**
      * The String for the logged item
      *
@@ -1,12 +1,20 @@
 package com.technototes.library.structure;
 
+import android.util.Log;
 import com.qualcomm.hardware.lynx.LynxModule;
 import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import com.qualcomm.robotcore.util.ElapsedTime;
 import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.command.CommandTracer;
 import com.technototes.library.control.CommandGamepad;
 import com.technototes.library.hardware.HardwareDevice;
+import com.technototes.library.hardware.sensor.ColorClassifier;
+import com.technototes.library.hardware.sensor.encoder.OctoquadHub;
+import com.technototes.library.logger.FlightRecorder;
+import com.technototes.library.logger.LogFiles;
 import com.technototes.library.logger.Logger;
+import com.technototes.library.util.LoopClock;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -27,10 +35,27 @@ public abstract class CommandOpMode extends LinearOpMode {
 
     private Logger logger;
 
+    // Telemetry rendering is best-effort: it gets pushed to the next loop if we're over budget
+    private CommandScheduler.BestEffort initLoggerUpdate, runLoggerUpdate;
+
     private List<LynxModule> hubs;
 
     private boolean terminated = false;
 
+    private final PhasedLoop phasedLoop = new PhasedLoop();
+
+    private boolean recordFlightData = false;
+
+    private FlightRecorder flightRecorder;
+
+    private double watchdogStallMs = 0, watchdogHardLimitMs = 0;
+
+    private LoopWatchdog watchdog;
+
+    private boolean warmUpEnabled = false;
+
+    private final WarmUp warmUp = new WarmUp();
+
     /**
      * Get op mode state
      *
@@ -49,6 +74,105 @@ public abstract class CommandOpMode extends LinearOpMode {
         return logger;
     }
 
+    /**
+     * Control whether the read &amp; write phases for {@link com.technototes.library.general.Phased}
+     * subsystems use a separate thread for each hub (the default), or run on the opmode thread.
+     *
+     * @param useThreads True to read/write each hub from its own thread
+     */
+    public void setParallelHubIO(boolean useThreads) {
+        phasedLoop.setParallel(useThreads);
+    }
+
+    /**
+     * Run the loop at a fixed rate, rather than as fast as possible. Each loop will wait out the
+     * rest of the period after it's done. Loop timing stats are available from {@link LoopClock}.
+     *
+     * @param milliseconds The target loop period (zero to run as fast as possible)
+     */
+    public void setLoopPeriod(double milliseconds) {
+        LoopClock.setTargetPeriod(milliseconds);
+    }
+
+    /**
+     * Record every logged value, every loop, to a file on the robot controller (see
+     * {@link FlightRecorder}). Call this from uponInit: the recorder is created once the logger is.
+     *
+     * @param record True to record the op mode
+     */
+    public void setFlightRecording(boolean record) {
+        recordFlightData = record;
+    }
+
+    /**
+     * Get the flight recorder (if recording is turned on)
+     *
+     * @return The recorder, or null if nothing is being recorded
+     */
+    public FlightRecorder getFlightRecorder() {
+        return flightRecorder;
+    }
+
+    /**
+     * Watch for stalled loops (see {@link LoopWatchdog}). When a loop takes longer than the stall
+     * threshold, the opmode thread's stack is sampled and written to a log file, along with the
+     * command or subsystem that was running. Call this from uponInit: the watchdog starts once
+     * init is done.
+     *
+     * @param stallMs     How long a loop can take before it's captured (zero turns the watchdog off)
+     * @param hardLimitMs How long a loop can take before every motor is stopped (zero to never
+     *                    stop them)
+     */
+    public void setLoopWatchdog(double stallMs, double hardLimitMs) {
+        watchdogStallMs = stallMs;
+        watchdogHardLimitMs = hardLimitMs;
+    }
+
+    /**
+     * Get the loop watchdog (if it's turned on)
+     *
+     * @return The watchdog, or null if it's not running
+     */
+    public LoopWatchdog getLoopWatchdog() {
+        return watchdog;
+    }
+
+    /**
+     * Trace every command &amp; periodic (see {@link CommandTracer}). Call this from uponInit: when
+     * the opmode ends, the trace is written to a JSON file in the log directory, which can be
+     * loaded into chrome://tracing or ui.perfetto.dev.
+     *
+     * @param trace True to trace the op mode
+     */
+    public void setCommandTracing(boolean trace) {
+        if (trace) {
+            CommandTracer.enable();
+        } else {
+            CommandTracer.disable();
+        }
+    }
+
+    /**
+     * Warm up the loop's hot paths during init (see {@link WarmUp}), so the first loops after Start
+     * run at full speed. Every registered or scheduled {@link com.technototes.library.general.Warmable}
+     * is added once uponInit is done, so call this from uponInit. The times of the first loops
+     * after Start are logged either way (see {@link LoopClock#startSummary()}).
+     *
+     * @param warm True to warm up during init
+     */
+    public void setWarmUp(boolean warm) {
+        warmUpEnabled = warm;
+    }
+
+    /**
+     * Get the warm-up (to add paths to it)
+     *
+     * @return The warm-up
+     */
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
     /**
      * Get the opmode runtime
      *
@@ -61,43 +185,142 @@ public abstract class CommandOpMode extends LinearOpMode {
     @Override
     public final void runOpMode() {
         HardwareDevice.initMap(hardwareMap);
+        OctoquadHub.reset();
         opModeState = OpModeState.INIT;
         CommandScheduler.resetScheduler();
         CommandScheduler.setOpMode(this);
+        LoopClock.setTargetPeriod(0);
+        LoopClock.reset();
+        CommandTracer.disable();
+        CommandTracer.clear();
         hubs = hardwareMap.getAll(LynxModule.class);
         hubs.forEach(e -> e.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL));
         driverGamepad = new CommandGamepad(gamepad1);
         codriverGamepad = new CommandGamepad(gamepad2);
         opModeTimer.reset();
+        try {
+            runPhases();
+        } finally {
+            // Whether the opmode ended normally or threw, nothing can be left running or open
+            stopWatchdog();
+            phasedLoop.shutdown();
+            ColorClassifier.stopAll();
+            if (flightRecorder != null) {
+                flightRecorder.close();
+                flightRecorder = null;
+            }
+            if (CommandTracer.isEnabled()) {
+                CommandTracer.disable();
+                try {
+                    CommandTracer.write(LogFiles.newFile("trace", "json"));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            CommandTracer.clear();
+            CommandScheduler.resetScheduler();
+            LoopClock.reset();
+            opModeTimer.reset();
+        }
+    }
+
+    // Init, run & end (runOpMode does the setup & teardown around it)
+    private void runPhases() {
         uponInit();
         logger = new Logger(this);
+        initLoggerUpdate = new CommandScheduler.BestEffort(logger::initUpdate);
+        runLoggerUpdate = new CommandScheduler.BestEffort(logger::runUpdate);
+        if (recordFlightData) {
+            try {
+                flightRecorder = new FlightRecorder(logger);
+            } catch (IOException e) {
+                telemetry.addLine("Flight recorder failed: " + e.getMessage());
+            }
+        }
+        if (watchdogStallMs > 0) {
+            watchdog = new LoopWatchdog(Thread.currentThread(), watchdogStallMs, watchdogHardLimitMs);
+            watchdog.start();
+        }
+        if (warmUpEnabled) {
+            warmUp.addLibraryPaths().addAll(CommandScheduler.getWarmables());
+        }
         while (!(isStarted() && additionalInitConditions()) && !terminated && !isStopRequested()) {
+            LoopClock.tick();
+            loopStarted();
+            CommandScheduler.markLoopStart();
+            phasedLoop.read();
             initLoop();
             universalLoop();
             CommandScheduler.run();
-            logger.initUpdate();
+            phasedLoop.write();
+            recordFlight();
+            initLoggerUpdate.run();
             driverGamepad.periodic();
             codriverGamepad.periodic();
             hubs.forEach(LynxModule::clearBulkCache);
+            OctoquadHub.clearAllCaches();
+            HardwareDevice.endLoop();
+            if (warmUpEnabled) {
+                warmUp.step();
+            }
+            LoopClock.waitForNextLoop();
+        }
+        if (warmUpEnabled) {
+            Log.i("TechnoLib", warmUp.getReport());
         }
         opModeState = OpModeState.RUN;
+        loopStarted();
         CommandScheduler.run();
+        phasedLoop.write();
         uponStart();
         opModeTimer.reset();
+        LoopClock.markStart();
         while (opModeIsActive() && !terminated && !isStopRequested()) {
+            LoopClock.tick();
+            loopStarted();
+            CommandScheduler.markLoopStart();
+            phasedLoop.read();
             runLoop();
             universalLoop();
             CommandScheduler.run();
-            logger.runUpdate();
+            phasedLoop.write();
+            recordFlight();
+            runLoggerUpdate.run();
             driverGamepad.periodic();
             codriverGamepad.periodic();
             hubs.forEach(LynxModule::clearBulkCache);
+            OctoquadHub.clearAllCaches();
+            HardwareDevice.endLoop();
+            LoopClock.waitForNextLoop();
         }
         opModeState = OpModeState.END;
+        Log.i("TechnoLib", LoopClock.startSummary());
+        // end() isn't a loop, so reads shouldn't come from the last loop's cache
+        LoopClock.stop();
+        // It also isn't a loop, so the watchdog would think it's a stall
+        stopWatchdog();
         end();
         CommandScheduler.run();
-        CommandScheduler.resetScheduler();
-        opModeTimer.reset();
+        phasedLoop.write();
+    }
+
+    private void stopWatchdog() {
+        if (watchdog != null) {
+            watchdog.stop();
+            watchdog = null;
+        }
+    }
+
+    private void loopStarted() {
+        if (watchdog != null) {
+            watchdog.loopStarted();
+        }
+    }
+
+    private void recordFlight() {
+        if (flightRecorder != null) {
+            flightRecorder.record();
+        }
     }
 
     /**
@@ -0,0 +1,256 @@
+package com.technototes.library.structure;
+
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.hardware.HardwareDevice;
+import com.technototes.library.logger.LogFiles;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A watchdog for the opmode loop. CommandOpMode tells it when each loop starts, and a background
+ * thread checks that the loops keep coming. If a loop runs longer than the stall threshold (an
+ * I2C device hung, a vision call is blocking, something's spinning forever), it samples the
+ * opmode thread's stack a few times, notes which command or subsystem the scheduler was running,
+ * and writes all that to a log file, so there's something to look at besides "the robot froze".
+ * <p>
+ * If a hard limit is set, and the loop is stuck longer than that, it also sets the power of every
+ * motor &amp; CR servo to zero, since nobody else is going to.
+ * <p>
+ * The log file is a ring buffer: it has a fixed number of fixed-size slots, and each capture
+ * overwrites the oldest one, so it never grows (and the most recent stalls are always there).
+ */
+public class LoopWatchdog {
+
+    /**
+     * The number of captures kept in the log file
+     */
+    public static final int SLOTS = 8;
+    /**
+     * The size of each capture in the log file, in bytes (longer captures are truncated)
+     */
+    public static final int SLOT_BYTES = 16 * 1024;
+
+    private final Thread watched;
+    private final long stallNanos;
+    private final long hardLimitNanos;
+    private final int samples;
+    private final long sampleIntervalNanos;
+    private Thread thread;
+    private volatile boolean running = false;
+    private volatile long loopStartNanos = 0;
+    private volatile long loopNumber = 0;
+    // Only the watchdog thread opens, writes & closes it
+    private volatile RandomAccessFile file;
+    private int nextSlot = 0;
+    private volatile int stallCount = 0;
+    private volatile int motorStops = 0;
+    private volatile String lastCapture = null;
+
+    /**
+     * Create a watchdog for a thread
+     *
+     * @param watched         The thread running the loop (the opmode thread)
+     * @param stallMs         How long a loop can run before it's considered stalled (milliseconds)
+     * @param hardLimitMs     How long a loop can run before all the motors are stopped (zero to
+     *                        never stop them)
+     * @param samples         How many stack samples to take when a stall is detected
+     * @param sampleIntervalMs The time between stack samples (milliseconds)
+     */
+    public LoopWatchdog(
+        Thread watched,
+        double stallMs,
+        double hardLimitMs,
+        int samples,
+        double sampleIntervalMs
+    ) {
+        this.watched = watched;
+        this.stallNanos = (long) (stallMs * 1e6);
+        this.hardLimitNanos = hardLimitMs > 0 ? (long) (hardLimitMs * 1e6) : 0;
+        this.samples = Math.max(samples, 1);
+        this.sampleIntervalNanos = (long) (sampleIntervalMs * 1e6);
+    }
+
+    /**
+     * Create a watchdog for a thread, that takes 5 samples 10ms apart when the loop stalls
+     *
+     * @param watched     The thread running the loop (the opmode thread)
+     * @param stallMs     How long a loop can run before it's considered stalled (milliseconds)
+     * @param hardLimitMs How long a loop can run before all the motors are stopped (zero to never
+     *                    stop them)
+     */
+    public LoopWatchdog(Thread watched, double stallMs, double hardLimitMs) {
+        this(watched, stallMs, hardLimitMs, 5, 10);
+    }
+
+    /**
+     * Start watching (this starts the background thread)
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        loopStartNanos = System.nanoTime();
+        thread = new Thread(this::watch, "TechnoLib loop watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Tell the watchdog a new loop has started. CommandOpMode calls this every loop.
+     */
+    public void loopStarted() {
+        loopStartNanos = System.nanoTime();
+        loopNumber++;
+    }
+
+    /**
+     * Stop watching. The log file is closed by the background thread as it exits, so if it's in
+     * the middle of a capture (which this only waits 100ms for), the capture still gets written.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The number of stalled loops that have been captured
+     */
+    public int getStallCount() {
+        return stallCount;
+    }
+
+    /**
+     * @return The number of times the motors were stopped because the loop hit the hard limit
+     */
+    public int getMotorStopCount() {
+        return motorStops;
+    }
+
+    /**
+     * @return The most recent capture (or null if nothing has stalled)
+     */
+    public String getLastCapture() {
+        return lastCapture;
+    }
+
+    private void watch() {
+        // Check often enough to notice a stall reasonably close to the threshold
+        long checkNanos = Math.max(stallNanos / 4, 2_000_000);
+        try {
+            watchLoops(checkNanos);
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void watchLoops(long checkNanos) {
+        long capturedLoop = -1;
+        long stoppedLoop = -1;
+        while (running) {
+            LockSupport.parkNanos(checkNanos);
+            long loop = loopNumber;
+            long elapsed = System.nanoTime() - loopStartNanos;
+            if (elapsed <= stallNanos) {
+                continue;
+            }
+            if (capturedLoop != loop) {
+                capturedLoop = loop;
+                capture(loop, elapsed);
+            }
+            // Capturing takes a while: make sure it's still the same loop that's stuck
+            if (
+                hardLimitNanos > 0 &&
+                stoppedLoop != loop &&
+                loopNumber == loop &&
+                System.nanoTime() - loopStartNanos > hardLimitNanos
+            ) {
+                stoppedLoop = loop;
+                HardwareDevice.stopAll();
+                motorStops++;
+                write("Loop " + loop + " hit the hard limit: stopped all motors\n");
+            }
+        }
+    }
+
+    private void closeFile() {
+        RandomAccessFile f = file;
+        file = null;
+        if (f != null) {
+            try {
+                f.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do about it
+            }
+        }
+    }
+
+    private void capture(long loop, long elapsedNanos) {
+        Object context = CommandScheduler.getCurrentContext();
+        StringBuilder sb = new StringBuilder();
+        sb.append(
+            String.format(
+                Locale.ENGLISH,
+                "%s: loop %d stalled for %.1fms in %s\n",
+                new SimpleDateFormat("HH:mm:ss.SSS", Locale.ENGLISH).format(new Date()),
+                loop,
+                elapsedNanos / 1e6,
+                context == null ? "(opmode code)" : context.getClass().getName()
+            )
+        );
+        StackTraceElement[] previous = null;
+        for (int i = 0; i < samples && running && loop == loopNumber; i++) {
+            if (i > 0) {
+                LockSupport.parkNanos(sampleIntervalNanos);
+            }
+            StackTraceElement[] stack = watched.getStackTrace();
+            if (previous != null && Arrays.equals(stack, previous)) {
+                sb.append("  sample ").append(i).append(": same as the previous sample\n");
+                continue;
+            }
+            sb.append("  sample ").append(i).append(":\n");
+            for (StackTraceElement e : stack) {
+                sb.append("    at ").append(e).append('\n');
+            }
+            previous = stack;
+        }
+        stallCount++;
+        lastCapture = sb.toString();
+        write(lastCapture);
+    }
+
+    private void write(String capture) {
+        try {
+            if (file == null) {
+                File f = LogFiles.newFile("stalls", "txt");
+                file = new RandomAccessFile(f, "rw");
+            }
+            byte[] bytes = capture.getBytes(StandardCharsets.UTF_8);
+            byte[] slot = new byte[SLOT_BYTES];
+            Arrays.fill(slot, (byte) ' ');
+            System.arraycopy(bytes, 0, slot, 0, Math.min(bytes.length, SLOT_BYTES - 1));
+            slot[SLOT_BYTES - 1] = '\n';
+            file.seek((long) nextSlot * SLOT_BYTES);
+            file.write(slot);
+            nextSlot = (nextSlot + 1) % SLOTS;
+        } catch (IOException e) {
+            // The capture is still available from getLastCapture
+            e.printStackTrace();
+        }
+    }
+}
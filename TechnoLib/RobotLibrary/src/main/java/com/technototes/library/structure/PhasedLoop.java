@@ -0,0 +1,225 @@
+package com.technototes.library.structure;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.general.Phased;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This runs the read &amp; write phases for {@link Phased} objects registered with the
+ * {@link CommandScheduler}. Objects are grouped by the hub they're attached to, and each hub's
+ * group is handled by its own thread, so transactions to different hubs don't wait on each other.
+ * The group without a hub (and the first hub group) runs on the calling (opmode) thread.
+ * <p>
+ * The hub threads are started once (when the groups change), and handed each phase by flipping a
+ * flag &amp; unparking them, so running a phase doesn't allocate anything.
+ */
+public class PhasedLoop {
+
+    // What a hub thread is doing
+    private static final int IDLE = 0;
+    private static final int READ = 1;
+    private static final int WRITE = 2;
+
+    private final List<Group> groups = new ArrayList<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private int version = -1;
+    private boolean parallel = true;
+
+    // The things attached to a single hub
+    private static class Group {
+
+        final List<Phased> members = new ArrayList<>();
+        final Runnable reader = () -> {
+            for (int i = 0; i < members.size(); i++) {
+                members.get(i).readInputs();
+            }
+        };
+        final Runnable writer = () -> {
+            for (int i = 0; i < members.size(); i++) {
+                members.get(i).writeOutputs();
+            }
+        };
+    }
+
+    // A thread that runs one group's phases, whenever it's asked to
+    private static class Worker implements Runnable {
+
+        final Group group;
+        final Thread thread;
+        // The phase to run (IDLE once it's done): the opmode thread sets it, the worker clears it
+        volatile int phase = IDLE;
+        volatile boolean stopping = false;
+        volatile RuntimeException failure = null;
+        volatile Thread waiter = null;
+
+        Worker(Group g) {
+            group = g;
+            thread = new Thread(this, "TechnoLib hub I/O");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void start(int p, Thread caller) {
+            failure = null;
+            waiter = caller;
+            phase = p;
+            LockSupport.unpark(thread);
+        }
+
+        void stop() {
+            stopping = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (!stopping) {
+                int p = phase;
+                if (p == IDLE) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                try {
+                    (p == READ ? group.reader : group.writer).run();
+                } catch (RuntimeException e) {
+                    failure = e;
+                } catch (Throwable t) {
+                    failure = new RuntimeException(t);
+                }
+                phase = IDLE;
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * Turn the per-hub threads on or off. When off, everything runs on the opmode thread (still
+     * in phases, though)
+     *
+     * @param useThreads True to do each hub's I/O on a separate thread
+     * @return this (for chaining)
+     */
+    public PhasedLoop setParallel(boolean useThreads) {
+        parallel = useThreads;
+        return this;
+    }
+
+    /**
+     * Run readInputs() on every registered Phased object
+     */
+    public void read() {
+        runPhase(READ);
+    }
+
+    /**
+     * Run writeOutputs() on every registered Phased object
+     */
+    public void write() {
+        runPhase(WRITE);
+    }
+
+    /**
+     * Stop the hub threads. Call this when the opmode is done.
+     */
+    public void shutdown() {
+        stopWorkers();
+        groups.clear();
+        version = -1;
+    }
+
+    private void runPhase(int phase) {
+        if (version != CommandScheduler.getPhasedVersion()) {
+            regroup();
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+        boolean threaded = parallel && !workers.isEmpty();
+        if (threaded) {
+            Thread caller = Thread.currentThread();
+            for (int i = 0; i < workers.size(); i++) {
+                workers.get(i).start(phase, caller);
+            }
+        } else {
+            for (int i = 1; i < groups.size(); i++) {
+                Group g = groups.get(i);
+                (phase == READ ? g.reader : g.writer).run();
+            }
+        }
+        Group local = groups.get(0);
+        boolean localFinished = false;
+        try {
+            (phase == READ ? local.reader : local.writer).run();
+            localFinished = true;
+        } finally {
+            // The hubs have to finish even if the local group threw: one that's still reading (or
+            // writing) would race the next phase
+            RuntimeException failure = threaded ? waitForWorkers() : null;
+            if (localFinished && failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Wait for every hub's phase to finish, even if we're interrupted. The interrupt is restored
+    // once they're all done. Returns the first hub's failure (or null).
+    private RuntimeException waitForWorkers() {
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (int i = 0; i < workers.size(); i++) {
+            Worker w = workers.get(i);
+            while (w.phase != IDLE) {
+                LockSupport.park(this);
+                // park returns right away while the interrupt flag is set, so clear it
+                interrupted |= Thread.interrupted();
+            }
+            if (failure == null) {
+                failure = w.failure;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return failure;
+    }
+
+    private void stopWorkers() {
+        for (Worker w : workers) {
+            w.stop();
+        }
+        workers.clear();
+    }
+
+    private void regroup() {
+        version = CommandScheduler.getPhasedVersion();
+        groups.clear();
+        Group noHub = new Group();
+        Map<LynxModule, Group> byHub = new LinkedHashMap<>();
+        for (Phased p : CommandScheduler.getPhased()) {
+            LynxModule hub = p.getHub();
+            if (hub == null) {
+                noHub.members.add(p);
+            } else {
+                Group g = byHub.get(hub);
+                if (g == null) {
+                    g = new Group();
+                    byHub.put(hub, g);
+                }
+                g.members.add(p);
+            }
+        }
+        if (!noHub.members.isEmpty()) {
+            groups.add(noHub);
+        }
+        groups.addAll(byHub.values());
+        stopWorkers();
+        for (int i = 1; i < groups.size(); i++) {
+            workers.add(new Worker(groups.get(i)));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.bylazar.telemetry.TelemetryManager;
 import com.qualcomm.hardware.lynx.LynxModule;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
 import com.technototes.library.hardware.HardwareDevice;
+import com.technototes.library.hardware.sensor.encoder.OctoquadHub;
 import java.util.List;
 import org.firstinspires.ftc.robotcore.external.navigation.VoltageUnit;
 
@@ -25,6 +26,8 @@ public abstract class ValidationOpMode extends OpMode {
         for (LynxModule hub : hubs) {
             hub.clearBulkCache();
         }
+        OctoquadHub.clearAllCaches();
+        HardwareDevice.endLoop();
     }
 
     public final boolean anyDpadReleased() {
@@ -49,6 +52,7 @@ public abstract class ValidationOpMode extends OpMode {
     @Override
     public void init() {
         HardwareDevice.initMap(hardwareMap);
+        OctoquadHub.reset();
         hubs = hardwareMap.getAll(LynxModule.class);
         for (LynxModule hub : hubs) {
             hub.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
@@ -0,0 +1,221 @@
+package com.technototes.library.structure;
+
+import android.util.Log;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.technototes.library.general.Warmable;
+import com.technototes.library.hardware.HardwareDevice;
+import com.technototes.library.util.PIDFController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Warms up the loop's hot paths while the opmode is sitting in init. The first few loops after
+ * Start are consistently the slowest, because code that hasn't run yet (or has only run a few
+ * times) is still being interpreted: ART doesn't compile a method until it's been called a bunch
+ * of times. Most of what runs after Start (drive math, controllers, commands that only run in
+ * teleop) doesn't run during init at all, so it's all cold at exactly the wrong time.
+ * <p>
+ * Turn it on with {@link CommandOpMode#setWarmUp(boolean)}: every registered or scheduled
+ * {@link Warmable} gets added, and anything else can be added by name. Then during init, each
+ * init loop spends a slice of time calling the paths (round robin) with hardware writes
+ * suppressed (see {@link HardwareDevice#setWritesSuppressed(boolean)}), until each has been
+ * called enough times. Compare {@link com.technototes.library.util.LoopClock#startSummary()} with
+ * and without it to see what it's worth.
+ * <pre>
+ * setWarmUp(true);
+ * // The follower's drivetrain isn't registered with the scheduler, so it has to be added
+ * getWarmUp().add((Warmable) follower.drivetrain);
+ * </pre>
+ * Warm up the instances the loop actually uses (so it's their code paths that get compiled), and
+ * don't build extra copies just for this: constructing hardware-backed objects again can write to
+ * the devices, and those writes aren't TechnoLib's to suppress.
+ */
+public class WarmUp {
+
+    /**
+     * The default number of times each path is called
+     */
+    public static final int DEFAULT_CALLS = 2000;
+    /**
+     * The default amount of each init loop that's spent warming up, in milliseconds
+     */
+    public static final double DEFAULT_SLICE_MS = 5;
+
+    // One warm-up path, and how long its calls took
+    private static final class Path {
+
+        final String name;
+        final Runnable run;
+        int calls = 0;
+        long firstNanos = 0;
+        long lastNanos = 0;
+        boolean failed = false;
+
+        Path(String name, Runnable run) {
+            this.name = name;
+            this.run = run;
+        }
+    }
+
+    private final List<Path> paths = new ArrayList<>();
+    private int calls = DEFAULT_CALLS;
+    private long sliceNanos = (long) (DEFAULT_SLICE_MS * 1e6);
+    private long totalNanos = 0;
+
+    /**
+     * Add a path to warm up
+     *
+     * @param name The name of the path (for the report)
+     * @param path The path: it must not change anything that matters after Start
+     * @return this (for chaining)
+     */
+    public WarmUp add(String name, Runnable path) {
+        paths.add(new Path(name, path));
+        return this;
+    }
+
+    /**
+     * Add a Warmable (named by its class)
+     *
+     * @param w The Warmable
+     * @return this (for chaining)
+     */
+    public WarmUp add(Warmable w) {
+        return add(w.getClass().getSimpleName(), w::warmUp);
+    }
+
+    /**
+     * Add some Warmables
+     *
+     * @param ws The Warmables
+     * @return this (for chaining)
+     */
+    public WarmUp addAll(List<Warmable> ws) {
+        for (Warmable w : ws) {
+            add(w);
+        }
+        return this;
+    }
+
+    /**
+     * Add TechnoLib's own hot paths (the ones that don't already run during init)
+     *
+     * @return this (for chaining)
+     */
+    public WarmUp addLibraryPaths() {
+        PIDFController pid = new PIDFController(new PIDFCoefficients(0.1, 0.01, 0.001, 0.1));
+        pid.setTarget(100);
+        return add("PIDFController.update", () -> pid.update(50 + Math.random() * 10, 0.02));
+    }
+
+    /**
+     * Set how many times each path is called
+     *
+     * @param count The number of calls
+     * @return this (for chaining)
+     */
+    public WarmUp setCalls(int count) {
+        calls = Math.max(count, 1);
+        return this;
+    }
+
+    /**
+     * Set how much of each init loop is spent warming up
+     *
+     * @param milliseconds The time to spend in each loop
+     * @return this (for chaining)
+     */
+    public WarmUp setSlice(double milliseconds) {
+        sliceNanos = (long) (Math.max(milliseconds, 0.1) * 1e6);
+        return this;
+    }
+
+    /**
+     * @return True once every path has been called enough times (or failed)
+     */
+    public boolean isDone() {
+        for (Path p : paths) {
+            if (!p.failed && p.calls < calls) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spend one slice of time warming up. CommandOpMode calls this from each init loop.
+     *
+     * @return True if it's done
+     */
+    public boolean step() {
+        if (isDone()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        long end = start + sliceNanos;
+        HardwareDevice.setWritesSuppressed(true);
+        try {
+            boolean ran = true;
+            while (ran && System.nanoTime() < end) {
+                ran = false;
+                for (Path p : paths) {
+                    if (p.failed || p.calls >= calls) {
+                        continue;
+                    }
+                    call(p);
+                    ran = true;
+                }
+            }
+        } finally {
+            HardwareDevice.setWritesSuppressed(false);
+        }
+        totalNanos += System.nanoTime() - start;
+        return isDone();
+    }
+
+    private void call(Path p) {
+        long t = System.nanoTime();
+        try {
+            p.run.run();
+        } catch (RuntimeException e) {
+            Log.w("TechnoLib", "Warm-up of " + p.name + " failed", e);
+            p.failed = true;
+            return;
+        }
+        t = System.nanoTime() - t;
+        if (p.calls == 0) {
+            p.firstNanos = t;
+        }
+        p.lastNanos = t;
+        p.calls++;
+    }
+
+    /**
+     * Get a report of the warm-up: one line per path, "name: calls, first call, last call", then
+     * the total time spent warming up
+     *
+     * @return The report
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Path p : paths) {
+            if (p.failed) {
+                sb.append(String.format(Locale.ENGLISH, "%s: failed after %d calls\n", p.name, p.calls));
+            } else {
+                sb.append(
+                    String.format(
+                        Locale.ENGLISH,
+                        "%s: %d calls, first %.1fus, last %.1fus\n",
+                        p.name,
+                        p.calls,
+                        p.firstNanos / 1e3,
+                        p.lastNanos / 1e3
+                    )
+                );
+            }
+        }
+        sb.append(String.format(Locale.ENGLISH, "warm-up: %.1fms", totalNanos / 1e6));
+        return sb.toString();
+    }
+}
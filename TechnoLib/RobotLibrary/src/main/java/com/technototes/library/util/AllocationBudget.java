@@ -0,0 +1,408 @@
+package com.technototes.library.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A harness for checking how much memory the "hot path" code allocates. Every allocation in the
+ * loop is something the garbage collector has to clean up eventually, and on the Control Hub
+ * that shows up as a periodic 20-50ms loop spike. This runs a piece of code thousands of times,
+ * measures the bytes allocated by the current thread, and fails if the average per iteration is
+ * over the declared budget, so once something is allocation-free it stays that way.
+ * <p>
+ * It uses the JVM's per-thread allocation counter (com.sun.management.ThreadMXBean) on a
+ * computer, or android.os.Debug's thread allocation counter on the robot. Both are found with
+ * reflection, so this works (or reports that it's unsupported) anywhere.
+ * <p>
+ * Usage:
+ * <pre>
+ * AllocationBudget.Suite suite = new AllocationBudget.Suite()
+ *     .add("PIDFController.update", 0, () -&gt; pid.update(measurement))
+ *     .add("CommandScheduler.run", 0, CommandScheduler::run);
+ * for (AllocationBudget.Result r : suite.run()) {
+ *     telemetry.addLine(r.toString());
+ * }
+ * suite.assertAll(); // throws an AssertionError listing everything that's over budget
+ * </pre>
+ * Some paths can't be allocation-free (anything that goes through the SDK's telemetry, for
+ * example), and how much they allocate depends on the runtime. Those can be added with
+ * {@link Suite#addBaseline(String, Runnable)} instead: the first run records what they allocate
+ * in a file, and later runs use that (plus some slack) as their budget.
+ */
+public final class AllocationBudget {
+
+    /**
+     * The default number of untimed iterations (to get class loading &amp; lazy init out of the way)
+     */
+    public static final int DEFAULT_WARMUP = 1000;
+    /**
+     * The default number of measured iterations
+     */
+    public static final int DEFAULT_ITERATIONS = 10000;
+
+    private static final int UNKNOWN = 0;
+    private static final int JVM = 1;
+    private static final int ANDROID = 2;
+    private static final int UNSUPPORTED = 3;
+
+    private static int mode = UNKNOWN;
+    private static Object bean;
+    private static Method counter;
+
+    private AllocationBudget() {}
+
+    private static synchronized void init() {
+        if (mode != UNKNOWN) {
+            return;
+        }
+        try {
+            // java.lang.management isn't in the Android SDK, so even this has to be reflection
+            Class<?> factory = Class.forName("java.lang.management.ManagementFactory");
+            Object b = factory.getMethod("getThreadMXBean").invoke(null);
+            Class<?> sunBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (sunBean.isInstance(b)) {
+                sunBean.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(b, true);
+                bean = b;
+                counter = sunBean.getMethod("getThreadAllocatedBytes", long.class);
+                mode = JVM;
+                return;
+            }
+        } catch (Throwable ignored) {
+            // Not a HotSpot-style JVM: try Android
+        }
+        try {
+            Class<?> debug = Class.forName("android.os.Debug");
+            debug.getMethod("startAllocCounting").invoke(null);
+            counter = debug.getMethod("getThreadAllocSize");
+            mode = ANDROID;
+            return;
+        } catch (Throwable ignored) {
+            // Nothing we know how to use
+        }
+        mode = UNSUPPORTED;
+    }
+
+    /**
+     * @return True if allocations can be measured on this runtime
+     */
+    public static boolean isSupported() {
+        init();
+        return mode != UNSUPPORTED;
+    }
+
+    /**
+     * Get the number of bytes the current thread has allocated (so far)
+     *
+     * @return The byte count, or -1 if it can't be measured here
+     */
+    public static long threadAllocatedBytes() {
+        init();
+        try {
+            switch (mode) {
+                case JVM:
+                    return (Long) counter.invoke(bean, Thread.currentThread().getId());
+                case ANDROID:
+                    return ((Number) counter.invoke(null)).longValue();
+                default:
+                    return -1;
+            }
+        } catch (ReflectiveOperationException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Measure how much a piece of code allocates per call
+     *
+     * @param name       The name (for reporting)
+     * @param budget     The allowed number of bytes per iteration
+     * @param warmup     The number of calls before measuring
+     * @param iterations The number of measured calls
+     * @param body       The code to measure
+     * @return The result
+     */
+    public static Result measure(String name, double budget, int warmup, int iterations, Runnable body) {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        // Measure the measuring, so it doesn't count against the body
+        long overhead = -threadAllocatedBytes();
+        overhead += threadAllocatedBytes();
+        long before = threadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            body.run();
+        }
+        long after = threadAllocatedBytes();
+        if (before < 0 || after < 0) {
+            return new Result(name, budget, iterations, Double.NaN);
+        }
+        long bytes = Math.max(0, after - before - overhead);
+        return new Result(name, budget, iterations, (double) bytes / iterations);
+    }
+
+    /**
+     * Measure how much a piece of code allocates per call, with the default warmup &amp; iteration
+     * counts
+     *
+     * @param name   The name (for reporting)
+     * @param budget The allowed number of bytes per iteration
+     * @param body   The code to measure
+     * @return The result
+     */
+    public static Result measure(String name, double budget, Runnable body) {
+        return measure(name, budget, DEFAULT_WARMUP, DEFAULT_ITERATIONS, body);
+    }
+
+    /**
+     * The result of measuring one piece of code
+     */
+    public static final class Result {
+
+        /**
+         * The name of the code that was measured
+         */
+        public final String name;
+        /**
+         * The allowed bytes per iteration
+         */
+        public final double budget;
+        /**
+         * The number of measured iterations
+         */
+        public final int iterations;
+        /**
+         * The average bytes allocated per iteration (NaN if it couldn't be measured)
+         */
+        public final double bytesPerIteration;
+
+        /**
+         * True if this run recorded the baseline (so there wasn't a budget to check against)
+         */
+        public final boolean recordedBaseline;
+
+        Result(String name, double budget, int iterations, double bytesPerIteration) {
+            this(name, budget, iterations, bytesPerIteration, false);
+        }
+
+        Result(String name, double budget, int iterations, double bytesPerIteration, boolean recordedBaseline) {
+            this.name = name;
+            this.budget = budget;
+            this.iterations = iterations;
+            this.bytesPerIteration = bytesPerIteration;
+            this.recordedBaseline = recordedBaseline;
+        }
+
+        /**
+         * @return True if the allocation couldn't be measured (which isn't a failure)
+         */
+        public boolean isUnmeasured() {
+            return Double.isNaN(bytesPerIteration);
+        }
+
+        /**
+         * @return True if the code stayed within its budget (or couldn't be measured)
+         */
+        public boolean passed() {
+            return isUnmeasured() || bytesPerIteration <= budget;
+        }
+
+        @Override
+        public String toString() {
+            if (isUnmeasured()) {
+                return name + ": not measured (no allocation counter)";
+            }
+            if (recordedBaseline) {
+                return String.format(
+                    Locale.ENGLISH,
+                    "%s: %.1f bytes/iteration (baseline recorded)",
+                    name,
+                    bytesPerIteration
+                );
+            }
+            return String.format(
+                Locale.ENGLISH,
+                "%s: %.1f bytes/iteration (budget %.1f) %s",
+                name,
+                bytesPerIteration,
+                budget,
+                passed() ? "ok" : "OVER BUDGET"
+            );
+        }
+    }
+
+    /**
+     * A set of hot paths to check together
+     */
+    public static final class Suite {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Double> budgets = new ArrayList<>();
+        private final List<Runnable> bodies = new ArrayList<>();
+        private final List<Result> results = new ArrayList<>();
+        private int warmup = DEFAULT_WARMUP;
+        private int iterations = DEFAULT_ITERATIONS;
+        private File baselineFile = null;
+        private double baselineSlack = 0.1;
+
+        /**
+         * Set the number of warmup &amp; measured iterations for every check in the suite
+         *
+         * @param warmupCount    The number of calls before measuring
+         * @param iterationCount The number of measured calls
+         * @return This (for chaining)
+         */
+        public Suite setIterations(int warmupCount, int iterationCount) {
+            warmup = warmupCount;
+            iterations = iterationCount;
+            return this;
+        }
+
+        /**
+         * Add a hot path to check
+         *
+         * @param name   The name (for reporting)
+         * @param budget The allowed number of bytes per iteration
+         * @param body   The code to measure
+         * @return This (for chaining)
+         */
+        public Suite add(String name, double budget, Runnable body) {
+            names.add(name);
+            budgets.add(budget);
+            bodies.add(body);
+            return this;
+        }
+
+        /**
+         * Add a hot path whose budget is its recorded baseline (see
+         * {@link #setBaselineFile(File, double)}). If there's no baseline for it yet, this run
+         * records one.
+         *
+         * @param name The name (for reporting, and the baseline file)
+         * @param body The code to measure
+         * @return This (for chaining)
+         */
+        public Suite addBaseline(String name, Runnable body) {
+            return add(name, Double.NaN, body);
+        }
+
+        /**
+         * Set the file the baselines are recorded in (one per line, "name,bytes per iteration").
+         * Delete it to record new baselines.
+         *
+         * @param file  The file
+         * @param slack How much more than the baseline a path may allocate (0.1 is 10% more)
+         * @return This (for chaining)
+         */
+        public Suite setBaselineFile(File file, double slack) {
+            baselineFile = file;
+            baselineSlack = Math.max(slack, 0);
+            return this;
+        }
+
+        /**
+         * Measure everything in the suite
+         *
+         * @return The results (in the order they were added)
+         */
+        public List<Result> run() {
+            results.clear();
+            Map<String, Double> baselines = readBaselines();
+            boolean recorded = false;
+            for (int i = 0; i < bodies.size(); i++) {
+                String name = names.get(i);
+                double budget = budgets.get(i);
+                if (!Double.isNaN(budget)) {
+                    results.add(measure(name, budget, warmup, iterations, bodies.get(i)));
+                } else if (baselines.containsKey(name)) {
+                    // A few bytes of absolute slack, so a baseline of 0 doesn't fail on rounding
+                    double base = baselines.get(name);
+                    results.add(measure(name, base * (1 + baselineSlack) + 1, warmup, iterations, bodies.get(i)));
+                } else {
+                    Result r = measure(name, Double.POSITIVE_INFINITY, warmup, iterations, bodies.get(i));
+                    results.add(new Result(name, r.budget, r.iterations, r.bytesPerIteration, true));
+                    if (!r.isUnmeasured()) {
+                        baselines.put(name, r.bytesPerIteration);
+                        recorded = true;
+                    }
+                }
+            }
+            if (recorded) {
+                writeBaselines(baselines);
+            }
+            return results;
+        }
+
+        private Map<String, Double> readBaselines() {
+            Map<String, Double> baselines = new LinkedHashMap<>();
+            if (baselineFile == null || !baselineFile.exists()) {
+                return baselines;
+            }
+            try (
+                BufferedReader r = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(baselineFile), StandardCharsets.UTF_8)
+                )
+            ) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    int comma = line.lastIndexOf(',');
+                    if (comma > 0) {
+                        baselines.put(line.substring(0, comma), Double.parseDouble(line.substring(comma + 1)));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // A bad baseline file is the same as no baseline file: record new ones
+                baselines.clear();
+            }
+            return baselines;
+        }
+
+        private void writeBaselines(Map<String, Double> baselines) {
+            if (baselineFile == null) {
+                return;
+            }
+            File dir = baselineFile.getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+            try (PrintWriter w = new PrintWriter(baselineFile, "UTF-8")) {
+                for (Map.Entry<String, Double> e : baselines.entrySet()) {
+                    w.println(String.format(Locale.ENGLISH, "%s,%.1f", e.getKey(), e.getValue()));
+                }
+            } catch (IOException e) {
+                // The results are still reported: there just won't be a baseline next time
+            }
+        }
+
+        /**
+         * Throw if anything in the most recent run was over budget (this runs the suite if it
+         * hasn't been run yet)
+         *
+         * @throws AssertionError listing every check that was over budget
+         */
+        public void assertAll() {
+            if (results.isEmpty()) {
+                run();
+            }
+            StringBuilder failures = new StringBuilder();
+            for (Result r : results) {
+                if (!r.passed()) {
+                    failures.append('\n').append(r);
+                }
+            }
+            if (failures.length() > 0) {
+                throw new AssertionError("Allocation budget exceeded:" + failures);
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.technototes.library.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A lookup table that classifies a color sensor reading (a game piece, usually) in constant time.
+ * Instead of hand-tuned thresholds on red/green/blue (which break as soon as the piece is a little
+ * further away, or the field lights are a little different), the table is built from recorded
+ * samples of each class.
+ * <p>
+ * Each reading is normalized by its light level (divided by the brightest channel), so the hue
+ * &amp; saturation don't depend on how much light is coming back. Hue, saturation &amp; the light
+ * level (log scaled, since "nothing there" is mostly just dim) are quantized into a cell, and each
+ * cell holds the class most of the samples in it belonged to, and the fraction of them that did
+ * (the confidence). Cells without any samples take the class of the nearest cell that has some
+ * (up to a few cells away), with less confidence the further away it is. Anything else is the
+ * "none" class, with zero confidence.
+ * <pre>
+ * ColorTable&lt;Artifact&gt; table = new ColorTable&lt;&gt;(Artifact.class, Artifact.NONE);
+ * table.load(new File("/sdcard/FIRST/technolib/artifacts.csv"));
+ * table.build();
+ * ...
+ * Artifact a = table.classify(sensor.argb());
+ * </pre>
+ * To record samples, hold each kind of piece (and nothing) in front of the sensor, call
+ * addSample with its class every loop, and save the table when you're done.
+ *
+ * @param <E> The classes (an enum)
+ */
+public class ColorTable<E extends Enum<E>> {
+
+    /**
+     * The artifacts (purple &amp; green) for DECODE
+     */
+    public enum Artifact {
+        NONE,
+        PURPLE,
+        GREEN,
+    }
+
+    /**
+     * The number of hue bins (10 degrees each)
+     */
+    public static final int HUE_BINS = 36;
+    /**
+     * The number of saturation bins
+     */
+    public static final int SAT_BINS = 16;
+    /**
+     * The number of light level bins (log scaled)
+     */
+    public static final int LIGHT_BINS = 16;
+    /**
+     * The number of cells in the table
+     */
+    public static final int CELLS = HUE_BINS * SAT_BINS * LIGHT_BINS;
+    /**
+     * The default number of cells a class spreads into empty cells
+     */
+    public static final int DEFAULT_SPREAD = 2;
+
+    // The light level bin for each brightest-channel value (log scaled)
+    private static final byte[] LIGHT_BIN = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            double log = Math.log(i + 1) / Math.log(256);
+            LIGHT_BIN[i] = (byte) Math.min((int) (log * LIGHT_BINS), LIGHT_BINS - 1);
+        }
+    }
+
+    private final E[] classes;
+    private final E none;
+    // The recorded samples: { class ordinal, argb }
+    private final List<int[]> samples = new ArrayList<>();
+    private byte[] lut;
+    private float[] confidence;
+
+    /**
+     * Make an empty table (everything is "none" until it's built)
+     *
+     * @param type The enum of classes
+     * @param none The class for "nothing recognizable"
+     */
+    public ColorTable(Class<E> type, E none) {
+        classes = type.getEnumConstants();
+        this.none = none;
+        lut = new byte[CELLS];
+        Arrays.fill(lut, (byte) none.ordinal());
+        confidence = new float[CELLS];
+    }
+
+    /**
+     * Get the cell of the table a color falls in
+     *
+     * @param argb The color (the alpha is ignored)
+     * @return The cell
+     */
+    public static int cell(int argb) {
+        int r = (argb >> 16) & 0xff;
+        int g = (argb >> 8) & 0xff;
+        int b = argb & 0xff;
+        int max = Math.max(r, Math.max(g, b));
+        int min = Math.min(r, Math.min(g, b));
+        int range = max - min;
+        int hue = 0;
+        int sat = 0;
+        if (range > 0) {
+            float h;
+            if (max == r) {
+                h = 60f * (g - b) / range;
+            } else if (max == g) {
+                h = 120f + 60f * (b - r) / range;
+            } else {
+                h = 240f + 60f * (r - g) / range;
+            }
+            if (h < 0) {
+                h += 360;
+            }
+            hue = Math.min((int) (h * HUE_BINS / 360), HUE_BINS - 1);
+            sat = Math.min(range * SAT_BINS / max, SAT_BINS - 1);
+        }
+        return (hue * SAT_BINS + sat) * LIGHT_BINS + LIGHT_BIN[max];
+    }
+
+    /**
+     * Record a sample (it isn't used until the table is built)
+     *
+     * @param c    The class the sample belongs to
+     * @param argb The color sensor reading
+     */
+    public void addSample(E c, int argb) {
+        samples.add(new int[] { c.ordinal(), argb });
+    }
+
+    /**
+     * @return The number of recorded samples
+     */
+    public int getSampleCount() {
+        return samples.size();
+    }
+
+    /**
+     * Forget all the recorded samples (the table itself isn't changed until it's built again)
+     */
+    public void clearSamples() {
+        samples.clear();
+    }
+
+    /**
+     * Load samples from a file (written by {@link #save(File)}): one per line, "CLASS,aarrggbb"
+     *
+     * @param file The file
+     * @return this (for chaining)
+     * @throws IOException If the file can't be read, or has a class this table doesn't have
+     */
+    public ColorTable<E> load(File file) throws IOException {
+        int lineNumber = 0;
+        // Not java.nio.file.Files: it isn't there before Android 8 (API 26)
+        try (
+            BufferedReader r = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)
+            )
+        ) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                try {
+                    E c = Enum.valueOf(none.getDeclaringClass(), line.substring(0, comma).trim());
+                    addSample(c, (int) Long.parseLong(line.substring(comma + 1).trim(), 16));
+                } catch (RuntimeException e) {
+                    throw new IOException(file + ":" + lineNumber + ": bad sample '" + line + "'", e);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Save the recorded samples to a file
+     *
+     * @param file The file
+     * @throws IOException If the file can't be written
+     */
+    public void save(File file) throws IOException {
+        try (PrintWriter w = new PrintWriter(file, "UTF-8")) {
+            w.println("# class,argb");
+            for (int[] s : samples) {
+                w.println(String.format(Locale.ENGLISH, "%s,%08x", classes[s[0]], s[1]));
+            }
+        }
+    }
+
+    /**
+     * Build the table from the recorded samples, spreading each class into empty cells up to
+     * {@link #DEFAULT_SPREAD} cells away
+     *
+     * @return this (for chaining)
+     */
+    public ColorTable<E> build() {
+        return build(DEFAULT_SPREAD);
+    }
+
+    /**
+     * Build the table from the recorded samples. Build it before anything (a
+     * {@link com.technototes.library.hardware.sensor.ColorClassifier}'s background thread, in
+     * particular) starts using it.
+     *
+     * @param spread How many cells away from a cell with samples an empty cell can be and still
+     *               take its class (0 means only cells with samples are classified)
+     * @return this (for chaining)
+     */
+    public ColorTable<E> build(int spread) {
+        int n = classes.length;
+        int[] counts = new int[CELLS * n];
+        for (int[] s : samples) {
+            counts[cell(s[1]) * n + s[0]]++;
+        }
+        byte[] newLut = new byte[CELLS];
+        float[] newConfidence = new float[CELLS];
+        int[] distance = new int[CELLS];
+        int[] queue = new int[CELLS];
+        int head = 0;
+        int tail = 0;
+        Arrays.fill(newLut, (byte) none.ordinal());
+        Arrays.fill(distance, -1);
+        for (int c = 0; c < CELLS; c++) {
+            int total = 0;
+            int best = 0;
+            for (int k = 0; k < n; k++) {
+                total += counts[c * n + k];
+                if (counts[c * n + k] > counts[c * n + best]) {
+                    best = k;
+                }
+            }
+            if (total > 0) {
+                newLut[c] = (byte) best;
+                newConfidence[c] = (float) counts[c * n + best] / total;
+                distance[c] = 0;
+                queue[tail++] = c;
+            }
+        }
+        // Breadth first, so each empty cell gets the class of the nearest cell with samples
+        int[] neighbors = new int[6];
+        while (head < tail) {
+            int c = queue[head++];
+            if (distance[c] >= spread) {
+                continue;
+            }
+            int count = neighbors(c, neighbors);
+            for (int i = 0; i < count; i++) {
+                int nb = neighbors[i];
+                if (distance[nb] >= 0) {
+                    continue;
+                }
+                distance[nb] = distance[c] + 1;
+                newLut[nb] = newLut[c];
+                newConfidence[nb] = newConfidence[c] * (1 - distance[nb] / (spread + 1f));
+                queue[tail++] = nb;
+            }
+        }
+        lut = newLut;
+        confidence = newConfidence;
+        return this;
+    }
+
+    // The cells next to a cell (hue wraps around, saturation & light don't)
+    private static int neighbors(int c, int[] out) {
+        int light = c % LIGHT_BINS;
+        int sat = (c / LIGHT_BINS) % SAT_BINS;
+        int hue = c / (LIGHT_BINS * SAT_BINS);
+        int count = 0;
+        out[count++] = (((hue + 1) % HUE_BINS) * SAT_BINS + sat) * LIGHT_BINS + light;
+        out[count++] = (((hue + HUE_BINS - 1) % HUE_BINS) * SAT_BINS + sat) * LIGHT_BINS + light;
+        if (sat > 0) {
+            out[count++] = c - LIGHT_BINS;
+        }
+        if (sat < SAT_BINS - 1) {
+            out[count++] = c + LIGHT_BINS;
+        }
+        if (light > 0) {
+            out[count++] = c - 1;
+        }
+        if (light < LIGHT_BINS - 1) {
+            out[count++] = c + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Get the class of a cell
+     *
+     * @param cell The cell (from {@link #cell(int)})
+     * @return The class
+     */
+    public E classOf(int cell) {
+        return classes[lut[cell]];
+    }
+
+    /**
+     * Get how confident the table is about the class of a cell
+     *
+     * @param cell The cell (from {@link #cell(int)})
+     * @return The confidence (0 to 1)
+     */
+    public double confidenceOf(int cell) {
+        return confidence[cell];
+    }
+
+    /**
+     * Classify a color
+     *
+     * @param argb The color sensor reading
+     * @return The class
+     */
+    public E classify(int argb) {
+        return classOf(cell(argb));
+    }
+
+    /**
+     * @return The "none" class
+     */
+    public E getNone() {
+        return none;
+    }
+}
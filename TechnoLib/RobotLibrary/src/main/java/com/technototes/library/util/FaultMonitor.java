@@ -0,0 +1,525 @@
+package com.technototes.library.util;
+
+import com.technototes.library.command.CommandScheduler;
+import com.technototes.library.general.Periodic;
+import com.technototes.library.hardware.motor.EncodedMotor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A fault detector for sensors &amp; mechanisms. Instead of polling every encoder &amp; comparing it
+ * to the last value by hand, you declare what *should* be true ("if the motor's being driven, its
+ * encoder should be moving", "if the wheels moved, the odometry pod should have too", "if it's
+ * drawing a lot of current, it should be going somewhere") and the monitor checks those every so
+ * often (not every loop: these things don't need to be noticed within 10ms).
+ * <p>
+ * A check has to fail a few evaluations in a row before its fault is raised, and pass a few in a
+ * row before the fault is cleared, so a single odd reading doesn't trip anything. Listeners are
+ * told when faults are raised &amp; cleared.
+ * <pre>
+ * FaultMonitor faults = new FaultMonitor(500)
+ *     .expectMotion("fl", fl::getPower, 0.2, fl::getSensorValue, 20)
+ *     .expectFollows("odoF", () -&gt; fl.getSensorValue() + rl.getSensorValue(), 200, odoF::getPosition, 1)
+ *     .addListener(f -&gt; CommandScheduler.terminateOpMode())
+ *     .register();
+ * </pre>
+ */
+public class FaultMonitor implements Periodic {
+
+    /**
+     * The kinds of faults
+     */
+    public enum Kind {
+        /**
+         * Something was being driven, but didn't move
+         */
+        NOT_MOVING,
+        /**
+         * Two things that should move together didn't
+         */
+        DISAGREEMENT,
+        /**
+         * Drawing lots of current, but not moving
+         */
+        STALLED,
+        /**
+         * A custom check failed
+         */
+        CUSTOM,
+    }
+
+    /**
+     * A fault (there's one per check, which is either active or not)
+     */
+    public static final class Fault {
+
+        /**
+         * The name of the check
+         */
+        public final String name;
+        /**
+         * The kind of fault
+         */
+        public final Kind kind;
+
+        private boolean active = false;
+        private long raisedNanos = 0;
+        private int raisedCount = 0;
+
+        Fault(String name, Kind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+
+        /**
+         * @return True if the fault is currently raised
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * @return When the fault was last raised (in System.nanoTime() units)
+         */
+        public long getRaisedNanos() {
+            return raisedNanos;
+        }
+
+        /**
+         * @return The number of times the fault has been raised
+         */
+        public int getRaisedCount() {
+            return raisedCount;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + kind + ")" + (active ? "" : " cleared");
+        }
+    }
+
+    /**
+     * Gets told about faults
+     */
+    public interface Listener {
+        /**
+         * A fault was raised
+         *
+         * @param f The fault
+         */
+        void faultRaised(Fault f);
+
+        /**
+         * A fault was cleared
+         *
+         * @param f The fault
+         */
+        default void faultCleared(Fault f) {}
+    }
+
+    private abstract static class Check {
+
+        final Fault fault;
+        int failing = 0;
+        int passing = 0;
+        boolean simulated = false;
+
+        Check(String name, Kind kind) {
+            fault = new Fault(name, kind);
+        }
+
+        // Return true if things look right. 'first' is true on the first evaluation after a reset,
+        // when there's no previous sample to compare to.
+        abstract boolean healthy(boolean first);
+    }
+
+    private final List<Check> checks = new ArrayList<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final List<Fault> active = new ArrayList<>();
+    private final List<Fault> activeView = Collections.unmodifiableList(active);
+    private final DoubleSupplier periodMs;
+    private int raiseAfter = 3;
+    private int clearAfter = 3;
+    private boolean enabled = true;
+    private boolean first = true;
+    private long lastEvaluationNanos = 0;
+    private long evaluations = 0;
+    private Fault lastRaised = null;
+
+    /**
+     * Make a fault monitor
+     *
+     * @param periodMs How often to evaluate the checks (milliseconds)
+     */
+    public FaultMonitor(double periodMs) {
+        this(() -> periodMs);
+    }
+
+    /**
+     * Make a fault monitor whose period can change (a dashboard-configurable field, for example):
+     * it's read every time the monitor decides whether to evaluate the checks
+     *
+     * @param periodMs How often to evaluate the checks (milliseconds)
+     */
+    public FaultMonitor(DoubleSupplier periodMs) {
+        this.periodMs = periodMs;
+    }
+
+    /**
+     * Register the monitor with the CommandScheduler, so it runs every loop
+     *
+     * @return this (for chaining)
+     */
+    public FaultMonitor register() {
+        CommandScheduler.register(this);
+        return this;
+    }
+
+    /**
+     * Set how many evaluations in a row a check has to fail before its fault is raised, and pass
+     * before it's cleared
+     *
+     * @param raise The number of failures to raise a fault
+     * @param clear The number of passes to clear it
+     * @return this (for chaining)
+     */
+    public FaultMonitor setHysteresis(int raise, int clear) {
+        raiseAfter = Math.max(raise, 1);
+        clearAfter = Math.max(clear, 1);
+        return this;
+    }
+
+    /**
+     * Add a listener
+     *
+     * @param l The listener
+     * @return this (for chaining)
+     */
+    public FaultMonitor addListener(Listener l) {
+        listeners.add(l);
+        return this;
+    }
+
+    /**
+     * Turn the monitor on or off. Turning it on starts over: the checks need a fresh sample
+     * before they can compare anything.
+     *
+     * @param enable True to enable
+     * @return this (for chaining)
+     */
+    public FaultMonitor setEnabled(boolean enable) {
+        if (enable && !enabled) {
+            restart();
+        }
+        enabled = enable;
+        return this;
+    }
+
+    /**
+     * @return True if the monitor is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Expect something that's being driven to move: when |command| is at least minCommand, the
+     * position should change by at least minChange between evaluations
+     *
+     * @param name       The name of the check
+     * @param command    The command (motor power, for example)
+     * @param minCommand The command magnitude above which it should be moving
+     * @param position   The position (encoder ticks, for example)
+     * @param minChange  The minimum change in position
+     * @return this (for chaining)
+     */
+    public FaultMonitor expectMotion(
+        String name,
+        DoubleSupplier command,
+        double minCommand,
+        DoubleSupplier position,
+        double minChange
+    ) {
+        checks.add(
+            new Check(name, Kind.NOT_MOVING) {
+                double previous;
+
+                @Override
+                boolean healthy(boolean first) {
+                    double pos = position.getAsDouble();
+                    double change = Math.abs(pos - previous);
+                    previous = pos;
+                    return first || Math.abs(command.getAsDouble()) < minCommand || change >= minChange;
+                }
+            }
+        );
+        return this;
+    }
+
+    /**
+     * Expect one thing to move when another does: when the driver's position changes by at least
+     * minDriver between evaluations, the follower's should change by at least minFollower (the
+     * wheels &amp; an odometry pod, for example)
+     *
+     * @param name        The name of the check
+     * @param driver      The driver's position
+     * @param minDriver   The driver change above which the follower should be moving
+     * @param follower    The follower's position
+     * @param minFollower The minimum change in the follower's position
+     * @return this (for chaining)
+     */
+    public FaultMonitor expectFollows(
+        String name,
+        DoubleSupplier driver,
+        double minDriver,
+        DoubleSupplier follower,
+        double minFollower
+    ) {
+        checks.add(
+            new Check(name, Kind.DISAGREEMENT) {
+                double previousDriver;
+                double previousFollower;
+
+                @Override
+                boolean healthy(boolean first) {
+                    double d = driver.getAsDouble();
+                    double f = follower.getAsDouble();
+                    double driverChange = Math.abs(d - previousDriver);
+                    double followerChange = Math.abs(f - previousFollower);
+                    previousDriver = d;
+                    previousFollower = f;
+                    return first || driverChange < minDriver || followerChange >= minFollower;
+                }
+            }
+        );
+        return this;
+    }
+
+    /**
+     * Watch a mecanum drive with two odometry pods. Each wheel should move when it's driven (checks
+     * "fl", "fr", "rl" &amp; "rr"), and each pod should move when the left wheels say the robot did
+     * (checks "forward pod" &amp; "strafe pod"). The sum of the left wheels' positions is twice the
+     * forward travel, and their difference is twice the strafe travel, but only if they both count
+     * up when the robot drives forward: the left motors have to be set to the same direction (both
+     * REVERSE, for the usual mecanum wiring).
+     *
+     * @param fl             The front left wheel
+     * @param fr             The front right wheel
+     * @param rl             The rear left wheel
+     * @param rr             The rear right wheel
+     * @param minPower       The power above which a wheel should be moving
+     * @param minWheelChange The minimum change in a driven wheel's position
+     * @param minWheelTravel The left wheels' change above which the pods should be moving
+     * @param forwardPod     The forward odometry pod's position
+     * @param strafePod      The strafe odometry pod's position
+     * @param minPodChange   The minimum change in a pod's position
+     * @return this (for chaining)
+     */
+    public FaultMonitor expectMecanum(
+        EncodedMotor<?> fl,
+        EncodedMotor<?> fr,
+        EncodedMotor<?> rl,
+        EncodedMotor<?> rr,
+        double minPower,
+        double minWheelChange,
+        double minWheelTravel,
+        DoubleSupplier forwardPod,
+        DoubleSupplier strafePod,
+        double minPodChange
+    ) {
+        expectFollows(
+            "forward pod",
+            () -> fl.getSensorValue() + rl.getSensorValue(),
+            minWheelTravel,
+            forwardPod,
+            minPodChange
+        );
+        expectFollows(
+            "strafe pod",
+            () -> fl.getSensorValue() - rl.getSensorValue(),
+            minWheelTravel,
+            strafePod,
+            minPodChange
+        );
+        expectMotion("fl", () -> fl.getPower(), minPower, () -> fl.getSensorValue(), minWheelChange);
+        expectMotion("fr", () -> fr.getPower(), minPower, () -> fr.getSensorValue(), minWheelChange);
+        expectMotion("rl", () -> rl.getPower(), minPower, () -> rl.getSensorValue(), minWheelChange);
+        expectMotion("rr", () -> rr.getPower(), minPower, () -> rr.getSensorValue(), minWheelChange);
+        return this;
+    }
+
+    /**
+     * Expect something that's drawing a lot of current to be moving: when the current is over
+     * maxAmps, |velocity| should be at least minVelocity
+     *
+     * @param name        The name of the check
+     * @param amps        The current (see CurrentMonitor, so this doesn't read the motor)
+     * @param maxAmps     The current above which it should be moving
+     * @param velocity    The velocity
+     * @param minVelocity The minimum velocity
+     * @return this (for chaining)
+     */
+    public FaultMonitor expectNotStalled(
+        String name,
+        DoubleSupplier amps,
+        double maxAmps,
+        DoubleSupplier velocity,
+        double minVelocity
+    ) {
+        checks.add(
+            new Check(name, Kind.STALLED) {
+                @Override
+                boolean healthy(boolean first) {
+                    return amps.getAsDouble() <= maxAmps || Math.abs(velocity.getAsDouble()) >= minVelocity;
+                }
+            }
+        );
+        return this;
+    }
+
+    /**
+     * Add a custom check
+     *
+     * @param name The name of the check
+     * @param test Returns true if things look right
+     * @return this (for chaining)
+     */
+    public FaultMonitor expect(String name, BooleanSupplier test) {
+        checks.add(
+            new Check(name, Kind.CUSTOM) {
+                @Override
+                boolean healthy(boolean first) {
+                    return test.getAsBoolean();
+                }
+            }
+        );
+        return this;
+    }
+
+    /**
+     * Make a check fail (whatever it reads) until this is turned off again, to test what happens
+     * when something breaks
+     *
+     * @param name The name of the check
+     * @param fail True to make it fail, false to go back to normal
+     * @return this (for chaining)
+     */
+    public FaultMonitor simulateFailure(String name, boolean fail) {
+        for (Check c : checks) {
+            if (c.fault.name.equals(name)) {
+                c.simulated = fail;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void periodic() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!first && now - lastEvaluationNanos < (long) (periodMs.getAsDouble() * 1e6)) {
+            return;
+        }
+        lastEvaluationNanos = now;
+        evaluate();
+    }
+
+    /**
+     * Evaluate all the checks right now (periodic does this every period, when it's enabled)
+     */
+    public void evaluate() {
+        boolean isFirst = first;
+        first = false;
+        evaluations++;
+        for (int i = 0; i < checks.size(); i++) {
+            Check c = checks.get(i);
+            Fault f = c.fault;
+            // The check still runs when its failure is simulated, so it has fresh samples after
+            if (c.healthy(isFirst) && !c.simulated) {
+                c.failing = 0;
+                if (f.active && ++c.passing >= clearAfter) {
+                    f.active = false;
+                    active.remove(f);
+                    for (int l = 0; l < listeners.size(); l++) {
+                        listeners.get(l).faultCleared(f);
+                    }
+                }
+            } else {
+                c.passing = 0;
+                if (!f.active && ++c.failing >= raiseAfter) {
+                    f.active = true;
+                    f.raisedNanos = System.nanoTime();
+                    f.raisedCount++;
+                    active.add(f);
+                    lastRaised = f;
+                    for (int l = 0; l < listeners.size(); l++) {
+                        listeners.get(l).faultRaised(f);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Start over: forget the previous samples &amp; the pass/fail counts (active faults stay
+     * active until they're cleared by passing checks)
+     */
+    public void restart() {
+        first = true;
+        for (Check c : checks) {
+            c.failing = 0;
+            c.passing = 0;
+        }
+    }
+
+    /**
+     * @return The faults that are currently raised
+     */
+    public List<Fault> getActiveFaults() {
+        return activeView;
+    }
+
+    /**
+     * @return True if any fault is currently raised
+     */
+    public boolean hasFaults() {
+        return !active.isEmpty();
+    }
+
+    /**
+     * @return The most recently raised fault (or null if nothing's gone wrong)
+     */
+    public Fault getLastFault() {
+        return lastRaised;
+    }
+
+    /**
+     * @return The number of times the checks have been evaluated
+     */
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    /**
+     * @return A one line description of the active faults (for telemetry)
+     */
+    public String getSummary() {
+        if (active.isEmpty()) {
+            return String.format(Locale.ENGLISH, "OK (%d checks)", checks.size());
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Fault f : active) {
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append(f.name).append(": ").append(f.kind);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,368 @@
+package com.technototes.library.util;
+
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A velocity controller for a flywheel that knows how the flywheel behaves. The motor model is the
+ * one LearnBot's launcher FeedFwdHelper measures:
+ * <pre>
+ * volts = signum(v) * (friction + amps * resistance) + kV * v
+ * </pre>
+ * where friction is the static friction when the wheel is stopped, and the dynamic friction once it's
+ * moving. That gives the feed-forward (divided by the battery voltage, so it's a motor power), and
+ * the PID only has to clean up what the model gets wrong. When the wheel is far from the target
+ * (after a shot, or when the target changes) the controller just goes full power (or coasts) until
+ * it's back within the bang-bang range, since that's the fastest way to get there.
+ * <p>
+ * Because it has a model, it can also estimate how long it will take to get to the target speed:
+ * at full power, the wheel approaches its top speed exponentially, with a time constant that's
+ * learned from watching it spin up. So rather than waiting a fixed amount of time before feeding,
+ * you can ask {@link #readyWithin(double)} (or use the WaitForFlywheel command) and start feeding as
+ * soon as the wheel will be at speed by the time the ball gets there.
+ * <pre>
+ * flywheel = new FlywheelController(pidf, 0.183, 0.168, 0.0043)
+ *     .setVoltage(hw::voltage)
+ *     .setBangBang(200)
+ *     .setTolerance(50);
+ * ...
+ * motor.setPower(flywheel.update(encoder.getVelocity()));
+ * </pre>
+ */
+public class FlywheelController {
+
+    // The output is "saturated" (full power, or coasting) when it's this close to 1 (or 0)
+    private static final double SATURATED = 0.999;
+    // A spin up has to take at least this long (seconds) to learn a time constant from it
+    private static final double MIN_LEARNING_TIME = 0.15;
+    // How much of the way to move the time constant toward each new fit
+    private static final double LEARNING_RATE = 0.5;
+
+    private final PIDFController pid;
+    private double kStatic;
+    private double kDynamic;
+    private double kVelocity;
+    private double resistance = 0;
+    private DoubleSupplier amps = null;
+    private DoubleSupplier voltage = () -> 12.0;
+    private double volts = 12.0;
+    private double bangBang = Double.POSITIVE_INFINITY;
+    private double tolerance = 50;
+    private double spinUpTime = 0.5;
+    private double coastTime = 2.0;
+    private boolean learning = true;
+
+    private double target = 0;
+    private double velocity = 0;
+    private double output = 0;
+
+    // The spin up (or coast down) that's currently being watched, for learning the time constants
+    private int segment = 0;
+    private double segmentStartVelocity;
+    private double segmentEndVelocity;
+    private long segmentStartNanos;
+    private long segmentEndNanos;
+
+    /**
+     * Make a flywheel controller
+     *
+     * @param coeff     The PID coefficients (the F is ignored: the model is the feed-forward)
+     * @param kStatic   The static friction (volts)
+     * @param kDynamic  The dynamic friction (volts)
+     * @param kVelocity The velocity constant (volts per unit of velocity)
+     */
+    public FlywheelController(PIDFCoefficients coeff, double kStatic, double kDynamic, double kVelocity) {
+        pid = new PIDFController(coeff, t -> feedForward(t) / volts);
+        setModel(kStatic, kDynamic, kVelocity);
+    }
+
+    /**
+     * Change the motor model (so it can be tuned while running)
+     *
+     * @param kStatic   The static friction (volts)
+     * @param kDynamic  The dynamic friction (volts)
+     * @param kVelocity The velocity constant (volts per unit of velocity)
+     * @return this (for chaining)
+     */
+    public FlywheelController setModel(double kStatic, double kDynamic, double kVelocity) {
+        this.kStatic = kStatic;
+        this.kDynamic = kDynamic;
+        this.kVelocity = kVelocity;
+        return this;
+    }
+
+    /**
+     * Set where the battery voltage comes from (it's read once per update)
+     *
+     * @param voltage The voltage supplier
+     * @return this (for chaining)
+     */
+    public FlywheelController setVoltage(DoubleSupplier voltage) {
+        this.voltage = voltage;
+        return this;
+    }
+
+    /**
+     * Include the voltage lost to the motor's resistance in the feed-forward
+     *
+     * @param ohms    The motor's resistance (12 / stall current)
+     * @param current The motor's current, in amps (a CurrentMonitor channel is cheaper than the motor)
+     * @return this (for chaining)
+     */
+    public FlywheelController setResistance(double ohms, DoubleSupplier current) {
+        resistance = ohms;
+        amps = current;
+        return this;
+    }
+
+    /**
+     * Set how far from the target the wheel has to be before the controller gives up on the PID &amp;
+     * just goes full power (or coasts)
+     *
+     * @param range The bang-bang range (in velocity units: infinity to never do it)
+     * @return this (for chaining)
+     */
+    public FlywheelController setBangBang(double range) {
+        bangBang = range;
+        return this;
+    }
+
+    /**
+     * Set how close to the target counts as "at speed"
+     *
+     * @param range The tolerance (in velocity units)
+     * @return this (for chaining)
+     */
+    public FlywheelController setTolerance(double range) {
+        tolerance = Math.abs(range);
+        return this;
+    }
+
+    /**
+     * Set the time constants used to estimate how long it takes to get to the target. These are the
+     * starting values: they're refined by watching the wheel, unless learning is turned off.
+     *
+     * @param spinUp How long (seconds) it takes at full power to get 63% of the way to top speed
+     * @param coast  How long (seconds) it takes coasting to lose 63% of its speed
+     * @return this (for chaining)
+     */
+    public FlywheelController setTimeConstants(double spinUp, double coast) {
+        spinUpTime = Math.max(spinUp, 0.01);
+        coastTime = Math.max(coast, 0.01);
+        return this;
+    }
+
+    /**
+     * Turn learning the time constants on or off
+     *
+     * @param learn True to learn them
+     * @return this (for chaining)
+     */
+    public FlywheelController setLearning(boolean learn) {
+        learning = learn;
+        segment = 0;
+        return this;
+    }
+
+    /**
+     * Set the target velocity (zero stops the wheel)
+     *
+     * @param t The target
+     */
+    public void setTarget(double t) {
+        target = t;
+    }
+
+    /**
+     * @return The target velocity
+     */
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * The model's voltage to hold a velocity (not including the PID)
+     *
+     * @param v The velocity
+     * @return The volts
+     */
+    public double feedForward(double v) {
+        double friction = velocity != 0 ? kDynamic : kStatic;
+        double current = amps != null ? amps.getAsDouble() : 0;
+        return Math.signum(v) * (friction + current * resistance) + kVelocity * v;
+    }
+
+    /**
+     * Update the controller with the flywheel's velocity, once per loop
+     *
+     * @param measured The flywheel's velocity
+     * @return The motor power
+     */
+    public double update(double measured) {
+        double v = voltage.getAsDouble();
+        volts = v > 0 ? v : 12.0;
+        // The feed-forward picks static or dynamic friction from this
+        velocity = measured;
+        double power;
+        double error = target - measured;
+        if (target == 0) {
+            power = 0;
+            pid.reset();
+        } else if (Math.abs(error) > bangBang) {
+            // Too slow: full power. Too fast: coast.
+            power = error * target > 0 ? Math.signum(target) : 0;
+            pid.reset();
+        } else {
+            pid.setTarget(target);
+            power = pid.update(measured);
+        }
+        power = Math.max(-1, Math.min(1, power));
+        observe(measured, power);
+        return power;
+    }
+
+    /**
+     * Tell the controller what the flywheel is doing, when something else is controlling it. This
+     * is all it needs to estimate the time to get to the target (update calls it).
+     *
+     * @param measured The flywheel's velocity
+     * @param power    The motor power
+     */
+    public void observe(double measured, double power) {
+        velocity = measured;
+        output = power;
+        if (learning) {
+            learn(System.nanoTime());
+        }
+    }
+
+    // A stretch of full power below the target is a spin up, and a stretch of coasting above the
+    // target is a coast down. When one ends, fit the time constant to how far the wheel got.
+    private void learn(long now) {
+        double s = Math.signum(target);
+        double w = velocity * s;
+        double goal = Math.abs(target);
+        int kind = 0;
+        if (s != 0 && output * s >= SATURATED && w < goal) {
+            kind = 1;
+        } else if (s != 0 && Math.abs(output) <= 1 - SATURATED && w > goal) {
+            kind = -1;
+        }
+        if (kind == segment && kind != 0) {
+            segmentEndVelocity = w;
+            segmentEndNanos = now;
+            return;
+        }
+        if (segment != 0) {
+            double seconds = (segmentEndNanos - segmentStartNanos) / 1e9;
+            double fit = segment > 0
+                ? fitTimeConstant(seconds, topSpeed(), segmentStartVelocity, segmentEndVelocity)
+                : fitTimeConstant(seconds, coastFloor(), segmentStartVelocity, segmentEndVelocity);
+            if (seconds >= MIN_LEARNING_TIME && fit > 0 && !Double.isInfinite(fit)) {
+                if (segment > 0) {
+                    spinUpTime += (fit - spinUpTime) * LEARNING_RATE;
+                } else {
+                    coastTime += (fit - coastTime) * LEARNING_RATE;
+                }
+            }
+        }
+        segment = kind;
+        segmentStartVelocity = w;
+        segmentEndVelocity = w;
+        segmentStartNanos = now;
+        segmentEndNanos = now;
+    }
+
+    // The time constant that gets from 'from' to 'to' in 'seconds', approaching 'limit'
+    private static double fitTimeConstant(double seconds, double limit, double from, double to) {
+        double ratio = (limit - from) / (limit - to);
+        return ratio > 1 ? seconds / Math.log(ratio) : -1;
+    }
+
+    // The fastest the wheel can go at full power (in the direction of the target)
+    private double topSpeed() {
+        return kVelocity > 0 ? (volts - kDynamic) / kVelocity : Double.POSITIVE_INFINITY;
+    }
+
+    // Where the wheel would end up coasting, if friction didn't stop it first
+    private double coastFloor() {
+        return kVelocity > 0 ? -kDynamic / kVelocity : 0;
+    }
+
+    /**
+     * Estimate how long it will take the flywheel to get within tolerance of the target, going
+     * full power (or coasting) the whole way
+     *
+     * @return The estimated time, in seconds (0 if it's there, infinity if it can't get there)
+     */
+    public double timeToTarget() {
+        double s = target != 0 ? Math.signum(target) : 1;
+        double w = velocity * s;
+        double goal = Math.abs(target);
+        if (Math.abs(w - goal) <= tolerance) {
+            return 0;
+        }
+        if (w < goal) {
+            double top = topSpeed();
+            double edge = goal - tolerance;
+            if (top <= edge) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return spinUpTime * Math.log((top - w) / (top - edge));
+        }
+        double floor = coastFloor();
+        return coastTime * Math.log((w - floor) / (goal + tolerance - floor));
+    }
+
+    /**
+     * Will the flywheel be at speed within this many seconds?
+     *
+     * @param seconds How long from now (the time it takes the ball to get to the flywheel, say)
+     * @return True if it's spinning toward a target, and will be within tolerance by then
+     */
+    public boolean readyWithin(double seconds) {
+        return target != 0 && timeToTarget() <= seconds;
+    }
+
+    /**
+     * @return True if the flywheel is within tolerance of a (non-zero) target
+     */
+    public boolean atTarget() {
+        return target != 0 && Math.abs(target - velocity) <= tolerance;
+    }
+
+    /**
+     * @return The most recent velocity
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @return The target minus the most recent velocity
+     */
+    public double getError() {
+        return target - velocity;
+    }
+
+    /**
+     * @return The most recent motor power
+     */
+    public double getOutput() {
+        return output;
+    }
+
+    /**
+     * @return The current (learned) spin up time constant, in seconds
+     */
+    public double getSpinUpTime() {
+        return spinUpTime;
+    }
+
+    /**
+     * @return The current (learned) coasting time constant, in seconds
+     */
+    public double getCoastTime() {
+        return coastTime;
+    }
+}
@@ -0,0 +1,182 @@
+package com.technototes.library.util;
+
+import android.util.Log;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the slow, independent parts of init (initializing an IMU, calibrating an OTOS, starting a
+ * Limelight, building the follower) at the same time, instead of one after another. Most of that
+ * time is spent waiting on a bus (I2C, USB, the network), and the waits for different devices
+ * don't depend on each other, so Init is as slow as the slowest step instead of all of them added
+ * up.
+ * <p>
+ * Every step is timed, and {@link #getReport()} lists how long each one took, so you can see
+ * what's making Init slow.
+ * <pre>
+ * InitExecutor init = new InitExecutor(3);
+ * init.submit("imu", () -&gt; imu = new HeadingService(new IMU("imu", logo, usb)));
+ * init.submit("limelight", () -&gt; vision.start());
+ * ... (anything else can happen on this thread in the meantime)
+ * init.await();
+ * </pre>
+ * Steps must not depend on each other (or on anything the calling thread is doing before await),
+ * and fields they set shouldn't be used until await returns.
+ */
+public class InitExecutor {
+
+    // One init step, and how long it took
+    private static final class Step {
+
+        final String name;
+        Future<?> future;
+        long startNanos;
+        volatile long endNanos;
+        String thread;
+
+        Step(String name) {
+            this.name = name;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final List<Step> steps = new ArrayList<>();
+    private final long createdNanos = System.nanoTime();
+    private long awaitedNanos = 0;
+
+    /**
+     * Make an init executor
+     *
+     * @param threads The number of steps to run at once (0 or 1 runs each step when it's submitted)
+     */
+    public InitExecutor(int threads) {
+        executor = threads > 1
+            ? Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "TechnoLib init");
+                t.setDaemon(true);
+                return t;
+            })
+            : null;
+    }
+
+    /**
+     * Start an init step
+     *
+     * @param name The name of the step (for the report)
+     * @param step The step
+     * @return this (for chaining)
+     */
+    public InitExecutor submit(String name, Runnable step) {
+        Step s = new Step(name);
+        Runnable timed = () -> {
+            s.thread = Thread.currentThread().getName();
+            s.startNanos = System.nanoTime();
+            try {
+                step.run();
+            } finally {
+                s.endNanos = System.nanoTime();
+            }
+        };
+        synchronized (steps) {
+            steps.add(s);
+        }
+        if (executor == null) {
+            timed.run();
+        } else {
+            s.future = executor.submit(timed);
+        }
+        return this;
+    }
+
+    /**
+     * Wait for all of the steps to finish. If any of them failed, the first failure is thrown
+     * (as it would have been if the step had been run directly).
+     */
+    public void await() {
+        await(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Wait (up to a timeout) for all of the steps to finish. If any of them failed, the first
+     * failure is thrown.
+     *
+     * @param seconds The longest to wait
+     * @return True if all the steps finished, false if it timed out
+     */
+    public boolean await(double seconds) {
+        long deadline = Double.isInfinite(seconds) ? Long.MAX_VALUE : System.nanoTime() + (long) (seconds * 1e9);
+        boolean finished = true;
+        RuntimeException failure = null;
+        for (Step s : snapshot()) {
+            if (s.future == null) {
+                continue;
+            }
+            try {
+                if (deadline == Long.MAX_VALUE) {
+                    s.future.get();
+                } else {
+                    s.future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                }
+            } catch (TimeoutException e) {
+                Log.w("TechnoLib", "Init step " + s.name + " is still running");
+                finished = false;
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    failure = cause instanceof RuntimeException
+                        ? (RuntimeException) cause
+                        : new RuntimeException("Init step " + s.name + " failed", cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finished = false;
+                break;
+            }
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+        awaitedNanos = System.nanoTime();
+        Log.i("TechnoLib", getReport());
+        if (failure != null) {
+            throw failure;
+        }
+        return finished;
+    }
+
+    private List<Step> snapshot() {
+        synchronized (steps) {
+            return new ArrayList<>(steps);
+        }
+    }
+
+    /**
+     * Get a report of the init steps: one line per step, "name: milliseconds (thread)", then the
+     * total time the steps took, and the time it actually took
+     *
+     * @return The report
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        long total = 0;
+        for (Step s : snapshot()) {
+            if (s.endNanos == 0) {
+                sb.append(String.format(Locale.ENGLISH, "%s: (not finished)\n", s.name));
+                continue;
+            }
+            long nanos = s.endNanos - s.startNanos;
+            total += nanos;
+            sb.append(String.format(Locale.ENGLISH, "%s: %.1fms (%s)\n", s.name, nanos / 1e6, s.thread));
+        }
+        long wall = (awaitedNanos != 0 ? awaitedNanos : System.nanoTime()) - createdNanos;
+        sb.append(String.format(Locale.ENGLISH, "steps: %.1fms, init: %.1fms", total / 1e6, wall / 1e6));
+        return sb.toString();
+    }
+}
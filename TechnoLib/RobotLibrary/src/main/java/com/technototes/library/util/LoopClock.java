@@ -0,0 +1,318 @@
+package com.technototes.library.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The canonical clock for the opmode loop. CommandOpMode ticks this once at the top of each loop,
+ * so everything that runs during that loop can use the same timestamp and the same dt, instead of
+ * each controller calling System.nanoTime() (or making its own ElapsedTime) and getting slightly
+ * different answers.
+ * <p>
+ * It can also regulate the loop to a fixed rate: set a target period, and CommandOpMode will wait
+ * out the rest of each loop (sleeping for most of it, then spinning for the last little bit, since
+ * Thread.sleep is only good to about a millisecond). It keeps a histogram of loop periods and a
+ * count of the loops that took longer than the target, so you can see how much jitter there is.
+ * <p>
+ * It also records how long the first {@link #START_LOOPS} loops after Start took (just the work,
+ * not the wait), since those are the slow ones when the code is still cold (see
+ * {@link com.technototes.library.structure.WarmUp}).
+ */
+public final class LoopClock {
+
+    /**
+     * The width of each histogram bucket, in milliseconds
+     */
+    public static final double HISTOGRAM_BUCKET_MS = 1.0;
+    /**
+     * The number of buckets in the histogram (the last bucket is "this many ms, or more")
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+    /**
+     * The number of loops after Start whose times are recorded
+     */
+    public static final int START_LOOPS = 50;
+
+    // When the remaining wait is shorter than this, spin instead of sleeping
+    private static final long SPIN_THRESHOLD_NANOS = 1_500_000;
+
+    private static long targetPeriodNanos = 0;
+    private static long loopStartNanos = 0;
+    private static long previousLoopStartNanos = 0;
+    private static long nextDeadlineNanos = 0;
+    private static long loopNumber = 0;
+    private static double dt = 0;
+    private static boolean running = false;
+
+    private static final int[] histogram = new int[HISTOGRAM_BUCKETS];
+    private static long overrunCount = 0;
+    private static double maxJitterMs = 0;
+    private static double totalJitterMs = 0;
+    private static long jitterSamples = 0;
+
+    private static final long[] startLoopNanos = new long[START_LOOPS];
+    private static int startLoops = 0;
+    private static boolean recordingStart = false;
+
+    private LoopClock() {}
+
+    /**
+     * Set the target loop period. Zero (the default) means "run as fast as possible"
+     *
+     * @param milliseconds The desired loop period, in milliseconds
+     */
+    public static void setTargetPeriod(double milliseconds) {
+        targetPeriodNanos = milliseconds > 0 ? (long) (milliseconds * 1e6) : 0;
+        nextDeadlineNanos = 0;
+    }
+
+    /**
+     * @return The target loop period, in milliseconds (zero if it's not regulated)
+     */
+    public static double getTargetPeriod() {
+        return targetPeriodNanos / 1e6;
+    }
+
+    /**
+     * Reset the clock &amp; all the statistics. CommandOpMode does this before init.
+     */
+    public static void reset() {
+        running = false;
+        loopNumber = 0;
+        dt = 0;
+        loopStartNanos = 0;
+        previousLoopStartNanos = 0;
+        nextDeadlineNanos = 0;
+        startLoops = 0;
+        recordingStart = false;
+        resetStatistics();
+    }
+
+    /**
+     * Stop the clock, but keep the statistics. CommandOpMode does this when its loops are done, so
+     * that code running after them (end(), or another opmode entirely) doesn't get per-loop cached
+     * values from a loop number that's never going to change again.
+     */
+    public static void stop() {
+        running = false;
+    }
+
+    /**
+     * Reset just the statistics (the histogram, jitter, and overrun count)
+     */
+    public static void resetStatistics() {
+        Arrays.fill(histogram, 0);
+        overrunCount = 0;
+        maxJitterMs = 0;
+        totalJitterMs = 0;
+        jitterSamples = 0;
+    }
+
+    /**
+     * Mark the start of a new loop. Called by CommandOpMode: you probably shouldn't call it!
+     */
+    public static void tick() {
+        long now = System.nanoTime();
+        if (running) {
+            previousLoopStartNanos = loopStartNanos;
+            loopStartNanos = now;
+            long period = loopStartNanos - previousLoopStartNanos;
+            dt = period / 1e9;
+            record(period);
+        } else {
+            previousLoopStartNanos = now;
+            loopStartNanos = now;
+            dt = 0;
+            running = true;
+        }
+        loopNumber++;
+    }
+
+    /**
+     * Wait until it's time to start the next loop (if there's a target period). This sleeps for
+     * most of the remaining time, then spins for the last bit to hit the deadline precisely. If
+     * the loop already ran long, this doesn't wait at all, and the schedule restarts from now
+     * (so we don't try to "catch up" by running a bunch of short loops).
+     */
+    public static void waitForNextLoop() {
+        long now = System.nanoTime();
+        if (recordingStart && running) {
+            startLoopNanos[startLoops++] = now - loopStartNanos;
+            recordingStart = startLoops < START_LOOPS;
+        }
+        if (targetPeriodNanos <= 0 || !running) {
+            return;
+        }
+        if (nextDeadlineNanos == 0) {
+            nextDeadlineNanos = loopStartNanos + targetPeriodNanos;
+        }
+        if (now >= nextDeadlineNanos) {
+            overrunCount++;
+            nextDeadlineNanos = now + targetPeriodNanos;
+            return;
+        }
+        long remaining = nextDeadlineNanos - now;
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            remaining = nextDeadlineNanos - System.nanoTime();
+        }
+        while (System.nanoTime() < nextDeadlineNanos) {
+            // Spin: this is the accurate part
+        }
+        nextDeadlineNanos += targetPeriodNanos;
+    }
+
+    /**
+     * Start recording the loop times for the first {@link #START_LOOPS} loops. CommandOpMode calls
+     * this when the opmode is started.
+     */
+    public static void markStart() {
+        startLoops = 0;
+        recordingStart = true;
+    }
+
+    /**
+     * Get how long each of the first loops after Start took, from the start of the loop to the
+     * start of the wait for the next one (so a target period doesn't hide anything)
+     *
+     * @return The loop times, in milliseconds (fewer than START_LOOPS if it's still recording)
+     */
+    public static double[] getStartLoopTimes() {
+        double[] ms = new double[startLoops];
+        for (int i = 0; i < startLoops; i++) {
+            ms[i] = startLoopNanos[i] / 1e6;
+        }
+        return ms;
+    }
+
+    /**
+     * A one-line summary of the loops after Start: the first loop, the average &amp; max of all
+     * of them, and the average of the last 10 (which should be steady-state)
+     *
+     * @return The summary string
+     */
+    public static String startSummary() {
+        if (startLoops == 0) {
+            return "start loops: none";
+        }
+        double total = 0, max = 0, tail = 0;
+        int tailCount = Math.min(startLoops, 10);
+        for (int i = 0; i < startLoops; i++) {
+            double ms = startLoopNanos[i] / 1e6;
+            total += ms;
+            max = Math.max(max, ms);
+            if (i >= startLoops - tailCount) {
+                tail += ms;
+            }
+        }
+        return String.format(
+            Locale.ENGLISH,
+            "start loops:%d first:%.2fms avg:%.2fms max:%.2fms last%d avg:%.2fms",
+            startLoops,
+            startLoopNanos[0] / 1e6,
+            total / startLoops,
+            max,
+            tailCount,
+            tail / tailCount
+        );
+    }
+
+    /**
+     * @return True if the clock is being ticked (i.e. we're inside a CommandOpMode loop)
+     */
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return The timestamp of the start of the current loop (in System.nanoTime() units)
+     */
+    public static long nanos() {
+        return loopStartNanos;
+    }
+
+    /**
+     * @return The timestamp of the start of the current loop, in seconds
+     */
+    public static double seconds() {
+        return loopStartNanos / 1e9;
+    }
+
+    /**
+     * @return The time between the start of the previous loop and the start of this one, in seconds
+     */
+    public static double dt() {
+        return dt;
+    }
+
+    /**
+     * @return The number of loops that have started since the clock was reset
+     */
+    public static long getLoopNumber() {
+        return loopNumber;
+    }
+
+    /**
+     * @return The number of loops that took longer than the target period
+     */
+    public static long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * @return The largest difference between a loop's period and the target period, in milliseconds
+     */
+    public static double getMaxJitter() {
+        return maxJitterMs;
+    }
+
+    /**
+     * @return The average difference between the loop period and the target period, in milliseconds
+     */
+    public static double getAverageJitter() {
+        return jitterSamples == 0 ? 0 : totalJitterMs / jitterSamples;
+    }
+
+    /**
+     * Get a copy of the loop period histogram. Bucket i counts the loops with a period of at least
+     * i * HISTOGRAM_BUCKET_MS milliseconds (and less than the next bucket).
+     *
+     * @return The histogram
+     */
+    public static int[] getHistogram() {
+        return Arrays.copyOf(histogram, histogram.length);
+    }
+
+    /**
+     * A one-line summary that's handy for telemetry
+     *
+     * @return The summary string
+     */
+    public static String summary() {
+        return String.format(
+            Locale.ENGLISH,
+            "loops:%d target:%.1fms jitter(avg/max):%.2f/%.2fms overruns:%d",
+            loopNumber,
+            getTargetPeriod(),
+            getAverageJitter(),
+            maxJitterMs,
+            overrunCount
+        );
+    }
+
+    private static void record(long periodNanos) {
+        double periodMs = periodNanos / 1e6;
+        int bucket = (int) (periodMs / HISTOGRAM_BUCKET_MS);
+        histogram[Math.min(Math.max(bucket, 0), HISTOGRAM_BUCKETS - 1)]++;
+        if (targetPeriodNanos > 0) {
+            double jitter = Math.abs(periodMs - targetPeriodNanos / 1e6);
+            maxJitterMs = Math.max(maxJitterMs, jitter);
+            totalJitterMs += jitter;
+            jitterSamples++;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.technototes.library.util;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.geometry.Pose;
+import com.pedropathing.paths.PathBuilder;
+import com.pedropathing.paths.PathChain;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A set of autonomous paths for either alliance, written once (for blue) and mirrored across the
+ * field for red. The field is symmetric left to right, so a red pose is just the blue pose with
+ * its X flipped (and its heading reflected), which means the red &amp; blue paths don't have to be
+ * written (and tuned, and kept in sync) separately.
+ * <p>
+ * Paths are also built lazily: a chain isn't built until something asks for it, and then it's
+ * kept, so an op mode only pays for the paths it actually drives (for its own alliance), instead of
+ * every path for every auto. Where a red pose really is different (the field isn't perfect, or the
+ * red side was tuned on a different field), pass it as an override.
+ * <pre>
+ * public class AutoPaths extends MirroredPaths {
+ *     public AutoPaths(Follower f, Alliance a) {
+ *         super(f, a);
+ *     }
+ *     public PathChain StartToLaunch() {
+ *         return get("StartToLaunch", () -&gt; builder()
+ *             .addPath(PathCache.line(pose(BStart), pose(BLaunch, RLaunchOverride)))
+ *             .setConstantHeadingInterpolation(heading(BLaunchHead))
+ *             .build());
+ *     }
+ * }
+ * </pre>
+ */
+public class MirroredPaths {
+
+    /**
+     * The width of the field, in inches (Pedro coordinates go from 0 to 144)
+     */
+    public static final double FIELD_WIDTH = 144;
+
+    private final Follower follower;
+    private final Alliance alliance;
+    private final double fieldWidth;
+    private final Map<String, PathChain> chains = new HashMap<>();
+
+    /**
+     * Make the paths for an alliance (anything but red gets the blue paths)
+     *
+     * @param follower The follower the paths are built for
+     * @param alliance The alliance
+     */
+    public MirroredPaths(Follower follower, Alliance alliance) {
+        this(follower, alliance, FIELD_WIDTH);
+    }
+
+    /**
+     * Make the paths for an alliance, on a field of a different width
+     *
+     * @param follower   The follower the paths are built for
+     * @param alliance   The alliance
+     * @param fieldWidth The width of the field (the X coordinate that X is mirrored around is half of this)
+     */
+    public MirroredPaths(Follower follower, Alliance alliance, double fieldWidth) {
+        this.follower = follower;
+        this.alliance = alliance;
+        this.fieldWidth = fieldWidth;
+    }
+
+    /**
+     * @return The follower the paths are built for
+     */
+    public Follower getFollower() {
+        return follower;
+    }
+
+    /**
+     * @return The alliance
+     */
+    public Alliance getAlliance() {
+        return alliance;
+    }
+
+    /**
+     * @return True if the blue poses are being mirrored (we're red)
+     */
+    public boolean isMirrored() {
+        return alliance == Alliance.RED;
+    }
+
+    /**
+     * Mirror a pose across the middle of the field
+     *
+     * @param p          The pose
+     * @param fieldWidth The width of the field
+     * @return The pose on the other alliance's side
+     */
+    public static Pose mirror(Pose p, double fieldWidth) {
+        return new Pose(fieldWidth - p.getX(), p.getY(), mirrorHeading(p.getHeading()));
+    }
+
+    /**
+     * Mirror a heading across the middle of the field
+     *
+     * @param radians The heading
+     * @return The heading on the other alliance's side (0 to 2*PI)
+     */
+    public static double mirrorHeading(double radians) {
+        return MathUtils.normalizeRadians(Math.PI - radians);
+    }
+
+    /**
+     * Get a pose for our alliance
+     *
+     * @param blue The blue pose
+     * @return The blue pose, or its mirror if we're red
+     */
+    public Pose pose(Pose blue) {
+        return isMirrored() ? mirror(blue, fieldWidth) : blue;
+    }
+
+    /**
+     * Get a pose for our alliance, where red isn't just the mirror of blue
+     *
+     * @param blue The blue pose
+     * @param red  The red pose (or null to mirror the blue one)
+     * @return The pose for our alliance
+     */
+    public Pose pose(Pose blue, Pose red) {
+        return isMirrored() && red != null ? red : pose(blue);
+    }
+
+    /**
+     * Get a heading for our alliance
+     *
+     * @param blue The blue heading (radians)
+     * @return The blue heading, or its mirror if we're red
+     */
+    public double heading(double blue) {
+        return isMirrored() ? mirrorHeading(blue) : blue;
+    }
+
+    /**
+     * @return A new path builder from the follower
+     */
+    public PathBuilder builder() {
+        return follower.pathBuilder();
+    }
+
+    /**
+     * Get a path chain, building it the first time it's asked for
+     *
+     * @param name  The name of the chain (unique within this set of paths)
+     * @param build Builds the chain (using the pose &amp; heading methods)
+     * @return The chain
+     */
+    public PathChain get(String name, Supplier<PathChain> build) {
+        PathChain chain = chains.get(name);
+        if (chain == null) {
+            chain = build.get();
+            chains.put(name, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * @return The number of chains that have been built
+     */
+    public int size() {
+        return chains.size();
+    }
+}
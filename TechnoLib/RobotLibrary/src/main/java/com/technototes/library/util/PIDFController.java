@@ -1,6 +1,7 @@
 package com.technototes.library.util;
 
 import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.technototes.library.hardware.Sample;
 import java.util.function.BinaryOperator;
 import java.util.function.UnaryOperator;
 
@@ -15,6 +16,10 @@ public class PIDFController {
     private double minInput, maxInput;
     private boolean bounded;
     private boolean reset;
+    private boolean useLoopClock;
+    private double lastDerivative;
+    private long lastSampleNanos;
+    private boolean hasSample;
 
     // Constructor for PIDFController with PIDCoefficients
     // The feed-forward function takes values (in order) of *target* and *error*
@@ -46,6 +51,18 @@ public class PIDFController {
         bounded = true;
     }
 
+    // Use the LoopClock's per-loop timestamp (when it's running) instead of System.nanoTime()
+    // This means every controller updated during a loop agrees on dt, and dt is the loop period,
+    // rather than whatever happened to elapse between this call and the last one.
+    public PIDFController setUseLoopClock(boolean use) {
+        useLoopClock = use;
+        return this;
+    }
+
+    private double now() {
+        return useLoopClock && LoopClock.isRunning() ? LoopClock.seconds() : System.nanoTime() / 1e9;
+    }
+
     // Resets the integral sum of the controller
     // This is used to prevent "wind up": Large early error can dominate small error as the
     // target is approached, thus rendering the utility of the I controller ineffective.
@@ -54,15 +71,36 @@ public class PIDFController {
     public void reset() {
         integralSum = 0.0;
         reset = true;
-        lastTimestamp = System.nanoTime() / 1e9;
+        lastDerivative = 0.0;
+        lastTimestamp = now();
+        hasSample = false;
     }
 
     // Updates the controller and returns the calculated correction
     public double update(double measured) {
-        double currentTimestamp = System.nanoTime() / 1e9;
+        double currentTimestamp = now();
         double dt = currentTimestamp - lastTimestamp;
         lastTimestamp = currentTimestamp;
+        return update(measured, dt);
+    }
+
+    // Updates the controller with a timestamped measurement (see Sample) and returns the correction
+    // dt is the time between the measurements themselves, not between the calls, so loop jitter
+    // (or a sensor that was read in the background) doesn't turn into noise in the D term. A
+    // sample that's no newer than the last one leaves the integral & derivative alone.
+    public double update(Sample measured) {
+        double dt = hasSample ? Math.max(measured.nanos - lastSampleNanos, 0) / 1e9 : 0;
+        if (!hasSample || measured.nanos > lastSampleNanos) {
+            lastSampleNanos = measured.nanos;
+            hasSample = true;
+        }
+        return update(measured.value, dt);
+    }
 
+    // Updates the controller with an explicit time step (in seconds) and returns the correction
+    // If dt is zero (e.g. a second update during the same loop) the integral & derivative are
+    // left alone, rather than dividing by zero.
+    public double update(double measured, double dt) {
         double error = target - measured;
 
         // Handle input wrapping if bounds are set
@@ -78,8 +116,9 @@ public class PIDFController {
 
         integralSum += error * dt;
 
-        double derivative = reset ? 0 : (error - lastError) / dt;
+        double derivative = reset ? 0 : (dt > 0 ? (error - lastError) / dt : lastDerivative);
         reset = false;
+        lastDerivative = derivative;
         lastError = error;
 
         // Calculate PID output
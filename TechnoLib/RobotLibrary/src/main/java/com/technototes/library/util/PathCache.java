@@ -0,0 +1,138 @@
+package com.technototes.library.util;
+
+import com.pedropathing.geometry.BezierCurve;
+import com.pedropathing.geometry.BezierLine;
+import com.pedropathing.geometry.Pose;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A cache of Bezier curves, so that building the autonomous paths doesn't redo all of the curve
+ * math every time Init is pressed. Constructing a curve is the expensive part of building a path
+ * (it solves for the coefficients, and walks the curve to measure its length and generate the
+ * points the dashboard draws), and an auto with a few dozen paths spends most of its init time
+ * doing it, for the same geometry it built last time.
+ * <p>
+ * Curves are keyed by their control points, so there's nothing to invalidate: change a pose (in
+ * the code, or on the dashboard) and it's a different key, so a new curve is built. The cache lives
+ * as long as the app does, so the first init after the robot controller starts pays full price,
+ * and every init after that gets the curves for free. The PathChains themselves are still built
+ * fresh every time, because a Path remembers where the robot was along it; the curves don't, so
+ * they're safe to share.
+ * <pre>
+ * follower.pathBuilder()
+ *     .addPath(PathCache.line(start, launch))
+ *     .addPath(PathCache.curve(launch, intakeControlPoint, intake))
+ *     .build();
+ * </pre>
+ */
+public final class PathCache {
+
+    // The control points of a curve (and whether it's a line), as a map key
+    private static final class Key {
+
+        private final boolean line;
+        private final double[] points;
+        private final int hash;
+
+        Key(boolean line, Pose... poses) {
+            this.line = line;
+            points = new double[poses.length * 2];
+            for (int i = 0; i < poses.length; i++) {
+                points[i * 2] = poses[i].getX();
+                points[i * 2 + 1] = poses[i].getY();
+            }
+            hash = Arrays.hashCode(points) * 31 + (line ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return line == k.line && Arrays.equals(points, k.points);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final Map<Key, BezierCurve> curves = new HashMap<>();
+    private static int hits = 0;
+    private static int misses = 0;
+
+    private PathCache() {}
+
+    /**
+     * Get a straight line (building it, if it's not already cached)
+     *
+     * @param start The start of the line
+     * @param end   The end of the line
+     * @return The line
+     */
+    public static synchronized BezierLine line(Pose start, Pose end) {
+        Key key = new Key(true, start, end);
+        BezierCurve c = curves.get(key);
+        if (c == null) {
+            c = new BezierLine(start, end);
+            curves.put(key, c);
+            misses++;
+        } else {
+            hits++;
+        }
+        return (BezierLine) c;
+    }
+
+    /**
+     * Get a curve (building it, if it's not already cached)
+     *
+     * @param points The control points, from the start of the curve to the end
+     * @return The curve
+     */
+    public static synchronized BezierCurve curve(Pose... points) {
+        Key key = new Key(false, points);
+        BezierCurve c = curves.get(key);
+        if (c == null) {
+            c = new BezierCurve(points);
+            curves.put(key, c);
+            misses++;
+        } else {
+            hits++;
+        }
+        return c;
+    }
+
+    /**
+     * @return The number of curves that came from the cache
+     */
+    public static synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of curves that had to be built
+     */
+    public static synchronized int getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of curves in the cache
+     */
+    public static synchronized int size() {
+        return curves.size();
+    }
+
+    /**
+     * Forget all the cached curves (and reset the counts)
+     */
+    public static synchronized void clear() {
+        curves.clear();
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.technototes.library.util;
+
+/**
+ * A fixed size history of timestamped values (a ring buffer), for answering "what was this when
+ * that happened?" A camera frame describes the world as it was when the frame was captured, which
+ * is several loops ago by the time we get it, so anything measured relative to the robot (a turret
+ * angle, the heading) has to be compared to what it was *then*, not what it is now.
+ * <p>
+ * Nothing is allocated after it's constructed, so it's fine to add to every loop.
+ * <pre>
+ * ValueHistory turretAngles = new ValueHistory(50);
+ * ...
+ * turretAngles.add(LoopClock.nanos(), getTurretDegrees());
+ * ...
+ * double then = turretAngles.at(observation.captureNanos);
+ * </pre>
+ */
+public class ValueHistory {
+
+    private final long[] times;
+    private final double[] values;
+    // The index the next sample goes in, and how many samples there are
+    private int next = 0;
+    private int count = 0;
+
+    /**
+     * Make a history
+     *
+     * @param capacity The number of samples to keep
+     */
+    public ValueHistory(int capacity) {
+        times = new long[Math.max(capacity, 2)];
+        values = new double[times.length];
+    }
+
+    /**
+     * Add a sample. Samples have to be added in time order: one that's older than the newest is
+     * ignored (and one at the same time replaces the newest).
+     *
+     * @param nanos The time of the sample (in System.nanoTime() units)
+     * @param value The value
+     */
+    public void add(long nanos, double value) {
+        if (count > 0) {
+            int newest = index(count - 1);
+            if (nanos < times[newest]) {
+                return;
+            }
+            if (nanos == times[newest]) {
+                values[newest] = value;
+                return;
+            }
+        }
+        times[next] = nanos;
+        values[next] = value;
+        next = (next + 1) % times.length;
+        if (count < times.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Add an angle (a heading, usually). Angles wrap around (359 degrees is right next to 0), so
+     * interpolating between raw readings on either side of the wrap would land on the opposite
+     * side of the circle. Instead, each angle is stored as the newest one plus the shortest turn to
+     * it, so the history is continuous (it can go past 360, or below 0), and a value from
+     * {@link #at(long)} may need to be wrapped again.
+     *
+     * @param nanos   The time of the sample (in System.nanoTime() units)
+     * @param degrees The angle, in degrees
+     */
+    public void addAngle(long nanos, double degrees) {
+        if (count > 0) {
+            double newest = values[index(count - 1)];
+            degrees = newest + Math.IEEEremainder(degrees - newest, 360);
+        }
+        add(nanos, degrees);
+    }
+
+    // The array index of the i'th oldest sample
+    private int index(int i) {
+        return (next - count + i + times.length) % times.length;
+    }
+
+    /**
+     * Get the value at a time, interpolating between the samples on either side of it. Times
+     * before the oldest sample get the oldest value, and times after the newest get the newest.
+     *
+     * @param nanos The time (in System.nanoTime() units)
+     * @return The value then (or NaN if there aren't any samples)
+     */
+    public double at(long nanos) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        int newest = index(count - 1);
+        if (nanos >= times[newest]) {
+            return values[newest];
+        }
+        int oldest = index(0);
+        if (nanos <= times[oldest]) {
+            return values[oldest];
+        }
+        // Binary search for the first sample after the time
+        int lo = 0;
+        int hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (times[index(mid)] <= nanos) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int after = index(lo);
+        int before = index(lo - 1);
+        double t = (double) (nanos - times[before]) / (times[after] - times[before]);
+        return values[before] + (values[after] - values[before]) * t;
+    }
+
+    /**
+     * @return The newest value (or NaN if there aren't any samples)
+     */
+    public double latest() {
+        return count == 0 ? Double.NaN : values[index(count - 1)];
+    }
+
+    /**
+     * @return The time of the newest sample (or 0 if there aren't any)
+     */
+    public long latestNanos() {
+        return count == 0 ? 0 : times[index(count - 1)];
+    }
+
+    /**
+     * @return The time of the oldest sample (or 0 if there aren't any)
+     */
+    public long oldestNanos() {
+        return count == 0 ? 0 : times[index(0)];
+    }
+
+    /**
+     * @param nanos The time (in System.nanoTime() units)
+     * @return True if the history goes back at least as far as the time
+     */
+    public boolean covers(long nanos) {
+        return count > 0 && nanos >= times[index(0)];
+    }
+
+    /**
+     * @return The number of samples
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Forget all the samples
+     */
+    public void clear() {
+        count = 0;
+        next = 0;
+    }
+}
@@ -1,41 +1,39 @@
 package org.firstinspires.ftc.twenty403.subsystems;
 
 import com.bylazar.configurables.annotations.Configurable;
-import com.qualcomm.robotcore.util.ElapsedTime;
 import com.technototes.library.command.CommandScheduler;
 import com.technototes.library.logger.Log;
 import com.technototes.library.logger.Loggable;
 import com.technototes.library.subsystem.Subsystem;
+import com.technototes.library.util.FaultMonitor;
 import org.firstinspires.ftc.twenty403.Hardware;
 
 @Configurable
 public class SafetySubsystem implements Subsystem, Loggable {
 
     public enum FailedPart {
-        NONE,
-        ODOF,
-        ODOR,
-        WHEELFL,
-        WHEELFR,
-        WHEELRL,
-        WHEELRR,
-    }
-
-    public Hardware myHw;
+        NONE(null),
+        ODOF("forward pod"),
+        ODOR("strafe pod"),
+        WHEELFL("fl"),
+        WHEELFR("fr"),
+        WHEELRL("rl"),
+        WHEELRR("rr");
 
-    public double previousOdoFPosition = 0;
+        // The name of the FaultMonitor check that fails
+        final String check;
 
-    @Log(name = "prevOdoR")
-    public double previousOdoRPosition = 0;
+        FailedPart(String check) {
+            this.check = check;
+        }
+    }
 
-    @Log(name = "prevFLPos")
-    public double previousFLPosition = 0;
+    public Hardware myHw;
 
-    public double previousFRPosition = 0;
-    public double previousRLPosition = 0;
-    public double previousRRPosition = 0;
     public static int OdoTickDiff = 1;
-    public static double WheelTickDiff = 0;
+    public static double WheelTickDiff = 20;
+    public static double WheelMinPower = 0.2;
+    public static double WheelMotionTicks = 100;
 
     @Log
     public static double TimerThreshold = 750.0;
@@ -45,80 +43,12 @@ public class SafetySubsystem implements Subsystem, Loggable {
 
     private boolean DistanceSensor1 = false;
     public boolean DistanceSensor2 = false;
-    private ElapsedTime timer;
     private FailedPart failedPart = FailedPart.NONE;
+    private FaultMonitor faults;
 
     @Log
     public String stopAutoReason = "not stopping";
 
-    public boolean isOdoFailing(double currentOdoPosition, double previousOdoPosition) {
-        if (Math.abs(previousOdoPosition - currentOdoPosition) < SafetySubsystem.OdoTickDiff) {
-            return true;
-        }
-        //new math: previous - current = absolute value (result) and result should be > odotickdiff
-        else {
-            return false;
-        }
-    }
-
-    public boolean isWheelFailing(double currentWheelPosition, double previousWheelPosition) {
-        if (
-            Math.abs(previousWheelPosition - currentWheelPosition) < SafetySubsystem.WheelTickDiff
-        ) {
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    private double getOdoFPosition() {
-        if (failedPart == FailedPart.ODOF) {
-            return 0;
-        } else {
-            return myHw.odoF.getPosition();
-        }
-    }
-
-    private double getOdoRPosition() {
-        if (failedPart == FailedPart.ODOR) {
-            return 0;
-        } else {
-            return myHw.odoR.getPosition();
-        }
-    }
-
-    private double getwheelflPosition() {
-        if (failedPart == FailedPart.WHEELFL) {
-            return 0.0;
-        } else {
-            return myHw.fl.getSensorValue();
-        }
-    }
-
-    private double getwheelfrPosition() {
-        if (failedPart == FailedPart.WHEELFR) {
-            return 0.0;
-        } else {
-            return myHw.fr.getSensorValue();
-        }
-    }
-
-    private double getwheelrlPosition() {
-        if (failedPart == FailedPart.WHEELRL) {
-            return 0.0;
-        } else {
-            return myHw.rl.getSensorValue();
-        }
-    }
-
-    private double getwheelrrPosition() {
-        if (failedPart == FailedPart.WHEELRR) {
-            return 0.0;
-        } else {
-            return myHw.rr.getSensorValue();
-        }
-    }
-
     @Log
     public int count = 0;
 
@@ -128,96 +58,48 @@ public class SafetySubsystem implements Subsystem, Loggable {
             stopAutoReason = "Monitoring halted";
             return;
         }
-
-        if (timer.milliseconds() < TimerThreshold) {
-            int ms = (int) timer.milliseconds();
-            stopAutoReason = "Monitoring skipped" + ms;
-            return;
-        }
-        stopAutoReason = "Monitoring checking";
-        timer.reset();
-        double odoFCurrentPosition = getOdoFPosition();
-        double odoRCurrentPosition = getOdoRPosition();
-
-        stopAutoReason = String.format("CheckingR: %f ", odoRCurrentPosition);
-        double wheelflCurrentPosition = getwheelflPosition();
-        double wheelfrCurrentPosition = getwheelfrPosition();
-        double wheelrlCurrentPosition = getwheelrlPosition();
-        double wheelrrCurrentPosition = getwheelrrPosition();
-
-        boolean stopAutoFlag = false;
-        if (isOdoFailing(odoFCurrentPosition, previousOdoFPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "OdoF not reading;";
-        }
-        if (isOdoFailing(odoRCurrentPosition, previousOdoRPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "OdoR not reading;";
-        }
-        if (isWheelFailing(wheelflCurrentPosition, previousFLPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "wheelfl not reading;";
-        }
-        if (isWheelFailing(wheelfrCurrentPosition, previousFRPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "wheelfr not reading;";
-        }
-        if (isWheelFailing(wheelrlCurrentPosition, previousRLPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "wheelrl not reading;";
-        }
-        if (isWheelFailing(wheelrrCurrentPosition, previousRRPosition)) {
-            stopAutoFlag = true;
-            stopAutoReason += "wheelrr not reading;";
-        }
-        previousOdoFPosition = odoFCurrentPosition;
-        previousOdoRPosition = odoRCurrentPosition;
-
-        if (
-            isWheelFailing(wheelflCurrentPosition, previousFLPosition) ||
-            isWheelFailing(wheelfrCurrentPosition, previousFRPosition) ||
-            isWheelFailing(wheelrlCurrentPosition, previousRLPosition) ||
-            isWheelFailing(wheelrrCurrentPosition, previousRRPosition)
-        ) {
-            stopAuto("wheels not reading");
-            return;
-        }
-        previousFLPosition = wheelflCurrentPosition;
-        previousFRPosition = wheelfrCurrentPosition;
-        previousRLPosition = wheelrlCurrentPosition;
-        previousRRPosition = wheelrrCurrentPosition;
-
-        if (stopAutoFlag == true) {
-            stopAuto(stopAutoReason);
-        }
+        faults.periodic();
     }
 
     public void simulateFail(FailedPart fp) {
+        faults.simulateFailure(failedPart.check, false);
         if (failedPart == fp) {
             failedPart = FailedPart.NONE;
         } else {
             stopAutoReason = "failing a part:" + fp.toString();
             failedPart = fp;
+            faults.simulateFailure(fp.check, true);
         }
     }
 
     public SafetySubsystem(Hardware hw) {
         myHw = hw;
-        timer = new ElapsedTime();
+        faults = new FaultMonitor(() -> TimerThreshold).setHysteresis(MaxFail, 1).setEnabled(false);
+        // AutoConstants sets both left drive motors to REVERSE, so the left wheels' encoders both
+        // count up driving forward, which is what expectMecanum's pod checks need
+        faults
+            .expectMecanum(
+                myHw.fl,
+                myHw.fr,
+                myHw.rl,
+                myHw.rr,
+                WheelMinPower,
+                WheelTickDiff,
+                WheelMotionTicks,
+                () -> myHw.odoF.getPosition(),
+                () -> myHw.odoR.getPosition(),
+                OdoTickDiff
+            )
+            .addListener(f -> stopAuto(f.name + " not reading"));
         CommandScheduler.register(this);
     }
 
-    int numFailed = 0;
     static int MaxFail = 3;
 
     private void stopAuto(String reason) {
         if (monitoringEnabled == true) {
-            if (numFailed >= MaxFail) {
-                stopAutoReason = reason;
-                CommandScheduler.terminateOpMode();
-            } else {
-                numFailed += 1;
-            }
+            stopAutoReason = reason;
+            CommandScheduler.terminateOpMode();
         }
     }
 
@@ -225,12 +107,18 @@ public class SafetySubsystem implements Subsystem, Loggable {
         count++;
         if (monitoringEnabled == false) {
             monitoringEnabled = true;
-            timer.reset();
+            stopAutoReason = "Monitoring checking";
+            faults.setEnabled(true);
         }
     }
 
     public void stopMonitoring() {
         monitoringEnabled = false;
+        faults.setEnabled(false);
+    }
+
+    public FaultMonitor getFaults() {
+        return faults;
     }
 
     public void distanceSensor1bad() {
@@ -255,5 +143,4 @@ public class SafetySubsystem implements Subsystem, Loggable {
 // stop monitoring if auto is going to a stop to go to next sequential command
 // start monitoring again after distance sensors are far away and if next sequential auto command is starting again
 // need to look at IMU to determine wonkiness
-//using elapsed timer instead of numfailed cause periodic does NOT occur every 1/2 second, but constantly, so need to add that
 //its a sequential command btw